@@ -0,0 +1,80 @@
+package ai.zactonics.genproposal.admission;
+
+/**
+ * AIMD concurrency limit measured in cost units rather than requests.
+ *
+ * Each completion reports its latency per cost unit. While that stays within
+ * {@code tolerance} of the best recently observed value the limit grows additively
+ * (about {@code increaseUnits} per limit's worth of completed cost); once it degrades,
+ * the work is queueing on CPU, so the limit is cut multiplicatively.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF = 0.9;
+    // how fast the latency baseline drifts back up, so it tracks changes in hardware or load mix
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final long DECREASE_INTERVAL_NANOS = 100_000_000L;
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double tolerance;
+    private final double increaseUnits;
+
+    private double limit;
+    private long inflight;
+    private double baselineNanosPerUnit = Double.NaN;
+    private double averageNanos = Double.NaN;
+    private long lastDecrease;
+
+    AdaptiveConcurrencyLimit(double initialLimit, double minLimit, double maxLimit, double tolerance,
+                             double increaseUnits) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.increaseUnits = increaseUnits;
+    }
+
+    /** Reserves {@code cost} units; a request is always admitted when nothing else is in flight. */
+    synchronized boolean tryAcquire(long cost) {
+        if (inflight > 0 && inflight + cost > limit) return false;
+        inflight += cost;
+        return true;
+    }
+
+    synchronized void release(long cost, long latencyNanos) {
+        boolean saturated = inflight >= limit / 2;
+        inflight -= cost;
+
+        double perUnit = (double) latencyNanos / cost;
+        averageNanos = Double.isNaN(averageNanos) ? latencyNanos : averageNanos * 0.9 + latencyNanos * 0.1;
+        if (Double.isNaN(baselineNanosPerUnit) || perUnit < baselineNanosPerUnit) {
+            baselineNanosPerUnit = perUnit;
+            return;
+        }
+        baselineNanosPerUnit += (perUnit - baselineNanosPerUnit) * BASELINE_DRIFT;
+
+        long now = System.nanoTime();
+        if (perUnit > baselineNanosPerUnit * tolerance) {
+            if (now - lastDecrease > DECREASE_INTERVAL_NANOS) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+                lastDecrease = now;
+            }
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + increaseUnits * cost / limit);
+        }
+    }
+
+    synchronized double limit() {
+        return limit;
+    }
+
+    synchronized long inflight() {
+        return inflight;
+    }
+
+    /** Recent average request latency, used as the Retry-After hint. */
+    synchronized long averageLatencyNanos() {
+        return Double.isNaN(averageNanos) ? 0 : (long) averageNanos;
+    }
+}
@@ -0,0 +1,137 @@
+package ai.zactonics.genproposal.admission;
+
+import ai.zactonics.genproposal.config.RequestRejectedException;
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
+
+/**
+ * Cost-based admission for proposal generation.
+ *
+ * A request's cost is estimated from its roster and requirement counts (generation is
+ * roughly linear in each, plus a requirements x roster term for capability and evidence
+ * matching). Requests above the per-request cap get 413; requests that do not fit under
+ * the adaptive in-flight cost limit get 503 with Retry-After instead of queueing.
+ * Startup warmup requests are admitted outside the limit and leave its latency baseline alone.
+ */
+@Component
+public class AdmissionControl {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${proposal.admission.max-employees:500}")
+    private int maxEmployees;
+
+    @Value("${proposal.admission.max-projects:500}")
+    private int maxProjects;
+
+    @Value("${proposal.admission.max-requirements:300}")
+    private int maxRequirements;
+
+    @Value("${proposal.admission.max-request-cost:20000}")
+    private long maxRequestCost;
+
+    @Value("${proposal.admission.initial-limit:2000}")
+    private double initialLimit;
+
+    @Value("${proposal.admission.min-limit:200}")
+    private double minLimit;
+
+    @Value("${proposal.admission.max-limit:50000}")
+    private double maxLimit;
+
+    @Value("${proposal.admission.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${proposal.admission.increase-units:50}")
+    private double increaseUnits;
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @PostConstruct
+    void init() {
+        concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance, increaseUnits);
+        Gauge.builder("proposal.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+            .baseUnit("cost")
+            .register(meterRegistry);
+        Gauge.builder("proposal.admission.inflight", concurrencyLimit, AdaptiveConcurrencyLimit::inflight)
+            .baseUnit("cost")
+            .register(meterRegistry);
+    }
+
+    /** Estimated cost of generating a proposal; throws 413 when the request exceeds a hard cap. */
+    public long estimateCost(ProposalGenerationRequest request) {
+        int employees = request.getEmployeeData() != null ? request.getEmployeeData().size() : 0;
+        int projects = request.getProjectExperience() != null ? request.getProjectExperience().size() : 0;
+        int requirements = requirementCount(request);
+
+        if (employees > maxEmployees) reject("employeeData", employees, maxEmployees);
+        if (projects > maxProjects) reject("projectExperience", projects, maxProjects);
+        if (requirements > maxRequirements) reject("requirements", requirements, maxRequirements);
+
+        long cost = 1 + employees + projects + requirements + (long) requirements * (employees + projects) / 4;
+        if (cost > maxRequestCost) {
+            meterRegistry.counter("proposal.admission.rejected", "reason", "too_large").increment();
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Request cost " + cost + " exceeds the limit of " + maxRequestCost);
+        }
+        return cost;
+    }
+
+    /** Reserves capacity for a request of the given cost, or throws a 503 RequestRejectedException. */
+    public Permit admit(long cost) {
+        if (TenantContext.isWarmup()) {
+            return new Permit(0, System.nanoTime());
+        }
+        if (!concurrencyLimit.tryAcquire(cost)) {
+            meterRegistry.counter("proposal.admission.rejected", "reason", "overloaded").increment();
+            throw new RequestRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Server is at capacity, retry later", Duration.ofNanos(concurrencyLimit.averageLatencyNanos()));
+        }
+        return new Permit(cost, System.nanoTime());
+    }
+
+    private void reject(String field, int count, int max) {
+        meterRegistry.counter("proposal.admission.rejected", "reason", "too_large").increment();
+        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+            field + " has " + count + " entries, the limit is " + max);
+    }
+
+    private static int requirementCount(ProposalGenerationRequest request) {
+        if (request.getRfpData() == null || request.getRfpData().getExtractedRequirements() == null) return 0;
+        ExtractedRequirements extracted = request.getRfpData().getExtractedRequirements();
+        int count = 0;
+        if (extracted.getMandatoryRequirements() != null) count += extracted.getMandatoryRequirements().size();
+        if (extracted.getPreferredRequirements() != null) count += extracted.getPreferredRequirements().size();
+        return count;
+    }
+
+    public class Permit implements AutoCloseable {
+        private final long cost;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long cost, long startNanos) {
+            this.cost = cost;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            // cost 0 marks a warmup permit, which never reserved anything
+            if (cost > 0) concurrencyLimit.release(cost, System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package ai.zactonics.genproposal.cluster;
+
+import ai.zactonics.genproposal.model.ClusterMember;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import ai.zactonics.genproposal.tenant.TenantResolverFilter;
+import ai.zactonics.genproposal.tenant.TenantScopedCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional cache tier shared by the instances listed in proposal.cluster.peers.
+ *
+ * Every key has one owner node, picked by consistent hashing over the live members. The owner
+ * keeps the Smile-encoded value in its owned store; other nodes fetch it with GET and publish
+ * freshly computed values with an asynchronous PUT to /internal/cluster/cache. A peer that fails
+ * or times out is skipped for proposal.cluster.peer-cooldown, so its keys fall to the next node
+ * on the ring; with no live peers every key is owned locally and the tier degrades to a local cache.
+ * Each node fronts the tier with a per-tenant near-cache (see {@link ClusteredCache}).
+ */
+@Component
+public class ClusterCache {
+
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Value("${proposal.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${proposal.cluster.self:}")
+    private String self;
+
+    @Value("${proposal.cluster.peers:}")
+    private List<String> peers;
+
+    @Value("${proposal.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${proposal.cluster.timeout:500ms}")
+    private Duration timeout;
+
+    @Value("${proposal.cluster.peer-cooldown:10s}")
+    private Duration peerCooldown;
+
+    @Value("${proposal.cluster.owned-entries-per-tenant:1024}")
+    private int ownedEntriesPerTenant;
+
+    @Value("${proposal.cluster.max-entry-size:8MB}")
+    private DataSize maxEntrySize;
+
+    @Value("${proposal.cluster.token:}")
+    private String token;
+
+    @Value("${proposal.tenant.idle-eviction:10m}")
+    private Duration tenantIdleEviction;
+
+    // peers are called on behalf of the current tenant, so they vouch for it like the gateway does
+    @Value("${proposal.tenant.proxy-token:}")
+    private String tenantProxyToken;
+
+    private ObjectMapper smile;
+    private ConsistentHashRing ring;
+    private HttpClient http;
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+    private final Map<String, TenantScopedCache<String, byte[]>> owned = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        smile = smileConverter.getObjectMapper();
+        if (!enabled) return;
+        if (self == null || self.isBlank()) {
+            throw new IllegalStateException("proposal.cluster.self must be set when proposal.cluster.enabled is true");
+        }
+        if (token.isBlank()) {
+            throw new IllegalStateException("proposal.cluster.token must be set when proposal.cluster.enabled is true");
+        }
+        self = baseUrl(self);
+        Set<String> members = new LinkedHashSet<>();
+        members.add(self);
+        peers.stream().filter(p -> !p.isBlank()).map(ClusterCache::baseUrl).forEach(members::add);
+        ring = new ConsistentHashRing(members, virtualNodes);
+        http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /** A cache of {@code type} values under {@code namespace}, fronted by a near-cache of the given size. */
+    public <V> ClusteredCache<V> cache(String namespace, Class<V> type, int nearEntriesPerTenant) {
+        return new ClusteredCache<>(this, namespace, type,
+            new TenantScopedCache<>(namespace, nearEntriesPerTenant, tenantIdleEviction, meterRegistry));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<ClusterMember> members() {
+        if (!enabled) return List.of();
+        List<ClusterMember> members = new ArrayList<>();
+        for (String node : ring.nodes()) {
+            members.add(new ClusterMember(node, node.equals(self), isAlive(node)));
+        }
+        return members;
+    }
+
+    /** Encoded value from the key's owner, this node or a peer; null on a miss or when the owner cannot be reached. */
+    byte[] fetch(String namespace, String key) {
+        String owner = ring.owner(key, this::isAlive);
+        if (self.equals(owner)) {
+            byte[] value = ownedStore(namespace).get(key);
+            count(namespace, "local", value != null ? "hit" : "miss");
+            return value;
+        }
+
+        HttpRequest request = request(owner, namespace, key).GET().build();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                count(namespace, "peer", "hit");
+                return response.body();
+            }
+            count(namespace, "peer", response.statusCode() == 404 ? "miss" : "error");
+        } catch (IOException e) {
+            markDown(owner);
+            count(namespace, "peer", "error");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /** Publishes a freshly computed value to the key's owner; remote owners are written asynchronously. */
+    void publish(String namespace, String key, byte[] value) {
+        if (value.length > maxEntrySize.toBytes()) return;
+        String owner = ring.owner(key, this::isAlive);
+        if (self.equals(owner)) {
+            ownedStore(namespace).put(key, value);
+            return;
+        }
+        HttpRequest request = request(owner, namespace, key)
+            .header("Content-Type", SMILE)
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(value))
+            .build();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null) markDown(owner);
+        });
+    }
+
+    /** Served to peers: this node's copy of a key it owns. */
+    public byte[] ownedGet(String namespace, String key, String presentedToken) {
+        authorize(presentedToken);
+        return ownedStore(namespace).get(key);
+    }
+
+    /**
+     * Served to peers: stores a value for a key this node owns. The body is only read after the token
+     * check, and never past proposal.cluster.max-entry-size ({@code contentLength} is -1 when unknown).
+     */
+    public void ownedPut(String namespace, String key, InputStream body, long contentLength,
+                         String presentedToken) throws IOException {
+        authorize(presentedToken);
+        long max = maxEntrySize.toBytes();
+        if (contentLength > max) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Entry exceeds " + maxEntrySize);
+        }
+        byte[] value = body.readNBytes((int) max + 1);
+        if (value.length > max) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Entry exceeds " + maxEntrySize);
+        }
+        ownedStore(namespace).put(key, value);
+    }
+
+    byte[] encode(Object value) throws IOException {
+        return smile.writeValueAsBytes(value);
+    }
+
+    <V> V decode(byte[] bytes, Class<V> type) throws IOException {
+        return smile.readValue(bytes, type);
+    }
+
+    private HttpRequest.Builder request(String node, String namespace, String key) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + "/internal/cluster/cache/"
+                + URLEncoder.encode(namespace, StandardCharsets.UTF_8) + "/" + URLEncoder.encode(key, StandardCharsets.UTF_8)))
+            .timeout(timeout)
+            .header(TenantResolverFilter.TENANT_HEADER, TenantContext.get())
+            .header("Accept", SMILE);
+        builder.header(TOKEN_HEADER, token);
+        if (!tenantProxyToken.isEmpty()) builder.header(TenantResolverFilter.PROXY_TOKEN_HEADER, tenantProxyToken);
+        return builder;
+    }
+
+    // peers only ever see 404 when clustering is off, so a misconfigured node looks like an empty one
+    private void authorize(String presentedToken) {
+        if (!enabled) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        if (presentedToken == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), presentedToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid " + TOKEN_HEADER);
+        }
+    }
+
+    private TenantScopedCache<String, byte[]> ownedStore(String namespace) {
+        return owned.computeIfAbsent(namespace,
+            ns -> new TenantScopedCache<>(ns + "-owned", ownedEntriesPerTenant, tenantIdleEviction, meterRegistry));
+    }
+
+    private boolean isAlive(String node) {
+        if (node.equals(self)) return true;
+        Long until = downUntil.get(node);
+        return until == null || System.nanoTime() - until > 0;
+    }
+
+    private void markDown(String node) {
+        downUntil.put(node, System.nanoTime() + peerCooldown.toNanos());
+        meterRegistry.counter("proposal.cluster.peer.failures", "peer", node).increment();
+    }
+
+    private void count(String namespace, String owner, String result) {
+        meterRegistry.counter("proposal.cluster.lookups", "namespace", namespace, "owner", owner, "result", result)
+            .increment();
+    }
+
+    private static String baseUrl(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,58 @@
+package ai.zactonics.genproposal.cluster;
+
+import ai.zactonics.genproposal.tenant.TenantScopedCache;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * One namespace of the cluster tier: near-cache first, then the key's owner, then the loader.
+ * Values that cannot be decoded (e.g. written by an older build during a rolling deploy) count
+ * as misses. With clustering disabled this is just the near-cache.
+ */
+public class ClusteredCache<V> {
+
+    private final ClusterCache cluster;
+    private final String namespace;
+    private final Class<V> type;
+    private final TenantScopedCache<String, V> near;
+
+    ClusteredCache(ClusterCache cluster, String namespace, Class<V> type, TenantScopedCache<String, V> near) {
+        this.cluster = cluster;
+        this.namespace = namespace;
+        this.type = type;
+        this.near = near;
+    }
+
+    public V getOrCompute(String key, Supplier<V> loader) {
+        V value = near.get(key);
+        if (value != null) return value;
+
+        if (cluster.isEnabled()) {
+            value = decode(cluster.fetch(namespace, key));
+            if (value != null) {
+                near.put(key, value);
+                return value;
+            }
+        }
+
+        value = loader.get();
+        near.put(key, value);
+        if (cluster.isEnabled()) {
+            try {
+                cluster.publish(namespace, key, cluster.encode(value));
+            } catch (IOException e) {
+                // not shareable; still cached locally
+            }
+        }
+        return value;
+    }
+
+    private V decode(byte[] bytes) {
+        if (bytes == null) return null;
+        try {
+            return cluster.decode(bytes, type);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ai.zactonics.genproposal.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Nodes placed on a 64-bit ring at {@code virtualNodes} points each; a key belongs to the first
+ * live node clockwise from its hash. Adding or losing a node only moves the keys next to its
+ * points, about 1/N of the total.
+ */
+class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = List.copyOf(new LinkedHashSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    List<String> nodes() {
+        return nodes;
+    }
+
+    /** Owner of the key among the nodes that pass {@code alive}; null when none do. */
+    String owner(String key, Predicate<String> alive) {
+        if (ring.isEmpty()) return null;
+        long h = hash(key);
+        for (String node : ring.tailMap(h, true).values()) {
+            if (alive.test(node)) return node;
+        }
+        for (String node : ring.headMap(h, false).values()) {
+            if (alive.test(node)) return node;
+        }
+        return null;
+    }
+
+    // FNV-1a followed by a murmur3 finalizer, so nearby strings such as "node#1" and "node#2" spread out
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
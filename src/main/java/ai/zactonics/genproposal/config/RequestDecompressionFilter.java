@@ -0,0 +1,220 @@
+package ai.zactonics.genproposal.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Accepts compressed request bodies (Content-Encoding: gzip or deflate).
+ * Response compression is handled by the server (see server.compression.*).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    @Value("${proposal.admission.max-upload-size:200MB}")
+    private DataSize maxCompressedBody;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String normalized = encoding.trim().toLowerCase();
+        if (!normalized.equals("gzip") && !normalized.equals("x-gzip") && !normalized.equals("deflate")) {
+            response.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+            response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                "Unsupported Content-Encoding: " + encoding);
+            return;
+        }
+
+        filterChain.doFilter(new DecompressedRequest(request, normalized, maxCompressedBody.toBytes()), response);
+    }
+
+    private static class DecompressedRequest extends HttpServletRequestWrapper {
+        private final String encoding;
+        private final long maxCompressedBytes;
+        private ServletInputStream stream;
+
+        DecompressedRequest(HttpServletRequest request, String encoding, long maxCompressedBytes) {
+            super(request);
+            this.encoding = encoding;
+            this.maxCompressedBytes = maxCompressedBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new DecodingServletInputStream(super.getInputStream(), encoding, maxCompressedBytes);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding();
+            Charset cs = charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), cs));
+        }
+
+        // The decompressed length is unknown up front
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHiddenHeader(name)) return null;
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHiddenHeader(name)) return Collections.emptyEnumeration();
+            return super.getHeaders(name);
+        }
+
+        private boolean isHiddenHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Decodes the body as it is read. Blocking reads decode straight from the container's stream.
+     * With a ReadListener the compressed body is first collected as the container reports it ready
+     * (up to the upload cap) and then decoded from memory, so the listener never blocks on I/O.
+     */
+    private static class DecodingServletInputStream extends ServletInputStream {
+        private final ServletInputStream raw;
+        private final String encoding;
+        private final long maxCompressedBytes;
+        private volatile InputStream decoded;
+        private ByteArrayOutputStream compressed;
+        private ReadListener listener;
+        private boolean finished;
+
+        DecodingServletInputStream(ServletInputStream raw, String encoding, long maxCompressedBytes) {
+            this.raw = raw;
+            this.encoding = encoding;
+            this.maxCompressedBytes = maxCompressedBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = decoder().read();
+            if (b == -1) finish();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = decoder().read(buf, off, len);
+            if (n == -1) finish();
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return listener == null || decoded != null;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (readListener == null) throw new NullPointerException("readListener");
+            if (listener != null) throw new IllegalStateException("ReadListener is already set");
+            if (decoded != null) throw new IllegalStateException("Body is already being read");
+            listener = readListener;
+            compressed = new ByteArrayOutputStream();
+            raw.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[8192];
+                    int n;
+                    while (raw.isReady() && (n = raw.read(buffer)) != -1) {
+                        compressed.write(buffer, 0, n);
+                        if (compressed.size() > maxCompressedBytes) {
+                            throw new IOException("Compressed body exceeds " + maxCompressedBytes + " bytes");
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    decoded = decode(new ByteArrayInputStream(compressed.toByteArray()));
+                    compressed = null;
+                    listener.onDataAvailable();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    listener.onError(t);
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded != null) decoded.close();
+            else raw.close();
+        }
+
+        private InputStream decoder() throws IOException {
+            if (decoded == null) {
+                if (listener != null) throw new IllegalStateException("Body is not ready; wait for onDataAvailable");
+                decoded = decode(raw);
+            }
+            return decoded;
+        }
+
+        private InputStream decode(InputStream in) throws IOException {
+            return encoding.equals("deflate") ? new InflaterInputStream(in) : new GZIPInputStream(in, 8192);
+        }
+
+        private void finish() throws IOException {
+            if (finished) return;
+            finished = true;
+            if (listener != null) listener.onAllDataRead();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ai.zactonics.genproposal.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Rejects a request early (429 / 503) and tells the client when to retry.
+ */
+public class RequestRejectedException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public RequestRejectedException(HttpStatus status, String reason, Duration retryAfter) {
+        super(status, reason);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return headers;
+    }
+}
@@ -0,0 +1,237 @@
+package ai.zactonics.genproposal.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Caps API request bodies at proposal.admission.max-body-size (413 otherwise).
+ *
+ * Runs after RequestDecompressionFilter, so the cap applies to the decoded body and a
+ * small gzip body cannot expand without bound. A declared Content-Length above the cap
+ * is rejected before anything is read; other bodies are read up to the cap.
+ *
+ * Roster uploads under /api/ingest/ are streamed rather than buffered and are capped at
+ * proposal.admission.max-upload-size while they are read. Multipart uploads are parsed by
+ * the container and bounded by spring.servlet.multipart.* instead.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestSizeLimitFilter extends OncePerRequestFilter {
+
+    @Value("${proposal.admission.max-body-size:4MB}")
+    private DataSize maxBodySize;
+
+    @Value("${proposal.admission.max-upload-size:200MB}")
+    private DataSize maxUploadSize;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (request.getRequestURI().startsWith("/api/ingest/")) {
+            if (request.getContentLengthLong() > maxUploadSize.toBytes()) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Upload exceeds " + maxUploadSize);
+                return;
+            }
+            filterChain.doFilter(new LimitedBodyRequest(request, maxUploadSize), response);
+            return;
+        }
+
+        long max = maxBodySize.toBytes();
+        if (request.getContentLengthLong() > max) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body exceeds " + maxBodySize);
+            return;
+        }
+        if (request.getContentLengthLong() == 0 || "GET".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = readAtMost(request.getInputStream(), max + 1);
+        if (body.length > max) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body exceeds " + maxBodySize);
+            return;
+        }
+        filterChain.doFilter(new BufferedBodyRequest(request, body), response);
+    }
+
+    private static byte[] readAtMost(InputStream in, long limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while (out.size() < limit && (n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - out.size()))) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static class LimitedBodyRequest extends HttpServletRequestWrapper {
+        private final DataSize limit;
+        private ServletInputStream stream;
+
+        LimitedBodyRequest(HttpServletRequest request, DataSize limit) {
+            super(request);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream != null) return stream;
+            ServletInputStream in = super.getInputStream();
+            long max = limit.toBytes();
+            stream = new ServletInputStream() {
+                private long read;
+
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    if (b != -1) count(1);
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buf, int off, int len) throws IOException {
+                    int n = in.read(buf, off, len);
+                    if (n > 0) count(n);
+                    return n;
+                }
+
+                private void count(int n) {
+                    read += n;
+                    if (read > max) throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Upload exceeds " + limit);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return in.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    in.setReadListener(readListener);
+                }
+            };
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding();
+            Charset cs = charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), cs));
+        }
+    }
+
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                private ReadListener listener;
+                private boolean allDataRead;
+
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    if (b == -1 || in.available() == 0) allDataRead();
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buf, int off, int len) throws IOException {
+                    int n = in.read(buf, off, len);
+                    if (n == -1 || in.available() == 0) allDataRead();
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is always ready: the listener is told so at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (readListener == null) throw new NullPointerException("readListener");
+                    if (listener != null) throw new IllegalStateException("ReadListener is already set");
+                    listener = readListener;
+                    try {
+                        if (isFinished()) {
+                            allDataRead();
+                        } else {
+                            readListener.onDataAvailable();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                private void allDataRead() throws IOException {
+                    if (listener == null || allDataRead) return;
+                    allDataRead = true;
+                    listener.onAllDataRead();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String charset = getCharacterEncoding();
+            Charset cs = charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), cs));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
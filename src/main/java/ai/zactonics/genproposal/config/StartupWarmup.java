@@ -0,0 +1,320 @@
+package ai.zactonics.genproposal.config;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.service.PromptGeneratorService;
+import ai.zactonics.genproposal.service.RequirementExtractionService;
+import ai.zactonics.genproposal.tenant.WarmupToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exercises proposal generation, requirement extraction and JSON (de)serialization with
+ * synthetic data so the JIT has compiled the hot paths before the first real request.
+ *
+ * Generation itself runs in-process, since /api/prompt/generate-proposal would put the synthetic
+ * proposals into the result cache and history. The serving path is warmed over HTTP against the
+ * embedded server with side-effect-free endpoints (regenerate-amended and extract-requirements):
+ * filters, request decompression, the dispatcher and the JSON, Smile and CBOR message converters.
+ * Those calls carry the {@link WarmupToken}, so they run outside every tenant's rate limit,
+ * bulkhead and admission limit instead of spending the default tenant's.
+ *
+ * Runs as an ApplicationRunner: Boot only reports readiness (ACCEPTING_TRAFFIC, see
+ * /actuator/health/readiness) after all runners finish, so load balancers wait for it.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String[] SKILLS = {
+        "Azure Solutions Architect", "Azure DevOps", "Cloud Migration", "Kubernetes", "Terraform",
+        "Zero Trust Architecture", "Network Security", "Data Migration", "CI/CD", "Docker"
+    };
+    private static final String[] CERTS = { "AZ-305", "AZ-400", "AZ-500", "CISSP", "PMP", "CKA" };
+    private static final String[] LEVELS = { "Expert", "Advanced", "Intermediate" };
+    private static final String[] ACCEPT = {
+        MediaType.APPLICATION_JSON_VALUE, "application/x-jackson-smile", MediaType.APPLICATION_CBOR_VALUE
+    };
+
+    @Autowired
+    private PromptGeneratorService promptService;
+
+    @Autowired
+    private RequirementExtractionService extractionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private WarmupToken warmupToken;
+
+    @Value("${proposal.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${proposal.warmup.iterations:300}")
+    private int iterations;
+
+    @Value("${proposal.warmup.max-millis:15000}")
+    private long maxMillis;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled || iterations <= 0) return;
+
+        long start = System.nanoTime();
+        long deadline = start + maxMillis * 1_000_000;
+        Random random = new Random(42);
+        URI server = localServer();
+        HttpClient http = server != null ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build() : null;
+        int done = 0;
+        int served = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            ProposalGenerationRequest request = syntheticRequest(random, 4 + random.nextInt(12));
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            ProposalGenerationRequest parsed = objectMapper.readValue(body, ProposalGenerationRequest.class);
+            objectMapper.writeValueAsBytes(promptService.generateProposal(parsed));
+            extractionService.extract(syntheticRfp(random));
+            if (http != null) {
+                if (serve(http, server, random, request, done)) {
+                    served++;
+                } else {
+                    http = null;
+                }
+            }
+            done++;
+        }
+        log.info("Warmup ran {} synthetic proposals ({} over HTTP) in {} ms", done, served,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Base URI of the embedded server, or null when there is none (e.g. a mock web environment). */
+    private URI localServer() {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || port <= 0) return null;
+        String contextPath = environment.getProperty("server.servlet.context-path", "");
+        boolean ssl = environment.getProperty("server.ssl.enabled", Boolean.class, false);
+        return URI.create((ssl ? "https" : "http") + "://localhost:" + port + contextPath);
+    }
+
+    /**
+     * Sends one amendment and one extraction through the embedded server, alternating the response
+     * encoding and gzip-compressing every other request body. Returns false, and HTTP warmup stops,
+     * when the server cannot be reached or answers with an error.
+     */
+    private boolean serve(HttpClient http, URI server, Random random, ProposalGenerationRequest request, int iteration) {
+        try {
+            AmendmentRegenerationRequest amendment = new AmendmentRegenerationRequest();
+            amendment.setPreviousRequest(request);
+            amendment.setAmendedRequest(syntheticRequest(random, 4 + random.nextInt(12)));
+            return post(http, server.resolve(server.getPath() + "/api/prompt/regenerate-amended"),
+                    objectMapper.writeValueAsBytes(amendment), ACCEPT[iteration % ACCEPT.length], iteration % 2 == 1)
+                && post(http, server.resolve(server.getPath() + "/api/prompt/extract-requirements"),
+                    objectMapper.writeValueAsBytes(syntheticRfp(random)), ACCEPT[iteration % ACCEPT.length], false);
+        } catch (IOException e) {
+            log.warn("HTTP warmup stopped: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean post(HttpClient http, URI uri, byte[] json, String accept, boolean gzip)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(10))
+            .header(WarmupToken.HEADER, warmupToken.value())
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.ACCEPT, accept);
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            json = compressed.toByteArray();
+        }
+        HttpResponse<Void> response = http.send(builder.POST(HttpRequest.BodyPublishers.ofByteArray(json)).build(),
+            HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            log.warn("HTTP warmup stopped: {} returned {}", uri.getPath(), response.statusCode());
+            return false;
+        }
+        return true;
+    }
+
+    ProposalGenerationRequest syntheticRequest(Random random, int teamSize) {
+        ProposalGenerationRequest request = new ProposalGenerationRequest();
+
+        ExtractedRequirements extracted = new ExtractedRequirements();
+        List<Requirement> mandatory = new ArrayList<>();
+        for (int i = 1; i <= 3 + random.nextInt(5); i++) {
+            Requirement req = new Requirement();
+            req.setReqId(String.format("MR-%03d", i));
+            req.setCategory("technical");
+            List<String> skills = pick(random, SKILLS, 1 + random.nextInt(3));
+            req.setDescription("Deliver " + String.join(" and ", skills) + " for " + (50 + random.nextInt(500)) + " workloads");
+            req.setRequiredSkills(skills);
+            req.setRequiredCertifications(pick(random, CERTS, random.nextInt(2)));
+            req.setMinYearsExperience(3 + random.nextInt(5));
+            mandatory.add(req);
+        }
+        extracted.setMandatoryRequirements(mandatory);
+        extracted.setPreferredRequirements(new ArrayList<>());
+        extracted.setTeamCompositionRequirements(Map.of("cloud_architect", 2, "devops_engineer", 3));
+
+        RfpData rfp = new RfpData();
+        rfp.setRfpId("RFP-WARMUP-" + random.nextInt(1000));
+        rfp.setTitle("Synthetic Cloud Modernization " + random.nextInt(1000));
+        rfp.setIssuingOrganization("Warmup Corp");
+        rfp.setDueDate(LocalDate.now().plusDays(30));
+        rfp.setContractValue("$" + (1 + random.nextInt(9)) + ",000,000");
+        rfp.setContractDuration((12 + random.nextInt(24)) + " months");
+        rfp.setExtractedRequirements(extracted);
+        request.setRfpData(rfp);
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= teamSize; i++) {
+            Employee emp = new Employee();
+            emp.setEmployeeId(String.format("EMP-%03d", i));
+            emp.setName("Engineer " + i);
+            emp.setTitle(i % 3 == 0 ? "Cloud Architect" : "DevOps Engineer");
+            emp.setYearsExperience(2 + random.nextInt(15));
+            emp.setAvailabilityPercentage(25 * (1 + random.nextInt(4)));
+            emp.setHourlyRate(90.0 + random.nextInt(120));
+
+            List<Skill> skills = new ArrayList<>();
+            for (String name : pick(random, SKILLS, 2 + random.nextInt(4))) {
+                Skill skill = new Skill();
+                skill.setSkillName(name);
+                skill.setProficiencyLevel(LEVELS[random.nextInt(LEVELS.length)]);
+                skill.setYearsExperience(1 + random.nextInt(10));
+                skills.add(skill);
+            }
+            emp.setCurrentSkills(skills);
+
+            List<Certification> certs = new ArrayList<>();
+            for (String id : pick(random, CERTS, random.nextInt(3))) {
+                Certification cert = new Certification();
+                cert.setCertId(id);
+                cert.setCertName(id + " certification");
+                cert.setStatus("Active");
+                certs.add(cert);
+            }
+            emp.setCurrentCertifications(certs);
+
+            List<PlannedCertification> planned = new ArrayList<>();
+            if (random.nextBoolean()) {
+                PlannedCertification pc = new PlannedCertification();
+                pc.setCertId(CERTS[random.nextInt(CERTS.length)]);
+                pc.setCertName(pc.getCertId() + " certification");
+                pc.setPlannedCompletion(LocalDate.now().plusWeeks(4 + random.nextInt(12)));
+                planned.add(pc);
+            }
+            emp.setPlannedCertifications(planned);
+            emp.setResumeHighlights(List.of(
+                "Led " + String.join(", ", pick(random, SKILLS, 2)) + " delivery for a regulated client",
+                "Automated " + SKILLS[random.nextInt(SKILLS.length)] + " across " + (10 + random.nextInt(90)) + " teams"));
+            employees.add(emp);
+        }
+        request.setEmployeeData(employees);
+
+        List<ProjectExperience> projects = new ArrayList<>();
+        for (int i = 1; i <= 2 + random.nextInt(4); i++) {
+            ProjectExperience project = new ProjectExperience();
+            project.setProjectId(String.format("PROJ-%03d", i));
+            project.setProjectName("Synthetic Project " + i);
+            project.setClient("Client " + i);
+            project.setIndustry(i % 2 == 0 ? "Financial Services" : "Healthcare");
+            project.setContractValue("$" + (1 + random.nextInt(5)) + ",000,000");
+            project.setDuration((6 + random.nextInt(18)) + " months");
+            SuccessMetrics metrics = new SuccessMetrics();
+            metrics.setOnTime(random.nextBoolean());
+            metrics.setOnBudget(random.nextBoolean());
+            metrics.setClientSatisfaction(3.5 + random.nextInt(15) / 10.0);
+            project.setSuccessMetrics(metrics);
+            project.setKeyAchievements(List.of(
+                "Migrated " + (20 + random.nextInt(400)) + " applications using " + SKILLS[random.nextInt(SKILLS.length)]));
+            project.setLessonsLearned(List.of("Early " + SKILLS[random.nextInt(SKILLS.length)] + " planning reduced rework"));
+            projects.add(project);
+        }
+        request.setProjectExperience(projects);
+
+        CompanyCapabilities capabilities = new CompanyCapabilities();
+        CoreCompetency competency = new CoreCompetency();
+        competency.setCapability("Cloud Migration");
+        competency.setYearsExperience(5 + random.nextInt(10));
+        competency.setSuccessfulProjects(10 + random.nextInt(40));
+        capabilities.setCoreCompetencies(List.of(competency));
+        request.setCompanyCapabilities(capabilities);
+
+        SkillsGapAnalysis gap = new SkillsGapAnalysis();
+        gap.setRfpId(rfp.getRfpId());
+        gap.setCurrentQualificationPercentage(50 + random.nextInt(50));
+        MissingSkill missing = new MissingSkill();
+        missing.setSkill(SKILLS[random.nextInt(SKILLS.length)]);
+        missing.setRequiredCount(2);
+        missing.setCurrentCount(random.nextInt(2));
+        missing.setImpactOnScore(5 + random.nextInt(6));
+        gap.setMissingSkills(List.of(missing));
+        TrainingRecommendation training = new TrainingRecommendation();
+        training.setEmployeeId("EMP-001");
+        training.setRecommendedCert(CERTS[random.nextInt(CERTS.length)]);
+        training.setCost(1000.0 + random.nextInt(4000));
+        training.setTimelineWeeks(4 + random.nextInt(8));
+        gap.setTrainingRecommendations(List.of(training));
+        WhatIfScenario scenario = new WhatIfScenario();
+        scenario.setScenarioName("Certify two engineers");
+        scenario.setInvestment(5000.0 + random.nextInt(10000));
+        scenario.setTimelineWeeks(8);
+        scenario.setNewQualificationPercentage(Math.min(100, gap.getCurrentQualificationPercentage() + 15));
+        scenario.setPotentialRevenue("$2M");
+        gap.setWhatIfScenarios(List.of(scenario));
+        request.setSkillsGapAnalysis(gap);
+
+        return request;
+    }
+
+    private SampleRfp syntheticRfp(Random random) {
+        SampleRfp rfp = new SampleRfp();
+        rfp.setRfpNumber("RFP-WARMUP-" + random.nextInt(1000));
+        rfp.setTitle("Synthetic Modernization Services");
+        rfp.setSubmissionDeadline("October 15, 2030, 5:00 PM EST");
+        rfp.setTechnicalRequirements(List.of(
+            "Migrate " + (100 + random.nextInt(400)) + " applications to Microsoft Azure",
+            "Implement zero-trust security architecture with AZ-500 certified staff",
+            "Minimum " + (3 + random.nextInt(5)) + "+ years of Kubernetes experience"));
+        rfp.setStaffingRequirements(Map.of("Cloud Architect", (1 + random.nextInt(3)) + " positions, AZ-305 required"));
+        rfp.setScopeOfWork(List.of("Establish CI/CD pipelines and Terraform modules"));
+        rfp.setEvaluationCriteria(Map.of("Technical Approach", 40, "Cost", 30));
+        return rfp;
+    }
+
+    private static List<String> pick(Random random, String[] values, int count) {
+        List<String> shuffled = new ArrayList<>(Arrays.asList(values));
+        Collections.shuffle(shuffled, random);
+        return new ArrayList<>(shuffled.subList(0, Math.min(count, shuffled.size())));
+    }
+}
@@ -0,0 +1,43 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.cluster.ClusterCache;
+import ai.zactonics.genproposal.model.ClusterMember;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.util.List;
+
+/** Peer-to-peer endpoints of the cluster cache tier; outside /api so tenant rate limits do not apply. */
+@RestController
+@RequestMapping("/internal/cluster")
+public class ClusterCacheController {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private ClusterCache clusterCache;
+
+    @GetMapping("/cache/{namespace}/{key}")
+    public ResponseEntity<byte[]> get(@PathVariable String namespace, @PathVariable String key,
+                                      @RequestHeader(value = ClusterCache.TOKEN_HEADER, required = false) String token) {
+        byte[] value = clusterCache.ownedGet(namespace, key, token);
+        return value != null ? ResponseEntity.ok().contentType(SMILE).body(value) : ResponseEntity.notFound().build();
+    }
+
+    @PutMapping("/cache/{namespace}/{key}")
+    public ResponseEntity<Void> put(@PathVariable String namespace, @PathVariable String key, HttpServletRequest request,
+                                    @RequestHeader(value = ClusterCache.TOKEN_HEADER, required = false) String token)
+            throws IOException {
+        // read by ClusterCache after the token check, bounded by proposal.cluster.max-entry-size
+        clusterCache.ownedPut(namespace, key, request.getInputStream(), request.getContentLengthLong(), token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/members")
+    public List<ClusterMember> members() {
+        return clusterCache.members();
+    }
+}
@@ -0,0 +1,22 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.EntityResolutionResult;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.resolution.EntityResolutionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/resolve")
+public class EntityResolutionController {
+
+    @Autowired
+    private EntityResolutionService entityResolution;
+
+    /** Deduplicated employeeData and projectExperience with the merges that produced them. */
+    @PostMapping
+    public ResponseEntity<EntityResolutionResult> resolve(@RequestBody ProposalGenerationRequest request) {
+        return ResponseEntity.ok(entityResolution.resolve(request));
+    }
+}
@@ -0,0 +1,117 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.RecordingInfo;
+import ai.zactonics.genproposal.profiling.FlightRecordings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/** Flight Recorder recordings on demand; process-wide, so outside /api and its tenant limits. */
+@RestController
+@RequestMapping("/internal/profiling/recordings")
+public class FlightRecordingController {
+
+    @Autowired
+    private FlightRecordings recordings;
+
+    @GetMapping
+    public List<RecordingInfo> list(@RequestHeader(value = FlightRecordings.TOKEN_HEADER, required = false) String token) {
+        recordings.authorize(token);
+        return recordings.list();
+    }
+
+    /** e.g. POST /internal/profiling/recordings?settings=profile&duration=2m&threshold=0ms */
+    @PostMapping
+    public RecordingInfo start(@RequestParam(required = false) String name,
+                               @RequestParam(required = false) String settings,
+                               @RequestParam(required = false) String maxAge,
+                               @RequestParam(required = false) String maxSize,
+                               @RequestParam(required = false) String duration,
+                               @RequestParam(required = false) String threshold,
+                               @RequestHeader(value = FlightRecordings.TOKEN_HEADER, required = false) String token) {
+        recordings.authorize(token);
+        return recordings.start(name, settings, duration("maxAge", maxAge), dataSize("maxSize", maxSize),
+            duration("duration", duration), duration("threshold", threshold));
+    }
+
+    @GetMapping("/{id}")
+    public RecordingInfo get(@PathVariable long id,
+                             @RequestHeader(value = FlightRecordings.TOKEN_HEADER, required = false) String token) {
+        recordings.authorize(token);
+        return recordings.get(id);
+    }
+
+    /** The recording so far as a .jfr file, for JDK Mission Control or {@code jfr print}. */
+    @GetMapping("/{id}/dump")
+    public ResponseEntity<StreamingResponseBody> dump(@PathVariable long id,
+            @RequestHeader(value = FlightRecordings.TOKEN_HEADER, required = false) String token) throws IOException {
+        recordings.authorize(token);
+        Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+        try {
+            recordings.dump(id, file);
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .contentLength(Files.size(file))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("recording-" + id + ".jfr").build().toString())
+            .body(body);
+    }
+
+    @PostMapping("/{id}/stop")
+    public RecordingInfo stop(@PathVariable long id,
+                              @RequestHeader(value = FlightRecordings.TOKEN_HEADER, required = false) String token) {
+        recordings.authorize(token);
+        return recordings.stop(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> close(@PathVariable long id,
+                                      @RequestHeader(value = FlightRecordings.TOKEN_HEADER, required = false) String token) {
+        recordings.authorize(token);
+        recordings.close(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // same formats as the proposal.profiling properties, e.g. 10m, 500ms, 64MB
+    private static Duration duration(String param, String value) {
+        if (value == null) return null;
+        try {
+            return DurationStyle.detectAndParse(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, param + " '" + value + "' is not a duration such as 10m");
+        }
+    }
+
+    private static DataSize dataSize(String param, String value) {
+        if (value == null) return null;
+        try {
+            return DataSize.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, param + " '" + value + "' is not a size such as 64MB");
+        }
+    }
+}
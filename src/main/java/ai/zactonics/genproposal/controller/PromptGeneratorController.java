@@ -1,7 +1,13 @@
 package ai.zactonics.genproposal.controller;
 
+import ai.zactonics.genproposal.admission.AdmissionControl;
 import ai.zactonics.genproposal.model.*;
-import ai.zactonics.genproposal.service.PromptGeneratorService;
+import ai.zactonics.genproposal.resolution.EntityResolutionService;
+import ai.zactonics.genproposal.service.EvidenceRetrievalService;
+import ai.zactonics.genproposal.service.LaborCostEngine;
+import ai.zactonics.genproposal.service.ProposalPipeline;
+import ai.zactonics.genproposal.service.RequirementExtractionService;
+import ai.zactonics.genproposal.service.SectionDependencyTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,44 +19,55 @@ import java.util.*;
 public class PromptGeneratorController {
 
     @Autowired
-    private PromptGeneratorService promptService;
+    private RequirementExtractionService extractionService;
+
+    @Autowired
+    private EvidenceRetrievalService evidenceService;
+
+    @Autowired
+    private SectionDependencyTracker dependencyTracker;
+
+    @Autowired
+    private LaborCostEngine costEngine;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private EntityResolutionService entityResolution;
+
+    @Autowired
+    private ProposalPipeline proposalPipeline;
 
     @PostMapping("/generate-proposal")
     public ResponseEntity<ProposalGenerationResponse> generateProposal(
             @RequestBody ProposalGenerationRequest request) {
-        
-        ProposalGenerationResponse response = new ProposalGenerationResponse();
-        
-        // Generate prompts for each section
-        response.setExecutiveSummaryPrompt(
-            promptService.generateExecutiveSummaryPrompt(request));
-        
-        response.setTechnicalApproachPrompt(
-            promptService.generateTechnicalApproachPrompt(request));
-        
-        response.setTeamQualificationsPrompt(
-            promptService.generateTeamQualificationsPrompt(request));
-        
-        response.setPastPerformancePrompt(
-            promptService.generatePastPerformancePrompt(request));
-        
-        response.setSkillsDevelopmentPrompt(
-            promptService.generateSkillsDevelopmentPrompt(request));
-        
-        response.setCostProposalPrompt(
-            promptService.generateCostProposalPrompt(request));
-        
-        // Generate complete proposal
-        response.setCompleteProposal(
-            promptService.assembleCompleteProposal(request));
-        
-        response.setQualificationScore(
-            promptService.calculateQualificationScore(request));
-        
-        response.setRecommendations(
-            promptService.generateRecommendations(request));
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(proposalPipeline.generate(request));
+    }
+
+    @PostMapping("/requirement-evidence")
+    public ResponseEntity<Map<String, List<EvidenceSnippet>>> getRequirementEvidence(
+            @RequestBody ProposalGenerationRequest request) {
+        return ResponseEntity.ok(evidenceService.evidenceByRequirement(request));
+    }
+
+    @PostMapping("/cost-model")
+    public ResponseEntity<LaborCostModel> getCostModel(@RequestBody ProposalGenerationRequest request) {
+        return ResponseEntity.ok(costEngine.model(request));
+    }
+
+    @PostMapping("/regenerate-amended")
+    public ResponseEntity<AmendmentRegenerationResponse> regenerateAmended(
+            @RequestBody AmendmentRegenerationRequest request) {
+        if (request.getPreviousRequest() == null || request.getAmendedRequest() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        long cost = admissionControl.estimateCost(request.getPreviousRequest())
+            + admissionControl.estimateCost(request.getAmendedRequest());
+        try (AdmissionControl.Permit permit = admissionControl.admit(cost)) {
+            return ResponseEntity.ok(dependencyTracker.regenerate(entityResolution.deduplicate(request.getPreviousRequest()),
+                entityResolution.deduplicate(request.getAmendedRequest())));
+        }
     }
 
     @GetMapping("/sample-rfp")
@@ -58,6 +75,20 @@ public class PromptGeneratorController {
         return ResponseEntity.ok(createSampleRfp());
     }
 
+    @PostMapping("/extract-requirements")
+    public ResponseEntity<RfpData> extractRequirements(@RequestBody SampleRfp rfp) {
+        return ResponseEntity.ok(extractionService.extract(rfp));
+    }
+
+    @PostMapping("/extract-requirements/batch")
+    public ResponseEntity<List<RfpData>> extractRequirementsBatch(@RequestBody List<SampleRfp> rfps) {
+        // results are positional, so a null entry is rejected rather than skipped
+        if (rfps == null || rfps.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(extractionService.extractAll(rfps));
+    }
+
     private SampleRfp createSampleRfp() {
         SampleRfp rfp = new SampleRfp();
         rfp.setRfpNumber("RFP-2025-CLOUD-001");
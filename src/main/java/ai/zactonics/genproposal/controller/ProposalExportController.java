@@ -0,0 +1,67 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.admission.AdmissionControl;
+import ai.zactonics.genproposal.export.ExportFormat;
+import ai.zactonics.genproposal.export.ProposalExportService;
+import ai.zactonics.genproposal.model.ProposalExportRequest;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.resolution.EntityResolutionService;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ProposalExportController {
+
+    @Autowired
+    private ProposalExportService exportService;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private EntityResolutionService entityResolution;
+
+    /** The assembled proposal as a downloadable document, e.g. POST /api/export/proposal?format=docx. */
+    @PostMapping("/proposal")
+    public ResponseEntity<StreamingResponseBody> exportProposal(
+            @RequestParam(defaultValue = "markdown") String format,
+            @RequestBody ProposalExportRequest request) {
+        ExportFormat exportFormat = ExportFormat.fromName(format).orElseThrow(() ->
+            new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown format '" + format + "'; use markdown, html or docx"));
+        ProposalGenerationRequest proposal = request.getProposal();
+        // checked up front: once streaming has started the status can no longer change
+        if (proposal == null || proposal.getRfpData() == null || proposal.getEmployeeData() == null
+            || proposal.getSkillsGapAnalysis() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "rfpData, employeeData and skillsGapAnalysis are required");
+        }
+
+        long cost = admissionControl.estimateCost(proposal);
+        AdmissionControl.Permit permit = admissionControl.admit(cost);
+        String tenantId = TenantContext.get();
+        StreamingResponseBody body = out -> {
+            // runs on an MVC async thread, outside the tenant filter
+            TenantContext.set(tenantId);
+            try (permit) {
+                exportService.export(entityResolution.deduplicate(proposal), request.getProposalOutputTemplate(),
+                    request.getSectionContent(), exportFormat, out);
+            } finally {
+                TenantContext.clear();
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("proposal." + exportFormat.getExtension()).build().toString())
+            .body(body);
+    }
+}
@@ -0,0 +1,72 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.history.ProposalHistoryStore;
+import ai.zactonics.genproposal.model.ProposalHistoryEntry;
+import ai.zactonics.genproposal.model.ProposalHistorySummary;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.model.SampleRfp;
+import ai.zactonics.genproposal.model.SimilarRfp;
+import ai.zactonics.genproposal.service.RequirementExtractionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/history")
+public class ProposalHistoryController {
+
+    @Autowired
+    private ProposalHistoryStore historyStore;
+
+    @Autowired
+    private RequirementExtractionService extractionService;
+
+    @GetMapping
+    public ResponseEntity<List<ProposalHistorySummary>> findProposals(
+            @RequestParam(required = false) String rfpId,
+            @RequestParam(required = false) String rosterVersion,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(historyStore.find(rfpId, rosterVersion, from, to, Math.max(1, Math.min(limit, 1000))));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProposalHistoryEntry> getProposal(@PathVariable long id) {
+        return ResponseEntity.of(historyStore.get(id));
+    }
+
+    @GetMapping("/input/{inputHash}")
+    public ResponseEntity<List<ProposalHistorySummary>> findByInput(@PathVariable String inputHash) {
+        return ResponseEntity.ok(historyStore.findByInputHash(inputHash));
+    }
+
+    @PostMapping("/similar")
+    public ResponseEntity<List<SimilarRfp>> findSimilar(
+            @RequestBody RfpData rfp,
+            @RequestParam(defaultValue = "0.3") double minSimilarity,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "true") boolean includeResponses) {
+        return ResponseEntity.ok(historyStore.findSimilar(rfp, minSimilarity, Math.max(1, Math.min(limit, 100)),
+            includeResponses));
+    }
+
+    /** Same as /similar for a raw RFP; its text is compared through the requirements extracted from it. */
+    @PostMapping("/similar/sample")
+    public ResponseEntity<List<SimilarRfp>> findSimilarToSample(
+            @RequestBody SampleRfp sample,
+            @RequestParam(defaultValue = "0.3") double minSimilarity,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "true") boolean includeResponses) {
+        return findSimilar(extractionService.extract(sample), minSimilarity, limit, includeResponses);
+    }
+
+    @PostMapping("/compact")
+    public ResponseEntity<Map<String, Integer>> compact() {
+        return ResponseEntity.ok(Map.of("segmentsRemoved", historyStore.compact()));
+    }
+}
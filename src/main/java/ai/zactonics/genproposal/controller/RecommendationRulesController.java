@@ -0,0 +1,46 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.RuleEvaluation;
+import ai.zactonics.genproposal.model.RuleSetInfo;
+import ai.zactonics.genproposal.rules.RecommendationRules;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rules")
+public class RecommendationRulesController {
+
+    @Autowired
+    private RecommendationRules rules;
+
+    @GetMapping
+    public ResponseEntity<RuleSetInfo> getRules() {
+        return ResponseEntity.ok(rules.info());
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<RuleSetInfo> reload() throws IOException {
+        try {
+            return ResponseEntity.ok(rules.reload());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+    }
+
+    /** Recommendations for one request with the rules that produced them. */
+    @PostMapping("/evaluate")
+    public ResponseEntity<RuleEvaluation> evaluate(@RequestBody ProposalGenerationRequest request) {
+        return ResponseEntity.ok(rules.evaluate(request));
+    }
+
+    @PostMapping("/evaluate/batch")
+    public ResponseEntity<List<RuleEvaluation>> evaluateBatch(@RequestBody List<ProposalGenerationRequest> requests) {
+        return ResponseEntity.ok(rules.evaluateAll(requests));
+    }
+}
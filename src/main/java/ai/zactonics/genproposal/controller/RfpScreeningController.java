@@ -0,0 +1,21 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.RfpScreeningRequest;
+import ai.zactonics.genproposal.model.RfpScreeningResponse;
+import ai.zactonics.genproposal.service.RfpScreeningService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/screening")
+public class RfpScreeningController {
+
+    @Autowired
+    private RfpScreeningService screeningService;
+
+    @PostMapping("/rank")
+    public ResponseEntity<RfpScreeningResponse> rankRfps(@RequestBody RfpScreeningRequest request) {
+        return ResponseEntity.ok(screeningService.screen(request));
+    }
+}
@@ -0,0 +1,145 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.roster.RosterPin;
+import ai.zactonics.genproposal.roster.RosterSnapshot;
+import ai.zactonics.genproposal.roster.RosterStore;
+import ai.zactonics.genproposal.service.ProposalPipeline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/roster")
+public class RosterController {
+
+    static final String VERSION_HEADER = "X-Roster-Version";
+
+    @Autowired
+    private RosterStore rosterStore;
+
+    @Autowired
+    private ProposalPipeline proposalPipeline;
+
+    @GetMapping
+    public ResponseEntity<RosterSummary> getSummary() {
+        return ResponseEntity.ok(rosterStore.summary());
+    }
+
+    /** Replaces the whole roster; companyCapabilities is kept when omitted. */
+    @PutMapping
+    public ResponseEntity<RosterSummary> replaceRoster(@RequestBody RosterData data) {
+        rosterStore.replace(data.getEmployeeData(), data.getProjectExperience(), data.getCompanyCapabilities());
+        return ResponseEntity.ok(rosterStore.summary());
+    }
+
+    @GetMapping("/employees")
+    public ResponseEntity<List<Employee>> getEmployees(@RequestParam(required = false) Long version) {
+        try (RosterPin pin = pin(version)) {
+            return versioned(pin.snapshot(), pin.snapshot().employees());
+        }
+    }
+
+    @GetMapping("/employees/{employeeId}")
+    public ResponseEntity<Employee> getEmployee(@PathVariable String employeeId) {
+        RosterSnapshot head = rosterStore.head();
+        Employee employee = head.employee(employeeId);
+        if (employee == null) return ResponseEntity.notFound().build();
+        return versioned(head, employee);
+    }
+
+    @PutMapping("/employees/{employeeId}")
+    public ResponseEntity<Employee> putEmployee(@PathVariable String employeeId, @RequestBody Employee employee) {
+        if (employee.getEmployeeId() == null) employee.setEmployeeId(employeeId);
+        requireSameId(employeeId, employee.getEmployeeId());
+        RosterSnapshot published = rosterStore.putEmployee(employee);
+        return versioned(published, published.employee(employeeId));
+    }
+
+    @DeleteMapping("/employees/{employeeId}")
+    public ResponseEntity<Void> deleteEmployee(@PathVariable String employeeId) {
+        if (rosterStore.head().employee(employeeId) == null) return ResponseEntity.notFound().build();
+        RosterSnapshot published = rosterStore.removeEmployee(employeeId);
+        return ResponseEntity.noContent().header(VERSION_HEADER, String.valueOf(published.version())).build();
+    }
+
+    @GetMapping("/projects")
+    public ResponseEntity<List<ProjectExperience>> getProjects(@RequestParam(required = false) Long version) {
+        try (RosterPin pin = pin(version)) {
+            return versioned(pin.snapshot(), pin.snapshot().projects());
+        }
+    }
+
+    @GetMapping("/projects/{projectId}")
+    public ResponseEntity<ProjectExperience> getProject(@PathVariable String projectId) {
+        RosterSnapshot head = rosterStore.head();
+        ProjectExperience project = head.project(projectId);
+        if (project == null) return ResponseEntity.notFound().build();
+        return versioned(head, project);
+    }
+
+    @PutMapping("/projects/{projectId}")
+    public ResponseEntity<ProjectExperience> putProject(@PathVariable String projectId,
+                                                        @RequestBody ProjectExperience project) {
+        if (project.getProjectId() == null) project.setProjectId(projectId);
+        requireSameId(projectId, project.getProjectId());
+        RosterSnapshot published = rosterStore.putProject(project);
+        return versioned(published, published.project(projectId));
+    }
+
+    @DeleteMapping("/projects/{projectId}")
+    public ResponseEntity<Void> deleteProject(@PathVariable String projectId) {
+        if (rosterStore.head().project(projectId) == null) return ResponseEntity.notFound().build();
+        RosterSnapshot published = rosterStore.removeProject(projectId);
+        return ResponseEntity.noContent().header(VERSION_HEADER, String.valueOf(published.version())).build();
+    }
+
+    @PutMapping("/company-capabilities")
+    public ResponseEntity<CompanyCapabilities> putCompanyCapabilities(@RequestBody CompanyCapabilities capabilities) {
+        RosterSnapshot published = rosterStore.setCompanyCapabilities(capabilities);
+        return versioned(published, published.companyCapabilities());
+    }
+
+    /**
+     * Generates against the stored roster. The version (the head unless ?version= names a retained
+     * one) stays pinned for the whole run, so concurrent roster edits never show up half-way.
+     */
+    @PostMapping("/generate-proposal")
+    public ResponseEntity<ProposalGenerationResponse> generateProposal(
+            @RequestParam(required = false) Long version,
+            @RequestBody RosterProposalRequest body) {
+        try (RosterPin pin = pin(version)) {
+            RosterSnapshot snapshot = pin.snapshot();
+            ProposalGenerationRequest request = new ProposalGenerationRequest();
+            request.setRfpData(body.getRfpData());
+            request.setSkillsGapAnalysis(body.getSkillsGapAnalysis());
+            request.setCompleteProposalLayout(body.getCompleteProposalLayout());
+            request.setEmployeeData(snapshot.employees());
+            request.setProjectExperience(snapshot.projects());
+            request.setCompanyCapabilities(snapshot.companyCapabilities());
+            return versioned(snapshot, proposalPipeline.generate(request));
+        }
+    }
+
+    private RosterPin pin(Long version) {
+        if (version == null) return rosterStore.pinHead();
+        RosterPin pin = rosterStore.pin(version);
+        if (pin == null) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Roster version " + version + " is no longer retained");
+        }
+        return pin;
+    }
+
+    private static void requireSameId(String pathId, String bodyId) {
+        if (!pathId.equals(bodyId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Body id '" + bodyId + "' does not match '" + pathId + "'");
+        }
+    }
+
+    private static <T> ResponseEntity<T> versioned(RosterSnapshot snapshot, T body) {
+        return ResponseEntity.ok().header(VERSION_HEADER, String.valueOf(snapshot.version())).body(body);
+    }
+}
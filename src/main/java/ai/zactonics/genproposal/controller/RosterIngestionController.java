@@ -0,0 +1,112 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.ingest.CsvRowReader;
+import ai.zactonics.genproposal.ingest.RosterIngestionService;
+import ai.zactonics.genproposal.ingest.RosterIngestionService.SheetSource;
+import ai.zactonics.genproposal.ingest.SheetKind;
+import ai.zactonics.genproposal.ingest.XlsxWorkbook;
+import ai.zactonics.genproposal.model.IngestionResult;
+import ai.zactonics.genproposal.roster.RosterSnapshot;
+import ai.zactonics.genproposal.roster.RosterStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/ingest")
+public class RosterIngestionController {
+
+    @Autowired
+    private RosterIngestionService ingestionService;
+
+    @Autowired
+    private RosterStore rosterStore;
+
+    @Value("${proposal.ingest.max-rows:1000000}")
+    private long maxRows;
+
+    /** One CSV sheet streamed as the request body, e.g. POST /api/ingest/employees. */
+    @PostMapping(value = "/{sheet}", consumes = { "text/csv", "text/plain", MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<IngestionResult> ingestCsv(@PathVariable String sheet,
+                                                     @RequestParam(defaultValue = "false") boolean publish,
+                                                     HttpServletRequest request) {
+        SheetKind kind = SheetKind.fromName(sheet).orElseThrow(() -> unknownSheet(sheet));
+        SheetSource source = new SheetSource(kind, kind.label(),
+            () -> new CsvRowReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
+        return respond(ingestionService.ingest(List.of(source)), publish);
+    }
+
+    /** Any mix of .xlsx workbooks (tabs named after sheets) and CSV files named after sheets. */
+    @PostMapping(value = "/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<IngestionResult> ingestFiles(@RequestParam("file") List<MultipartFile> files,
+                                                       @RequestParam(defaultValue = "false") boolean publish)
+            throws IOException {
+        List<SheetSource> sources = new ArrayList<>();
+        List<XlsxWorkbook> workbooks = new ArrayList<>();
+        List<Path> tempFiles = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                String name = file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+                String lower = name.toLowerCase(Locale.ROOT);
+                if (lower.endsWith(".xlsx")) {
+                    Path temp = Files.createTempFile("roster-", ".xlsx");
+                    tempFiles.add(temp);
+                    file.transferTo(temp);
+                    XlsxWorkbook workbook = openWorkbook(temp, name);
+                    workbooks.add(workbook);
+                    // tabs such as DataDictionary that are not roster sheets are skipped
+                    for (String tab : workbook.sheetNames()) {
+                        SheetKind.fromName(tab).ifPresent(kind ->
+                            sources.add(new SheetSource(kind, name + ":" + tab, () -> workbook.openSheet(tab))));
+                    }
+                } else if (lower.endsWith(".xls")) {
+                    throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        name + " is a legacy .xls workbook; save it as .xlsx or CSV");
+                } else {
+                    SheetKind kind = SheetKind.fromName(name).orElseThrow(() -> unknownSheet(name));
+                    sources.add(new SheetSource(kind, name,
+                        () -> new CsvRowReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))));
+                }
+            }
+            return respond(ingestionService.ingest(sources), publish);
+        } finally {
+            for (XlsxWorkbook workbook : workbooks) workbook.close();
+            for (Path temp : tempFiles) Files.deleteIfExists(temp);
+        }
+    }
+
+    /** With ?publish=true the accepted rows replace the stored roster as its next version. */
+    private ResponseEntity<IngestionResult> respond(IngestionResult result, boolean publish) {
+        if (!publish) return ResponseEntity.ok(result);
+        RosterSnapshot published = rosterStore.replace(result.getEmployees(), result.getProjects(), null);
+        return ResponseEntity.ok().header(RosterController.VERSION_HEADER, String.valueOf(published.version())).body(result);
+    }
+
+    // the shared string table is held in memory, so it gets the same entry budget as rows
+    private XlsxWorkbook openWorkbook(Path file, String name) {
+        try {
+            return XlsxWorkbook.open(file, maxRows);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + ": " + e.getMessage());
+        }
+    }
+
+    private static ResponseStatusException unknownSheet(String name) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot tell which sheet '" + name
+            + "' is; use employees, skills, certs, planned_certs or projects");
+    }
+}
@@ -0,0 +1,47 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.SkillRollupEntry;
+import ai.zactonics.genproposal.model.TaxonomyInfo;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/taxonomy")
+public class SkillTaxonomyController {
+
+    @Autowired
+    private SkillTaxonomy taxonomy;
+
+    @GetMapping
+    public ResponseEntity<TaxonomyInfo> getTaxonomy() {
+        return ResponseEntity.ok(taxonomy.info());
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<TaxonomyInfo> reload() throws IOException {
+        try {
+            return ResponseEntity.ok(taxonomy.reload());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+    }
+
+    @GetMapping("/is-a")
+    public ResponseEntity<Map<String, Boolean>> isA(@RequestParam String held, @RequestParam String required) {
+        return ResponseEntity.ok(Map.of("isA", taxonomy.current().isA(held, required)));
+    }
+
+    /** Employees (and most years of experience) under each taxonomy node the roster covers. */
+    @PostMapping("/rollup")
+    public ResponseEntity<List<SkillRollupEntry>> rollup(@RequestBody List<Employee> employees) {
+        return ResponseEntity.ok(taxonomy.current().rollup(employees).entries());
+    }
+}
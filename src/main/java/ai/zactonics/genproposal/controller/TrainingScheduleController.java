@@ -0,0 +1,32 @@
+package ai.zactonics.genproposal.controller;
+
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.TrainingSchedule;
+import ai.zactonics.genproposal.model.TrainingScheduleRequest;
+import ai.zactonics.genproposal.service.TrainingScheduleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/training")
+public class TrainingScheduleController {
+
+    @Autowired
+    private TrainingScheduleService scheduleService;
+
+    @PostMapping("/schedule")
+    public ResponseEntity<TrainingSchedule> schedule(
+            @RequestBody ProposalGenerationRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate) {
+        return ResponseEntity.ok(scheduleService.schedule(request, startDate != null ? startDate : LocalDate.now()));
+    }
+
+    @PostMapping("/schedule/batch")
+    public ResponseEntity<List<TrainingSchedule>> scheduleBatch(@RequestBody TrainingScheduleRequest request) {
+        return ResponseEntity.ok(scheduleService.scheduleAll(request));
+    }
+}
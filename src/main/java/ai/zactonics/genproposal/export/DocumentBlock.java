@@ -0,0 +1,71 @@
+package ai.zactonics.genproposal.export;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A heading, paragraph or list within one exported section. Renderers only see blocks, so the
+ * section generators keep producing plain text.
+ */
+public record DocumentBlock(Kind kind, String text, List<String> items) {
+
+    public enum Kind { HEADING, PARAGRAPH, BULLET_LIST, NUMBERED_LIST }
+
+    private static final Pattern NUMBERED = Pattern.compile("^\\d+[.)]\\s+(.*)$");
+
+    public static DocumentBlock heading(String text) {
+        return new DocumentBlock(Kind.HEADING, text, List.of());
+    }
+
+    public static DocumentBlock paragraph(String text) {
+        return new DocumentBlock(Kind.PARAGRAPH, text, List.of());
+    }
+
+    public static DocumentBlock bullets(List<String> items) {
+        return new DocumentBlock(Kind.BULLET_LIST, null, List.copyOf(items));
+    }
+
+    /**
+     * Splits generated section text into blocks: "- " lines become bullet items, "1. " lines
+     * numbered items, short lines ending in ':' headings and everything else paragraphs.
+     */
+    public static List<DocumentBlock> parse(String text) {
+        List<DocumentBlock> blocks = new ArrayList<>();
+        if (text == null) return blocks;
+
+        Kind listKind = null;
+        List<String> items = new ArrayList<>();
+        for (String raw : text.split("\n")) {
+            String line = raw.strip();
+            Kind kind = null;
+            String item = null;
+            if (line.startsWith("- ") || line.startsWith("* ")) {
+                kind = Kind.BULLET_LIST;
+                item = line.substring(2).strip();
+            } else {
+                Matcher numbered = NUMBERED.matcher(line);
+                if (numbered.matches()) {
+                    kind = Kind.NUMBERED_LIST;
+                    item = numbered.group(1);
+                }
+            }
+
+            if (kind != listKind && !items.isEmpty()) {
+                blocks.add(new DocumentBlock(listKind, null, List.copyOf(items)));
+                items.clear();
+            }
+            listKind = kind;
+            if (kind != null) {
+                items.add(item);
+            } else if (line.endsWith(":") && line.length() <= 80) {
+                blocks.add(heading(line.substring(0, line.length() - 1)));
+            } else if (!line.isEmpty()) {
+                blocks.add(paragraph(line));
+            }
+        }
+        if (!items.isEmpty()) blocks.add(new DocumentBlock(listKind, null, List.copyOf(items)));
+        return blocks;
+    }
+}
@@ -0,0 +1,18 @@
+package ai.zactonics.genproposal.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Renders an export format. {@link #section} is pure, so its output can be cached per section
+ * and replayed into any later document of the same format.
+ */
+public interface DocumentRenderer {
+
+    ExportFormat format();
+
+    String section(String heading, List<DocumentBlock> blocks);
+
+    DocumentSink open(OutputStream out, String title) throws IOException;
+}
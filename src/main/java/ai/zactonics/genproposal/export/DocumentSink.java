@@ -0,0 +1,10 @@
+package ai.zactonics.genproposal.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/** An open export document. Fragments are written as they are produced; close finishes the document but not the stream. */
+public interface DocumentSink extends Closeable {
+
+    void write(String fragment) throws IOException;
+}
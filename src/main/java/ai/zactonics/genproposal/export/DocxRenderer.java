@@ -0,0 +1,160 @@
+package ai.zactonics.genproposal.export;
+
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal WordprocessingML package written straight to the response: the fixed parts first,
+ * then word/document.xml as the last zip entry, one section's paragraphs at a time.
+ * Lists are rendered as indented paragraphs with a bullet or number prefix, which avoids
+ * shipping a numbering part.
+ */
+@Component
+public class DocxRenderer implements DocumentRenderer {
+
+    private static final String W_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private static final String CONTENT_TYPES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>
+        <Default Extension="xml" ContentType="application/xml"/>
+        <Override PartName="/word/document.xml" ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml"/>
+        <Override PartName="/word/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.styles+xml"/>
+        </Types>
+        """;
+
+    private static final String PACKAGE_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="word/document.xml"/>
+        </Relationships>
+        """;
+
+    private static final String DOCUMENT_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+        <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>
+        </Relationships>
+        """;
+
+    private static final String STYLES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <w:styles xmlns:w="%s">
+        <w:docDefaults><w:rPrDefault><w:rPr><w:rFonts w:ascii="Calibri" w:hAnsi="Calibri"/><w:sz w:val="22"/></w:rPr></w:rPrDefault>
+        <w:pPrDefault><w:pPr><w:spacing w:after="120"/></w:pPr></w:pPrDefault></w:docDefaults>
+        <w:style w:type="paragraph" w:default="1" w:styleId="Normal"><w:name w:val="Normal"/></w:style>
+        <w:style w:type="paragraph" w:styleId="Title"><w:name w:val="Title"/><w:basedOn w:val="Normal"/><w:pPr><w:spacing w:after="240"/></w:pPr><w:rPr><w:b/><w:sz w:val="48"/></w:rPr></w:style>
+        <w:style w:type="paragraph" w:styleId="Heading1"><w:name w:val="heading 1"/><w:basedOn w:val="Normal"/><w:pPr><w:keepNext/><w:pageBreakBefore/><w:spacing w:before="240"/><w:outlineLvl w:val="0"/></w:pPr><w:rPr><w:b/><w:sz w:val="32"/></w:rPr></w:style>
+        <w:style w:type="paragraph" w:styleId="Heading2"><w:name w:val="heading 2"/><w:basedOn w:val="Normal"/><w:pPr><w:keepNext/><w:spacing w:before="200"/><w:outlineLvl w:val="1"/></w:pPr><w:rPr><w:b/><w:sz w:val="26"/></w:rPr></w:style>
+        <w:style w:type="paragraph" w:styleId="ListParagraph"><w:name w:val="List Paragraph"/><w:basedOn w:val="Normal"/><w:pPr><w:spacing w:after="60"/><w:ind w:left="720" w:hanging="360"/></w:pPr></w:style>
+        </w:styles>
+        """.formatted(W_NS);
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.DOCX;
+    }
+
+    @Override
+    public String section(String heading, List<DocumentBlock> blocks) {
+        StringBuilder xml = new StringBuilder();
+        paragraph(xml, "Heading1", heading);
+        for (DocumentBlock block : blocks) {
+            switch (block.kind()) {
+                case HEADING -> paragraph(xml, "Heading2", block.text());
+                case PARAGRAPH -> paragraph(xml, null, block.text());
+                case BULLET_LIST -> block.items().forEach(item -> paragraph(xml, "ListParagraph", "•\t" + item));
+                case NUMBERED_LIST -> {
+                    for (int i = 0; i < block.items().size(); i++) {
+                        paragraph(xml, "ListParagraph", (i + 1) + ".\t" + block.items().get(i));
+                    }
+                }
+            }
+        }
+        return xml.toString();
+    }
+
+    @Override
+    public DocumentSink open(OutputStream out, String title) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        entry(zip, writer, "[Content_Types].xml", CONTENT_TYPES);
+        entry(zip, writer, "_rels/.rels", PACKAGE_RELS);
+        entry(zip, writer, "word/_rels/document.xml.rels", DOCUMENT_RELS);
+        entry(zip, writer, "word/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        StringBuilder start = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+            .append("<w:document xmlns:w=\"").append(W_NS).append("\"><w:body>");
+        paragraph(start, "Title", title);
+        writer.write(start.toString());
+        writer.flush();
+
+        return new DocumentSink() {
+            @Override
+            public void write(String fragment) throws IOException {
+                writer.write(fragment);
+                writer.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.write("<w:sectPr><w:pgSz w:w=\"12240\" w:h=\"15840\"/>"
+                    + "<w:pgMar w:top=\"1440\" w:right=\"1440\" w:bottom=\"1440\" w:left=\"1440\"/></w:sectPr>"
+                    + "</w:body></w:document>");
+                writer.flush();
+                zip.closeEntry();
+                zip.finish();
+            }
+        };
+    }
+
+    private static void entry(ZipOutputStream zip, Writer writer, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content.strip());
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private static void paragraph(StringBuilder xml, String style, String text) {
+        xml.append("<w:p>");
+        if (style != null) xml.append("<w:pPr><w:pStyle w:val=\"").append(style).append("\"/></w:pPr>");
+        xml.append("<w:r>");
+        String value = text != null ? text : "";
+        int start = 0;
+        for (int tab = value.indexOf('\t'); ; tab = value.indexOf('\t', start)) {
+            String run = tab < 0 ? value.substring(start) : value.substring(start, tab);
+            if (!run.isEmpty()) xml.append("<w:t xml:space=\"preserve\">").append(escape(run)).append("</w:t>");
+            if (tab < 0) break;
+            xml.append("<w:tab/>");
+            start = tab + 1;
+        }
+        xml.append("</w:r></w:p>");
+    }
+
+    // XML 1.0 cannot carry most control characters at all, so they are dropped rather than escaped
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\n' || c == '\r') escaped.append(c);
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
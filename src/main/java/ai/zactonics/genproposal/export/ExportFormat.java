@@ -0,0 +1,39 @@
+package ai.zactonics.genproposal.export;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum ExportFormat {
+
+    MARKDOWN("text/markdown;charset=UTF-8", "md"),
+    HTML("text/html;charset=UTF-8", "html"),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /** Accepts the enum name or the file extension, case-insensitively ("markdown", "md", "docx"). */
+    public static Optional<ExportFormat> fromName(String name) {
+        if (name == null) return Optional.empty();
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.name().toLowerCase(Locale.ROOT).equals(key) || format.extension.equals(key)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
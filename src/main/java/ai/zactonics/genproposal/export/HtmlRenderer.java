@@ -0,0 +1,41 @@
+package ai.zactonics.genproposal.export;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTML export through the Thymeleaf templates under templates/export. The document shell is
+ * written around the fragments so each section can be rendered, cached and streamed on its own.
+ */
+@Component
+public class HtmlRenderer implements DocumentRenderer {
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.HTML;
+    }
+
+    @Override
+    public String section(String heading, List<DocumentBlock> blocks) {
+        return templateEngine.process("export/section", new Context(null, Map.of("heading", heading, "blocks", blocks)));
+    }
+
+    @Override
+    public DocumentSink open(OutputStream out, String title) throws IOException {
+        Context context = new Context(null, Map.of("title", title));
+        String head = templateEngine.process("export/head", Set.of("document-head"), context);
+        String heading = templateEngine.process("export/head", Set.of("document-title"), context);
+        return new TextDocumentSink(out, "<!DOCTYPE html>\n<html lang=\"en\">\n" + head + "\n<body>\n" + heading + "\n",
+            "</body>\n</html>\n");
+    }
+}
@@ -0,0 +1,58 @@
+package ai.zactonics.genproposal.export;
+
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+@Component
+public class MarkdownRenderer implements DocumentRenderer {
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.MARKDOWN;
+    }
+
+    @Override
+    public String section(String heading, List<DocumentBlock> blocks) {
+        StringBuilder md = new StringBuilder();
+        md.append("## ").append(inline(heading)).append("\n\n");
+        for (DocumentBlock block : blocks) {
+            switch (block.kind()) {
+                case HEADING -> md.append("### ").append(inline(block.text())).append("\n\n");
+                case PARAGRAPH -> md.append(inline(block.text())).append("\n\n");
+                case BULLET_LIST -> {
+                    block.items().forEach(item -> md.append("- ").append(inline(item)).append('\n'));
+                    md.append('\n');
+                }
+                case NUMBERED_LIST -> {
+                    for (int i = 0; i < block.items().size(); i++) {
+                        md.append(i + 1).append(". ").append(inline(block.items().get(i))).append('\n');
+                    }
+                    md.append('\n');
+                }
+            }
+        }
+        return md.toString();
+    }
+
+    @Override
+    public DocumentSink open(OutputStream out, String title) throws IOException {
+        return new TextDocumentSink(out, "# " + inline(title) + "\n\n", "");
+    }
+
+    // keeps generated text from turning into markup it did not ask for
+    private static String inline(String text) {
+        if (text == null) return "";
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '*' || c == '_' || c == '`' || c == '[' || c == ']' || c == '<' || c == '>'
+                || c == '#' && i == 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
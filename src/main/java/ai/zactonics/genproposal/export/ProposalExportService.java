@@ -0,0 +1,154 @@
+package ai.zactonics.genproposal.export;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.service.PromptGeneratorService;
+import ai.zactonics.genproposal.service.ProposalSectionType;
+import ai.zactonics.genproposal.service.SectionDependencyTracker;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import ai.zactonics.genproposal.tenant.TenantScopedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Renders a full proposal document section by section and writes each section to the output
+ * as soon as it is ready, so only one section is ever held in memory.
+ *
+ * A section's body is the generated text supplied for it. A prompt section without supplied text
+ * is exported as its generation prompt under a "Generation prompt" label, so an export without any
+ * text is a prompt pack rather than a finished proposal; Qualification Score and Recommendations are
+ * computed here.
+ *
+ * Sections follow the ProposalOutputTemplate order (matched by display name), then any sections
+ * the template leaves out in their usual order. Computed and prompt sections are cached per tenant,
+ * keyed by format, section and a hash of the section's declared inputs, so re-exporting after an
+ * edit only renders the sections that edit touched. Supplied text is rendered straight to the
+ * output: it is cheap to render and rarely exported twice unchanged, so caching it would only
+ * evict the fragments worth keeping.
+ */
+@Service
+public class ProposalExportService {
+
+    @Autowired
+    private PromptGeneratorService promptService;
+
+    @Autowired
+    private SectionDependencyTracker dependencyTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private List<DocumentRenderer> renderers;
+
+    @Value("${proposal.export.fragment-cache-entries:256}")
+    private int fragmentCacheEntries;
+
+    @Value("${proposal.tenant.idle-eviction:10m}")
+    private Duration tenantIdleEviction;
+
+    static final String PROMPT_LABEL = "Generation prompt (no generated text supplied)";
+
+    private final Map<ExportFormat, DocumentRenderer> renderersByFormat = new EnumMap<>(ExportFormat.class);
+    private TenantScopedCache<String, String> fragments;
+
+    @PostConstruct
+    void init() {
+        renderers.forEach(renderer -> renderersByFormat.put(renderer.format(), renderer));
+        fragments = new TenantScopedCache<>("export-fragments", fragmentCacheEntries, tenantIdleEviction, meterRegistry);
+    }
+
+    public void export(ProposalGenerationRequest request, ProposalOutputTemplate template,
+                       Map<String, String> sectionContent, ExportFormat format, OutputStream out) throws IOException {
+        DocumentRenderer renderer = renderersByFormat.get(format);
+        Map<ProposalSectionType, String> inputs = dependencyTracker.inputFingerprints(request);
+        Map<ProposalSectionType, String> generated = generatedText(sectionContent);
+
+        DocumentSink sink = renderer.open(out, title(request));
+        for (ProposalSectionType section : sectionOrder(template)) {
+            String text = generated.get(section);
+            if (text != null) {
+                sink.write(renderer.section(section.getDisplayName(), DocumentBlock.parse(text)));
+                continue;
+            }
+            sink.write(fragments.getOrCompute(format + ":" + section + ":" + inputs.get(section),
+                () -> renderer.section(section.getDisplayName(), blocks(section, request))));
+        }
+        // not closed on failure: a truncated download must not look like a finished document
+        sink.close();
+        meterRegistry.counter("proposal.export.documents", "format", format.getExtension()).increment();
+    }
+
+    /** Template sections that name a known section, in template order, followed by the rest. */
+    public List<ProposalSectionType> sectionOrder(ProposalOutputTemplate template) {
+        Map<String, ProposalSectionType> byName = new HashMap<>();
+        for (ProposalSectionType section : ProposalSectionType.values()) {
+            byName.put(TextNormalizer.toKey(section.getDisplayName()), section);
+        }
+
+        Set<ProposalSectionType> ordered = new LinkedHashSet<>();
+        if (template != null && template.getSections() != null) {
+            for (ProposalSection section : template.getSections()) {
+                ProposalSectionType type = byName.get(TextNormalizer.toKey(section.getSection()));
+                if (type != null) ordered.add(type);
+            }
+        }
+        ordered.addAll(List.of(ProposalSectionType.values()));
+        return List.copyOf(ordered);
+    }
+
+    /** Supplied section text by section; keys are matched like template section names. */
+    private static Map<ProposalSectionType, String> generatedText(Map<String, String> sectionContent) {
+        Map<ProposalSectionType, String> generated = new EnumMap<>(ProposalSectionType.class);
+        if (sectionContent == null) return generated;
+        Map<String, String> byKey = new HashMap<>();
+        sectionContent.forEach((name, text) -> {
+            if (text != null && !text.isBlank()) byKey.put(TextNormalizer.toKey(name), text);
+        });
+        for (ProposalSectionType section : ProposalSectionType.values()) {
+            String text = byKey.get(TextNormalizer.toKey(section.getDisplayName()));
+            if (text != null) generated.put(section, text);
+        }
+        return generated;
+    }
+
+    private List<DocumentBlock> blocks(ProposalSectionType section, ProposalGenerationRequest request) {
+        return switch (section) {
+            case QUALIFICATION_SCORE -> qualificationBlocks(promptService.calculateQualificationScore(request));
+            case RECOMMENDATIONS -> List.of(DocumentBlock.bullets(promptService.generateRecommendations(request)));
+            default -> {
+                List<DocumentBlock> blocks = new ArrayList<>();
+                blocks.add(DocumentBlock.heading(PROMPT_LABEL));
+                blocks.addAll(DocumentBlock.parse(dependencyTracker.render(section, request)));
+                yield blocks;
+            }
+        };
+    }
+
+    private static List<DocumentBlock> qualificationBlocks(QualificationScore score) {
+        List<DocumentBlock> blocks = new ArrayList<>();
+        blocks.add(DocumentBlock.paragraph("Current qualification: " + score.getCurrentScore() + "%"));
+        if (score.getScenarioScores() != null && !score.getScenarioScores().isEmpty()) {
+            blocks.add(DocumentBlock.heading("Scenarios"));
+            blocks.add(DocumentBlock.bullets(score.getScenarioScores().entrySet().stream()
+                .map(e -> e.getKey() + ": " + e.getValue() + "%")
+                .toList()));
+        }
+        if (score.getCriticalGaps() != null && !score.getCriticalGaps().isEmpty()) {
+            blocks.add(DocumentBlock.heading("Critical Gaps"));
+            blocks.add(DocumentBlock.bullets(score.getCriticalGaps()));
+        }
+        return blocks;
+    }
+
+    private static String title(ProposalGenerationRequest request) {
+        String rfpTitle = request.getRfpData() != null ? request.getRfpData().getTitle() : null;
+        return rfpTitle != null && !rfpTitle.isBlank() ? "Proposal: " + rfpTitle : "Proposal";
+    }
+}
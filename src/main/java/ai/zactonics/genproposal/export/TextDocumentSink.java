@@ -0,0 +1,33 @@
+package ai.zactonics.genproposal.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/** UTF-8 text document: a preamble, the fragments, a closing string; flushed after every fragment. */
+class TextDocumentSink implements DocumentSink {
+
+    private final Writer writer;
+    private final String closing;
+
+    TextDocumentSink(OutputStream out, String preamble, String closing) throws IOException {
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.closing = closing;
+        writer.write(preamble);
+        writer.flush();
+    }
+
+    @Override
+    public void write(String fragment) throws IOException {
+        writer.write(fragment);
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.write(closing);
+        writer.flush();
+    }
+}
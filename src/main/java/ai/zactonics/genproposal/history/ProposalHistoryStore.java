@@ -0,0 +1,596 @@
+package ai.zactonics.genproposal.history;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.service.RequestFingerprintService;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only, segmented store of generated proposals (request + response).
+ *
+ * Record layout: magic, meta length, payload length, CRC32, then the summary as JSON and
+ * the deflate-compressed request/response JSON. Segments roll at proposal.history.segment-size;
+ * retention drops whole segments once their newest record has expired. On startup a damaged
+ * record is skipped (counted) and scanning resumes at the next intact one; only damage at the
+ * end of the newest segment, a write torn by a crash, is truncated.
+ *
+ * Only record metadata is kept in memory, indexed by id, (rfpId, time), input hash and roster
+ * version; payloads are read from disk on demand. The RFP's MinHash signature is stored with
+ * the summary and loaded into a {@link SimilarRfpIndex} for similar-RFP lookups. Appends are queued and written by a single
+ * background thread, and dropped (counted) when the queue is full, so callers never wait on disk.
+ * Compaction also runs on that thread (callers of {@link #compact()} wait for it), so the segment
+ * list only ever changes on the writer.
+ */
+@Component
+public class ProposalHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ProposalHistoryStore.class);
+
+    private static final int MAGIC = 0x50485331; // "PHS1"
+    private static final int HEADER_BYTES = 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long RETENTION_CHECK_INTERVAL_MS = Duration.ofHours(1).toMillis();
+    private static final String MIN_HASH_FIELD = "minHash";
+    private static final Duration COMPACT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Comparator<IndexEntry> BY_TIME = Comparator
+        .comparingLong(IndexEntry::createdAtMillis)
+        .thenComparingLong(IndexEntry::id);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestFingerprintService fingerprintService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${proposal.history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${proposal.history.dir:${user.home}/.genproposal/history}")
+    private Path directory;
+
+    @Value("${proposal.history.segment-size:16MB}")
+    private DataSize segmentSize;
+
+    @Value("${proposal.history.retention:90d}")
+    private Duration retention;
+
+    @Value("${proposal.history.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${proposal.history.similar.max-candidates:2000}")
+    private int maxSimilarCandidates;
+
+    record IndexEntry(long id, String tenantId, String rfpId, long createdAtMillis, String inputHash,
+                      String rosterVersion, Segment segment, long offset, ProposalHistorySummary summary) {
+    }
+
+    private record PendingWrite(String tenantId, Instant createdAt, String inputHash,
+                                ProposalGenerationRequest request, ProposalGenerationResponse response) {
+    }
+
+    /** Request and response as stored in the compressed payload. */
+    private record Payload(ProposalGenerationRequest request, ProposalGenerationResponse response) {
+    }
+
+    /** A record read back from a segment whose checksum matched; body is the meta followed by the payload. */
+    private record StoredRecord(int metaLength, byte[] body) {
+        long length() {
+            return HEADER_BYTES + body.length;
+        }
+    }
+
+    static final class Segment {
+        final long firstId;
+        final Path path;
+        final FileChannel channel;
+        volatile long size;
+        volatile long newestMillis;
+
+        Segment(long firstId, Path path, FileChannel channel, long size) {
+            this.firstId = firstId;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, IndexEntry> byId = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListSet<IndexEntry>> byRfp = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListSet<IndexEntry>> byInput = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListSet<IndexEntry>> byRoster = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<IndexEntry> byTime = new ConcurrentSkipListSet<>(BY_TIME);
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    private SimilarRfpIndex similarRfps;
+    private BlockingQueue<PendingWrite> queue;
+    private final Queue<CompletableFuture<Integer>> compactions = new ConcurrentLinkedQueue<>();
+    private Thread writer;
+    private volatile boolean running;
+    private long nextId = 1;
+    private long lastRetentionCheck;
+    private Counter appended;
+    private Counter dropped;
+    private Counter damaged;
+
+    @PostConstruct
+    void init() throws IOException {
+        appended = meterRegistry.counter("proposal.history.appended");
+        dropped = meterRegistry.counter("proposal.history.dropped");
+        damaged = meterRegistry.counter("proposal.history.damaged");
+        similarRfps = new SimilarRfpIndex(maxSimilarCandidates);
+        if (!enabled) return;
+
+        directory = directory.toAbsolutePath();
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> paths = files
+                .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .sorted()
+                .toList();
+            for (int i = 0; i < paths.size(); i++) recover(paths.get(i), i == paths.size() - 1);
+        }
+        // the writer has not started yet, so this thread still owns the segments
+        dropExpired();
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("proposal.history.queue", queue, BlockingQueue::size);
+        running = true;
+        writer = new Thread(this::writeLoop, "proposal-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Proposal history: {} records in {} segments under {}", byId.size(), segments.size(), directory);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(5000);
+        }
+        compactions.forEach(request -> request.cancel(false));
+        for (Segment segment : segments) closeQuietly(segment);
+    }
+
+    /** Queues a generated proposal for storage; never blocks. Returns false when the record was dropped. */
+    public boolean record(String inputHash, ProposalGenerationRequest request, ProposalGenerationResponse response) {
+        if (!enabled) return false;
+        if (queue.offer(new PendingWrite(TenantContext.get(), Instant.now(), inputHash, request, response))) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /** Summaries for the current tenant, newest first, optionally narrowed by RFP, roster version and time range. */
+    public List<ProposalHistorySummary> find(String rfpId, String rosterVersion, Instant from, Instant to, int limit) {
+        NavigableSet<IndexEntry> candidates;
+        if (rfpId != null) {
+            candidates = byRfp.getOrDefault(rfpId, new ConcurrentSkipListSet<>(BY_TIME));
+        } else if (rosterVersion != null) {
+            candidates = byRoster.getOrDefault(rosterVersion, new ConcurrentSkipListSet<>(BY_TIME));
+        } else {
+            candidates = byTime;
+        }
+
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        if (fromMillis > toMillis) return List.of();
+        NavigableSet<IndexEntry> range = candidates.subSet(
+            probe(fromMillis, Long.MIN_VALUE), true, probe(toMillis, Long.MAX_VALUE), true);
+
+        String tenantId = TenantContext.get();
+        List<ProposalHistorySummary> results = new ArrayList<>();
+        for (IndexEntry entry : range.descendingSet()) {
+            if (results.size() >= limit) break;
+            if (!entry.tenantId().equals(tenantId)) continue;
+            if (rosterVersion != null && !rosterVersion.equals(entry.rosterVersion())) continue;
+            results.add(entry.summary());
+        }
+        return results;
+    }
+
+    public List<ProposalHistorySummary> findByInputHash(String inputHash) {
+        String tenantId = TenantContext.get();
+        return byInput.getOrDefault(inputHash, new ConcurrentSkipListSet<>(BY_TIME)).descendingSet().stream()
+            .filter(e -> e.tenantId().equals(tenantId))
+            .map(IndexEntry::summary)
+            .toList();
+    }
+
+    /**
+     * Prior proposals of the current tenant whose RFP resembles the given one, most similar first
+     * and one (the closest, then newest) per rfpId. Responses are read from disk only when requested.
+     */
+    public List<SimilarRfp> findSimilar(RfpData rfp, double minSimilarity, int limit, boolean includeResponses) {
+        int[] signature = SimilarRfpIndex.signature(rfp);
+        if (signature == null) return List.of();
+
+        String tenantId = TenantContext.get();
+        Set<String> rfpIds = new HashSet<>();
+        List<SimilarRfp> results = new ArrayList<>();
+        for (SimilarRfpIndex.Match match : similarRfps.query(tenantId, signature, minSimilarity)) {
+            if (results.size() >= limit) break;
+            IndexEntry entry = byId.get(match.id());
+            if (entry == null || !entry.tenantId().equals(tenantId)) continue;
+            if (entry.rfpId() != null && !rfpIds.add(entry.rfpId())) continue;
+
+            SimilarRfp similar = new SimilarRfp();
+            similar.setSummary(entry.summary());
+            similar.setSimilarity(Math.round(match.similarity() * 1000) / 1000.0);
+            if (includeResponses) {
+                try {
+                    similar.setResponse(read(entry).getResponse());
+                } catch (IOException | DataFormatException e) {
+                    log.warn("Unable to read proposal history record {}", entry.id(), e);
+                }
+            }
+            results.add(similar);
+        }
+        return results;
+    }
+
+    /** Full record for the current tenant, or empty when unknown, expired or unreadable. */
+    public Optional<ProposalHistoryEntry> get(long id) {
+        IndexEntry entry = byId.get(id);
+        if (entry == null || !entry.tenantId().equals(TenantContext.get())) return Optional.empty();
+        try {
+            return Optional.of(read(entry));
+        } catch (IOException | DataFormatException e) {
+            log.warn("Unable to read proposal history record {}", id, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Drops segments whose newest record is older than the retention period, on the writer thread
+     * (picked up within a second). Returns the number removed.
+     */
+    public int compact() {
+        if (!enabled || writer == null) return 0;
+        CompletableFuture<Integer> done = new CompletableFuture<>();
+        compactions.add(done);
+        try {
+            return done.get(COMPACT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for history compaction", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("History compaction did not complete", e);
+        }
+    }
+
+    // writer thread only (or init, before it starts)
+    private int dropExpired() {
+        long cutoff = Instant.now().minus(retention).toEpochMilli();
+        int removed = 0;
+        List<Segment> sealed = segments.subList(0, Math.max(0, segments.size() - 1));
+        // the newest segment is still being appended to
+        for (Segment segment : List.copyOf(sealed)) {
+            if (segment.newestMillis >= cutoff) continue;
+            segments.remove(segment);
+            dropFromIndex(segment);
+            closeQuietly(segment);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Unable to delete expired history segment {}", segment.path, e);
+            }
+            removed++;
+        }
+        lastRetentionCheck = System.currentTimeMillis();
+        return removed;
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, 63);
+                    for (PendingWrite pending : batch) append(pending);
+                    active().channel.force(false);
+                }
+                for (CompletableFuture<Integer> request; (request = compactions.poll()) != null; ) {
+                    request.complete(dropExpired());
+                }
+                if (System.currentTimeMillis() - lastRetentionCheck > RETENTION_CHECK_INTERVAL_MS) dropExpired();
+            } catch (InterruptedException e) {
+                if (!running) continue;
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Proposal history write failed; {} records lost", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void append(PendingWrite pending) throws IOException {
+        ProposalGenerationRequest request = pending.request();
+        ProposalHistorySummary summary = new ProposalHistorySummary();
+        summary.setId(nextId);
+        summary.setTenantId(pending.tenantId());
+        summary.setRfpId(request.getRfpData() != null ? request.getRfpData().getRfpId() : null);
+        summary.setRfpTitle(request.getRfpData() != null ? request.getRfpData().getTitle() : null);
+        summary.setCreatedAt(pending.createdAt());
+        summary.setInputHash(pending.inputHash());
+        summary.setRosterVersion(rosterVersion(request));
+
+        byte[] payload = deflate(objectMapper.writeValueAsBytes(new Payload(request, pending.response())));
+        summary.setStoredBytes(payload.length);
+        int[] signature = SimilarRfpIndex.signature(request.getRfpData());
+        ObjectNode metaNode = objectMapper.valueToTree(summary);
+        if (signature != null) metaNode.put(MIN_HASH_FIELD, encode(signature));
+        byte[] meta = objectMapper.writeValueAsBytes(metaNode);
+
+        CRC32 crc = new CRC32();
+        crc.update(meta);
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + meta.length + payload.length);
+        record.putInt(MAGIC).putInt(meta.length).putInt(payload.length).putInt((int) crc.getValue());
+        record.put(meta).put(payload).flip();
+
+        Segment segment = active();
+        if (segment.size > 0 && segment.size + record.remaining() > segmentSize.toBytes()) {
+            segment.channel.force(false);
+            segment = openSegment(nextId);
+        }
+        long offset = segment.size;
+        while (record.hasRemaining()) segment.channel.write(record, segment.size + record.position());
+        segment.size += record.limit();
+
+        index(summary, segment, offset, signature);
+        nextId++;
+        appended.increment();
+    }
+
+    /** Version of the roster (employees + projects) a proposal was generated from. */
+    private String rosterVersion(ProposalGenerationRequest request) {
+        List<Object> roster = new ArrayList<>(2);
+        roster.add(request.getEmployeeData());
+        roster.add(request.getProjectExperience());
+        return fingerprintService.fingerprint(roster).substring(0, 16);
+    }
+
+    private Segment active() throws IOException {
+        return segments.isEmpty() ? openSegment(nextId) : segments.get(segments.size() - 1);
+    }
+
+    private Segment openSegment(long firstId) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstId, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        Segment segment = new Segment(firstId, path, channel, channel.size());
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Rebuilds the index from a segment. A damaged record is skipped up to the next intact one, so
+     * one bad sector does not cost the records after it. Damage with nothing intact after it is a
+     * record torn by a crash mid-append when it ends the newest segment, and is truncated so appends
+     * continue from a record boundary; in a sealed segment it is left on disk untouched.
+     */
+    private void recover(Path path, boolean newest) throws IOException {
+        String name = path.getFileName().toString();
+        long firstId = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        Segment segment = openSegment(firstId);
+        long offset = 0;
+        while (offset < segment.size) {
+            StoredRecord record = readRecord(segment, offset);
+            if (record == null) {
+                long next = nextRecord(segment, offset + 1);
+                if (next < 0) break;
+                log.warn("Skipping {} damaged bytes of {} at offset {}", next - offset, path, offset);
+                damaged.increment();
+                offset = next;
+                continue;
+            }
+            ObjectNode meta = (ObjectNode) objectMapper.readTree(record.body(), 0, record.metaLength());
+            JsonNode minHash = meta.remove(MIN_HASH_FIELD);
+            ProposalHistorySummary summary = objectMapper.treeToValue(meta, ProposalHistorySummary.class);
+            index(summary, segment, offset, minHash != null ? decode(minHash.binaryValue()) : null);
+            nextId = Math.max(nextId, summary.getId() + 1);
+            offset += record.length();
+        }
+        if (offset >= segment.size) return;
+        if (newest) {
+            log.warn("Truncating {} at offset {} (incomplete record)", path, offset);
+            segment.channel.truncate(offset);
+            segment.size = offset;
+        } else {
+            log.warn("Ignoring {} unreadable bytes at the end of {}", segment.size - offset, path);
+            damaged.increment();
+        }
+    }
+
+    /** The record at offset, or null when its header is invalid, it runs past the segment or its checksum fails. */
+    private static StoredRecord readRecord(Segment segment, long offset) throws IOException {
+        if (offset + HEADER_BYTES > segment.size) return null;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(segment.channel, header, offset);
+        header.flip();
+        int magic = header.getInt();
+        int metaLength = header.getInt();
+        int payloadLength = header.getInt();
+        int crc = header.getInt();
+        if (magic != MAGIC || metaLength < 0 || payloadLength < 0
+            || offset + HEADER_BYTES + (long) metaLength + payloadLength > segment.size) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(metaLength + payloadLength);
+        readFully(segment.channel, body, offset + HEADER_BYTES);
+        CRC32 actual = new CRC32();
+        actual.update(body.array());
+        return (int) actual.getValue() == crc ? new StoredRecord(metaLength, body.array()) : null;
+    }
+
+    /** Offset of the first intact record at or after from, or -1 when there is none. */
+    private static long nextRecord(Segment segment, long from) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        // consecutive chunks overlap by three bytes so a magic number split between them is still seen
+        for (long start = from; start + HEADER_BYTES <= segment.size; start += chunk.capacity() - 3) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), segment.size - start));
+            readFully(segment.channel, chunk, start);
+            for (int i = 0; i + 4 <= chunk.limit(); i++) {
+                if (chunk.getInt(i) == MAGIC && readRecord(segment, start + i) != null) return start + i;
+            }
+        }
+        return -1;
+    }
+
+    private ProposalHistoryEntry read(IndexEntry entry) throws IOException, DataFormatException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(entry.segment().channel, header, entry.offset());
+        header.flip();
+        header.getInt();
+        int metaLength = header.getInt();
+        int payloadLength = header.getInt();
+        ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+        readFully(entry.segment().channel, payload, entry.offset() + HEADER_BYTES + metaLength);
+
+        Payload stored = objectMapper.readValue(inflate(payload.array()), Payload.class);
+        ProposalHistoryEntry result = new ProposalHistoryEntry();
+        result.setSummary(entry.summary());
+        result.setRequest(stored.request());
+        result.setResponse(stored.response());
+        return result;
+    }
+
+    private void index(ProposalHistorySummary summary, Segment segment, long offset, int[] signature) {
+        IndexEntry entry = new IndexEntry(summary.getId(), summary.getTenantId(), summary.getRfpId(),
+            summary.getCreatedAt().toEpochMilli(), summary.getInputHash(), summary.getRosterVersion(),
+            segment, offset, summary);
+        byId.put(entry.id(), entry);
+        byTime.add(entry);
+        if (entry.rfpId() != null) byRfp.computeIfAbsent(entry.rfpId(), k -> new ConcurrentSkipListSet<>(BY_TIME)).add(entry);
+        if (entry.inputHash() != null) byInput.computeIfAbsent(entry.inputHash(), k -> new ConcurrentSkipListSet<>(BY_TIME)).add(entry);
+        byRoster.computeIfAbsent(entry.rosterVersion(), k -> new ConcurrentSkipListSet<>(BY_TIME)).add(entry);
+        segment.newestMillis = Math.max(segment.newestMillis, entry.createdAtMillis());
+        if (signature != null) similarRfps.add(entry.id(), entry.tenantId(), signature);
+    }
+
+    private void dropFromIndex(Segment segment) {
+        List<Long> removed = new ArrayList<>();
+        Iterator<IndexEntry> it = byId.values().iterator();
+        while (it.hasNext()) {
+            IndexEntry entry = it.next();
+            if (entry.segment() != segment) continue;
+            it.remove();
+            removed.add(entry.id());
+            byTime.remove(entry);
+            removeFrom(byRfp, entry.rfpId(), entry);
+            removeFrom(byInput, entry.inputHash(), entry);
+            removeFrom(byRoster, entry.rosterVersion(), entry);
+        }
+        similarRfps.removeAll(removed);
+    }
+
+    private static void removeFrom(Map<String, ConcurrentSkipListSet<IndexEntry>> index, String key, IndexEntry entry) {
+        if (key == null) return;
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(entry);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static IndexEntry probe(long createdAtMillis, long id) {
+        return new IndexEntry(id, null, null, createdAtMillis, null, null, null, 0, null);
+    }
+
+    private static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * 4);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    private static int[] decode(byte[] bytes) {
+        if (bytes.length != SimilarRfpIndex.HASHES * 4) return null;
+        int[] signature = new int[SimilarRfpIndex.HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) throw new IOException("Unexpected end of history segment");
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) out.write(buffer, 0, deflater.deflate(buffer));
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput()) throw new DataFormatException("Truncated history payload");
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            // nothing left to flush for a segment being dropped or closed at shutdown
+        }
+    }
+}
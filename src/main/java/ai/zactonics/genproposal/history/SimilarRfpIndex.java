@@ -0,0 +1,254 @@
+package ai.zactonics.genproposal.history;
+
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.Requirement;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash / LSH index of stored RFPs, for finding prior RFPs that resemble a new one.
+ *
+ * An RFP is reduced to a feature set: title and requirement-description words plus its
+ * required skills and certifications. Its signature holds the minimum of each of
+ * {@link #HASHES} hash functions over that set, so two signatures agree in a position with
+ * probability equal to the sets' Jaccard similarity. Signatures are split into {@link #BANDS}
+ * bands of {@link #ROWS} rows; RFPs sharing any band (and tenant) become candidates, which
+ * for 20 x 3 means about 93% recall at similarity 0.5 and 42% at 0.3.
+ *
+ * Everything lives in flat arrays: per slot the record id, its tenant and the low 16 bits of each
+ * signature value (enough to estimate similarity), and one chained hash table of band keys.
+ * Band keys only mix in the tenant's hash, so candidates are also checked against the slot's tenant.
+ * Removed slots are tombstoned and dropped on the next compaction.
+ */
+class SimilarRfpIndex {
+
+    static final int BANDS = 20;
+    static final int ROWS = 3;
+    static final int HASHES = BANDS * ROWS;
+
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] OFFSETS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5246504d48L);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            OFFSETS[i] = random.nextLong();
+        }
+    }
+
+    record Match(long id, double similarity) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final int maxCandidates;
+
+    private long[] ids = new long[64];
+    private String[] tenants = new String[64];
+    private short[] signatures = new short[64 * HASHES];
+    // posting p = slot * BANDS + band; heads[mix(key) & mask] -> p + 1, next[p] -> p + 1 (0 ends a chain)
+    private int[] keys = new int[64 * BANDS];
+    private int[] next = new int[64 * BANDS];
+    private int[] heads = new int[tableSize(64)];
+    private int slots;
+    private int tombstones;
+
+    SimilarRfpIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    /** Feature set of an RFP: title and requirement words, required skills and certifications. */
+    static Set<String> features(RfpData rfp) {
+        Set<String> features = new HashSet<>();
+        if (rfp == null) return features;
+        for (String word : TextNormalizer.tokens(rfp.getTitle())) features.add("w:" + word);
+        ExtractedRequirements extracted = rfp.getExtractedRequirements();
+        if (extracted != null) {
+            addRequirements(features, extracted.getMandatoryRequirements());
+            addRequirements(features, extracted.getPreferredRequirements());
+        }
+        return features;
+    }
+
+    /** MinHash signature of an RFP, or null when it has no features to compare. */
+    static int[] signature(RfpData rfp) {
+        Set<String> features = features(rfp);
+        if (features.isEmpty()) return null;
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long h = hash(feature);
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) ((MULTIPLIERS[i] * h + OFFSETS[i]) >>> 33);
+                if (value < signature[i]) signature[i] = value;
+            }
+        }
+        return signature;
+    }
+
+    void add(long id, String tenantId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            if (slotsById.containsKey(id)) return;
+            if (slots == ids.length) grow();
+            int slot = slots++;
+            ids[slot] = id;
+            tenants[slot] = tenantId;
+            for (int i = 0; i < HASHES; i++) signatures[slot * HASHES + i] = (short) signature[i];
+            int tenant = tenantId != null ? tenantId.hashCode() : 0;
+            for (int band = 0; band < BANDS; band++) {
+                int posting = slot * BANDS + band;
+                keys[posting] = bandKey(tenant, band, signature);
+                link(posting);
+            }
+            slotsById.put(id, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAll(Collection<Long> removed) {
+        lock.writeLock().lock();
+        try {
+            for (long id : removed) {
+                Integer slot = slotsById.remove(id);
+                if (slot == null) continue;
+                ids[slot] = -1;
+                tenants[slot] = null;
+                tombstones++;
+            }
+            if (tombstones > 1024 && tombstones > slots / 2) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records of the tenant sharing at least one band with the signature and at least
+     * {@code minSimilarity} estimated similarity, best first. At most {@code maxCandidates}
+     * are scored, so a bucket crowded with regenerations of one RFP cannot slow queries down.
+     */
+    List<Match> query(String tenantId, int[] signature, double minSimilarity) {
+        int tenant = tenantId != null ? tenantId.hashCode() : 0;
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            int mask = heads.length - 1;
+            for (int band = 0; band < BANDS && seen.size() < maxCandidates; band++) {
+                int key = bandKey(tenant, band, signature);
+                for (int p = heads[mix(key) & mask]; p != 0 && seen.size() < maxCandidates; p = next[p - 1]) {
+                    int posting = p - 1;
+                    if (keys[posting] != key || posting % BANDS != band) continue;
+                    int slot = posting / BANDS;
+                    if (ids[slot] < 0 || !Objects.equals(tenants[slot], tenantId) || !seen.add(slot)) continue;
+                    double similarity = similarity(slot, signature);
+                    if (similarity >= minSimilarity) matches.add(new Match(ids[slot], similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+            .thenComparing(Comparator.comparingLong(Match::id).reversed()));
+        return matches;
+    }
+
+    private double similarity(int slot, int[] signature) {
+        int equal = 0;
+        int base = slot * HASHES;
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[base + i] == (short) signature[i]) equal++;
+        }
+        return (double) equal / HASHES;
+    }
+
+    private void link(int posting) {
+        int bucket = mix(keys[posting]) & (heads.length - 1);
+        next[posting] = heads[bucket];
+        heads[bucket] = posting + 1;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        tenants = Arrays.copyOf(tenants, capacity);
+        signatures = Arrays.copyOf(signatures, capacity * HASHES);
+        keys = Arrays.copyOf(keys, capacity * BANDS);
+        next = new int[capacity * BANDS];
+        heads = new int[tableSize(capacity)];
+        for (int posting = 0; posting < slots * BANDS; posting++) link(posting);
+    }
+
+    /** Moves live slots down over the tombstones and rebuilds the band table. */
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (ids[slot] < 0) continue;
+            if (slot != live) {
+                ids[live] = ids[slot];
+                tenants[live] = tenants[slot];
+                System.arraycopy(signatures, slot * HASHES, signatures, live * HASHES, HASHES);
+                System.arraycopy(keys, slot * BANDS, keys, live * BANDS, BANDS);
+                slotsById.put(ids[live], live);
+            }
+            live++;
+        }
+        Arrays.fill(tenants, live, slots, null);
+        slots = live;
+        tombstones = 0;
+        Arrays.fill(heads, 0);
+        for (int posting = 0; posting < slots * BANDS; posting++) link(posting);
+    }
+
+    private static void addRequirements(Set<String> features, List<Requirement> requirements) {
+        if (requirements == null) return;
+        for (Requirement req : requirements) {
+            for (String word : TextNormalizer.tokens(req.getDescription())) features.add("w:" + word);
+            if (req.getRequiredSkills() != null) {
+                for (String skill : req.getRequiredSkills()) features.add("s:" + TextNormalizer.toKey(skill));
+            }
+            if (req.getRequiredCertifications() != null) {
+                for (String cert : req.getRequiredCertifications()) features.add("c:" + TextNormalizer.toKey(cert));
+            }
+        }
+    }
+
+    private static int bandKey(int tenant, int band, int[] signature) {
+        int h = tenant * 31 + band;
+        for (int row = 0; row < ROWS; row++) h = h * 0x9E3779B1 + signature[band * ROWS + row];
+        return h;
+    }
+
+    // 64-bit FNV-1a; String.hashCode alone collides too easily for short feature strings
+    private static long hash(String feature) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            h ^= feature.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h ^ (h >>> 29);
+    }
+
+    // power of two with at least one bucket per posting
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(capacity * BANDS - 1) << 1;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x85EBCA6B;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,142 @@
+package ai.zactonics.genproposal.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: quoted fields may contain delimiters, doubled quotes and line
+ * breaks. The delimiter (comma, semicolon or tab) is taken from the first line, which is
+ * how spreadsheet exports from non-English locales differ. Only one row is held at a time.
+ */
+public class CsvRowReader implements RowReader {
+
+    private static final int MAX_FIELD_LENGTH = 1 << 20;
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private int pos;
+    private int limit;
+    private char delimiter;
+    private long line = 1;
+    private long rowNumber;
+    private final StringBuilder field = new StringBuilder();
+
+    public CsvRowReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        if (delimiter == 0) delimiter = detectDelimiter();
+        List<String> cells = new ArrayList<>();
+        long startLine = line;
+        field.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == delimiter) {
+                cells.add(cell(wasQuoted));
+                wasQuoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') read();
+                line++;
+                cells.add(cell(wasQuoted));
+                if (cells.size() == 1 && cells.get(0) == null) {
+                    // blank line
+                    cells.clear();
+                    startLine = line;
+                    wasQuoted = false;
+                    continue;
+                }
+                rowNumber = startLine;
+                return cells.toArray(new String[0]);
+            } else {
+                append((char) c);
+            }
+        }
+        if (quoted) throw new IOException("Unterminated quoted field starting on line " + startLine);
+        if (cells.isEmpty() && field.length() == 0 && !wasQuoted) return null;
+        cells.add(cell(wasQuoted));
+        rowNumber = startLine;
+        return cells.toArray(new String[0]);
+    }
+
+    @Override
+    public long rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String cell(boolean wasQuoted) {
+        String value = field.toString();
+        field.setLength(0);
+        if (!wasQuoted) value = value.strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void append(char c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Field on line " + line + " exceeds " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append(c);
+    }
+
+    private char detectDelimiter() throws IOException {
+        fill();
+        // skip a UTF-8 byte order mark left by Excel
+        if (limit > 0 && buffer[0] == '\uFEFF') pos = 1;
+        int commas = 0;
+        int semicolons = 0;
+        int tabs = 0;
+        boolean quoted = false;
+        for (int i = pos; i < limit && (quoted || buffer[i] != '\n' && buffer[i] != '\r'); i++) {
+            char c = buffer[i];
+            if (c == '"') quoted = !quoted;
+            else if (!quoted && c == ',') commas++;
+            else if (!quoted && c == ';') semicolons++;
+            else if (!quoted && c == '\t') tabs++;
+        }
+        if (tabs > commas && tabs >= semicolons) return '\t';
+        if (semicolons > commas) return ';';
+        return ',';
+    }
+
+    private int read() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buffer[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) return -1;
+        return buffer[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        pos = 0;
+        limit = Math.max(n, 0);
+        return n > 0;
+    }
+}
@@ -0,0 +1,15 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.model.IngestionError;
+import java.util.List;
+
+/**
+ * One validated row: the roster object it produced (null when rejected), the employee it
+ * belongs to for skill and certification rows, and any errors.
+ */
+record MappedRow(long row, Object value, String employeeId, String employeeName, List<IngestionError> errors) {
+
+    boolean accepted() {
+        return value != null;
+    }
+}
@@ -0,0 +1,117 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.resolution.RosterMerging;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the roster from mapped rows in file order. Skill and certification rows attach to
+ * an employee by employee_id, or by name when the name is unique; sheets are read employees
+ * first, so a row whose employee is unknown on arrival is an orphan. Duplicate employees and
+ * projects keep the first row; duplicate skills and certifications merge into the strongest.
+ * Not thread-safe: the ingestion pipeline merges batches on a single thread.
+ */
+final class RosterAccumulator {
+
+    private final int maxErrors;
+    private final Map<String, Employee> employees = new LinkedHashMap<>();
+    private final Map<String, String> idsByName = new HashMap<>();
+    private final Map<String, ProjectExperience> projects = new LinkedHashMap<>();
+    private final List<IngestionError> errors = new ArrayList<>();
+    private final Map<String, Long> rowsBySheet = new TreeMap<>();
+    private long errorCount;
+    private long rowsRead;
+    private long rowsAccepted;
+    private long rowsRejected;
+
+    RosterAccumulator(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void accept(SheetKind kind, String sheet, MappedRow row) {
+        rowsRead++;
+        rowsBySheet.merge(sheet, 1L, Long::sum);
+        if (!row.accepted()) {
+            rowsRejected++;
+            row.errors().forEach(this::error);
+            return;
+        }
+        String problem = switch (kind) {
+            case EMPLOYEES -> addEmployee((Employee) row.value());
+            case PROJECTS -> addProject((ProjectExperience) row.value());
+            default -> attach(kind, row);
+        };
+        if (problem == null) {
+            rowsAccepted++;
+        } else {
+            rowsRejected++;
+            error(new IngestionError(sheet, row.row(), null, problem));
+        }
+    }
+
+    void error(IngestionError error) {
+        errorCount++;
+        if (errors.size() < maxErrors) errors.add(error);
+    }
+
+    IngestionResult result(long elapsedMillis) {
+        IngestionResult result = new IngestionResult();
+        result.setRowsBySheet(rowsBySheet);
+        result.setRowsRead(rowsRead);
+        result.setRowsAccepted(rowsAccepted);
+        result.setRowsRejected(rowsRejected);
+        result.setErrorCount(errorCount);
+        result.setErrors(errors);
+        result.setEmployees(new ArrayList<>(employees.values()));
+        result.setProjects(new ArrayList<>(projects.values()));
+        result.setElapsedMillis(elapsedMillis);
+        return result;
+    }
+
+    private String addEmployee(Employee employee) {
+        if (employees.putIfAbsent(employee.getEmployeeId(), employee) != null) {
+            return "Duplicate employee_id " + employee.getEmployeeId() + "; the first row was kept";
+        }
+        if (employee.getName() != null) {
+            // a name shared by two employees cannot be used to link skills or certifications
+            idsByName.merge(TextNormalizer.normalize(employee.getName()), employee.getEmployeeId(), (a, b) -> "");
+        }
+        return null;
+    }
+
+    private String addProject(ProjectExperience project) {
+        if (projects.putIfAbsent(project.getProjectId(), project) != null) {
+            return "Duplicate project_id " + project.getProjectId() + "; the first row was kept";
+        }
+        return null;
+    }
+
+    private String attach(SheetKind kind, MappedRow row) {
+        Employee employee;
+        if (row.employeeId() != null) {
+            employee = employees.get(row.employeeId());
+            if (employee == null) return "No employee with employee_id " + row.employeeId() + " in this upload";
+        } else {
+            String id = idsByName.get(TextNormalizer.normalize(row.employeeName()));
+            if (id == null) return "No employee named '" + row.employeeName() + "' in this upload";
+            if (id.isEmpty()) return "More than one employee is named '" + row.employeeName() + "'; use employee_id";
+            employee = employees.get(id);
+        }
+        switch (kind) {
+            case SKILLS -> RosterMerging.mergeInto(employee.getCurrentSkills(), (Skill) row.value(),
+                RosterMerging::skillKey, RosterMerging::stronger);
+            case CERTIFICATIONS -> RosterMerging.mergeInto(employee.getCurrentCertifications(), (Certification) row.value(),
+                c -> RosterMerging.certKey(c.getCertId(), c.getCertName()), RosterMerging::later);
+            case PLANNED_CERTIFICATIONS -> RosterMerging.mergeInto(employee.getPlannedCertifications(),
+                (PlannedCertification) row.value(), p -> RosterMerging.certKey(p.getCertId(), p.getCertName()), (a, b) -> a);
+            default -> throw new IllegalArgumentException(kind.name());
+        }
+        return null;
+    }
+}
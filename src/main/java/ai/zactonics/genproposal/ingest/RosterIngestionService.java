@@ -0,0 +1,147 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.model.IngestionError;
+import ai.zactonics.genproposal.model.IngestionResult;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bulk roster ingestion from CSV files and .xlsx workbooks.
+ *
+ * The calling thread streams rows off the reader and cuts them into batches; batches are
+ * validated and normalized on the tenant's pool, and merged back in file order so duplicate
+ * handling and output order do not depend on thread timing. At most
+ * proposal.ingest.max-batches-in-flight batches are outstanding, so memory holds the roster
+ * being built plus a fixed window of raw rows, however large the file.
+ */
+@Service
+public class RosterIngestionService {
+
+    @Autowired
+    private TenantExecutors tenantExecutors;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${proposal.ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${proposal.ingest.max-batches-in-flight:8}")
+    private int maxBatchesInFlight;
+
+    @Value("${proposal.ingest.max-rows:1000000}")
+    private long maxRows;
+
+    @Value("${proposal.ingest.max-errors:1000}")
+    private int maxErrors;
+
+    /** Opens a sheet for reading; called once, on the ingesting thread. */
+    @FunctionalInterface
+    public interface SheetOpener {
+        RowReader open() throws IOException;
+    }
+
+    public record SheetSource(SheetKind kind, String name, SheetOpener opener) {
+    }
+
+    private record RawRow(long row, String[] cells) {
+    }
+
+    public IngestionResult ingest(List<SheetSource> sources) {
+        long start = System.nanoTime();
+        RosterAccumulator roster = new RosterAccumulator(maxErrors);
+        Executor executor = tenantExecutors.executor();
+        LocalDate today = LocalDate.now();
+
+        List<SheetSource> ordered = new ArrayList<>(sources);
+        // employees first, so skill and certification rows find their employee on arrival
+        ordered.sort(Comparator.comparing(SheetSource::kind));
+        long budget = maxRows;
+        for (SheetSource source : ordered) {
+            budget -= readSheet(source, roster, executor, today, budget);
+        }
+
+        IngestionResult result = roster.result((System.nanoTime() - start) / 1_000_000);
+        meterRegistry.counter("proposal.ingest.rows", "result", "accepted").increment(result.getRowsAccepted());
+        meterRegistry.counter("proposal.ingest.rows", "result", "rejected").increment(result.getRowsRejected());
+        return result;
+    }
+
+    /** Reads one sheet through the batch pipeline; returns the number of data rows read. */
+    private long readSheet(SheetSource source, RosterAccumulator roster, Executor executor, LocalDate today, long budget) {
+        Deque<CompletableFuture<List<MappedRow>>> window = new ArrayDeque<>();
+        long rows = 0;
+        RowReader reader = null;
+        try {
+            reader = source.opener().open();
+            String[] header = reader.next();
+            if (header == null) {
+                roster.error(new IngestionError(source.name(), null, null, "Sheet is empty"));
+                return 0;
+            }
+            SheetColumns columns = SheetColumns.of(source.kind(), header);
+            List<String> missing = columns.missing(source.kind());
+            if (!missing.isEmpty()) {
+                roster.error(new IngestionError(source.name(), reader.rowNumber(), null,
+                    "Missing required column " + String.join(", ", missing) + "; sheet skipped"));
+                return 0;
+            }
+
+            RosterRowMapper mapper = new RosterRowMapper(source.kind(), source.name(), columns, today);
+            List<RawRow> batch = new ArrayList<>(batchSize);
+            String[] cells;
+            while ((cells = reader.next()) != null) {
+                if (rows >= budget) {
+                    roster.error(new IngestionError(source.name(), reader.rowNumber(), null,
+                        "Upload exceeds " + maxRows + " rows; the remaining rows were not read"));
+                    break;
+                }
+                rows++;
+                batch.add(new RawRow(reader.rowNumber(), cells));
+                if (batch.size() == batchSize) {
+                    window.add(submit(mapper, batch, executor));
+                    batch = new ArrayList<>(batchSize);
+                    if (window.size() >= maxBatchesInFlight) merge(window.poll(), source, roster);
+                }
+            }
+            if (!batch.isEmpty()) window.add(submit(mapper, batch, executor));
+        } catch (IOException e) {
+            roster.error(new IngestionError(source.name(), reader != null ? reader.rowNumber() : null, null,
+                "Could not read sheet: " + e.getMessage()));
+        } finally {
+            while (!window.isEmpty()) merge(window.poll(), source, roster);
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // nothing left to read
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static CompletableFuture<List<MappedRow>> submit(RosterRowMapper mapper, List<RawRow> batch, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<MappedRow> mapped = new ArrayList<>(batch.size());
+            for (RawRow raw : batch) mapped.add(mapper.map(raw.row(), raw.cells()));
+            return mapped;
+        }, executor);
+    }
+
+    private static void merge(CompletableFuture<List<MappedRow>> batch, SheetSource source, RosterAccumulator roster) {
+        for (MappedRow row : batch.join()) roster.accept(source.kind(), source.name(), row);
+    }
+}
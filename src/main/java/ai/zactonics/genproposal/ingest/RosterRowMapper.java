@@ -0,0 +1,409 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Validates and normalizes one sheet row into a roster object. Stateless apart from the
+ * header mapping, so rows of the same sheet can be mapped on any number of threads.
+ *
+ * A row with any invalid value is rejected as a whole and every problem in it is reported,
+ * so a user can fix the row in one pass.
+ */
+final class RosterRowMapper {
+
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final Pattern LIST_SEPARATORS = Pattern.compile("\\s*[;|\\n]\\s*");
+    private static final Pattern RANGE_SEPARATOR = Pattern.compile("\\s+(?:to|-|–|—)\\s+|\\s*[–—]\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:\\.\\d+)?(?:[eE]-?\\d+)?");
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    private static final List<DateTimeFormatter> DAY_FORMATS = List.of(
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("M/d/yyyy", Locale.ROOT),
+        DateTimeFormatter.ofPattern("d-MMM-yyyy", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH));
+    private static final List<DateTimeFormatter> MONTH_FORMATS = List.of(
+        DateTimeFormatter.ofPattern("yyyy-MM", Locale.ROOT),
+        DateTimeFormatter.ofPattern("M/yyyy", Locale.ROOT),
+        DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
+    private static final Map<String, String> CLEARANCES = Map.of(
+        "none", "None", "n_a", "None", "public_trust", "Public Trust", "confidential", "Confidential",
+        "secret", "Secret", "top_secret", "Top Secret", "ts", "Top Secret",
+        "ts_sci", "TS/SCI", "top_secret_sci", "TS/SCI");
+    private static final String[] PROFICIENCY_BY_SCORE = { "Beginner", "Intermediate", "Intermediate", "Advanced", "Expert" };
+    private static final Map<String, String> PROFICIENCIES = Map.of(
+        "beginner", "Beginner", "novice", "Beginner", "basic", "Beginner",
+        "intermediate", "Intermediate", "proficient", "Intermediate", "working", "Intermediate",
+        "advanced", "Advanced", "expert", "Expert", "master", "Expert");
+
+    private final SheetKind kind;
+    private final String sheet;
+    private final SheetColumns columns;
+    private final LocalDate today;
+
+    RosterRowMapper(SheetKind kind, String sheet, SheetColumns columns, LocalDate today) {
+        this.kind = kind;
+        this.sheet = sheet;
+        this.columns = columns;
+        this.today = today;
+    }
+
+    MappedRow map(long rowNumber, String[] cells) {
+        Row row = new Row(rowNumber, cells);
+        Object value;
+        try {
+            value = switch (kind) {
+                case EMPLOYEES -> employee(row);
+                case SKILLS -> skill(row);
+                case CERTIFICATIONS -> certification(row);
+                case PLANNED_CERTIFICATIONS -> plannedCertification(row);
+                case PROJECTS -> project(row);
+            };
+        } catch (RuntimeException e) {
+            row.error(null, "Could not read row: " + e.getMessage());
+            value = null;
+        }
+        if (!row.errors.isEmpty()) value = null;
+        return new MappedRow(rowNumber, value, row.employeeId(), row.employeeName(), row.errors);
+    }
+
+    private Employee employee(Row row) {
+        Employee employee = new Employee();
+        String name = row.text("name");
+        String id = row.id("employee_id");
+        if (id == null && name == null) row.error("name", "employee_id or name is required");
+        employee.setEmployeeId(id != null ? id : derivedId(name));
+        employee.setName(name);
+        employee.setTitle(row.text("title"));
+        employee.setYearsExperience(row.integer("years_experience", 0, 70));
+        employee.setClearanceLevel(clearance(row.text("clearance_level")));
+        employee.setAvailabilityPercentage(row.percentage("availability_percentage"));
+        employee.setHourlyRate(row.decimal("hourly_rate", 0, 10_000));
+        employee.setResumeHighlights(row.list("resume_highlights"));
+        employee.setCurrentSkills(new ArrayList<>());
+        employee.setCurrentCertifications(new ArrayList<>());
+        employee.setPlannedCertifications(new ArrayList<>());
+        return employee;
+    }
+
+    private Skill skill(Row row) {
+        row.requireEmployee();
+        String name = row.required("skill_name");
+        String subskill = row.text("subskill");
+        Skill skill = new Skill();
+        skill.setSkillName(name != null && subskill != null ? name + " - " + subskill : name);
+        skill.setProficiencyLevel(proficiency(row));
+        skill.setYearsExperience(row.integer("years_experience", 0, 70));
+        return skill;
+    }
+
+    private Certification certification(Row row) {
+        row.requireEmployee();
+        Certification cert = new Certification();
+        cert.setCertName(row.text("cert_name"));
+        cert.setCertId(row.id("cert_id"));
+        if (cert.getCertName() == null && cert.getCertId() == null) row.error("cert_name", "cert or id is required");
+        cert.setDateObtained(row.date("date_obtained", false));
+        cert.setExpiryDate(row.date("expiry_date", true));
+        if (cert.getDateObtained() != null && cert.getExpiryDate() != null
+            && cert.getExpiryDate().isBefore(cert.getDateObtained())) {
+            row.error("expiry_date", "expires before it was obtained");
+        }
+        String status = titleCase(row.text("status"));
+        boolean expired = cert.getExpiryDate() != null && cert.getExpiryDate().isBefore(today);
+        cert.setStatus(expired ? "Expired" : status != null ? status : "Active");
+        return cert;
+    }
+
+    private PlannedCertification plannedCertification(Row row) {
+        row.requireEmployee();
+        PlannedCertification planned = new PlannedCertification();
+        planned.setCertName(row.text("cert_name"));
+        planned.setCertId(row.id("cert_id"));
+        if (planned.getCertName() == null && planned.getCertId() == null) row.error("cert_name", "cert or id is required");
+        planned.setPlannedCompletion(row.date("planned_completion", true));
+        planned.setTrainingStatus(titleCase(row.text("training_status")));
+        planned.setCompletionPercentage(row.percentage("completion_percentage"));
+        planned.setTrainingCost(row.decimal("training_cost", 0, 1_000_000));
+        return planned;
+    }
+
+    private ProjectExperience project(Row row) {
+        ProjectExperience project = new ProjectExperience();
+        String name = row.text("project_name");
+        String id = row.id("project_id");
+        if (id == null && name == null) row.error("project_name", "project_id or title is required");
+        project.setProjectId(id != null ? id : derivedId(name));
+        project.setProjectName(name);
+        project.setClient(row.text("client"));
+        project.setIndustry(row.text("industry"));
+        project.setContractValue(money(row.text("contract_value")));
+        project.setDuration(row.text("duration"));
+        LocalDate completion = row.date("completion_date", true);
+        if (completion == null) completion = rangeEnd(row);
+        project.setCompletionDate(completion);
+        project.setTeamMembers(row.list("team_members"));
+        project.setTechnologiesUsed(row.list("technologies_used"));
+        project.setKeyAchievements(row.list("key_achievements"));
+        project.setLessonsLearned(row.list("lessons_learned"));
+        project.setReferenceable(row.bool("referenceable"));
+
+        SuccessMetrics metrics = new SuccessMetrics();
+        metrics.setOnTime(row.bool("on_time"));
+        metrics.setOnBudget(row.bool("on_budget"));
+        metrics.setBudgetVariance(row.text("budget_variance"));
+        metrics.setClientSatisfaction(row.decimal("client_satisfaction", 0, 10));
+        metrics.setCostSavingsAchieved(row.text("cost_savings_achieved"));
+        metrics.setSecurityIncidentsReduced(row.text("security_incidents_reduced"));
+        project.setSuccessMetrics(metrics);
+
+        String referenceName = row.text("reference_name");
+        String email = row.text("reference_email");
+        if (email != null && !EMAIL.matcher(email).matches()) row.error("reference_email", "'" + email + "' is not an email address");
+        if (referenceName != null || email != null) {
+            ReferenceContact contact = new ReferenceContact();
+            contact.setName(referenceName);
+            contact.setTitle(row.text("reference_title"));
+            contact.setEmail(email);
+            contact.setPhone(row.text("reference_phone"));
+            project.setReferenceContact(contact);
+        }
+        return project;
+    }
+
+    private String proficiency(Row row) {
+        String raw = row.required("proficiency_level");
+        if (raw == null) return null;
+        if (NUMBER.matcher(raw).matches()) {
+            double score = Double.parseDouble(raw);
+            if (score < 1 || score > 5 || score != Math.rint(score)) {
+                row.error("proficiency_level", "'" + raw + "' is not a proficiency from 1 to 5");
+                return null;
+            }
+            return PROFICIENCY_BY_SCORE[(int) score - 1];
+        }
+        String level = PROFICIENCIES.get(TextNormalizer.toKey(raw));
+        if (level == null) row.error("proficiency_level", "'" + raw + "' is not Beginner, Intermediate, Advanced, Expert or 1-5");
+        return level;
+    }
+
+    // "2021-01 to 2022-06" -> end of June 2022
+    private LocalDate rangeEnd(Row row) {
+        String range = row.text("start_end");
+        if (range == null) return null;
+        String[] parts = RANGE_SEPARATOR.split(range);
+        return row.parseDate("start_end", parts[parts.length - 1].strip(), true);
+    }
+
+    private static String clearance(String raw) {
+        if (raw == null) return null;
+        return CLEARANCES.getOrDefault(TextNormalizer.toKey(raw), raw);
+    }
+
+    private static String money(String raw) {
+        if (raw == null || !NUMBER.matcher(raw).matches()) return raw;
+        return String.format(Locale.US, "$%,.0f", Double.parseDouble(raw));
+    }
+
+    private static String derivedId(String name) {
+        return name != null ? TextNormalizer.toKey(name).toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String titleCase(String raw) {
+        if (raw == null) return null;
+        StringBuilder out = new StringBuilder(raw.length());
+        boolean start = true;
+        for (char c : raw.toLowerCase(Locale.ROOT).toCharArray()) {
+            out.append(start ? Character.toUpperCase(c) : c);
+            start = Character.isWhitespace(c) || c == '-' || c == '/';
+        }
+        return out.toString();
+    }
+
+    /** Typed access to one row's cells; every failed conversion is recorded as an error. */
+    private final class Row {
+        private final long number;
+        private final String[] cells;
+        private final List<IngestionError> errors = new ArrayList<>(0);
+
+        Row(long number, String[] cells) {
+            this.number = number;
+            this.cells = cells;
+        }
+
+        void error(String field, String message) {
+            errors.add(new IngestionError(sheet, number, field != null ? columns.label(field) : null, message));
+        }
+
+        String text(String field) {
+            String raw = columns.cell(cells, field);
+            if (raw == null) return null;
+            String text = collapseWhitespace(raw);
+            return text.isEmpty() ? null : text;
+        }
+
+        String required(String field) {
+            String text = text(field);
+            if (text == null) error(field, "is required");
+            return text;
+        }
+
+        String id(String field) {
+            String text = text(field);
+            if (text == null) return null;
+            // Excel turns numeric ids into 1001.0
+            if (text.endsWith(".0") && NUMBER.matcher(text).matches()) text = text.substring(0, text.length() - 2);
+            return text.toUpperCase(Locale.ROOT);
+        }
+
+        String employeeId() {
+            return kind == SheetKind.EMPLOYEES || kind == SheetKind.PROJECTS ? null : id("employee_id");
+        }
+
+        String employeeName() {
+            return kind == SheetKind.EMPLOYEES || kind == SheetKind.PROJECTS ? null : text("employee_name");
+        }
+
+        void requireEmployee() {
+            if (employeeId() == null && employeeName() == null) error("employee_id", "employee_id or employee_name is required");
+        }
+
+        Integer integer(String field, int min, int max) {
+            Double value = decimal(field, min, max);
+            if (value == null) return null;
+            if (value != Math.rint(value)) {
+                error(field, "'" + text(field) + "' is not a whole number");
+                return null;
+            }
+            return value.intValue();
+        }
+
+        Double decimal(String field, double min, double max) {
+            String text = text(field);
+            if (text == null) return null;
+            String digits = text.replace("$", "").replace(",", "").strip();
+            if (!NUMBER.matcher(digits).matches()) {
+                error(field, "'" + text + "' is not a number");
+                return null;
+            }
+            double value = Double.parseDouble(digits);
+            if (value < min || value > max) {
+                error(field, "'" + text + "' is outside " + format(min) + " to " + format(max));
+                return null;
+            }
+            return value;
+        }
+
+        /** "75", "75%" and 0.75 (a percent-formatted Excel cell) all read as 75. */
+        Integer percentage(String field) {
+            String text = text(field);
+            if (text == null) return null;
+            boolean percentSign = text.endsWith("%");
+            String digits = percentSign ? text.substring(0, text.length() - 1).strip() : text;
+            if (!NUMBER.matcher(digits).matches()) {
+                error(field, "'" + text + "' is not a percentage");
+                return null;
+            }
+            double value = Double.parseDouble(digits);
+            if (!percentSign && value > 0 && value <= 1 && digits.contains(".")) value *= 100;
+            if (value < 0 || value > 100) {
+                error(field, "'" + text + "' is outside 0 to 100");
+                return null;
+            }
+            return (int) Math.round(value);
+        }
+
+        Boolean bool(String field) {
+            String text = text(field);
+            if (text == null) return null;
+            switch (text.toLowerCase(Locale.ROOT)) {
+                case "yes", "y", "true", "t", "1", "x" -> {
+                    return true;
+                }
+                case "no", "n", "false", "f", "0" -> {
+                    return false;
+                }
+                default -> {
+                    error(field, "'" + text + "' is not yes or no");
+                    return null;
+                }
+            }
+        }
+
+        List<String> list(String field) {
+            String raw = columns.cell(cells, field);
+            List<String> items = new ArrayList<>();
+            if (raw == null) return items;
+            String[] parts = LIST_SEPARATORS.matcher(raw).find() ? LIST_SEPARATORS.split(raw) : raw.split("\\s*,\\s*");
+            LinkedHashSet<String> unique = new LinkedHashSet<>();
+            for (String part : parts) {
+                String item = collapseWhitespace(part);
+                if (!item.isEmpty()) unique.add(item);
+            }
+            items.addAll(unique);
+            return items;
+        }
+
+        /** endOfPeriod: a month-only value such as "2026-03" means the last day of that month. */
+        LocalDate date(String field, boolean endOfPeriod) {
+            String text = text(field);
+            return text != null ? parseDate(field, text, endOfPeriod) : null;
+        }
+
+        LocalDate parseDate(String field, String text, boolean endOfPeriod) {
+            if (NUMBER.matcher(text).matches()) {
+                double serial = Double.parseDouble(text);
+                if (serial >= 1 && serial < 2_958_466) return EXCEL_EPOCH.plusDays((long) serial);
+                error(field, "'" + text + "' is not a date");
+                return null;
+            }
+            String value = text.length() > 10 && (text.charAt(10) == 'T' || text.charAt(10) == ' ')
+                && text.charAt(4) == '-' ? text.substring(0, 10) : text;
+            for (DateTimeFormatter format : DAY_FORMATS) {
+                try {
+                    return LocalDate.parse(value, format);
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            for (DateTimeFormatter format : MONTH_FORMATS) {
+                try {
+                    YearMonth month = YearMonth.parse(value, format);
+                    return endOfPeriod ? month.atEndOfMonth() : month.atDay(1);
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            error(field, "'" + text + "' is not a date (use YYYY-MM-DD or YYYY-MM)");
+            return null;
+        }
+    }
+
+    private static String collapseWhitespace(String raw) {
+        String text = raw.strip();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != ' ' && Character.isWhitespace(c) || c == ' ' && text.charAt(i + 1) == ' ') {
+                return WHITESPACE.matcher(text).replaceAll(" ");
+            }
+        }
+        return text;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,16 @@
+package ai.zactonics.genproposal.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Forward-only reader over the rows of one sheet. Cells are raw strings (null when empty).
+ */
+public interface RowReader extends Closeable {
+
+    /** Next row, or null at the end of the sheet. */
+    String[] next() throws IOException;
+
+    /** 1-based row number of the row last returned, as the user sees it in the file. */
+    long rowNumber();
+}
@@ -0,0 +1,147 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a sheet's header row onto canonical field names. Headers are matched on their
+ * snake_case key, so "Bill Rate", "bill_rate" and "BILL-RATE" are the same column; each
+ * field also accepts the aliases used by the intake templates and common HR exports.
+ * Columns that match no field are ignored.
+ */
+final class SheetColumns {
+
+    private static final Map<SheetKind, Map<String, String>> ALIASES = new HashMap<>();
+
+    static {
+        define(SheetKind.EMPLOYEES,
+            "employee_id", "id, emp_id, employee_number, employee_no",
+            "name", "employee_name, full_name, employee",
+            "title", "role, position, job_title, labor_category",
+            "years_experience", "years, experience, experience_years, yoe",
+            "clearance_level", "clearance, security_clearance",
+            "availability_percentage", "availability, availability_pct, allocation, allocation_percentage",
+            "hourly_rate", "rate, bill_rate, billing_rate",
+            "resume_highlights", "highlights, summary");
+        define(SheetKind.SKILLS,
+            "employee_id", "emp_id",
+            "employee_name", "employee, name",
+            "skill_name", "skill",
+            "subskill", "sub_skill",
+            "proficiency_level", "proficiency, level",
+            "years_experience", "years, experience");
+        define(SheetKind.CERTIFICATIONS,
+            "employee_id", "emp_id",
+            "employee_name", "employee, name",
+            "cert_name", "cert, certification, certification_name",
+            "cert_id", "id, certification_id, exam, exam_code",
+            "date_obtained", "obtained, obtained_on, issued, issued_on, issue_date",
+            "expiry_date", "expires_on, expires, expiry, expiration, expiration_date",
+            "status", "cert_status");
+        define(SheetKind.PLANNED_CERTIFICATIONS,
+            "employee_id", "emp_id",
+            "employee_name", "employee, name",
+            "cert_name", "cert, certification, certification_name",
+            "cert_id", "id, certification_id, exam, exam_code",
+            "planned_completion", "target_date, eta, planned_date, due",
+            "training_status", "status",
+            "completion_percentage", "completion, progress, percent_complete",
+            "training_cost", "cost");
+        define(SheetKind.PROJECTS,
+            "project_id", "id",
+            "project_name", "title, name, project",
+            "client", "customer, agency",
+            "industry", "client_industry, sector",
+            "contract_value", "value",
+            "duration", "period_of_performance",
+            "completion_date", "completed, completed_on, end_date",
+            "start_end", "dates",
+            "team_members", "team, staff",
+            "technologies_used", "tech_stack, technologies, technology",
+            "key_achievements", "achievements, results",
+            "lessons_learned", "lessons",
+            "referenceable", "reference_ok",
+            "on_time", "ontime",
+            "on_budget", "onbudget",
+            "budget_variance", "variance",
+            "client_satisfaction", "csat, satisfaction",
+            "cost_savings_achieved", "cost_savings, savings",
+            "security_incidents_reduced", "security_incidents",
+            "reference_name", "reference, reference_contact",
+            "reference_title", "",
+            "reference_email", "",
+            "reference_phone", "");
+    }
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Map<String, String> labels = new HashMap<>();
+
+    private SheetColumns() {
+    }
+
+    static SheetColumns of(SheetKind kind, String[] header) {
+        Map<String, String> aliases = ALIASES.get(kind);
+        SheetColumns columns = new SheetColumns();
+        for (int i = 0; i < header.length; i++) {
+            String field = aliases.get(TextNormalizer.toKey(header[i]));
+            if (field != null && !columns.index.containsKey(field)) {
+                columns.index.put(field, i);
+                columns.labels.put(field, header[i].strip());
+            }
+        }
+        return columns;
+    }
+
+    /** Required columns missing from the header; a sheet with any of these is skipped. */
+    List<String> missing(SheetKind kind) {
+        List<String> missing = new ArrayList<>();
+        switch (kind) {
+            case EMPLOYEES -> requireOne(missing, "employee_id", "name");
+            case SKILLS -> {
+                requireOne(missing, "employee_id", "employee_name");
+                requireOne(missing, "skill_name");
+                requireOne(missing, "proficiency_level");
+            }
+            case CERTIFICATIONS, PLANNED_CERTIFICATIONS -> {
+                requireOne(missing, "employee_id", "employee_name");
+                requireOne(missing, "cert_name", "cert_id");
+            }
+            case PROJECTS -> requireOne(missing, "project_id", "project_name");
+        }
+        return missing;
+    }
+
+    private void requireOne(List<String> missing, String... fields) {
+        for (String field : fields) {
+            if (index.containsKey(field)) return;
+        }
+        missing.add(String.join(" or ", fields));
+    }
+
+    /** Raw cell for a field, or null when the column is absent or the cell is empty. */
+    String cell(String[] row, String field) {
+        Integer i = index.get(field);
+        return i != null && i < row.length ? row[i] : null;
+    }
+
+    /** The header text the user wrote for a field, for error messages. */
+    String label(String field) {
+        return labels.getOrDefault(field, field);
+    }
+
+    private static void define(SheetKind kind, String... fieldsAndAliases) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        for (int i = 0; i < fieldsAndAliases.length; i += 2) {
+            String field = fieldsAndAliases[i];
+            aliases.put(field, field);
+            for (String alias : fieldsAndAliases[i + 1].split(",")) {
+                if (!alias.isBlank()) aliases.putIfAbsent(alias.strip(), field);
+            }
+        }
+        ALIASES.put(kind, aliases);
+    }
+}
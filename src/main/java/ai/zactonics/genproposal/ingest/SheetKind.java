@@ -0,0 +1,37 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Intake template tabs (see DataEngineering.md), recognised by tab or file name.
+ */
+public enum SheetKind {
+    EMPLOYEES("employees", "employee", "staff", "people", "roster"),
+    SKILLS("skills", "skill"),
+    CERTIFICATIONS("certs", "certifications", "certification", "cert"),
+    PLANNED_CERTIFICATIONS("planned_certs", "planned_certifications", "training"),
+    PROJECTS("projects", "project", "past_performance", "project_experience");
+
+    private final List<String> names;
+
+    SheetKind(String... names) {
+        this.names = List.of(names);
+    }
+
+    /** "Employees.csv", "Certs", "planned-certifications.csv" -> kind; empty when unknown. */
+    public static Optional<SheetKind> fromName(String name) {
+        if (name == null) return Optional.empty();
+        String base = name.replaceFirst("(?i)\\.(csv|tsv|txt)$", "");
+        String key = TextNormalizer.toKey(base);
+        for (SheetKind kind : values()) {
+            if (kind.names.contains(key)) return Optional.of(kind);
+        }
+        return Optional.empty();
+    }
+
+    public String label() {
+        return names.get(0);
+    }
+}
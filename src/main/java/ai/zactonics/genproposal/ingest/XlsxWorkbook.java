@@ -0,0 +1,360 @@
+package ai.zactonics.genproposal.ingest;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Minimal streaming reader for .xlsx (Office Open XML) workbooks.
+ *
+ * Sheets are read with StAX straight out of the zip, one row at a time, so memory does not
+ * grow with the row count; only the shared string table is held (bounded by
+ * MAX_SHARED_STRING_CHARS and by the caller's entry limit). Cell values come back as their stored
+ * text: numbers (including dates, which Excel stores as serial day numbers) unformatted, booleans
+ * as TRUE/FALSE.
+ *
+ * Every zip entry is inflated through a guard against zip bombs: reading fails once an entry
+ * expands past MAX_COMPRESSION_RATIO times its compressed size or past its size cap
+ * (MAX_SHARED_STRINGS_BYTES for the string table and workbook parts, MAX_SHEET_BYTES for sheets),
+ * and text longer than Excel's own 32,767-character cell limit is rejected.
+ */
+public class XlsxWorkbook implements Closeable {
+
+    private static final long MAX_SHARED_STRING_CHARS = 64L * 1024 * 1024;
+    private static final long MAX_SHARED_STRINGS_BYTES = 256L * 1024 * 1024;
+    private static final long MAX_SHEET_BYTES = 4L * 1024 * 1024 * 1024;
+    private static final int MAX_COMPRESSION_RATIO = 100;
+    // small entries compress well without being bombs, so the ratio only applies past this size
+    private static final long RATIO_CHECK_FLOOR = 1024 * 1024;
+    private static final int MAX_CELL_CHARS = 32_767;
+    private static final int MAX_COLUMNS = 16_384;
+    private static final XMLInputFactory XML = xmlInputFactory();
+
+    private final ZipFile zip;
+    private final long maxSharedStrings;
+    private final List<String> sharedStrings;
+    private final Map<String, String> sheets;
+
+    private XlsxWorkbook(ZipFile zip, long maxSharedStrings) throws IOException {
+        this.zip = zip;
+        this.maxSharedStrings = maxSharedStrings;
+        this.sheets = readSheetIndex();
+        this.sharedStrings = readSharedStrings();
+    }
+
+    /** Opens a workbook whose shared string table may hold at most {@code maxSharedStrings} entries. */
+    public static XlsxWorkbook open(Path file, long maxSharedStrings) throws IOException {
+        ZipFile zip = new ZipFile(file.toFile());
+        try {
+            return new XlsxWorkbook(zip, maxSharedStrings);
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    /** Tab names in workbook order. */
+    public List<String> sheetNames() {
+        return new ArrayList<>(sheets.keySet());
+    }
+
+    public RowReader openSheet(String name) throws IOException {
+        String path = sheets.get(name);
+        ZipEntry entry = path != null ? zip.getEntry(path) : null;
+        if (entry == null) throw new IOException("Workbook has no sheet named '" + name + "'");
+        InputStream in = inflate(entry, MAX_SHEET_BYTES);
+        try {
+            return new SheetReader(in, XML.createXMLStreamReader(in, "UTF-8"));
+        } catch (XMLStreamException e) {
+            in.close();
+            throw new IOException("Sheet '" + name + "' is not valid XML", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
+    private Map<String, String> readSheetIndex() throws IOException {
+        Map<String, String> targets = new HashMap<>();
+        forEachElement("xl/_rels/workbook.xml.rels", "Relationship", xml -> {
+            String target = xml.getAttributeValue(null, "Target");
+            if (target == null) return;
+            targets.put(xml.getAttributeValue(null, "Id"),
+                target.startsWith("/") ? target.substring(1) : "xl/" + target);
+        });
+        Map<String, String> index = new LinkedHashMap<>();
+        forEachElement("xl/workbook.xml", "sheet", xml -> {
+            String relId = null;
+            for (int i = 0; i < xml.getAttributeCount(); i++) {
+                if ("id".equals(xml.getAttributeLocalName(i))) relId = xml.getAttributeValue(i);
+            }
+            String target = targets.get(relId);
+            if (target != null) index.put(xml.getAttributeValue(null, "name"), target);
+        });
+        if (index.isEmpty()) throw new IOException("Not an .xlsx workbook: no sheets found");
+        return index;
+    }
+
+    private List<String> readSharedStrings() throws IOException {
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        List<String> strings = new ArrayList<>();
+        if (entry == null) return strings;
+        long chars = 0;
+        try (InputStream in = inflate(entry, MAX_SHARED_STRINGS_BYTES)) {
+            XMLStreamReader xml = XML.createXMLStreamReader(in, "UTF-8");
+            StringBuilder text = new StringBuilder();
+            int phonetic = 0;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> text.setLength(0);
+                        case "rPh" -> phonetic++;
+                        case "t" -> {
+                            if (phonetic == 0) text.append(elementText(xml));
+                        }
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) phonetic--;
+                    if ("si".equals(xml.getLocalName())) {
+                        chars += text.length();
+                        if (chars > MAX_SHARED_STRING_CHARS) {
+                            throw new IOException("Shared string table exceeds " + MAX_SHARED_STRING_CHARS + " characters");
+                        }
+                        if (strings.size() >= maxSharedStrings) {
+                            throw new IOException("Shared string table exceeds " + maxSharedStrings + " entries");
+                        }
+                        strings.add(text.toString());
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Shared string table is not valid XML", e);
+        }
+        return strings;
+    }
+
+    private interface ElementHandler {
+        void accept(XMLStreamReader xml) throws XMLStreamException;
+    }
+
+    private void forEachElement(String path, String element, ElementHandler handler) throws IOException {
+        ZipEntry entry = zip.getEntry(path);
+        if (entry == null) throw new IOException("Not an .xlsx workbook: missing " + path);
+        try (InputStream in = inflate(entry, MAX_SHARED_STRINGS_BYTES)) {
+            XMLStreamReader xml = XML.createXMLStreamReader(in, "UTF-8");
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && element.equals(xml.getLocalName())) {
+                    handler.accept(xml);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(path + " is not valid XML", e);
+        }
+    }
+
+    private class SheetReader implements RowReader {
+        private final InputStream in;
+        private final XMLStreamReader xml;
+        private long rowNumber;
+
+        SheetReader(InputStream in, XMLStreamReader xml) {
+            this.in = in;
+            this.xml = xml;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                        String r = xml.getAttributeValue(null, "r");
+                        rowNumber = r != null ? Long.parseLong(r) : rowNumber + 1;
+                        String[] row = readRow();
+                        if (row.length > 0) return row;
+                    }
+                }
+                return null;
+            } catch (XMLStreamException | NumberFormatException e) {
+                throw new IOException("Malformed sheet XML near row " + rowNumber, e);
+            }
+        }
+
+        private String[] readRow() throws XMLStreamException, IOException {
+            String[] cells = new String[16];
+            int width = 0;
+            int column = -1;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) break;
+                if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(xml.getLocalName())) continue;
+
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref != null ? columnIndex(ref) : column + 1;
+                if (column < 0 || column >= MAX_COLUMNS) throw new IOException("Row " + rowNumber + " has a cell outside columns A to XFD");
+                String value = readCell(xml.getAttributeValue(null, "t"));
+                if (value == null || value.isBlank()) continue;
+                if (column >= cells.length) cells = Arrays.copyOf(cells, Math.max(cells.length * 2, column + 1));
+                cells[column] = value.strip();
+                width = Math.max(width, column + 1);
+            }
+            return Arrays.copyOf(cells, width);
+        }
+
+        private String readCell(String type) throws XMLStreamException, IOException {
+            String value = null;
+            StringBuilder inline = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) break;
+                if (event != XMLStreamConstants.START_ELEMENT) continue;
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = elementText(xml);
+                } else if ("t".equals(name)) {
+                    if (inline == null) inline = new StringBuilder();
+                    inline.append(elementText(xml));
+                }
+            }
+            if (type == null || "n".equals(type) || "str".equals(type) || "d".equals(type)) return value;
+            switch (type) {
+                case "s" -> {
+                    // some writers emit a shared-string cell without a value for an emptied cell
+                    if (value == null || value.isBlank()) return null;
+                    int index = Integer.parseInt(value.trim());
+                    if (index < 0 || index >= sharedStrings.size()) {
+                        throw new IOException("Row " + rowNumber + " references missing shared string " + index);
+                    }
+                    return sharedStrings.get(index);
+                }
+                case "inlineStr" -> {
+                    return inline != null ? inline.toString() : null;
+                }
+                case "b" -> {
+                    return "1".equals(value) ? "TRUE" : "FALSE";
+                }
+                default -> {
+                    // "e": #N/A, #REF! and friends carry no usable value
+                    return null;
+                }
+            }
+        }
+
+        @Override
+        public long rowNumber() {
+            return rowNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                // the stream below is closed regardless
+            }
+            in.close();
+        }
+    }
+
+    private InputStream inflate(ZipEntry entry, long maxBytes) throws IOException {
+        return new InflationGuard(zip.getInputStream(entry), entry.getName(), entry.getCompressedSize(), maxBytes);
+    }
+
+    /** Text content of the current element, read in chunks and capped at MAX_CELL_CHARS. */
+    private static String elementText(XMLStreamReader xml) throws XMLStreamException, IOException {
+        StringBuilder text = new StringBuilder();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT) break;
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE) {
+                text.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                if (text.length() > MAX_CELL_CHARS) {
+                    throw new IOException("Text exceeds " + MAX_CELL_CHARS + " characters");
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /** Counts inflated bytes and fails on an implausible compression ratio or an oversized entry. */
+    private static final class InflationGuard extends FilterInputStream {
+        private final String name;
+        private final long compressedSize;
+        private final long maxBytes;
+        private long inflated;
+
+        InflationGuard(InputStream in, String name, long compressedSize, long maxBytes) {
+            super(in);
+            this.name = name;
+            this.compressedSize = compressedSize;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) count(skipped);
+            return skipped;
+        }
+
+        private void count(long n) throws IOException {
+            inflated += n;
+            if (inflated > maxBytes) {
+                throw new IOException(name + " expands past " + maxBytes + " bytes");
+            }
+            if (inflated > RATIO_CHECK_FLOOR && (compressedSize <= 0 || inflated > compressedSize * MAX_COMPRESSION_RATIO)) {
+                throw new IOException(name + " expands more than " + MAX_COMPRESSION_RATIO + "x; not reading a possible zip bomb");
+            }
+        }
+    }
+
+    /** "C12" -> 2, "AA7" -> 26. */
+    static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
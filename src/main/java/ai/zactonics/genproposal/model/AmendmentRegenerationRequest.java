@@ -0,0 +1,9 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class AmendmentRegenerationRequest {
+    private ProposalGenerationRequest previousRequest;
+    private ProposalGenerationRequest amendedRequest;
+}
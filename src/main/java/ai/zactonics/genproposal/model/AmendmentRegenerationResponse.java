@@ -0,0 +1,16 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class AmendmentRegenerationResponse {
+    // section (response field name) -> input paths whose values changed
+    private Map<String, List<String>> changedSections;
+    private List<String> unchangedSections;
+    private Map<String, String> regeneratedPrompts;
+    private String completeProposal;
+    private QualificationScore qualificationScore;
+    private List<String> recommendations;
+}
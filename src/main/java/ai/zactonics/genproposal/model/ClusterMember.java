@@ -0,0 +1,14 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterMember {
+    private String node;
+    private boolean self;
+    private boolean up;
+}
@@ -0,0 +1,9 @@
+package ai.zactonics.genproposal.model;
+
+/** How completeProposal is laid out. */
+public enum CompleteProposalLayout {
+    /** The six section prompts one after another, each with its own copy of the facts it uses. */
+    SECTIONS,
+    /** Roster, projects and RFP facts listed once under keys such as [E1] and [P1] that the sections cite. */
+    SHARED_CONTEXT
+}
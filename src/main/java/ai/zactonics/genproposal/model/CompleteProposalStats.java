@@ -0,0 +1,19 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+/** Size of completeProposal compared with the SECTIONS layout of the same request. */
+@Data
+public class CompleteProposalStats {
+    private CompleteProposalLayout layout;
+    private Integer characters;
+    private Integer baselineCharacters;
+    private Integer savedCharacters;
+    // estimates, see PromptTokenEstimator
+    private Integer tokens;
+    private Integer baselineTokens;
+    private Integer savedTokens;
+    private Double tokenReductionPercentage;
+    private Integer sharedEmployees;
+    private Integer sharedProjects;
+}
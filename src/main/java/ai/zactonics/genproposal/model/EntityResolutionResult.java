@@ -0,0 +1,18 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class EntityResolutionResult {
+    private List<Employee> employeeData;
+    private List<ProjectExperience> projectExperience;
+    private List<MergedRecord> employeeMerges;
+    private List<MergedRecord> projectMerges;
+    private Integer employeesIn;
+    private Integer employeesOut;
+    private Integer projectsIn;
+    private Integer projectsOut;
+    private Long candidatePairs;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,12 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class EvidenceSnippet {
+    private String sourceId;
+    private String sourceType;
+    private String ownerId;
+    private String text;
+    private Double score;
+}
@@ -0,0 +1,15 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiredRule {
+    private String ruleId;
+    private String message;
+    // index of the item in the rule's scope (e.g. missingSkills[2]); null for request rules
+    private Integer item;
+}
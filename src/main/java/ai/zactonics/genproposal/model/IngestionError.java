@@ -0,0 +1,15 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionError {
+    private String sheet;
+    private Long row;
+    private String column;
+    private String message;
+}
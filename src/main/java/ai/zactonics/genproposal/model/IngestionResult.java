@@ -0,0 +1,19 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class IngestionResult {
+    private Map<String, Long> rowsBySheet;
+    private Long rowsRead;
+    private Long rowsAccepted;
+    private Long rowsRejected;
+    private Long errorCount;
+    // first proposal.ingest.max-errors errors; errorCount has the total
+    private List<IngestionError> errors;
+    private List<Employee> employees;
+    private List<ProjectExperience> projects;
+    private Long elapsedMillis;
+}
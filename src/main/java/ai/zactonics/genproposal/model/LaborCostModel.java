@@ -0,0 +1,22 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class LaborCostModel {
+    private Double contractValue;
+    private Integer durationMonths;
+    private List<PhaseCost> phases;
+    private Map<String, Double> laborCostByRole;
+    private Double laborCost;
+    private Double trainingCost;
+    private Double totalCost;
+    private Double margin;
+    private Double marginPercentage;
+    private List<SensitivityPoint> sensitivity;
+    private List<StaffingVariant> staffingVariants;
+    private Integer variantsEvaluated;
+    private Double sweepMillis;
+}
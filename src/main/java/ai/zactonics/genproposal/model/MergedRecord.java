@@ -0,0 +1,16 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class MergedRecord {
+    private String goldId;
+    // every source id folded into goldId, in input order, including goldId itself
+    private List<String> sourceIds;
+    // lowest match score on the links that joined this cluster
+    private Double matchScore;
+    // field name -> source id the merged value was taken from
+    private Map<String, String> fieldSources;
+}
@@ -0,0 +1,12 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class PhaseCost {
+    private String phase;
+    private Double months;
+    private Double staffingLoad;
+    private Double hours;
+    private Double laborCost;
+}
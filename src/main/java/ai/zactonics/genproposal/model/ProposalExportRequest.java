@@ -0,0 +1,17 @@
+package ai.zactonics.genproposal.model;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Data;
+import java.util.Map;
+
+/**
+ * The generation request plus an optional output template, in the same shape as /api/proposal/sample-data,
+ * and the generated text of each section, keyed by section name ("Executive Summary" or "executive_summary").
+ */
+@Data
+public class ProposalExportRequest {
+    @JsonUnwrapped
+    private ProposalGenerationRequest proposal;
+    private ProposalOutputTemplate proposalOutputTemplate;
+    private Map<String, String> sectionContent;
+}
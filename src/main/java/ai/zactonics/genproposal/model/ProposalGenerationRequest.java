@@ -1,6 +1,8 @@
 package ai.zactonics.genproposal.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -10,4 +12,10 @@ public class ProposalGenerationRequest {
     private List<ProjectExperience> projectExperience;
     private CompanyCapabilities companyCapabilities;
     private SkillsGapAnalysis skillsGapAnalysis;
+    // left out when unset so fingerprints of requests without it stay as they were
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CompleteProposalLayout completeProposalLayout;
+    // first day of the skills-development training timeline; today when unset
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate trainingStartDate;
 }
\ No newline at end of file
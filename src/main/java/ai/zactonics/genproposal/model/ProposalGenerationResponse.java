@@ -12,6 +12,8 @@ public class ProposalGenerationResponse {
     private String skillsDevelopmentPrompt;
     private String costProposalPrompt;
     private String completeProposal;
+    // only for the SHARED_CONTEXT layout
+    private CompleteProposalStats completeProposalStats;
     private QualificationScore qualificationScore;
     private List<String> recommendations;
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class ProposalHistoryEntry {
+    private ProposalHistorySummary summary;
+    private ProposalGenerationRequest request;
+    private ProposalGenerationResponse response;
+}
@@ -0,0 +1,16 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class ProposalHistorySummary {
+    private Long id;
+    private String tenantId;
+    private String rfpId;
+    private String rfpTitle;
+    private Instant createdAt;
+    private String inputHash;
+    private String rosterVersion;
+    private Integer storedBytes;
+}
@@ -0,0 +1,18 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class RecordingInfo {
+    private Long id;
+    private String name;
+    // NEW, DELAYED, RUNNING, STOPPED or CLOSED
+    private String state;
+    private Instant startTime;
+    private Instant stopTime;
+    private Long durationSeconds;
+    private Long maxAgeSeconds;
+    private Long maxSizeBytes;
+    private Long sizeBytes;
+}
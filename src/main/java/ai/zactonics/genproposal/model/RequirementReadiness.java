@@ -0,0 +1,15 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class RequirementReadiness {
+    private String reqId;
+    private String description;
+    private LocalDate coveredDate;
+    private Boolean meetsDueDate;
+    private List<String> coveredBy;
+    private List<String> uncoverable;
+}
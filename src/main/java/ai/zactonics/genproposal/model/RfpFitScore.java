@@ -0,0 +1,18 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RfpFitScore {
+    private String rfpId;
+    private String title;
+    private Double fitScore;
+    private Double mandatoryCoverage;
+    private Double teamCoverage;
+    private Double experienceScore;
+    private String bidDecision;
+    private List<String> uncoveredRequirements;
+    // nothing was extracted to screen against; ranked after every RFP that has requirements
+    private Boolean noMandatoryRequirements;
+}
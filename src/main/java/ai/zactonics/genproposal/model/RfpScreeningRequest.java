@@ -0,0 +1,12 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RfpScreeningRequest {
+    private List<RfpData> rfps;
+    private List<Employee> employeeData;
+    private CompanyCapabilities companyCapabilities;
+    private Integer topK;
+}
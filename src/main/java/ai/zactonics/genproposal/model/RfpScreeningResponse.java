@@ -0,0 +1,11 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RfpScreeningResponse {
+    private Integer screenedCount;
+    private Long elapsedMillis;
+    private List<RfpFitScore> rankedRfps;
+}
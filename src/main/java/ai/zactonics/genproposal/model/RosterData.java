@@ -0,0 +1,11 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RosterData {
+    private List<Employee> employeeData;
+    private List<ProjectExperience> projectExperience;
+    private CompanyCapabilities companyCapabilities;
+}
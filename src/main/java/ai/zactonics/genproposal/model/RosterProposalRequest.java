@@ -0,0 +1,11 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+/** The per-RFP part of a generation request; the roster comes from the server-side store. */
+@Data
+public class RosterProposalRequest {
+    private RfpData rfpData;
+    private SkillsGapAnalysis skillsGapAnalysis;
+    private CompleteProposalLayout completeProposalLayout;
+}
@@ -0,0 +1,16 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class RosterSummary {
+    private Long version;
+    private Instant createdAt;
+    private Integer employeeCount;
+    private Integer projectCount;
+    private Boolean hasCompanyCapabilities;
+    // the head plus any older versions still pinned by running generations
+    private List<RosterVersionInfo> retainedVersions;
+}
@@ -0,0 +1,11 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class RosterVersionInfo {
+    private Long version;
+    private Instant createdAt;
+    private Integer pins;
+}
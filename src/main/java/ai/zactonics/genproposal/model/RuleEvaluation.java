@@ -0,0 +1,11 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RuleEvaluation {
+    private String ruleSetVersion;
+    private List<String> recommendations;
+    private List<FiredRule> firedRules;
+}
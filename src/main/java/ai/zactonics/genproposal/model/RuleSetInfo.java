@@ -0,0 +1,17 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class RuleSetInfo {
+    private String version;
+    private String source;
+    private Instant loadedAt;
+    private Integer ruleCount;
+    private List<String> ruleIds;
+    // distinct conditions after sharing vs. conditions as written in the rules
+    private Integer conditionCount;
+    private Integer conditionReferences;
+}
@@ -0,0 +1,16 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class ScheduledTraining {
+    private String employeeId;
+    private String certification;
+    private String source;
+    private Double remainingHours;
+    private Double weeklyHours;
+    private LocalDate startDate;
+    private LocalDate completionDate;
+    private LocalDate plannedCompletion;
+}
@@ -0,0 +1,12 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class SensitivityPoint {
+    private Double rateFactor;
+    private Double availabilityFactor;
+    private Double durationFactor;
+    private Double totalCost;
+    private Double marginPercentage;
+}
@@ -0,0 +1,13 @@
+package ai.zactonics.genproposal.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+public class SimilarRfp {
+    private ProposalHistorySummary summary;
+    // estimated Jaccard similarity of the two RFPs' feature sets
+    private Double similarity;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ProposalGenerationResponse response;
+}
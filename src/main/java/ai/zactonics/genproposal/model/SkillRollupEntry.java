@@ -0,0 +1,14 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class SkillRollupEntry {
+    private String name;
+    private String parent;
+    private Integer depth;
+    private Boolean certification;
+    // employees holding this skill or certification or anything below it
+    private Integer employees;
+    private Integer maxYearsExperience;
+}
@@ -0,0 +1,14 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+
+@Data
+public class StaffingVariant {
+    // EMPLOYEE_ALLOCATION (target = employeeId), ROLE_ALLOCATION or ADD_HIRE (target = role)
+    private String change;
+    private String target;
+    // share of the target's availability put on the contract; 0 takes them off the roster
+    private Double allocation;
+    private Double totalCost;
+    private Double marginPercentage;
+}
@@ -0,0 +1,14 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class TaxonomyInfo {
+    private String version;
+    private String source;
+    private Instant loadedAt;
+    private Integer skillCount;
+    private Integer certificationCount;
+    private Integer maxDepth;
+}
@@ -0,0 +1,17 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TrainingSchedule {
+    private String rfpId;
+    private LocalDate startDate;
+    private LocalDate dueDate;
+    // null when some mandatory requirement cannot be covered by current staff or scheduled training
+    private LocalDate fullyQualifiedDate;
+    private Boolean meetsDueDate;
+    private List<RequirementReadiness> requirements;
+    private List<ScheduledTraining> trainingPlan;
+}
@@ -0,0 +1,13 @@
+package ai.zactonics.genproposal.model;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TrainingScheduleRequest {
+    private List<RfpData> rfps;
+    private List<Employee> employeeData;
+    private List<TrainingRecommendation> trainingRecommendations;
+    private LocalDate startDate;
+}
@@ -0,0 +1,178 @@
+package ai.zactonics.genproposal.profiling;
+
+import ai.zactonics.genproposal.model.RecordingInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flight Recorder recordings started and dumped on demand (/internal/profiling/recordings).
+ *
+ * A continuous recording with the JDK's low-overhead "default" settings runs from startup,
+ * keeping the last proposal.profiling.max-age (bounded by max-size) in its on-disk ring buffer,
+ * so a latency outlier can be dumped after the fact. The generator's own events are enabled
+ * in every recording started here, at proposal.profiling.threshold unless the caller asks for
+ * another. Events that capture environment variables, system properties and the command line
+ * are disabled, since those can hold credentials.
+ */
+@Component
+public class FlightRecordings {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordings.class);
+
+    public static final String TOKEN_HEADER = "X-Profiling-Token";
+
+    static final List<Class<? extends Event>> EVENT_TYPES = List.of(RequestParseEvent.class, SectionRenderEvent.class,
+        ScoringEvent.class, RecommendationsEvent.class, ProposalGenerationEvent.class);
+
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+        "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    @Value("${proposal.profiling.continuous:true}")
+    private boolean continuous;
+
+    @Value("${proposal.profiling.settings:default}")
+    private String defaultSettings;
+
+    @Value("${proposal.profiling.max-age:30m}")
+    private Duration defaultMaxAge;
+
+    @Value("${proposal.profiling.max-size:100MB}")
+    private DataSize defaultMaxSize;
+
+    @Value("${proposal.profiling.threshold:1ms}")
+    private Duration defaultThreshold;
+
+    @Value("${proposal.profiling.token:}")
+    private String token;
+
+    private final Set<Long> started = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        if (!continuous || !FlightRecorder.isAvailable()) return;
+        RecordingInfo recording = start("continuous", null, null, null, null, null);
+        log.info("Continuous flight recording {} started ({} settings, last {})", recording.getId(), defaultSettings,
+            defaultMaxAge);
+    }
+
+    // recordings started with -XX:StartFlightRecording are left to the JVM, which may dump them on exit
+    @PreDestroy
+    void shutdown() {
+        for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (started.contains(recording.getId())) recording.close();
+        }
+    }
+
+    /** Starts a recording; null arguments take the proposal.profiling defaults, and a null duration runs until stopped. */
+    public RecordingInfo start(String name, String settings, Duration maxAge, DataSize maxSize, Duration duration,
+                               Duration threshold) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Flight Recorder is not available in this JVM");
+        }
+        Configuration configuration = configuration(settings != null ? settings : defaultSettings);
+        Recording recording = new Recording(configuration);
+        recording.setName(name != null ? name : "proposal-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge != null ? maxAge : defaultMaxAge);
+        recording.setMaxSize((maxSize != null ? maxSize : defaultMaxSize).toBytes());
+        if (duration != null) recording.setDuration(duration);
+        for (Class<? extends Event> type : EVENT_TYPES) {
+            recording.enable(type).withThreshold(threshold != null ? threshold : defaultThreshold);
+        }
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        recording.start();
+        started.add(recording.getId());
+        return info(recording);
+    }
+
+    public List<RecordingInfo> list() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream().map(FlightRecordings::info).toList();
+    }
+
+    public RecordingInfo get(long id) {
+        return info(recording(id));
+    }
+
+    public RecordingInfo stop(long id) {
+        Recording recording = recording(id);
+        try {
+            recording.stop();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Recording " + id + " is " + recording.getState());
+        }
+        return info(recording);
+    }
+
+    public void close(long id) {
+        recording(id).close();
+    }
+
+    /** Writes what the recording holds so far (a running recording keeps going) to the file. */
+    public void dump(long id, Path file) throws IOException {
+        Recording recording = recording(id);
+        try {
+            recording.dump(file);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Recording " + id + " is " + recording.getState());
+        }
+    }
+
+    /** The endpoints stay off (404) until proposal.profiling.token is set; requests must then present it. */
+    public void authorize(String presentedToken) {
+        if (token.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        if (presentedToken == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), presentedToken.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid " + TOKEN_HEADER);
+        }
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown settings '" + settings
+                + "'; use default or profile");
+        }
+    }
+
+    private static Recording recording(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+            .filter(r -> r.getId() == id)
+            .findFirst()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No recording " + id));
+    }
+
+    private static RecordingInfo info(Recording recording) {
+        RecordingInfo info = new RecordingInfo();
+        info.setId(recording.getId());
+        info.setName(recording.getName());
+        info.setState(recording.getState().name());
+        info.setStartTime(recording.getStartTime());
+        info.setStopTime(recording.getStopTime());
+        info.setDurationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null);
+        info.setMaxAgeSeconds(recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : null);
+        info.setMaxSizeBytes(recording.getMaxSize());
+        info.setSizeBytes(recording.getSize());
+        return info;
+    }
+}
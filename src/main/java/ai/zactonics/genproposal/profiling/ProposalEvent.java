@@ -0,0 +1,40 @@
+package ai.zactonics.genproposal.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/** Fields shared by the proposal generator's Flight Recorder events. */
+@Category("Proposal Generator")
+@StackTrace(false)
+abstract class ProposalEvent extends Event {
+
+    @Label("Tenant")
+    String tenant;
+
+    @Label("Request Hash")
+    @Description("Fingerprint of the generation request, the inputHash of /api/history")
+    String requestHash;
+
+    @Label("Employees")
+    int rosterSize;
+
+    @Label("Projects")
+    int projectCount;
+
+    @Label("Requirements")
+    @Description("Mandatory plus preferred requirements")
+    int requirementCount;
+
+    @Label("Output Size")
+    @Description("Characters of rendered text, or the number of items produced")
+    long outputSize;
+
+    @Label("Allocated")
+    @Description("Heap allocated by the calling thread while the event ran; work it hands to other threads, such as batch rule evaluation, is not counted")
+    @DataAmount
+    long allocatedBytes;
+}
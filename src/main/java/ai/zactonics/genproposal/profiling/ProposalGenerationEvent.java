@@ -0,0 +1,13 @@
+package ai.zactonics.genproposal.profiling;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One generate-proposal call end to end, including admission, the result cache and history. */
+@Name("ai.zactonics.genproposal.ProposalGeneration")
+@Label("Proposal Generation")
+class ProposalGenerationEvent extends ProposalEvent {
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+}
@@ -0,0 +1,152 @@
+package ai.zactonics.genproposal.profiling;
+
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.QualificationScore;
+import ai.zactonics.genproposal.rules.RecommendationRules;
+import ai.zactonics.genproposal.service.RequestFingerprintService;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Emits the generator's Flight Recorder events.
+ *
+ * When no recording has an event enabled, each call costs one flag check. Otherwise the
+ * event is timed, and only when it passes the recording's threshold are the request
+ * details gathered (roster size, requirement count, the request hash) and the event committed,
+ * so fast requests in a long-running recording stay cheap. The request hash is computed at most
+ * once per HTTP request: the first event that needs it stores it in the request's attributes.
+ */
+@Component
+public class ProposalProfiler {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    // hash of the request being generated on this thread, so events for derived requests
+    // (e.g. after entity resolution) carry the hash the caller and /api/history know
+    private static final ThreadLocal<String> REQUEST_HASH = new ThreadLocal<>();
+
+    private static final String HASHED_REQUEST = ProposalProfiler.class.getName() + ".hashedRequest";
+
+    @Autowired
+    private RequestFingerprintService fingerprintService;
+
+    @Autowired
+    private RecommendationRules recommendationRules;
+
+    /**
+     * Records a whole generation. {@code work} receives a callback to run when the result is
+     * computed rather than served from the result cache.
+     */
+    public <T> T generation(ProposalGenerationRequest request, String requestHash, Function<Runnable, T> work) {
+        String outer = REQUEST_HASH.get();
+        REQUEST_HASH.set(requestHash);
+        try {
+            ProposalGenerationEvent event = new ProposalGenerationEvent();
+            event.cacheHit = true;
+            return record(event, request, () -> work.apply(() -> event.cacheHit = false), result -> 0);
+        } finally {
+            if (outer != null) REQUEST_HASH.set(outer);
+            else REQUEST_HASH.remove();
+        }
+    }
+
+    public String section(String section, ProposalGenerationRequest request, Supplier<String> render) {
+        SectionRenderEvent event = new SectionRenderEvent();
+        event.section = section;
+        return record(event, request, render, String::length);
+    }
+
+    public QualificationScore scoring(ProposalGenerationRequest request, Supplier<QualificationScore> score) {
+        return record(new ScoringEvent(), request, score,
+            result -> result.getCriticalGaps() != null ? result.getCriticalGaps().size() : 0);
+    }
+
+    public List<String> recommendations(ProposalGenerationRequest request, Supplier<List<String>> evaluate) {
+        return record(new RecommendationsEvent(), request, evaluate, List::size);
+    }
+
+    /** Commits a parse event begun by {@link RequestParseAdvice}; {@code request} may be null for other bodies. */
+    void parsed(RequestParseEvent event, long allocatedBefore, ProposalGenerationRequest request) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.allocatedBytes = allocatedBytes() - allocatedBefore;
+        if (request != null) describe(event, request);
+        else event.tenant = TenantContext.get();
+        event.commit();
+    }
+
+    private <E extends ProposalEvent, T> T record(E event, ProposalGenerationRequest request, Supplier<T> work,
+                                                  ToLongFunction<T> outputSize) {
+        if (!event.isEnabled()) return work.get();
+        long allocatedBefore = allocatedBytes();
+        event.begin();
+        T result = work.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.allocatedBytes = allocatedBytes() - allocatedBefore;
+            event.outputSize = result != null ? outputSize.applyAsLong(result) : 0;
+            if (event instanceof RecommendationsEvent recommendations) {
+                recommendations.ruleSetVersion = recommendationRules.version();
+            }
+            describe(event, request);
+            event.commit();
+        }
+        return result;
+    }
+
+    private void describe(ProposalEvent event, ProposalGenerationRequest request) {
+        event.tenant = TenantContext.get();
+        event.requestHash = requestHash(request);
+        event.rosterSize = request.getEmployeeData() != null ? request.getEmployeeData().size() : 0;
+        event.projectCount = request.getProjectExperience() != null ? request.getProjectExperience().size() : 0;
+        event.requirementCount = requirementCount(request);
+    }
+
+    // the body the controller received is hashed once and reused by every later event for it
+    private String requestHash(ProposalGenerationRequest request) {
+        String bound = REQUEST_HASH.get();
+        if (bound != null) return bound;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return fingerprintService.fingerprint(request);
+        if (attributes.getAttribute(HASHED_REQUEST, RequestAttributes.SCOPE_REQUEST) instanceof HashedRequest hashed
+            && hashed.request() == request) {
+            return hashed.hash();
+        }
+        String hash = fingerprintService.fingerprint(request);
+        attributes.setAttribute(HASHED_REQUEST, new HashedRequest(request, hash), RequestAttributes.SCOPE_REQUEST);
+        return hash;
+    }
+
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static int requirementCount(ProposalGenerationRequest request) {
+        if (request.getRfpData() == null || request.getRfpData().getExtractedRequirements() == null) return 0;
+        ExtractedRequirements extracted = request.getRfpData().getExtractedRequirements();
+        int count = 0;
+        if (extracted.getMandatoryRequirements() != null) count += extracted.getMandatoryRequirements().size();
+        if (extracted.getPreferredRequirements() != null) count += extracted.getPreferredRequirements().size();
+        return count;
+    }
+
+    private record HashedRequest(ProposalGenerationRequest request, String hash) {
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package ai.zactonics.genproposal.profiling;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ai.zactonics.genproposal.Recommendations")
+@Label("Recommendations")
+class RecommendationsEvent extends ProposalEvent {
+
+    @Label("Rule Set Version")
+    String ruleSetVersion;
+}
@@ -0,0 +1,99 @@
+package ai.zactonics.genproposal.profiling;
+
+import ai.zactonics.genproposal.model.ProposalExportRequest;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/** Records a RequestParse event around reading each generation request body. */
+@ControllerAdvice
+public class RequestParseAdvice extends RequestBodyAdviceAdapter {
+
+    @Autowired
+    private ProposalProfiler profiler;
+
+    @Override
+    public boolean supports(MethodParameter parameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == ProposalGenerationRequest.class || targetType == ProposalExportRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        RequestParseEvent event = new RequestParseEvent();
+        if (!event.isEnabled()) return inputMessage;
+        return new ProfiledInputMessage(inputMessage, event);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (inputMessage instanceof ProfiledInputMessage profiled) {
+            RequestParseEvent event = profiled.event;
+            event.bodyType = body.getClass().getSimpleName();
+            event.bodyBytes = profiled.body != null ? profiled.body.count : 0;
+            ProposalGenerationRequest request = body instanceof ProposalExportRequest export
+                ? export.getProposal()
+                : (ProposalGenerationRequest) body;
+            profiler.parsed(event, profiled.allocatedBefore, request);
+        }
+        return body;
+    }
+
+    private static final class ProfiledInputMessage implements HttpInputMessage {
+        private final HttpInputMessage delegate;
+        private final RequestParseEvent event;
+        private final long allocatedBefore;
+        private CountingInputStream body;
+
+        ProfiledInputMessage(HttpInputMessage delegate, RequestParseEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+            this.allocatedBefore = ProposalProfiler.allocatedBytes();
+            event.begin();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) body = new CountingInputStream(delegate.getBody());
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ai.zactonics.genproposal.profiling;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ai.zactonics.genproposal.RequestParse")
+@Label("Request Parse")
+class RequestParseEvent extends ProposalEvent {
+
+    @Label("Body Type")
+    String bodyType;
+
+    @Label("Body Size")
+    @DataAmount
+    long bodyBytes;
+}
@@ -0,0 +1,9 @@
+package ai.zactonics.genproposal.profiling;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ai.zactonics.genproposal.Scoring")
+@Label("Qualification Scoring")
+class ScoringEvent extends ProposalEvent {
+}
@@ -0,0 +1,12 @@
+package ai.zactonics.genproposal.profiling;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ai.zactonics.genproposal.SectionRender")
+@Label("Section Render")
+class SectionRenderEvent extends ProposalEvent {
+
+    @Label("Section")
+    String section;
+}
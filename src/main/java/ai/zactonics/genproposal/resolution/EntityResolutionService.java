@@ -0,0 +1,763 @@
+package ai.zactonics.genproposal.resolution;
+
+import ai.zactonics.genproposal.cluster.ClusterCache;
+import ai.zactonics.genproposal.cluster.ClusteredCache;
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.service.RequestFingerprintService;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Finds employees and projects that appear more than once (under different ids from HR,
+ * resume and project sources) and merges each group into one gold record with provenance.
+ *
+ * Candidate pairs come from blocking keys (name prefixes plus initials, surname consonant
+ * skeletons, exact ids, shared certifications; project title tokens, client and year) and
+ * from a sorted-neighborhood pass over two name orderings. Blocks larger than
+ * proposal.resolution.max-block-size are dropped and left to the sorted-neighborhood window,
+ * so the number of pairs stays linear in roster size instead of quadratic.
+ * Pairs are scored in parallel with Jaro-Winkler on first and family names and overlap of
+ * certifications, projects and titles. A name match needs a shared certification or project to
+ * count, and two ids issued by the same source never match; pairs above proposal.resolution.match-threshold are
+ * joined with union-find. Projects are resolved first so that employees are compared on
+ * gold projects. Results are cached by roster fingerprint (through the cluster tier when enabled),
+ * so proposals for different RFPs over the same roster resolve it once.
+ */
+@Service
+public class EntityResolutionService {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAME_SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> NAME_NOISE = Set.of("mr", "mrs", "ms", "dr", "jr", "sr", "ii", "iii", "iv", "phd");
+    private static final Map<String, String> NICKNAMES = Map.ofEntries(
+        Map.entry("bob", "robert"), Map.entry("rob", "robert"), Map.entry("bill", "william"),
+        Map.entry("will", "william"), Map.entry("jim", "james"), Map.entry("mike", "michael"),
+        Map.entry("dave", "david"), Map.entry("tom", "thomas"), Map.entry("chris", "christopher"),
+        Map.entry("kate", "katherine"), Map.entry("liz", "elizabeth"), Map.entry("jen", "jennifer"),
+        Map.entry("dan", "daniel"), Map.entry("matt", "matthew"), Map.entry("steve", "steven"),
+        Map.entry("joe", "joseph"), Map.entry("tony", "anthony"), Map.entry("alex", "alexander"),
+        Map.entry("nick", "nicholas"), Map.entry("andy", "andrew"), Map.entry("ben", "benjamin"),
+        Map.entry("jon", "jonathan"), Map.entry("sam", "samuel"), Map.entry("pat", "patricia"));
+
+    private static final double FIRST_NAME_FLOOR = 0.8;
+    // "J Smith" against "John Smith"
+    private static final double INITIAL_MATCH = 0.9;
+
+    @Autowired
+    private TenantExecutors tenantExecutors;
+
+    @Autowired
+    private ClusterCache clusterCache;
+
+    @Autowired
+    private RequestFingerprintService fingerprintService;
+
+    @Value("${proposal.resolution.enabled:false}")
+    private boolean enabled;
+
+    @Value("${proposal.resolution.match-threshold:0.85}")
+    private double matchThreshold;
+
+    @Value("${proposal.resolution.name-floor:0.9}")
+    private double nameFloor;
+
+    @Value("${proposal.resolution.window:8}")
+    private int window;
+
+    @Value("${proposal.resolution.max-block-size:100}")
+    private int maxBlockSize;
+
+    @Value("${proposal.resolution.cache-entries-per-tenant:16}")
+    private int cacheEntriesPerTenant;
+
+    // id prefixes of systems that never list one person under two ids; off unless configured
+    @Value("${proposal.resolution.distinct-id-prefixes:}")
+    private List<String> distinctIdPrefixes;
+
+    private Set<String> distinctIdSources;
+
+    private ClusteredCache<EntityResolutionResult> results;
+
+    @PostConstruct
+    void init() {
+        distinctIdSources = distinctIdPrefixes.stream()
+            .map(String::trim)
+            .filter(prefix -> !prefix.isEmpty())
+            .map(TextNormalizer::normalize)
+            .collect(Collectors.toUnmodifiableSet());
+        results = clusterCache.cache("roster-resolution", EntityResolutionResult.class, cacheEntriesPerTenant);
+    }
+
+    private interface PairScorer {
+        double score(int a, int b);
+    }
+
+    private record Clusters(UnionFind sets, double[] minScore, long candidatePairs) {
+    }
+
+    /** Resolves the request's roster and past performance; the request itself is not modified. */
+    public EntityResolutionResult resolve(ProposalGenerationRequest request) {
+        List<ProjectExperience> projects = nullSafe(request.getProjectExperience());
+        List<Employee> employees = nullSafe(request.getEmployeeData());
+        String rosterKey = fingerprintService.fingerprint(List.of(employees, projects));
+        return results.getOrCompute(rosterKey, () -> resolve(employees, projects));
+    }
+
+    private EntityResolutionResult resolve(List<Employee> employees, List<ProjectExperience> projects) {
+        long start = System.nanoTime();
+
+        ProjectFeatures pf = new ProjectFeatures(projects);
+        Clusters projectClusters = cluster(projects.size(), pf.blockingKeys, pf.sortKeys, pf::score);
+        int[] goldProject = new int[projects.size()];
+        for (int i = 0; i < goldProject.length; i++) goldProject[i] = projectClusters.sets().find(i);
+
+        EmployeeFeatures ef = new EmployeeFeatures(employees, projects, goldProject);
+        Clusters employeeClusters = cluster(employees.size(), ef.blockingKeys, ef.sortKeys, ef::score);
+
+        List<MergedRecord> employeeMerges = new ArrayList<>();
+        Map<String, String> idRemap = new HashMap<>();
+        List<Employee> resolvedEmployees = merge(employees, employeeClusters, employeeMerges,
+            this::mergeEmployees, Employee::getEmployeeId);
+        for (MergedRecord merged : employeeMerges) {
+            for (String id : merged.getSourceIds()) {
+                if (id != null && !id.equals(merged.getGoldId())) idRemap.put(id, merged.getGoldId());
+            }
+        }
+
+        List<MergedRecord> projectMerges = new ArrayList<>();
+        List<ProjectExperience> resolvedProjects = merge(projects, projectClusters, projectMerges,
+            this::mergeProjects, ProjectExperience::getProjectId);
+        if (!idRemap.isEmpty()) {
+            resolvedProjects = resolvedProjects.stream().map(p -> remapTeam(p, idRemap)).toList();
+        }
+
+        EntityResolutionResult result = new EntityResolutionResult();
+        result.setEmployeeData(resolvedEmployees);
+        result.setProjectExperience(resolvedProjects);
+        result.setEmployeeMerges(employeeMerges);
+        result.setProjectMerges(projectMerges);
+        result.setEmployeesIn(employees.size());
+        result.setEmployeesOut(resolvedEmployees.size());
+        result.setProjectsIn(projects.size());
+        result.setProjectsOut(resolvedProjects.size());
+        result.setCandidatePairs(projectClusters.candidatePairs() + employeeClusters.candidatePairs());
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * The request with duplicate employees and projects merged and training recommendations
+     * pointed at gold employee ids; the same request when nothing merged or
+     * proposal.resolution.enabled is false.
+     */
+    public ProposalGenerationRequest deduplicate(ProposalGenerationRequest request) {
+        if (!enabled) return request;
+        EntityResolutionResult resolved = resolve(request);
+        if (resolved.getEmployeeMerges().isEmpty() && resolved.getProjectMerges().isEmpty()) return request;
+
+        ProposalGenerationRequest copy = new ProposalGenerationRequest();
+        copy.setRfpData(request.getRfpData());
+        copy.setCompanyCapabilities(request.getCompanyCapabilities());
+        copy.setEmployeeData(resolved.getEmployeeData());
+        copy.setProjectExperience(resolved.getProjectExperience());
+        copy.setSkillsGapAnalysis(remapTraining(request.getSkillsGapAnalysis(), resolved.getEmployeeMerges()));
+        copy.setCompleteProposalLayout(request.getCompleteProposalLayout());
+        return copy;
+    }
+
+    private Clusters cluster(int n, List<List<String>> blockingKeys, List<String[]> sortKeys, PairScorer scorer) {
+        PairList pairs = new PairList();
+        Map<String, IntList> blocks = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            for (String key : blockingKeys.get(i)) blocks.computeIfAbsent(key, k -> new IntList()).add(i);
+        }
+        for (IntList block : blocks.values()) {
+            if (block.size < 2 || block.size > maxBlockSize) continue;
+            for (int x = 0; x < block.size; x++) {
+                for (int y = x + 1; y < block.size; y++) pairs.add(block.values[x], block.values[y]);
+            }
+        }
+        for (String[] keys : sortKeys) {
+            Integer[] order = IntStream.range(0, n).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparing(i -> keys[i], Comparator.nullsLast(Comparator.naturalOrder())));
+            for (int x = 0; x < n; x++) {
+                if (keys[order[x]] == null) break;
+                for (int y = x + 1; y < Math.min(n, x + window); y++) pairs.add(order[x], order[y]);
+            }
+        }
+
+        long[] candidates = pairs.distinct();
+        double[] scores = new double[candidates.length];
+        tenantExecutors.invoke(() -> {
+            IntStream.range(0, candidates.length).parallel()
+                .forEach(k -> scores[k] = scorer.score((int) (candidates[k] >>> 32), (int) candidates[k]));
+            return null;
+        });
+
+        UnionFind sets = new UnionFind(n);
+        for (int k = 0; k < candidates.length; k++) {
+            if (scores[k] >= matchThreshold) sets.union((int) (candidates[k] >>> 32), (int) candidates[k]);
+        }
+        double[] minScore = new double[n];
+        Arrays.fill(minScore, Double.NaN);
+        for (int k = 0; k < candidates.length; k++) {
+            if (scores[k] < matchThreshold) continue;
+            int root = sets.find((int) (candidates[k] >>> 32));
+            if (Double.isNaN(minScore[root]) || scores[k] < minScore[root]) minScore[root] = scores[k];
+        }
+        return new Clusters(sets, minScore, candidates.length);
+    }
+
+    private interface Merger<T> {
+        T merge(List<T> members, Map<String, String> fieldSources);
+    }
+
+    // one output record per cluster, at the position of the cluster's first member
+    private <T> List<T> merge(List<T> records, Clusters clusters, List<MergedRecord> merges, Merger<T> merger,
+                              Function<T, String> id) {
+        Map<Integer, List<T>> byRoot = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            byRoot.computeIfAbsent(clusters.sets().find(i), r -> new ArrayList<>()).add(records.get(i));
+        }
+        List<T> resolved = new ArrayList<>(byRoot.size());
+        for (Map.Entry<Integer, List<T>> cluster : byRoot.entrySet()) {
+            List<T> members = cluster.getValue();
+            if (members.size() == 1) {
+                resolved.add(members.get(0));
+                continue;
+            }
+            Map<String, String> fieldSources = new LinkedHashMap<>();
+            T gold = merger.merge(members, fieldSources);
+            MergedRecord merged = new MergedRecord();
+            merged.setGoldId(id.apply(gold));
+            merged.setSourceIds(members.stream().map(id).toList());
+            merged.setMatchScore(Math.round(clusters.minScore()[cluster.getKey()] * 1000) / 1000.0);
+            merged.setFieldSources(fieldSources);
+            merges.add(merged);
+            resolved.add(gold);
+        }
+        return resolved;
+    }
+
+    private Employee mergeEmployees(List<Employee> members, Map<String, String> sources) {
+        List<Employee> ranked = byCompleteness(members, EntityResolutionService::completeness);
+        Employee gold = new Employee();
+        gold.setEmployeeId(firstNonNull(members, Employee::getEmployeeId));
+        gold.setName(pick(ranked, Employee::getName, Employee::getEmployeeId, "name", sources));
+        gold.setTitle(pick(ranked, Employee::getTitle, Employee::getEmployeeId, "title", sources));
+        gold.setClearanceLevel(pick(ranked, Employee::getClearanceLevel, Employee::getEmployeeId, "clearanceLevel", sources));
+        gold.setAvailabilityPercentage(pick(ranked, Employee::getAvailabilityPercentage, Employee::getEmployeeId,
+            "availabilityPercentage", sources));
+        gold.setHourlyRate(pick(ranked, Employee::getHourlyRate, Employee::getEmployeeId, "hourlyRate", sources));
+        // sources lag each other, so the largest experience figure is the current one
+        Employee mostExperienced = members.stream().filter(e -> e.getYearsExperience() != null)
+            .max(Comparator.comparing(Employee::getYearsExperience)).orElse(null);
+        if (mostExperienced != null) {
+            gold.setYearsExperience(mostExperienced.getYearsExperience());
+            sources.put("yearsExperience", mostExperienced.getEmployeeId());
+        }
+
+        List<Skill> skills = new ArrayList<>();
+        List<Certification> certs = new ArrayList<>();
+        List<PlannedCertification> planned = new ArrayList<>();
+        Set<String> highlights = new LinkedHashSet<>();
+        for (Employee e : members) {
+            nullSafe(e.getCurrentSkills()).forEach(s -> RosterMerging.mergeInto(skills, s, RosterMerging::skillKey,
+                RosterMerging::stronger));
+            nullSafe(e.getCurrentCertifications()).forEach(c -> RosterMerging.mergeInto(certs, c,
+                x -> RosterMerging.certKey(x.getCertId(), x.getCertName()), RosterMerging::later));
+            nullSafe(e.getPlannedCertifications()).forEach(p -> RosterMerging.mergeInto(planned, p,
+                x -> RosterMerging.certKey(x.getCertId(), x.getCertName()), (a, b) -> a));
+            highlights.addAll(nullSafe(e.getResumeHighlights()));
+        }
+        gold.setCurrentSkills(skills);
+        gold.setCurrentCertifications(certs);
+        gold.setPlannedCertifications(planned);
+        gold.setResumeHighlights(new ArrayList<>(highlights));
+        listSources(members, Employee::getCurrentSkills, Employee::getEmployeeId, "currentSkills", sources);
+        listSources(members, Employee::getCurrentCertifications, Employee::getEmployeeId, "currentCertifications", sources);
+        listSources(members, Employee::getPlannedCertifications, Employee::getEmployeeId, "plannedCertifications", sources);
+        listSources(members, Employee::getResumeHighlights, Employee::getEmployeeId, "resumeHighlights", sources);
+        return gold;
+    }
+
+    private ProjectExperience mergeProjects(List<ProjectExperience> members, Map<String, String> sources) {
+        List<ProjectExperience> ranked = byCompleteness(members, EntityResolutionService::completeness);
+        Function<ProjectExperience, String> id = ProjectExperience::getProjectId;
+        ProjectExperience gold = new ProjectExperience();
+        gold.setProjectId(firstNonNull(members, id));
+        gold.setProjectName(pick(ranked, ProjectExperience::getProjectName, id, "projectName", sources));
+        gold.setClient(pick(ranked, ProjectExperience::getClient, id, "client", sources));
+        gold.setIndustry(pick(ranked, ProjectExperience::getIndustry, id, "industry", sources));
+        gold.setContractValue(pick(ranked, ProjectExperience::getContractValue, id, "contractValue", sources));
+        gold.setDuration(pick(ranked, ProjectExperience::getDuration, id, "duration", sources));
+        gold.setCompletionDate(pick(ranked, ProjectExperience::getCompletionDate, id, "completionDate", sources));
+        gold.setSuccessMetrics(pick(ranked, ProjectExperience::getSuccessMetrics, id, "successMetrics", sources));
+        gold.setReferenceable(pick(ranked, ProjectExperience::getReferenceable, id, "referenceable", sources));
+        gold.setReferenceContact(pick(ranked, ProjectExperience::getReferenceContact, id, "referenceContact", sources));
+        gold.setTeamMembers(union(members, ProjectExperience::getTeamMembers));
+        gold.setTechnologiesUsed(union(members, ProjectExperience::getTechnologiesUsed));
+        gold.setKeyAchievements(union(members, ProjectExperience::getKeyAchievements));
+        gold.setLessonsLearned(union(members, ProjectExperience::getLessonsLearned));
+        listSources(members, ProjectExperience::getTeamMembers, id, "teamMembers", sources);
+        listSources(members, ProjectExperience::getTechnologiesUsed, id, "technologiesUsed", sources);
+        listSources(members, ProjectExperience::getKeyAchievements, id, "keyAchievements", sources);
+        listSources(members, ProjectExperience::getLessonsLearned, id, "lessonsLearned", sources);
+        return gold;
+    }
+
+    /** Per-employee comparison features, one array slot per input record. */
+    private final class EmployeeFeatures {
+        final String[] ids;
+        final String[] idSources;
+        final String[] firstNames;
+        final String[] lastNames;
+        final int[] firstMasks;
+        final int[] lastMasks;
+        final String[] titles;
+        final String[][] certs;
+        final int[][] projects;
+        final List<List<String>> blockingKeys = new ArrayList<>();
+        final List<String[]> sortKeys;
+
+        EmployeeFeatures(List<Employee> employees, List<ProjectExperience> projectList, int[] goldProject) {
+            int n = employees.size();
+            ids = new String[n];
+            idSources = new String[n];
+            firstNames = new String[n];
+            lastNames = new String[n];
+            firstMasks = new int[n];
+            lastMasks = new int[n];
+            titles = new String[n];
+            certs = new String[n][];
+            projects = new int[n][];
+            String[] firstLast = new String[n];
+            String[] lastFirst = new String[n];
+
+            // team members are listed by id or by name
+            Map<String, IntList> projectsByMember = new HashMap<>();
+            for (int p = 0; p < projectList.size(); p++) {
+                for (String member : nullSafe(projectList.get(p).getTeamMembers())) {
+                    projectsByMember.computeIfAbsent(TextNormalizer.normalize(member), k -> new IntList()).add(goldProject[p]);
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                Employee e = employees.get(i);
+                ids[i] = e.getEmployeeId() != null ? TextNormalizer.normalize(e.getEmployeeId()) : null;
+                idSources[i] = ids[i] != null ? distinctIdSource(ids[i]) : null;
+                titles[i] = e.getTitle() != null ? TextNormalizer.normalize(e.getTitle()) : null;
+                List<String> tokens = nameTokens(e.getName());
+                List<String> keys = new ArrayList<>(4);
+                if (ids[i] != null) keys.add("I:" + ids[i]);
+                if (!tokens.isEmpty()) {
+                    String first = tokens.get(0);
+                    String last = tokens.get(tokens.size() - 1);
+                    firstNames[i] = first;
+                    lastNames[i] = last;
+                    firstMasks[i] = JaroWinkler.letterMask(first);
+                    lastMasks[i] = JaroWinkler.letterMask(last);
+                    firstLast[i] = first + " " + last;
+                    lastFirst[i] = last + " " + first;
+                    keys.add("L:" + prefix(last, 4) + "|" + first.charAt(0));
+                    keys.add("F:" + prefix(first, 4) + "|" + prefix(last, 2));
+                    keys.add("S:" + skeleton(last) + "|" + first.charAt(0));
+                }
+
+                TreeSet<String> certKeys = new TreeSet<>();
+                for (Certification cert : nullSafe(e.getCurrentCertifications())) {
+                    certKeys.add(RosterMerging.certKey(cert.getCertId(), cert.getCertName()));
+                }
+                certs[i] = certKeys.toArray(new String[0]);
+                if (lastNames[i] != null) {
+                    for (String cert : certs[i]) keys.add("C:" + cert + "|" + lastNames[i].charAt(0));
+                }
+
+                IntList memberOf = new IntList();
+                if (ids[i] != null) memberOf.addAll(projectsByMember.get(ids[i]));
+                if (e.getName() != null) memberOf.addAll(projectsByMember.get(TextNormalizer.normalize(e.getName())));
+                projects[i] = memberOf.sortedDistinct();
+                blockingKeys.add(keys);
+            }
+            sortKeys = List.of(lastFirst, firstLast);
+        }
+
+        // family names must clear name-floor on their own, so similar full names of different people do not chain
+        private double nameScore(String firstA, int firstMaskA, String lastA, int lastMaskA,
+                                 String firstB, int firstMaskB, String lastB, int lastMaskB) {
+            if (!JaroWinkler.canReach(lastA, lastMaskA, lastB, lastMaskB, nameFloor)) return 0;
+            boolean initial = firstA.length() == 1 || firstB.length() == 1;
+            if (!initial && !JaroWinkler.canReach(firstA, firstMaskA, firstB, firstMaskB, FIRST_NAME_FLOOR)) return 0;
+            double last = JaroWinkler.similarity(lastA, lastB);
+            if (last < nameFloor) return 0;
+            double first = initial
+                ? (firstA.charAt(0) == firstB.charAt(0) ? INITIAL_MATCH : 0)
+                : JaroWinkler.similarity(firstA, firstB);
+            if (first < FIRST_NAME_FLOOR) return 0;
+            return (first + 2 * last) / 3;
+        }
+
+        double score(int a, int b) {
+            if (ids[a] != null && ids[a].equals(ids[b])) return 1.0;
+            // a configured source never lists the same person under two ids ("emp-001" and "emp-002" are two people)
+            if (idSources[a] != null && idSources[a].equals(idSources[b])) return 0;
+            if (lastNames[a] == null || lastNames[b] == null) return 0;
+            // as written, or first and last swapped ("Smith John" without the comma)
+            double name = Math.max(
+                nameScore(firstNames[a], firstMasks[a], lastNames[a], lastMasks[a],
+                    firstNames[b], firstMasks[b], lastNames[b], lastMasks[b]),
+                nameScore(firstNames[a], firstMasks[a], lastNames[a], lastMasks[a],
+                    lastNames[b], lastMasks[b], firstNames[b], firstMasks[b]));
+            if (name == 0) return 0;
+            double certOverlap = certs[a].length > 0 && certs[b].length > 0 ? jaccard(certs[a], certs[b]) : 0;
+            double projectOverlap = projects[a].length > 0 && projects[b].length > 0 ? jaccard(projects[a], projects[b]) : 0;
+            // a shared name (and title) alone is common among different people
+            if (certOverlap == 0 && projectOverlap == 0) return 0;
+
+            double total = 0.55 * name;
+            double weight = 0.55;
+            if (certs[a].length > 0 && certs[b].length > 0) {
+                total += 0.15 * certOverlap;
+                weight += 0.15;
+            }
+            if (projects[a].length > 0 && projects[b].length > 0) {
+                total += 0.15 * projectOverlap;
+                weight += 0.15;
+            }
+            if (titles[a] != null && titles[b] != null) {
+                total += 0.15 * JaroWinkler.similarity(titles[a], titles[b]);
+                weight += 0.15;
+            }
+            return total / weight;
+        }
+    }
+
+    /** Per-project comparison features. */
+    private final class ProjectFeatures {
+        final String[] ids;
+        final String[] titles;
+        final int[] titleMasks;
+        final String[] sortedTitles;
+        final String[] clients;
+        final long[] completionDays;
+        final String[][] technologies;
+        final List<List<String>> blockingKeys = new ArrayList<>();
+        final List<String[]> sortKeys;
+
+        ProjectFeatures(List<ProjectExperience> projects) {
+            int n = projects.size();
+            ids = new String[n];
+            titles = new String[n];
+            titleMasks = new int[n];
+            sortedTitles = new String[n];
+            clients = new String[n];
+            completionDays = new long[n];
+            technologies = new String[n][];
+            String[] clientTitle = new String[n];
+            for (int i = 0; i < n; i++) {
+                ProjectExperience p = projects.get(i);
+                ids[i] = p.getProjectId() != null ? TextNormalizer.normalize(p.getProjectId()) : null;
+                clients[i] = p.getClient() != null ? TextNormalizer.normalize(p.getClient()) : null;
+                LocalDate completed = p.getCompletionDate();
+                completionDays[i] = completed != null ? completed.toEpochDay() : Long.MIN_VALUE;
+                TreeSet<String> tech = new TreeSet<>();
+                nullSafe(p.getTechnologiesUsed()).forEach(t -> tech.add(TextNormalizer.normalize(t)));
+                technologies[i] = tech.toArray(new String[0]);
+
+                List<String> keys = new ArrayList<>(3);
+                if (ids[i] != null) keys.add("I:" + ids[i]);
+                List<String> tokens = TextNormalizer.tokens(p.getProjectName());
+                if (!tokens.isEmpty()) {
+                    titles[i] = String.join(" ", tokens);
+                    titleMasks[i] = JaroWinkler.letterMask(titles[i]);
+                    List<String> sorted = new ArrayList<>(tokens);
+                    Collections.sort(sorted);
+                    sortedTitles[i] = String.join(" ", sorted);
+                    keys.add("T:" + sorted.get(0) + (sorted.size() > 1 ? " " + sorted.get(1) : ""));
+                    clientTitle[i] = (clients[i] != null ? clients[i] : "") + "|" + titles[i];
+                }
+                if (clients[i] != null && completed != null) keys.add("C:" + clients[i] + "|" + completed.getYear());
+                blockingKeys.add(keys);
+            }
+            sortKeys = List.of(titles, clientTitle);
+        }
+
+        double score(int a, int b) {
+            if (ids[a] != null && ids[a].equals(ids[b])) return 1.0;
+            if (titles[a] == null || titles[b] == null) return 0;
+            // the sorted-token title has the same letters, so the bound covers both comparisons
+            if (!JaroWinkler.canReach(titles[a], titleMasks[a], titles[b], titleMasks[b], nameFloor)) return 0;
+            double title = Math.max(JaroWinkler.similarity(titles[a], titles[b]),
+                JaroWinkler.similarity(sortedTitles[a], sortedTitles[b]));
+            if (title < nameFloor) return 0;
+            double total = 0.5 * title;
+            double weight = 0.5;
+            if (clients[a] != null && clients[b] != null) {
+                total += 0.2 * JaroWinkler.similarity(clients[a], clients[b]);
+                weight += 0.2;
+            }
+            if (completionDays[a] != Long.MIN_VALUE && completionDays[b] != Long.MIN_VALUE) {
+                long apart = Math.abs(completionDays[a] - completionDays[b]);
+                // within a month is the same project; a year apart is not
+                total += 0.15 * Math.max(0, Math.min(1, (365 - apart) / 334.0));
+                weight += 0.15;
+            }
+            if (technologies[a].length > 0 && technologies[b].length > 0) {
+                total += 0.15 * jaccard(technologies[a], technologies[b]);
+                weight += 0.15;
+            }
+            return total / weight;
+        }
+    }
+
+    /**
+     * "Smith, Robert J. Jr." -> [robert, j, smith]: accents and apostrophes removed, honorifics
+     * and suffixes dropped, nicknames expanded.
+     */
+    static List<String> nameTokens(String name) {
+        if (name == null) return List.of();
+        int comma = name.indexOf(',');
+        String ordered = comma > 0 ? name.substring(comma + 1) + " " + name.substring(0, comma) : name;
+        String ascii = isAscii(ordered) ? ordered
+            : DIACRITICS.matcher(Normalizer.normalize(ordered, Normalizer.Form.NFD)).replaceAll("");
+        String plain = ascii.replace("'", "").toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NAME_SEPARATORS.split(plain)) {
+            if (!token.isEmpty() && !NAME_NOISE.contains(token)) tokens.add(NICKNAMES.getOrDefault(token, token));
+        }
+        return tokens;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 127) return false;
+        }
+        return true;
+    }
+
+    /** Consonants with repeats collapsed, "tanasoju" -> "tnsj": stable under vowel typos and most transpositions. */
+    static String skeleton(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ("aeiouy".indexOf(c) >= 0) continue;
+            if (out.length() == 0 || out.charAt(out.length() - 1) != c) out.append(c);
+        }
+        return out.toString();
+    }
+
+    private static String prefix(String s, int length) {
+        return s.length() <= length ? s : s.substring(0, length);
+    }
+
+    /**
+     * The letters an id starts with ("emp" for "emp-001") when they name one of the
+     * proposal.resolution.distinct-id-prefixes systems, otherwise null.
+     */
+    private String distinctIdSource(String id) {
+        int end = 0;
+        while (end < id.length() && Character.isLetter(id.charAt(end))) end++;
+        String prefix = id.substring(0, end);
+        return !prefix.isEmpty() && distinctIdSources.contains(prefix) ? prefix : null;
+    }
+
+    private static double jaccard(String[] a, String[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            int c = a[i].compareTo(b[j]);
+            if (c == 0) {
+                shared++;
+                i++;
+                j++;
+            } else if (c < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    private static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            if (other == null) return;
+            for (int i = 0; i < other.size; i++) add(other.values[i]);
+        }
+
+        int[] sortedDistinct() {
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return Arrays.stream(sorted).distinct().toArray();
+        }
+    }
+
+    /** Candidate pairs packed as (low index << 32 | high index). */
+    private static final class PairList {
+        long[] pairs = new long[1024];
+        int size;
+
+        void add(int a, int b) {
+            if (a == b) return;
+            if (size == pairs.length) pairs = Arrays.copyOf(pairs, size * 2);
+            pairs[size++] = (long) Math.min(a, b) << 32 | Math.max(a, b);
+        }
+
+        long[] distinct() {
+            long[] sorted = Arrays.copyOf(pairs, size);
+            Arrays.parallelSort(sorted);
+            int unique = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) sorted[unique++] = sorted[i];
+            }
+            return Arrays.copyOf(sorted, unique);
+        }
+    }
+
+    private static ProjectExperience remapTeam(ProjectExperience project, Map<String, String> idRemap) {
+        List<String> team = project.getTeamMembers();
+        if (team == null || team.stream().noneMatch(idRemap::containsKey)) return project;
+        ProjectExperience copy = new ProjectExperience();
+        copy.setProjectId(project.getProjectId());
+        copy.setProjectName(project.getProjectName());
+        copy.setClient(project.getClient());
+        copy.setIndustry(project.getIndustry());
+        copy.setContractValue(project.getContractValue());
+        copy.setDuration(project.getDuration());
+        copy.setCompletionDate(project.getCompletionDate());
+        copy.setSuccessMetrics(project.getSuccessMetrics());
+        copy.setTechnologiesUsed(project.getTechnologiesUsed());
+        copy.setKeyAchievements(project.getKeyAchievements());
+        copy.setLessonsLearned(project.getLessonsLearned());
+        copy.setReferenceable(project.getReferenceable());
+        copy.setReferenceContact(project.getReferenceContact());
+        copy.setTeamMembers(new ArrayList<>(new LinkedHashSet<>(team.stream()
+            .map(member -> idRemap.getOrDefault(member, member)).toList())));
+        return copy;
+    }
+
+    private static SkillsGapAnalysis remapTraining(SkillsGapAnalysis gap, List<MergedRecord> employeeMerges) {
+        if (gap == null || gap.getTrainingRecommendations() == null || employeeMerges.isEmpty()) return gap;
+        Map<String, String> idRemap = new HashMap<>();
+        for (MergedRecord merged : employeeMerges) {
+            merged.getSourceIds().forEach(id -> idRemap.put(id, merged.getGoldId()));
+        }
+        SkillsGapAnalysis copy = new SkillsGapAnalysis();
+        copy.setRfpId(gap.getRfpId());
+        copy.setCurrentQualificationPercentage(gap.getCurrentQualificationPercentage());
+        copy.setMissingSkills(gap.getMissingSkills());
+        copy.setWhatIfScenarios(gap.getWhatIfScenarios());
+        copy.setTrainingRecommendations(gap.getTrainingRecommendations().stream().map(rec -> {
+            String gold = idRemap.get(rec.getEmployeeId());
+            if (gold == null || gold.equals(rec.getEmployeeId())) return rec;
+            TrainingRecommendation remapped = new TrainingRecommendation();
+            remapped.setEmployeeId(gold);
+            remapped.setRecommendedCert(rec.getRecommendedCert());
+            remapped.setCost(rec.getCost());
+            remapped.setTimelineWeeks(rec.getTimelineWeeks());
+            remapped.setRoiImprovement(rec.getRoiImprovement());
+            return remapped;
+        }).toList());
+        return copy;
+    }
+
+    private static <T, V> V pick(List<T> ranked, Function<T, V> field, Function<T, String> id, String name,
+                                 Map<String, String> sources) {
+        for (T record : ranked) {
+            V value = field.apply(record);
+            if (value != null) {
+                sources.put(name, id.apply(record));
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static <T> void listSources(List<T> members, Function<T, List<?>> field, Function<T, String> id, String name,
+                                        Map<String, String> sources) {
+        List<String> contributing = new ArrayList<>();
+        for (T record : members) {
+            if (field.apply(record) != null && !field.apply(record).isEmpty()) contributing.add(id.apply(record));
+        }
+        if (!contributing.isEmpty()) sources.put(name, String.join(",", contributing));
+    }
+
+    private static <T> List<String> union(List<T> members, Function<T, List<String>> field) {
+        Set<String> values = new LinkedHashSet<>();
+        members.forEach(m -> values.addAll(nullSafe(field.apply(m))));
+        return new ArrayList<>(values);
+    }
+
+    private static <T> String firstNonNull(List<T> members, Function<T, String> id) {
+        return members.stream().map(id).filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    // most complete record first; ties keep input order
+    private static <T> List<T> byCompleteness(List<T> members, Function<T, Integer> completeness) {
+        List<T> ranked = new ArrayList<>(members);
+        ranked.sort(Comparator.comparing(completeness).reversed());
+        return ranked;
+    }
+
+    private static int completeness(Employee e) {
+        return count(e.getName(), e.getTitle(), e.getYearsExperience(), e.getClearanceLevel(),
+            e.getAvailabilityPercentage(), e.getHourlyRate())
+            + nullSafe(e.getCurrentSkills()).size() + nullSafe(e.getCurrentCertifications()).size();
+    }
+
+    private static int completeness(ProjectExperience p) {
+        return count(p.getProjectName(), p.getClient(), p.getIndustry(), p.getContractValue(), p.getDuration(),
+            p.getCompletionDate(), p.getSuccessMetrics(), p.getReferenceContact())
+            + nullSafe(p.getTechnologiesUsed()).size() + nullSafe(p.getKeyAchievements()).size();
+    }
+
+    private static int count(Object... values) {
+        int n = 0;
+        for (Object value : values) if (value != null) n++;
+        return n;
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
+
+
@@ -0,0 +1,121 @@
+package ai.zactonics.genproposal.resolution;
+
+/**
+ * Jaro-Winkler string similarity in [0, 1]; 1 means identical. Suited to short strings
+ * such as person names, where typos and transpositions cluster near the end.
+ *
+ * Strings of up to 64 characters (nearly every name and title) track matched positions in
+ * long bitmasks, so a comparison allocates nothing.
+ */
+public final class JaroWinkler {
+
+    private static final double PREFIX_SCALE = 0.1;
+    private static final int MAX_PREFIX = 4;
+
+    private JaroWinkler() {
+    }
+
+    public static double similarity(String a, String b) {
+        if (a.equals(b)) return 1.0;
+        int lenA = a.length();
+        int lenB = b.length();
+        if (lenA == 0 || lenB == 0) return 0.0;
+        double jaro = lenA <= 64 && lenB <= 64 ? jaroShort(a, b) : jaroLong(a, b);
+        if (jaro == 0) return 0.0;
+
+        int prefix = 0;
+        for (int i = 0; i < Math.min(MAX_PREFIX, Math.min(lenA, lenB)) && a.charAt(i) == b.charAt(i); i++) prefix++;
+        return jaro + prefix * PREFIX_SCALE * (1 - jaro);
+    }
+
+    /** Bit i set for each letter 'a' + i in s; bit 31 for any other character. */
+    public static int letterMask(String s) {
+        int mask = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            mask |= c >= 'a' && c <= 'z' ? 1 << (c - 'a') : 1 << 31;
+        }
+        return mask;
+    }
+
+    /**
+     * False when similarity(a, b) is certainly below threshold, judged from lengths and letter
+     * masks alone: every character whose letter the other string lacks cannot match, which
+     * bounds the match count and so the score. Rejects most unrelated pairs for a few bit operations.
+     */
+    public static boolean canReach(String a, int maskA, String b, int maskB, double threshold) {
+        int lenA = a.length();
+        int lenB = b.length();
+        int maxMatches = Math.min(lenA - Integer.bitCount(maskA & ~maskB), lenB - Integer.bitCount(maskB & ~maskA));
+        if (maxMatches <= 0) return false;
+        double jaro = ((double) maxMatches / lenA + (double) maxMatches / lenB + 1) / 3.0;
+        return jaro + MAX_PREFIX * PREFIX_SCALE * (1 - jaro) >= threshold;
+    }
+
+    private static double jaroShort(String a, String b) {
+        int lenA = a.length();
+        int lenB = b.length();
+        int range = Math.max(0, Math.max(lenA, lenB) / 2 - 1);
+        long matchedA = 0;
+        long matchedB = 0;
+        int matches = 0;
+        for (int i = 0; i < lenA; i++) {
+            char c = a.charAt(i);
+            int to = Math.min(lenB - 1, i + range);
+            for (int j = Math.max(0, i - range); j <= to; j++) {
+                if ((matchedB & 1L << j) == 0 && c == b.charAt(j)) {
+                    matchedA |= 1L << i;
+                    matchedB |= 1L << j;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) return 0.0;
+
+        int transpositions = 0;
+        long restB = matchedB;
+        for (long restA = matchedA; restA != 0; restA &= restA - 1) {
+            int i = Long.numberOfTrailingZeros(restA);
+            int j = Long.numberOfTrailingZeros(restB);
+            restB &= restB - 1;
+            if (a.charAt(i) != b.charAt(j)) transpositions++;
+        }
+        return jaro(matches, transpositions, lenA, lenB);
+    }
+
+    private static double jaroLong(String a, String b) {
+        int lenA = a.length();
+        int lenB = b.length();
+        int range = Math.max(0, Math.max(lenA, lenB) / 2 - 1);
+        boolean[] matchedA = new boolean[lenA];
+        boolean[] matchedB = new boolean[lenB];
+        int matches = 0;
+        for (int i = 0; i < lenA; i++) {
+            int to = Math.min(lenB - 1, i + range);
+            for (int j = Math.max(0, i - range); j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) return 0.0;
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < lenA; i++) {
+            if (!matchedA[i]) continue;
+            while (!matchedB[j]) j++;
+            if (a.charAt(i) != b.charAt(j)) transpositions++;
+            j++;
+        }
+        return jaro(matches, transpositions, lenA, lenB);
+    }
+
+    private static double jaro(int matches, int transpositions, int lenA, int lenB) {
+        double m = matches;
+        return (m / lenA + m / lenB + (m - transpositions / 2.0) / m) / 3.0;
+    }
+}
@@ -0,0 +1,59 @@
+package ai.zactonics.genproposal.resolution;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Skill;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Rules for combining two records of the same skill or certification, shared by ingestion
+ * (duplicate rows) and entity resolution (duplicate people).
+ */
+public final class RosterMerging {
+
+    private static final Map<String, Integer> PROFICIENCY_RANK = Map.of(
+        "Beginner", 1, "Intermediate", 2, "Advanced", 3, "Expert", 4);
+
+    private RosterMerging() {
+    }
+
+    /** Adds item to items, or replaces the entry with the same key by pick(existing, item). */
+    public static <T> void mergeInto(List<T> items, T item, Function<T, String> key, BinaryOperator<T> pick) {
+        String k = key.apply(item);
+        for (int i = 0; i < items.size(); i++) {
+            if (key.apply(items.get(i)).equals(k)) {
+                items.set(i, pick.apply(items.get(i), item));
+                return;
+            }
+        }
+        items.add(item);
+    }
+
+    public static String skillKey(Skill skill) {
+        return TextNormalizer.normalize(skill.getSkillName());
+    }
+
+    public static String certKey(String id, String name) {
+        return id != null ? TextNormalizer.normalize(id) : TextNormalizer.normalize(name);
+    }
+
+    /** The higher proficiency, with the larger of the two years of experience. */
+    public static Skill stronger(Skill a, Skill b) {
+        int rankA = PROFICIENCY_RANK.getOrDefault(a.getProficiencyLevel(), 0);
+        int rankB = PROFICIENCY_RANK.getOrDefault(b.getProficiencyLevel(), 0);
+        Skill keep = rankB > rankA ? b : a;
+        Integer years = a.getYearsExperience() == null ? b.getYearsExperience()
+            : b.getYearsExperience() == null ? a.getYearsExperience()
+            : Integer.valueOf(Math.max(a.getYearsExperience(), b.getYearsExperience()));
+        return new Skill(keep.getSkillName(), keep.getProficiencyLevel(), years);
+    }
+
+    /** The certification that stays valid longer; one without an expiry date loses to one with. */
+    public static Certification later(Certification a, Certification b) {
+        if (a.getExpiryDate() == null) return b.getExpiryDate() != null ? b : a;
+        return b.getExpiryDate() != null && b.getExpiryDate().isAfter(a.getExpiryDate()) ? b : a;
+    }
+}
@@ -0,0 +1,25 @@
+package ai.zactonics.genproposal.roster;
+
+/** Keeps a roster version alive for a generation run; close it when the run ends. */
+public final class RosterPin implements AutoCloseable {
+
+    private final VersionedRoster roster;
+    private final RosterSnapshot snapshot;
+    private boolean released;
+
+    RosterPin(VersionedRoster roster, RosterSnapshot snapshot) {
+        this.roster = roster;
+        this.snapshot = snapshot;
+    }
+
+    public RosterSnapshot snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        if (released) return;
+        released = true;
+        roster.unpin(snapshot);
+    }
+}
@@ -0,0 +1,109 @@
+package ai.zactonics.genproposal.roster;
+
+import ai.zactonics.genproposal.model.CompanyCapabilities;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * One published version of a tenant's roster. Never modified after publication: edits build a
+ * new snapshot that shares unchanged parts with this one. The objects it hands out are shared
+ * by every reader of the version and must be treated as read-only.
+ */
+public final class RosterSnapshot {
+
+    private final long version;
+    private final Instant createdAt;
+    private final RosterTable<Employee> employees;
+    private final RosterTable<ProjectExperience> projects;
+    private final CompanyCapabilities companyCapabilities;
+    // -1 once reclaimed; a reclaimed snapshot can no longer be pinned
+    private final AtomicInteger pins = new AtomicInteger();
+
+    RosterSnapshot(long version, RosterTable<Employee> employees, RosterTable<ProjectExperience> projects,
+                   CompanyCapabilities companyCapabilities) {
+        this.version = version;
+        this.createdAt = Instant.now();
+        this.employees = employees;
+        this.projects = projects;
+        this.companyCapabilities = companyCapabilities;
+    }
+
+    static RosterSnapshot empty() {
+        return new RosterSnapshot(0, RosterTable.empty(), RosterTable.empty(), null);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public List<Employee> employees() {
+        return employees.values();
+    }
+
+    public Employee employee(String employeeId) {
+        return employees.get(employeeId);
+    }
+
+    public List<ProjectExperience> projects() {
+        return projects.values();
+    }
+
+    public ProjectExperience project(String projectId) {
+        return projects.get(projectId);
+    }
+
+    public CompanyCapabilities companyCapabilities() {
+        return companyCapabilities;
+    }
+
+    /** Employees added or replaced since an earlier version of the same roster; a removed one is reported as null. */
+    public void forEachEmployeeChange(RosterSnapshot since, BiConsumer<String, Employee> changed) {
+        employees.forEachChange(since.employees, changed);
+    }
+
+    /** Projects added or replaced since an earlier version of the same roster; a removed one is reported as null. */
+    public void forEachProjectChange(RosterSnapshot since, BiConsumer<String, ProjectExperience> changed) {
+        projects.forEachChange(since.projects, changed);
+    }
+
+    int pinCount() {
+        return Math.max(0, pins.get());
+    }
+
+    RosterTable<Employee> employeeTable() {
+        return employees;
+    }
+
+    RosterTable<ProjectExperience> projectTable() {
+        return projects;
+    }
+
+    boolean tryPin() {
+        while (true) {
+            int n = pins.get();
+            if (n < 0) return false;
+            if (pins.compareAndSet(n, n + 1)) return true;
+        }
+    }
+
+    /** Returns true when this was the last pin. */
+    boolean unpin() {
+        return pins.decrementAndGet() == 0;
+    }
+
+    boolean isReclaimed() {
+        return pins.get() < 0;
+    }
+
+    boolean tryReclaim() {
+        return pins.compareAndSet(0, -1);
+    }
+}
@@ -0,0 +1,132 @@
+package ai.zactonics.genproposal.roster;
+
+import ai.zactonics.genproposal.model.CompanyCapabilities;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import ai.zactonics.genproposal.model.RosterSummary;
+import ai.zactonics.genproposal.model.RosterVersionInfo;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Server-side rosters, one versioned history per tenant (in memory).
+ *
+ * Values are deep-copied on the way in, so a caller that keeps mutating the objects it
+ * submitted cannot change a published version. Every write publishes a new version; a
+ * generation pins the version it started with and sees it unchanged until it finishes.
+ * Listeners registered with {@link #onPublish} see every new head, so derived indexes can follow it.
+ */
+@Component
+public class RosterStore {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, VersionedRoster> rosters = new ConcurrentHashMap<>();
+    private final List<Consumer<RosterSnapshot>> publishListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Calls the listener with each newly published head, on the writing thread with the writer's tenant set.
+     * Concurrent writes may report their heads out of version order.
+     */
+    public void onPublish(Consumer<RosterSnapshot> listener) {
+        publishListeners.add(listener);
+    }
+
+    public RosterSnapshot head() {
+        return roster().head();
+    }
+
+    public RosterPin pinHead() {
+        return roster().pinHead();
+    }
+
+    /** Pin of an earlier version, or null once it has been reclaimed. */
+    public RosterPin pin(long version) {
+        return roster().pin(version);
+    }
+
+    public RosterSummary summary() {
+        VersionedRoster roster = roster();
+        RosterSnapshot head = roster.head();
+        RosterSummary summary = new RosterSummary();
+        summary.setVersion(head.version());
+        summary.setCreatedAt(head.createdAt());
+        summary.setEmployeeCount(head.employeeTable().size());
+        summary.setProjectCount(head.projectTable().size());
+        summary.setHasCompanyCapabilities(head.companyCapabilities() != null);
+        summary.setRetainedVersions(roster.retainedVersions().stream().map(snapshot -> {
+            RosterVersionInfo info = new RosterVersionInfo();
+            info.setVersion(snapshot.version());
+            info.setCreatedAt(snapshot.createdAt());
+            info.setPins(snapshot.pinCount());
+            return info;
+        }).toList());
+        return summary;
+    }
+
+    public RosterSnapshot replace(List<Employee> employees, List<ProjectExperience> projects,
+                                  CompanyCapabilities companyCapabilities) {
+        RosterTable<Employee> employeeTable = RosterTable.of(copyAll(employees, Employee.class), Employee::getEmployeeId);
+        RosterTable<ProjectExperience> projectTable = RosterTable.of(copyAll(projects, ProjectExperience.class),
+            ProjectExperience::getProjectId);
+        CompanyCapabilities capabilities = copy(companyCapabilities, CompanyCapabilities.class);
+        return published(roster().update(current -> new RosterSnapshot(0, employeeTable, projectTable,
+            capabilities != null ? capabilities : current.companyCapabilities())));
+    }
+
+    public RosterSnapshot putEmployee(Employee employee) {
+        Employee copy = copy(employee, Employee.class);
+        return published(roster().update(current -> new RosterSnapshot(0,
+            current.employeeTable().put(copy.getEmployeeId(), copy), current.projectTable(), current.companyCapabilities())));
+    }
+
+    public RosterSnapshot removeEmployee(String employeeId) {
+        return published(roster().update(current -> new RosterSnapshot(0,
+            current.employeeTable().remove(employeeId), current.projectTable(), current.companyCapabilities())));
+    }
+
+    public RosterSnapshot putProject(ProjectExperience project) {
+        ProjectExperience copy = copy(project, ProjectExperience.class);
+        return published(roster().update(current -> new RosterSnapshot(0,
+            current.employeeTable(), current.projectTable().put(copy.getProjectId(), copy), current.companyCapabilities())));
+    }
+
+    public RosterSnapshot removeProject(String projectId) {
+        return published(roster().update(current -> new RosterSnapshot(0,
+            current.employeeTable(), current.projectTable().remove(projectId), current.companyCapabilities())));
+    }
+
+    public RosterSnapshot setCompanyCapabilities(CompanyCapabilities companyCapabilities) {
+        CompanyCapabilities copy = copy(companyCapabilities, CompanyCapabilities.class);
+        return published(roster().update(current -> new RosterSnapshot(0,
+            current.employeeTable(), current.projectTable(), copy)));
+    }
+
+    private RosterSnapshot published(RosterSnapshot head) {
+        publishListeners.forEach(listener -> listener.accept(head));
+        return head;
+    }
+
+    private VersionedRoster roster() {
+        return rosters.computeIfAbsent(TenantContext.get(), tenant -> new VersionedRoster());
+    }
+
+    private <T> List<T> copyAll(List<T> values, Class<T> type) {
+        List<T> copies = new ArrayList<>();
+        if (values != null) values.forEach(v -> copies.add(copy(v, type)));
+        return copies;
+    }
+
+    private <T> T copy(T value, Class<T> type) {
+        return value != null ? objectMapper.convertValue(value, type) : null;
+    }
+}
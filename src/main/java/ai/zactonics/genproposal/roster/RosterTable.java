@@ -0,0 +1,199 @@
+package ai.zactonics.genproposal.roster;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Immutable id -> value map with structural sharing. Entries are spread over buckets by id hash;
+ * an update copies the bucket index and the one bucket it touches and shares every other bucket
+ * with the previous table. An insert that takes the average bucket past TARGET_BUCKET_SIZE
+ * doubles the bucket count instead, moving the existing entry objects into the new buckets.
+ * Entries remember their insertion sequence, so {@link #values()} keeps roster order; the ordered
+ * list is built once per table on first use.
+ */
+final class RosterTable<V> {
+
+    private record Entry<V>(String id, long seq, V value) {
+    }
+
+    private static final int MIN_BUCKETS = 64;
+    // entries per bucket, on average, that a bulk load sizes for and an insert grows past
+    private static final int TARGET_BUCKET_SIZE = 8;
+
+    private final Entry<V>[][] buckets;
+    private final int size;
+    private final long nextSeq;
+    private volatile List<V> ordered;
+
+    private RosterTable(Entry<V>[][] buckets, int size, long nextSeq) {
+        this.buckets = buckets;
+        this.size = size;
+        this.nextSeq = nextSeq;
+    }
+
+    /** Table of the values in list order; a later value with the same id replaces the earlier one in place. */
+    @SuppressWarnings("unchecked")
+    static <V> RosterTable<V> of(List<V> values, Function<V, String> idOf) {
+        int bucketCount = MIN_BUCKETS;
+        while (bucketCount * TARGET_BUCKET_SIZE < values.size()) bucketCount <<= 1;
+
+        List<List<Entry<V>>> lists = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) lists.add(new ArrayList<>());
+        Map<String, Integer> positions = new HashMap<>();
+        long seq = 0;
+        for (V value : values) {
+            String id = idOf.apply(value);
+            if (id == null) throw new IllegalArgumentException("Every roster entry needs an id");
+            List<Entry<V>> bucket = lists.get(index(id, bucketCount));
+            Integer at = positions.get(id);
+            if (at != null) {
+                bucket.set(at, new Entry<>(id, bucket.get(at).seq(), value));
+            } else {
+                positions.put(id, bucket.size());
+                bucket.add(new Entry<>(id, seq++, value));
+            }
+        }
+
+        Entry<V>[][] buckets = new Entry[bucketCount][];
+        for (int b = 0; b < bucketCount; b++) buckets[b] = lists.get(b).toArray(new Entry[0]);
+        return new RosterTable<>(buckets, positions.size(), seq);
+    }
+
+    static <V> RosterTable<V> empty() {
+        return of(List.of(), v -> null);
+    }
+
+    V get(String id) {
+        for (Entry<V> entry : buckets[index(id, buckets.length)]) {
+            if (entry.id().equals(id)) return entry.value();
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int bucketCount() {
+        return buckets.length;
+    }
+
+    /** Table with the value stored under id; an existing entry keeps its position. */
+    @SuppressWarnings("unchecked")
+    RosterTable<V> put(String id, V value) {
+        int b = index(id, buckets.length);
+        Entry<V>[] bucket = buckets[b];
+        Entry<V>[] copy;
+        int found = find(bucket, id);
+        if (found >= 0) {
+            copy = bucket.clone();
+            copy[found] = new Entry<>(id, bucket[found].seq(), value);
+        } else {
+            copy = Arrays.copyOf(bucket, bucket.length + 1);
+            copy[bucket.length] = new Entry<>(id, nextSeq, value);
+        }
+        Entry<V>[][] index = buckets.clone();
+        index[b] = copy;
+        if (found >= 0) return new RosterTable<>(index, size, nextSeq);
+        if (size + 1 > index.length * TARGET_BUCKET_SIZE) index = grown(index);
+        return new RosterTable<>(index, size + 1, nextSeq + 1);
+    }
+
+    // twice the buckets, each old bucket split in two; the entries themselves are kept, so
+    // forEachChange still tells them apart from the ones replaced since
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V>[][] grown(Entry<V>[][] buckets) {
+        int bucketCount = buckets.length << 1;
+        Entry<V>[][] grown = new Entry[bucketCount][];
+        for (int b = 0; b < buckets.length; b++) {
+            Entry<V>[] bucket = buckets[b];
+            int moved = 0;
+            for (Entry<V> entry : bucket) {
+                if (index(entry.id(), bucketCount) != b) moved++;
+            }
+            Entry<V>[] low = new Entry[bucket.length - moved];
+            Entry<V>[] high = new Entry[moved];
+            int l = 0, h = 0;
+            for (Entry<V> entry : bucket) {
+                if (index(entry.id(), bucketCount) == b) low[l++] = entry;
+                else high[h++] = entry;
+            }
+            grown[b] = low;
+            grown[b + buckets.length] = high;
+        }
+        return grown;
+    }
+
+    /** Table without id; this table when id is absent. */
+    @SuppressWarnings("unchecked")
+    RosterTable<V> remove(String id) {
+        int b = index(id, buckets.length);
+        Entry<V>[] bucket = buckets[b];
+        int found = find(bucket, id);
+        if (found < 0) return this;
+        Entry<V>[] copy = new Entry[bucket.length - 1];
+        System.arraycopy(bucket, 0, copy, 0, found);
+        System.arraycopy(bucket, found + 1, copy, found, bucket.length - found - 1);
+        Entry<V>[][] index = buckets.clone();
+        index[b] = copy;
+        return new RosterTable<>(index, size - 1, nextSeq);
+    }
+
+    /**
+     * Calls changed(id, value) for every id added or replaced since older, and changed(id, null) for every
+     * id removed since. Buckets this table still shares with older are skipped, so a table derived from
+     * older by a few puts and removes is compared in time proportional to the buckets it copied. Across a
+     * growth no bucket is shared and every entry is visited, but entries carried over are still not reported.
+     */
+    void forEachChange(RosterTable<V> older, BiConsumer<String, V> changed) {
+        if (older.buckets.length != buckets.length) {
+            Map<String, Entry<V>> before = new HashMap<>();
+            for (Entry<V>[] bucket : older.buckets) {
+                for (Entry<V> entry : bucket) before.put(entry.id(), entry);
+            }
+            for (Entry<V>[] bucket : buckets) diff(bucket, before, changed);
+            before.keySet().forEach(id -> changed.accept(id, null));
+            return;
+        }
+        for (int b = 0; b < buckets.length; b++) {
+            if (buckets[b] == older.buckets[b]) continue;
+            Map<String, Entry<V>> before = new HashMap<>();
+            for (Entry<V> entry : older.buckets[b]) before.put(entry.id(), entry);
+            diff(buckets[b], before, changed);
+            before.keySet().forEach(id -> changed.accept(id, null));
+        }
+    }
+
+    // reports the entries of bucket that are not the very same entry in before, and drops them from before
+    private static <V> void diff(Entry<V>[] bucket, Map<String, Entry<V>> before, BiConsumer<String, V> changed) {
+        for (Entry<V> entry : bucket) {
+            if (before.remove(entry.id()) != entry) changed.accept(entry.id(), entry.value());
+        }
+    }
+
+    /** Values in insertion order; the same unmodifiable list for every caller of this table. */
+    List<V> values() {
+        List<V> list = ordered;
+        if (list == null) {
+            List<Entry<V>> entries = new ArrayList<>(size);
+            for (Entry<V>[] bucket : buckets) entries.addAll(Arrays.asList(bucket));
+            entries.sort(Comparator.comparingLong(Entry::seq));
+            list = entries.stream().map(Entry::value).toList();
+            ordered = list;
+        }
+        return list;
+    }
+
+    private static <V> int find(Entry<V>[] bucket, String id) {
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i].id().equals(id)) return i;
+        }
+        return -1;
+    }
+
+    private static int index(String id, int bucketCount) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (bucketCount - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package ai.zactonics.genproposal.roster;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * The version history of one tenant's roster.
+ *
+ * Readers take the head with a single volatile read and never lock. Writers derive the next
+ * snapshot from the head and publish it with one compare-and-set, retrying if another writer
+ * got there first, so a reader sees either the whole update or none of it. A version stays
+ * retained while it is the head or pinned; the last unpin of an old version drops it.
+ */
+final class VersionedRoster {
+
+    private final AtomicReference<RosterSnapshot> head = new AtomicReference<>(RosterSnapshot.empty());
+    private final NavigableMap<Long, RosterSnapshot> retained = new ConcurrentSkipListMap<>();
+
+    VersionedRoster() {
+        RosterSnapshot initial = head.get();
+        retained.put(initial.version(), initial);
+    }
+
+    RosterSnapshot head() {
+        return head.get();
+    }
+
+    /** Applies the change to the current head and publishes the result as the next version. */
+    RosterSnapshot update(UnaryOperator<RosterSnapshot> change) {
+        while (true) {
+            RosterSnapshot current = head.get();
+            RosterSnapshot changed = change.apply(current);
+            RosterSnapshot next = new RosterSnapshot(current.version() + 1, changed.employeeTable(),
+                changed.projectTable(), changed.companyCapabilities());
+            if (head.compareAndSet(current, next)) {
+                retained.put(next.version(), next);
+                // a faster writer may already have superseded and reclaimed it before it was added
+                if (next.isReclaimed()) retained.remove(next.version(), next);
+                reclaimIfUnused(current);
+                return next;
+            }
+        }
+    }
+
+    RosterPin pinHead() {
+        while (true) {
+            RosterSnapshot snapshot = head.get();
+            // fails only if the snapshot stopped being head and was reclaimed in between
+            if (snapshot.tryPin()) return new RosterPin(this, snapshot);
+        }
+    }
+
+    /** Pin of a retained version, or null when that version is unknown or already reclaimed. */
+    RosterPin pin(long version) {
+        RosterSnapshot snapshot = retained.get(version);
+        return snapshot != null && snapshot.tryPin() ? new RosterPin(this, snapshot) : null;
+    }
+
+    List<RosterSnapshot> retainedVersions() {
+        return List.copyOf(retained.values());
+    }
+
+    void unpin(RosterSnapshot snapshot) {
+        if (snapshot.unpin()) reclaimIfUnused(snapshot);
+    }
+
+    private void reclaimIfUnused(RosterSnapshot snapshot) {
+        if (snapshot != head.get() && snapshot.tryReclaim()) retained.remove(snapshot.version());
+    }
+}
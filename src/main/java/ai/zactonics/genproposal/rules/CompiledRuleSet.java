@@ -0,0 +1,401 @@
+package ai.zactonics.genproposal.rules;
+
+import ai.zactonics.genproposal.model.FiredRule;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.RuleEvaluation;
+import ai.zactonics.genproposal.model.RuleSetInfo;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * A rule set compiled for evaluation.
+ *
+ * Compilation resolves every fact a rule mentions to a slot of its scope and every condition to
+ * an entry in its scope's condition table; identical conditions in different rules (or in a count
+ * aggregate) share one entry. Evaluation then extracts each used fact once per item, evaluates each
+ * distinct condition once per item, and checks rules as lists of condition ids. Item scopes are
+ * evaluated before the request scope because count aggregates are request facts computed from
+ * item conditions.
+ */
+final class CompiledRuleSet {
+
+    private enum Op { LT, LE, GT, GE, EQ, NE, CONTAINS }
+
+    private record Condition(int slot, Op op, double number, String text) {
+
+        boolean test(Object value, double numeric) {
+            if (value == null) return false;
+            if (text != null) {
+                String actual = value.toString();
+                return switch (op) {
+                    case EQ -> actual.equalsIgnoreCase(text);
+                    case NE -> !actual.equalsIgnoreCase(text);
+                    case CONTAINS -> actual.toLowerCase(Locale.ROOT).contains(text.toLowerCase(Locale.ROOT));
+                    default -> false;
+                };
+            }
+            if (Double.isNaN(numeric)) return false;
+            return switch (op) {
+                case LT -> numeric < number;
+                case LE -> numeric <= number;
+                case GT -> numeric > number;
+                case GE -> numeric >= number;
+                case EQ -> numeric == number;
+                case NE -> numeric != number;
+                case CONTAINS -> false;
+            };
+        }
+    }
+
+    // a request slot holding the number of items of another scope passing all of its conditions
+    private record Aggregate(int slot, int scope, int[] conditions) {
+    }
+
+    private record Placeholder(boolean requestScope, int slot) {
+    }
+
+    private record Rule(String id, int scope, int[] requestConditions, int[] itemConditions,
+                        int pickSlot, boolean pickMax, List<Object> message) {
+    }
+
+    private static final class ScopePlan {
+        final RuleFacts.Scope scope;
+        final List<RuleFacts.Fact> facts = new ArrayList<>();
+        final Map<String, Integer> slotByFact = new HashMap<>();
+        final List<Condition> conditions = new ArrayList<>();
+        final Map<Condition, Integer> conditionIds = new HashMap<>();
+        final List<Aggregate> aggregates = new ArrayList<>();
+        boolean used;
+
+        ScopePlan(RuleFacts.Scope scope) {
+            this.scope = scope;
+        }
+
+        int slotCount() {
+            return facts.size() + aggregates.size();
+        }
+    }
+
+    // values, numeric views and condition outcomes of one scope for one request
+    private static final class Frame {
+        final Object[][] values;
+        final double[][] numbers;
+        final boolean[][] passed;
+
+        Frame(int items, int slots, int conditions) {
+            values = new Object[items][slots];
+            numbers = new double[items][slots];
+            passed = new boolean[items][conditions];
+        }
+    }
+
+    private final String version;
+    private final String source;
+    private final Instant loadedAt;
+    private final List<ScopePlan> scopes = new ArrayList<>();
+    private final Map<String, Integer> scopeIds = new HashMap<>();
+    private final List<Rule> rules = new ArrayList<>();
+
+    private CompiledRuleSet(String version, String source) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = Instant.now();
+        for (RuleFacts.Scope scope : RuleFacts.SCOPES.values()) {
+            scopeIds.put(scope.name(), scopes.size());
+            scopes.add(new ScopePlan(scope));
+        }
+    }
+
+    /** Compiles the definition; throws IllegalArgumentException naming the offending rule. */
+    static CompiledRuleSet compile(RuleSetDefinition definition, String version, String source) {
+        CompiledRuleSet compiled = new CompiledRuleSet(version, source);
+        Set<String> ids = new HashSet<>();
+        List<RuleDefinition> rules = definition.getRules() != null ? definition.getRules() : List.of();
+        for (RuleDefinition rule : rules) {
+            if (rule.getId() == null || rule.getId().isBlank()) throw new IllegalArgumentException("Every rule needs an id");
+            if (!ids.add(rule.getId())) throw new IllegalArgumentException("Duplicate rule id '" + rule.getId() + "'");
+            try {
+                compiled.rules.add(compiled.compileRule(rule));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rule '" + rule.getId() + "': " + e.getMessage(), e);
+            }
+        }
+        return compiled;
+    }
+
+    private Rule compileRule(RuleDefinition rule) {
+        String scopeName = rule.getScope() != null ? rule.getScope() : RuleFacts.REQUEST;
+        Integer scopeId = scopeIds.get(scopeName);
+        if (scopeId == null) throw new IllegalArgumentException("unknown scope '" + scopeName + "', use one of " + scopeIds.keySet());
+        if (rule.getMessage() == null || rule.getMessage().isBlank()) throw new IllegalArgumentException("message is required");
+        ScopePlan plan = scopes.get(scopeId);
+        ScopePlan request = scopes.get(scopeIds.get(RuleFacts.REQUEST));
+        plan.used = true;
+
+        List<Integer> requestConditions = new ArrayList<>();
+        List<Integer> itemConditions = new ArrayList<>();
+        for (ConditionDefinition condition : nullSafe(rule.getWhen())) {
+            if (condition.getCount() != null) {
+                requestConditions.add(condition(request, aggregateSlot(request, condition), condition));
+            } else if (!plan.scope.isRequest() && plan.scope.facts().containsKey(condition.getFact())) {
+                itemConditions.add(condition(plan, slot(plan, condition.getFact()), condition));
+            } else {
+                // item rules may also test request facts, e.g. only flag gaps while under-qualified
+                requestConditions.add(condition(request, slot(request, condition.getFact()), condition));
+            }
+        }
+
+        int pickSlot = -1;
+        boolean pickMax = true;
+        if (rule.getPick() != null && !rule.getPick().isEmpty()) {
+            if (plan.scope.isRequest()) throw new IllegalArgumentException("pick needs an item scope");
+            String max = rule.getPick().get("max");
+            String min = rule.getPick().get("min");
+            if ((max == null) == (min == null)) throw new IllegalArgumentException("pick takes exactly one of max or min");
+            pickMax = max != null;
+            pickSlot = slot(plan, pickMax ? max : min);
+        }
+
+        return new Rule(rule.getId(), scopeId, toArray(requestConditions), toArray(itemConditions), pickSlot, pickMax,
+            template(rule.getMessage(), plan, request));
+    }
+
+    private int aggregateSlot(ScopePlan request, ConditionDefinition condition) {
+        Integer scopeId = scopeIds.get(condition.getCount());
+        if (scopeId == null || scopes.get(scopeId).scope.isRequest()) {
+            throw new IllegalArgumentException("cannot count '" + condition.getCount() + "'");
+        }
+        ScopePlan counted = scopes.get(scopeId);
+        counted.used = true;
+        List<Integer> where = new ArrayList<>();
+        for (ConditionDefinition w : nullSafe(condition.getWhere())) {
+            where.add(condition(counted, slot(counted, w.getFact()), w));
+        }
+        int[] conditions = toArray(where);
+        Arrays.sort(conditions);
+        for (Aggregate aggregate : request.aggregates) {
+            if (aggregate.scope() == scopeId && Arrays.equals(aggregate.conditions(), conditions)) return aggregate.slot();
+        }
+        // negative ids: aggregate slots follow the fact slots, whose count is only final after compilation
+        Aggregate aggregate = new Aggregate(-1 - request.aggregates.size(), scopeId, conditions);
+        request.aggregates.add(aggregate);
+        return aggregate.slot();
+    }
+
+    private int slot(ScopePlan plan, String factName) {
+        if (factName == null) throw new IllegalArgumentException("condition needs a fact or count");
+        Integer slot = plan.slotByFact.get(factName);
+        if (slot != null) return slot;
+        RuleFacts.Fact fact = plan.scope.facts().get(factName);
+        if (fact == null) {
+            throw new IllegalArgumentException("unknown fact '" + factName + "' in scope '" + plan.scope.name()
+                + "', use one of " + plan.scope.facts().keySet());
+        }
+        plan.slotByFact.put(factName, plan.facts.size());
+        plan.facts.add(fact);
+        return plan.facts.size() - 1;
+    }
+
+    private static int condition(ScopePlan plan, int slot, ConditionDefinition definition) {
+        Op op = op(definition.getOp());
+        Object value = definition.getValue();
+        Condition condition;
+        if (value instanceof Number n) {
+            if (op == Op.CONTAINS) throw new IllegalArgumentException("contains needs a string value");
+            condition = new Condition(slot, op, n.doubleValue(), null);
+        } else if (value instanceof Boolean b) {
+            condition = new Condition(slot, op, b ? 1 : 0, null);
+        } else if (value instanceof String s) {
+            if (op != Op.EQ && op != Op.NE && op != Op.CONTAINS) {
+                throw new IllegalArgumentException(definition.getOp() + " needs a numeric value");
+            }
+            condition = new Condition(slot, op, Double.NaN, s);
+        } else {
+            throw new IllegalArgumentException("condition needs a number, boolean or string value");
+        }
+        Integer id = plan.conditionIds.get(condition);
+        if (id == null) {
+            id = plan.conditions.size();
+            plan.conditions.add(condition);
+            plan.conditionIds.put(condition, id);
+        }
+        return id;
+    }
+
+    private static Op op(String op) {
+        if (op == null) throw new IllegalArgumentException("condition needs an op");
+        return switch (op) {
+            case "<" -> Op.LT;
+            case "<=" -> Op.LE;
+            case ">" -> Op.GT;
+            case ">=" -> Op.GE;
+            case "==" -> Op.EQ;
+            case "!=" -> Op.NE;
+            case "contains" -> Op.CONTAINS;
+            default -> throw new IllegalArgumentException("unknown op '" + op + "'");
+        };
+    }
+
+    private List<Object> template(String message, ScopePlan plan, ScopePlan request) {
+        List<Object> parts = new ArrayList<>();
+        int at = 0;
+        while (at < message.length()) {
+            int open = message.indexOf('{', at);
+            int close = open < 0 ? -1 : message.indexOf('}', open);
+            if (close < 0) {
+                parts.add(message.substring(at));
+                break;
+            }
+            if (open > at) parts.add(message.substring(at, open));
+            String name = message.substring(open + 1, close);
+            boolean itemFact = !plan.scope.isRequest() && plan.scope.facts().containsKey(name);
+            parts.add(itemFact ? new Placeholder(false, slot(plan, name)) : new Placeholder(true, slot(request, name)));
+            at = close + 1;
+        }
+        return parts;
+    }
+
+    RuleEvaluation evaluate(ProposalGenerationRequest request) {
+        int requestScope = scopeIds.get(RuleFacts.REQUEST);
+        Frame[] frames = new Frame[scopes.size()];
+        for (int s = 0; s < scopes.size(); s++) {
+            ScopePlan plan = scopes.get(s);
+            if (s == requestScope || !plan.used) continue;
+            frames[s] = evaluateScope(plan, nullSafe(plan.scope.items().apply(request)), null);
+        }
+        Frame requestFrame = evaluateScope(scopes.get(requestScope), List.of(request), frames);
+        frames[requestScope] = requestFrame;
+
+        List<FiredRule> fired = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (!all(requestFrame.passed[0], rule.requestConditions())) continue;
+            if (rule.scope() == requestScope) {
+                fired.add(new FiredRule(rule.id(), render(rule, requestFrame, null, 0), null));
+                continue;
+            }
+            Frame items = frames[rule.scope()];
+            int best = -1;
+            for (int i = 0; i < items.values.length; i++) {
+                if (!all(items.passed[i], rule.itemConditions())) continue;
+                if (rule.pickSlot() < 0) {
+                    fired.add(new FiredRule(rule.id(), render(rule, requestFrame, items, i), i));
+                    continue;
+                }
+                double score = items.numbers[i][rule.pickSlot()];
+                if (Double.isNaN(score)) continue;
+                // the first of equal candidates wins, as with Stream.max
+                if (best < 0 || (rule.pickMax() ? score > items.numbers[best][rule.pickSlot()]
+                                                : score < items.numbers[best][rule.pickSlot()])) {
+                    best = i;
+                }
+            }
+            if (best >= 0) fired.add(new FiredRule(rule.id(), render(rule, requestFrame, items, best), best));
+        }
+
+        RuleEvaluation evaluation = new RuleEvaluation();
+        evaluation.setRuleSetVersion(version);
+        evaluation.setRecommendations(fired.stream().map(FiredRule::getMessage).toList());
+        evaluation.setFiredRules(fired);
+        return evaluation;
+    }
+
+    private Frame evaluateScope(ScopePlan plan, List<?> items, Frame[] itemFrames) {
+        int factCount = plan.facts.size();
+        Frame frame = new Frame(items.size(), plan.slotCount(), plan.conditions.size());
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            for (int f = 0; f < factCount; f++) {
+                Object value = item != null ? plan.facts.get(f).extractor().apply(item) : null;
+                frame.values[i][f] = value;
+                frame.numbers[i][f] = numeric(value);
+            }
+            for (int a = 0; a < plan.aggregates.size(); a++) {
+                Aggregate aggregate = plan.aggregates.get(a);
+                int count = 0;
+                for (boolean[] passed : itemFrames[aggregate.scope()].passed) {
+                    if (all(passed, aggregate.conditions())) count++;
+                }
+                frame.values[i][factCount + a] = count;
+                frame.numbers[i][factCount + a] = count;
+            }
+            for (int c = 0; c < plan.conditions.size(); c++) {
+                Condition condition = plan.conditions.get(c);
+                int slot = condition.slot() >= 0 ? condition.slot() : factCount - 1 - condition.slot();
+                frame.passed[i][c] = condition.test(frame.values[i][slot], frame.numbers[i][slot]);
+            }
+        }
+        return frame;
+    }
+
+    private String render(Rule rule, Frame requestFrame, Frame items, int item) {
+        StringBuilder message = new StringBuilder();
+        for (Object part : rule.message()) {
+            if (part instanceof Placeholder p) {
+                Frame frame = p.requestScope() ? requestFrame : items;
+                int row = p.requestScope() ? 0 : item;
+                int slot = p.slot() >= 0 ? p.slot() : scopes.get(scopeIds.get(RuleFacts.REQUEST)).facts.size() - 1 - p.slot();
+                message.append(format(frame.values[row][slot]));
+            } else {
+                message.append(part);
+            }
+        }
+        return message.toString();
+    }
+
+    RuleSetInfo info() {
+        RuleSetInfo info = new RuleSetInfo();
+        info.setVersion(version);
+        info.setSource(source);
+        info.setLoadedAt(loadedAt);
+        info.setRuleCount(rules.size());
+        info.setRuleIds(rules.stream().map(Rule::id).toList());
+        info.setConditionCount(scopes.stream().mapToInt(s -> s.conditions.size()).sum());
+        info.setConditionReferences(rules.stream().mapToInt(r -> r.requestConditions().length + r.itemConditions().length).sum()
+            + scopes.stream().flatMap(s -> s.aggregates.stream()).mapToInt(a -> a.conditions().length).sum());
+        return info;
+    }
+
+    String version() {
+        return version;
+    }
+
+    /** Request paths read by the facts this rule set uses. */
+    List<String> inputPaths() {
+        Set<String> paths = new LinkedHashSet<>();
+        for (ScopePlan plan : scopes) {
+            if (!plan.scope.isRequest() && plan.used) paths.add(plan.scope.countPath());
+            plan.facts.forEach(f -> paths.addAll(f.paths()));
+        }
+        return List.copyOf(paths);
+    }
+
+    private static boolean all(boolean[] passed, int[] conditions) {
+        for (int c : conditions) {
+            if (!passed[c]) return false;
+        }
+        return true;
+    }
+
+    private static double numeric(Object value) {
+        if (value instanceof Number n) return n.doubleValue();
+        if (value instanceof Boolean b) return b ? 1 : 0;
+        return Double.NaN;
+    }
+
+    private static String format(Object value) {
+        if (value == null) return "";
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue()).stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
@@ -0,0 +1,18 @@
+package ai.zactonics.genproposal.rules;
+
+import lombok.Data;
+import java.util.List;
+
+/**
+ * {"fact": name, "op": "<", "value": 80}, or an aggregate over a collection:
+ * {"count": "employees", "where": [conditions], "op": "<", "value": 3}.
+ * Ops are <, <=, >, >=, ==, != and contains (strings); a missing fact fails every op.
+ */
+@Data
+public class ConditionDefinition {
+    private String fact;
+    private String count;
+    private List<ConditionDefinition> where;
+    private String op;
+    private Object value;
+}
@@ -0,0 +1,147 @@
+package ai.zactonics.genproposal.rules;
+
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.RuleEvaluation;
+import ai.zactonics.genproposal.model.RuleSetInfo;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The active recommendation rule set, loaded from proposal.rules.location.
+ *
+ * When the location is a file it is checked every proposal.rules.reload-interval and recompiled
+ * after it changes; POST /api/rules/reload does the same on demand. A rule file that fails to
+ * parse or compile is rejected and the previous rule set stays active. The version is a hash of
+ * the file, so instances loading the same file agree on it.
+ */
+@Component
+public class RecommendationRules {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationRules.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private TenantExecutors tenantExecutors;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${proposal.rules.location:classpath:rules/recommendations.json}")
+    private String location;
+
+    @Value("${proposal.rules.reload-interval:5s}")
+    private Duration reloadInterval;
+
+    private volatile CompiledRuleSet current;
+    private long lastModified;
+    private ScheduledExecutorService watcher;
+
+    @PostConstruct
+    void init() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        current = load(resource);
+        if (resource.isFile() && !reloadInterval.isZero()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "recommendation-rules-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = reloadInterval.toMillis();
+            watcher.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watcher != null) watcher.shutdownNow();
+    }
+
+    public RuleEvaluation evaluate(ProposalGenerationRequest request) {
+        return current.evaluate(request);
+    }
+
+    /** Evaluates many requests against one rule set snapshot on the tenant's pool. */
+    public List<RuleEvaluation> evaluateAll(List<ProposalGenerationRequest> requests) {
+        CompiledRuleSet rules = current;
+        return tenantExecutors.invoke(() -> requests.parallelStream().map(rules::evaluate).toList());
+    }
+
+    /** Recompiles the rule file; throws IllegalArgumentException and keeps the current rules if it is invalid. */
+    public synchronized RuleSetInfo reload() throws IOException {
+        current = load(resourceLoader.getResource(location));
+        return current.info();
+    }
+
+    public RuleSetInfo info() {
+        return current.info();
+    }
+
+    public String version() {
+        return current.version();
+    }
+
+    public List<String> inputPaths() {
+        return current.inputPaths();
+    }
+
+    private synchronized void reloadIfModified() {
+        try {
+            Resource resource = resourceLoader.getResource(location);
+            if (resource.lastModified() == lastModified) return;
+            current = load(resource);
+            log.info("Reloaded recommendation rules {} (version {})", location, current.version());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping recommendation rules {}: {}", current.version(), e.getMessage());
+        }
+    }
+
+    private CompiledRuleSet load(Resource resource) throws IOException {
+        byte[] bytes;
+        try (InputStream in = resource.getInputStream()) {
+            bytes = in.readAllBytes();
+        }
+        if (resource.isFile()) lastModified = resource.lastModified();
+        try {
+            RuleSetDefinition definition = objectMapper.readValue(bytes, RuleSetDefinition.class);
+            CompiledRuleSet compiled = CompiledRuleSet.compile(definition, hash(bytes), location);
+            meterRegistry.counter("proposal.rules.loads", "result", "ok").increment();
+            return compiled;
+        } catch (IOException | IllegalArgumentException e) {
+            meterRegistry.counter("proposal.rules.loads", "result", "rejected").increment();
+            throw new IllegalArgumentException("Invalid rule file " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ai.zactonics.genproposal.rules;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One rule: when every condition holds, the message (with {fact} placeholders) is emitted.
+ * With a scope other than "request" the rule is evaluated per item of that collection;
+ * pick ({"max": fact} or {"min": fact}) keeps only the best matching item.
+ */
+@Data
+public class RuleDefinition {
+    private String id;
+    private String scope;
+    private List<ConditionDefinition> when;
+    private Map<String, String> pick;
+    private String message;
+}
@@ -0,0 +1,119 @@
+package ai.zactonics.genproposal.rules;
+
+import ai.zactonics.genproposal.model.*;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The facts rules can refer to, per scope, with the request paths each one reads (in
+ * SectionDependencyTracker path syntax, so a changed rule set changes which amendments
+ * regenerate the recommendations). New facts are added here; rules only name them.
+ */
+final class RuleFacts {
+
+    static final String REQUEST = "request";
+
+    record Fact(String name, List<String> paths, Function<Object, Object> extractor) {
+    }
+
+    record Scope(String name, String path, Function<ProposalGenerationRequest, List<?>> items, Map<String, Fact> facts) {
+
+        boolean isRequest() {
+            return REQUEST.equals(name);
+        }
+
+        /** Path of the collection's size, read by every rule that iterates it. */
+        String countPath() {
+            return path.substring(0, path.length() - 2) + "#count";
+        }
+    }
+
+    static final Map<String, Scope> SCOPES = scopes(
+        scope(REQUEST, "", List::of,
+            fact("qualificationPercentage", (ProposalGenerationRequest r) ->
+                gap(r) != null ? gap(r).getCurrentQualificationPercentage() : null,
+                "skillsGapAnalysis.currentQualificationPercentage"),
+            fact("employeeCount", (ProposalGenerationRequest r) -> size(r.getEmployeeData()), "employeeData#count"),
+            fact("projectCount", (ProposalGenerationRequest r) -> size(r.getProjectExperience()), "projectExperience#count"),
+            fact("missingSkillCount", (ProposalGenerationRequest r) -> size(gap(r) != null ? gap(r).getMissingSkills() : null),
+                "skillsGapAnalysis.missingSkills#count"),
+            fact("mandatoryRequirementCount", (ProposalGenerationRequest r) -> size(mandatory(r)),
+                "rfpData.extractedRequirements.mandatoryRequirements#count"),
+            fact("rfpTitle", (ProposalGenerationRequest r) -> r.getRfpData() != null ? r.getRfpData().getTitle() : null,
+                "rfpData.title")),
+
+        scope("missingSkills", "skillsGapAnalysis.missingSkills[]", r -> gap(r) != null ? gap(r).getMissingSkills() : null,
+            fact("skill", MissingSkill::getSkill, "skill"),
+            fact("requiredCount", MissingSkill::getRequiredCount, "requiredCount"),
+            fact("currentCount", MissingSkill::getCurrentCount, "currentCount"),
+            fact("shortfall", (MissingSkill s) -> s.getRequiredCount() != null && s.getCurrentCount() != null
+                ? s.getRequiredCount() - s.getCurrentCount() : null, "requiredCount", "currentCount"),
+            fact("impactOnScore", MissingSkill::getImpactOnScore, "impactOnScore")),
+
+        scope("whatIfScenarios", "skillsGapAnalysis.whatIfScenarios[]", r -> gap(r) != null ? gap(r).getWhatIfScenarios() : null,
+            fact("scenarioName", WhatIfScenario::getScenarioName, "scenarioName"),
+            fact("investment", WhatIfScenario::getInvestment, "investment"),
+            fact("timelineWeeks", WhatIfScenario::getTimelineWeeks, "timelineWeeks"),
+            fact("newQualificationPercentage", WhatIfScenario::getNewQualificationPercentage, "newQualificationPercentage"),
+            fact("additionalRfpsQualified", WhatIfScenario::getAdditionalRfpsQualified, "additionalRfpsQualified"),
+            fact("qualificationPerInvestment", (WhatIfScenario s) -> s.getNewQualificationPercentage() != null && s.getInvestment() != null
+                ? s.getNewQualificationPercentage() / s.getInvestment() : null, "newQualificationPercentage", "investment")),
+
+        scope("employees", "employeeData[]", ProposalGenerationRequest::getEmployeeData,
+            fact("employeeId", Employee::getEmployeeId, "employeeId"),
+            fact("name", Employee::getName, "name"),
+            fact("title", Employee::getTitle, "title"),
+            fact("yearsExperience", Employee::getYearsExperience, "yearsExperience"),
+            fact("availabilityPercentage", Employee::getAvailabilityPercentage, "availabilityPercentage"),
+            fact("hourlyRate", Employee::getHourlyRate, "hourlyRate"),
+            fact("skillCount", (Employee e) -> size(e.getCurrentSkills()), "currentSkills#count"),
+            fact("certificationCount", (Employee e) -> size(e.getCurrentCertifications()), "currentCertifications#count"),
+            fact("plannedCertificationCount", (Employee e) -> size(e.getPlannedCertifications()), "plannedCertifications#count")),
+
+        scope("trainingRecommendations", "skillsGapAnalysis.trainingRecommendations[]",
+            r -> gap(r) != null ? gap(r).getTrainingRecommendations() : null,
+            fact("employeeId", TrainingRecommendation::getEmployeeId, "employeeId"),
+            fact("recommendedCert", TrainingRecommendation::getRecommendedCert, "recommendedCert"),
+            fact("cost", TrainingRecommendation::getCost, "cost"),
+            fact("timelineWeeks", TrainingRecommendation::getTimelineWeeks, "timelineWeeks"),
+            fact("roiImprovement", TrainingRecommendation::getRoiImprovement, "roiImprovement")));
+
+    private RuleFacts() {
+    }
+
+    private static Map<String, Scope> scopes(Scope... scopes) {
+        Map<String, Scope> byName = new LinkedHashMap<>();
+        for (Scope scope : scopes) byName.put(scope.name(), scope);
+        return Collections.unmodifiableMap(byName);
+    }
+
+    private static Scope scope(String name, String path, Function<ProposalGenerationRequest, List<?>> items, Fact... facts) {
+        Map<String, Fact> byName = new LinkedHashMap<>();
+        for (Fact fact : facts) {
+            // item facts declare paths relative to their collection
+            List<String> paths = path.isEmpty() ? fact.paths()
+                : fact.paths().stream().map(p -> path + "." + p).toList();
+            byName.put(fact.name(), new Fact(fact.name(), paths, fact.extractor()));
+        }
+        return new Scope(name, path, items, Collections.unmodifiableMap(byName));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Fact fact(String name, Function<T, Object> extractor, String... paths) {
+        return new Fact(name, List.of(paths), item -> extractor.apply((T) item));
+    }
+
+    private static SkillsGapAnalysis gap(ProposalGenerationRequest request) {
+        return request.getSkillsGapAnalysis();
+    }
+
+    private static List<Requirement> mandatory(ProposalGenerationRequest request) {
+        return request.getRfpData() != null && request.getRfpData().getExtractedRequirements() != null
+            ? request.getRfpData().getExtractedRequirements().getMandatoryRequirements()
+            : null;
+    }
+
+    private static Integer size(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+}
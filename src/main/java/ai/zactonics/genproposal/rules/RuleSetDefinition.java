@@ -0,0 +1,10 @@
+package ai.zactonics.genproposal.rules;
+
+import lombok.Data;
+import java.util.List;
+
+/** JSON form of a rule file, see resources/rules/recommendations.json. */
+@Data
+public class RuleSetDefinition {
+    private List<RuleDefinition> rules;
+}
@@ -0,0 +1,179 @@
+package ai.zactonics.genproposal.service;
+
+import java.util.*;
+
+/**
+ * Immutable multi-pattern matcher (Aho-Corasick automaton) over a fixed vocabulary.
+ *
+ * Text and patterns are folded the same way (lowercase; '-', '/', '_' and whitespace read
+ * as a space), matches must start and end on word boundaries, and a trailing
+ * plural "s" is tolerated. Overlapping hits resolve leftmost-longest, so "Azure DevOps"
+ * wins over "DevOps" inside the same span. Safe to share between threads once built.
+ */
+public final class AhoCorasickMatcher<T> {
+
+    public record Match<T>(int start, int end, String surface, T payload) {
+    }
+
+    // Flattened goto function: node -> sorted edge labels / targets
+    private final char[][] edgeLabels;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Nearest node on the failure chain (including itself) that ends a pattern, or -1
+    private final int[] outputLink;
+    private final int[] patternLength;
+    private final List<T> payloads;
+
+    private AhoCorasickMatcher(char[][] edgeLabels, int[][] edgeTargets, int[] failure,
+                               int[] outputLink, int[] patternLength, List<T> payloads) {
+        this.edgeLabels = edgeLabels;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.patternLength = patternLength;
+        this.payloads = payloads;
+    }
+
+    public static <T> AhoCorasickMatcher<T> build(Map<String, T> patterns) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<T> payloads = new ArrayList<>();
+        trie.add(new HashMap<>());
+        lengths.add(0);
+        payloads.add(null);
+
+        for (Map.Entry<String, T> entry : patterns.entrySet()) {
+            String folded = fold(entry.getKey().strip());
+            if (folded.isEmpty()) continue;
+            int node = 0;
+            for (int i = 0; i < folded.length(); i++) {
+                Integer next = trie.get(node).get(folded.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(node).put(folded.charAt(i), next);
+                    trie.add(new HashMap<>());
+                    lengths.add(0);
+                    payloads.add(null);
+                }
+                node = next;
+            }
+            lengths.set(node, folded.length());
+            payloads.set(node, entry.getValue());
+        }
+
+        int size = trie.size();
+        char[][] labels = new char[size][];
+        int[][] targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            List<Character> keys = new ArrayList<>(trie.get(node).keySet());
+            Collections.sort(keys);
+            labels[node] = new char[keys.size()];
+            targets[node] = new int[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                labels[node][i] = keys.get(i);
+                targets[node][i] = trie.get(node).get(keys.get(i));
+            }
+        }
+
+        int[] patternLength = lengths.stream().mapToInt(Integer::intValue).toArray();
+        int[] failure = new int[size];
+        int[] outputLink = new int[size];
+        outputLink[0] = -1;
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            failure[child] = 0;
+            outputLink[child] = patternLength[child] > 0 ? child : -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = targets[node][i];
+                int f = failure[node];
+                while (f > 0 && step(labels, targets, f, c) < 0) {
+                    f = failure[f];
+                }
+                int fallback = step(labels, targets, f, c);
+                failure[child] = Math.max(fallback, 0);
+                outputLink[child] = patternLength[child] > 0 ? child : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasickMatcher<>(labels, targets, failure, outputLink, patternLength, payloads);
+    }
+
+    /** All word-bounded matches in the text, resolved leftmost-longest. */
+    public List<Match<T>> findAll(String text) {
+        List<Match<T>> matches = new ArrayList<>();
+        if (text == null || text.isEmpty()) return matches;
+
+        String folded = fold(text);
+        // best match ending per start position, so overlapping hits can be resolved in one pass
+        int[] bestEnd = new int[folded.length()];
+        int[] bestNode = new int[folded.length()];
+        Arrays.fill(bestNode, -1);
+
+        int node = 0;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            int next;
+            while ((next = step(edgeLabels, edgeTargets, node, c)) < 0 && node > 0) {
+                node = failure[node];
+            }
+            node = Math.max(next, 0);
+
+            for (int out = outputLink[node]; out >= 0; out = outputLink[failure[out]]) {
+                int start = i - patternLength[out] + 1;
+                int end = i + 1;
+                if (isWordStart(folded, start)) {
+                    int boundary = wordEnd(folded, end);
+                    if (boundary >= 0 && boundary > bestEnd[start]) {
+                        bestEnd[start] = boundary;
+                        bestNode[start] = out;
+                    }
+                }
+            }
+        }
+
+        int covered = 0;
+        for (int start = 0; start < folded.length(); start++) {
+            if (bestNode[start] < 0 || start < covered) continue;
+            int end = bestEnd[start];
+            matches.add(new Match<>(start, end, text.substring(start, Math.min(end, text.length())),
+                payloads.get(bestNode[start])));
+            covered = end;
+        }
+        return matches;
+    }
+
+    /** Case and punctuation folding that keeps character offsets aligned with the input. */
+    static String fold(String text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            chars[i] = (c == '-' || c == '/' || c == '_' || Character.isWhitespace(c)) ? ' ' : c;
+        }
+        return new String(chars);
+    }
+
+    private static int step(char[][] labels, int[][] targets, int node, char c) {
+        int idx = Arrays.binarySearch(labels[node], c);
+        return idx >= 0 ? targets[node][idx] : -1;
+    }
+
+    private static boolean isWordStart(String text, int start) {
+        return start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+    }
+
+    /** End offset of the match if it ends on a word boundary (allowing a plural "s"), else -1. */
+    private static int wordEnd(String text, int end) {
+        if (end == text.length() || !Character.isLetterOrDigit(text.charAt(end))) return end;
+        if (text.charAt(end) == 's' && (end + 1 == text.length() || !Character.isLetterOrDigit(text.charAt(end + 1)))) {
+            return end + 1;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,388 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.EvidenceSnippet;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import java.util.*;
+
+/**
+ * In-memory inverted index with BM25 ranking over resume highlights, project
+ * achievements and lessons learned.
+ *
+ * Documents are grouped by owner (employeeId / projectId); re-indexing an owner
+ * replaces only that owner's documents, so the index updates incrementally.
+ * Removed documents are tombstoned and dropped from postings on the next compaction.
+ * Queries score only the postings of the query terms. Searches may run concurrently
+ * with each other; updates need exclusive access (see {@link RosterEvidenceIndexes}).
+ */
+public class EvidenceIndex {
+
+    public static final String RESUME_HIGHLIGHT = "resumeHighlight";
+    public static final String KEY_ACHIEVEMENT = "keyAchievement";
+    public static final String LESSON_LEARNED = "lessonLearned";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET_LENGTH = 240;
+    // top-k sizes up to this use max-score pruning; larger ones (listing most of the index) score exhaustively
+    private static final int MAX_PRUNED_K = 16;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, int[]> docsByOwner = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    // token count per docId, 0 for a tombstone; kept apart from docs so scoring reads one int array
+    private int[] lengths = new int[16];
+    private int liveDocs;
+    private long totalLength;
+    private int tombstones;
+
+    // Per-thread score accumulator so queries over large postings do not allocate per document
+    private static final ThreadLocal<Accumulator> ACCUMULATORS = ThreadLocal.withInitial(Accumulator::new);
+
+    private record Doc(String sourceId, String sourceType, String ownerId, String text, int length) {
+    }
+
+    /**
+     * Growable parallel arrays of (docId, term frequency), appended in docId order. maxFreq and
+     * minLength bound the term's BM25 contribution; removals leave them loose until the next compaction.
+     */
+    private static final class Postings {
+        int[] docIds = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int liveCount;
+        int maxFreq;
+        int minLength = Integer.MAX_VALUE;
+
+        void add(int docId, int freq, int length) {
+            maxFreq = Math.max(maxFreq, freq);
+            minLength = Math.min(minLength, length);
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docIds[size] = docId;
+            freqs[size] = freq;
+            size++;
+            liveCount++;
+        }
+    }
+
+    private static final class Accumulator {
+        double[] scores = new double[0];
+        int[] touched = new int[0];
+        int touchedCount;
+        double maxScore;
+
+        void reset(int capacity) {
+            for (int i = 0; i < touchedCount; i++) scores[touched[i]] = 0;
+            touchedCount = 0;
+            maxScore = 0;
+            if (scores.length < capacity) {
+                scores = new double[capacity];
+                touched = new int[capacity];
+            }
+        }
+
+        void add(int docId, double score) {
+            if (scores[docId] == 0) touched[touchedCount++] = docId;
+            scores[docId] += score;
+            if (scores[docId] > maxScore) maxScore = scores[docId];
+        }
+    }
+
+    public static EvidenceIndex forRoster(List<Employee> employees, List<ProjectExperience> projects) {
+        EvidenceIndex index = new EvidenceIndex();
+        if (employees != null) employees.forEach(index::indexEmployee);
+        if (projects != null) projects.forEach(index::indexProject);
+        return index;
+    }
+
+    /** Indexes the employee's resume highlights, replacing whatever was indexed for that employeeId. */
+    public void indexEmployee(Employee employee) {
+        String ownerId = employee.getEmployeeId();
+        if (ownerId == null) return;
+        removeOwner(ownerId);
+        IntList ids = new IntList();
+        addTexts(ids, ownerId, "highlight", RESUME_HIGHLIGHT, employee.getResumeHighlights());
+        if (ids.size > 0) docsByOwner.put(ownerId, ids.toArray());
+        compactIfSparse();
+    }
+
+    /** Indexes the project's achievements and lessons learned, replacing whatever was indexed for that projectId. */
+    public void indexProject(ProjectExperience project) {
+        String ownerId = project.getProjectId();
+        if (ownerId == null) return;
+        removeOwner(ownerId);
+        IntList ids = new IntList();
+        addTexts(ids, ownerId, "achievement", KEY_ACHIEVEMENT, project.getKeyAchievements());
+        addTexts(ids, ownerId, "lesson", LESSON_LEARNED, project.getLessonsLearned());
+        if (ids.size > 0) docsByOwner.put(ownerId, ids.toArray());
+        compactIfSparse();
+    }
+
+    /** Drops every document of the employee or project; a no-op for an unknown owner. */
+    public void removeOwner(String ownerId) {
+        int[] ids = docsByOwner.remove(ownerId);
+        if (ids == null) return;
+        for (int docId : ids) {
+            Doc doc = docs.get(docId);
+            for (String term : new HashSet<>(analyze(doc.text()))) {
+                Postings list = postings.get(term);
+                if (list != null) list.liveCount--;
+            }
+            docs.set(docId, null);
+            lengths[docId] = 0;
+            liveDocs--;
+            totalLength -= doc.length();
+            tombstones++;
+        }
+        compactIfSparse();
+    }
+
+    public int size() {
+        return liveDocs;
+    }
+
+    /**
+     * Top-k documents for the query text, best first. Documents without any query term are never returned.
+     *
+     * Terms are scored rarest first. A term adds at most its BM25 score at its highest frequency in
+     * its shortest document, so once the k-th best score so far exceeds what all remaining terms
+     * could add, no unscored document can reach the top k: the remaining (common, long) postings
+     * are then only searched, galloping forward, for the documents that still can.
+     */
+    public List<EvidenceSnippet> search(String query, int k) {
+        List<String> analyzed = analyze(query);
+        if (analyzed.isEmpty() || k <= 0 || liveDocs == 0) return List.of();
+
+        List<Postings> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(analyzed)) {
+            Postings list = postings.get(term);
+            if (list != null && list.liveCount > 0) lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.liveCount));
+
+        // BM25 length normalization K1 * (1 - B + B * length / avgLength) = lengthBase + lengthScale * length
+        double lengthBase = K1 * (1 - B);
+        double lengthScale = K1 * B * liveDocs / totalLength;
+        int termCount = lists.size();
+        double[] weights = new double[termCount];
+        // remaining[t]: the most terms t.. can add to one document
+        double[] remaining = new double[termCount + 1];
+        for (int t = termCount - 1; t >= 0; t--) {
+            Postings list = lists.get(t);
+            weights[t] = (K1 + 1) * Math.log(1 + (liveDocs - list.liveCount + 0.5) / (list.liveCount + 0.5));
+            double maxFreq = list.maxFreq;
+            remaining[t] = remaining[t + 1]
+                + weights[t] * maxFreq / (maxFreq + lengthBase + lengthScale * list.minLength);
+        }
+        int[] docLengths = lengths;
+        Accumulator acc = ACCUMULATORS.get();
+        acc.reset(docs.size());
+        int t = 0;
+        for (; t < termCount; t++) {
+            // the k-th best can only beat the remaining bound when the best one does
+            if (t > 0 && k <= MAX_PRUNED_K && remaining[t] < acc.maxScore
+                && remaining[t] < kthScore(acc.scores, acc.touched, acc.touchedCount, k)) break;
+            Postings list = lists.get(t);
+            int[] docIds = list.docIds;
+            int[] freqs = list.freqs;
+            for (int i = 0; i < list.size; i++) {
+                int docId = docIds[i];
+                int length = docLengths[docId];
+                if (length == 0) continue;
+                double tf = freqs[i];
+                acc.add(docId, weights[t] * tf / (tf + lengthBase + lengthScale * length));
+            }
+        }
+        if (t < termCount) {
+            // documents that can still reach the top k, in docId order; the set shrinks as the bound does
+            double[] scores = acc.scores;
+            double initialThreshold = kthScore(scores, acc.touched, acc.touchedCount, k);
+            int[] candidates = new int[acc.touchedCount];
+            int candidateCount = 0;
+            for (int i = 0; i < acc.touchedCount; i++) {
+                int docId = acc.touched[i];
+                if (scores[docId] + remaining[t] >= initialThreshold) candidates[candidateCount++] = docId;
+            }
+            Arrays.sort(candidates, 0, candidateCount);
+            for (; t < termCount; t++) {
+                double threshold = kthScore(scores, candidates, candidateCount, k);
+                int kept = 0;
+                for (int c = 0; c < candidateCount; c++) {
+                    if (scores[candidates[c]] + remaining[t] >= threshold) candidates[kept++] = candidates[c];
+                }
+                candidateCount = kept;
+
+                Postings list = lists.get(t);
+                int from = 0;
+                for (int c = 0; c < candidateCount && from < list.size; c++) {
+                    int docId = candidates[c];
+                    int at = seek(list.docIds, from, list.size, docId);
+                    if (at < 0) {
+                        from = -at - 1;
+                        continue;
+                    }
+                    double tf = list.freqs[at];
+                    acc.add(docId, weights[t] * tf / (tf + lengthBase + lengthScale * docLengths[docId]));
+                    from = at + 1;
+                }
+            }
+        }
+
+        double[] scores = acc.scores;
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(id -> scores[id]));
+        for (int i = 0; i < acc.touchedCount; i++) {
+            int docId = acc.touched[i];
+            if (heap.size() < k) {
+                heap.add(docId);
+            } else if (scores[docId] > scores[heap.peek()]) {
+                heap.poll();
+                heap.add(docId);
+            }
+        }
+        List<EvidenceSnippet> results = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int docId = heap.poll();
+            results.add(toSnippet(docs.get(docId), scores[docId]));
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /** The k-th best score among the given documents, or -1 when there are fewer than k. */
+    private static double kthScore(double[] scores, int[] docIds, int count, int k) {
+        if (count < k) return -1;
+        // best k scores, ascending
+        double[] best = new double[k];
+        for (int i = 0; i < count; i++) {
+            double score = scores[docIds[i]];
+            if (score <= best[0]) continue;
+            int at = 0;
+            while (at + 1 < k && best[at + 1] < score) {
+                best[at] = best[at + 1];
+                at++;
+            }
+            best[at] = score;
+        }
+        return best[0];
+    }
+
+    /**
+     * Position of docId in docIds[from, size), found by galloping forward from {@code from}, or
+     * (-(insertion point) - 1) as {@link Arrays#binarySearch} returns when it is absent.
+     */
+    private static int seek(int[] docIds, int from, int size, int docId) {
+        int lo = from;
+        int hi = from;
+        int step = 1;
+        while (hi < size && docIds[hi] < docId) {
+            lo = hi + 1;
+            hi = lo + step;
+            step <<= 1;
+        }
+        return Arrays.binarySearch(docIds, lo, Math.min(hi + 1, size), docId);
+    }
+
+    private void addTexts(IntList ids, String ownerId, String kind, String sourceType, List<String> values) {
+        if (values == null) return;
+        for (int i = 0; i < values.size(); i++) {
+            String text = values.get(i);
+            if (text == null || text.isBlank()) continue;
+            List<String> terms = analyze(text);
+            if (terms.isEmpty()) continue;
+
+            int docId = docs.size();
+            docs.add(new Doc(ownerId + "/" + kind + "-" + (i + 1), sourceType, ownerId, text, terms.size()));
+            if (docId == lengths.length) lengths = Arrays.copyOf(lengths, docId * 2);
+            lengths[docId] = terms.size();
+            Map<String, Integer> freqs = new HashMap<>();
+            for (String term : terms) freqs.merge(term, 1, Integer::sum);
+            freqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).add(docId, freq, terms.size()));
+            ids.add(docId);
+            liveDocs++;
+            totalLength += terms.size();
+        }
+    }
+
+    private void compactIfSparse() {
+        if (tombstones > 1024 && tombstones > docs.size() / 2) compact();
+    }
+
+    /** Renumbers the live documents densely and rewrites postings without the tombstoned ones. */
+    private void compact() {
+        int[] remap = new int[docs.size()];
+        List<Doc> live = new ArrayList<>(liveDocs);
+        for (int docId = 0; docId < docs.size(); docId++) {
+            Doc doc = docs.get(docId);
+            remap[docId] = doc != null ? live.size() : -1;
+            if (doc != null) live.add(doc);
+        }
+        docs.clear();
+        docs.addAll(live);
+        lengths = new int[Math.max(16, live.size())];
+        for (int docId = 0; docId < live.size(); docId++) lengths[docId] = live.get(docId).length();
+
+        Iterator<Postings> it = postings.values().iterator();
+        while (it.hasNext()) {
+            Postings list = it.next();
+            if (list.liveCount == 0) {
+                it.remove();
+                continue;
+            }
+            Postings compacted = new Postings();
+            for (int i = 0; i < list.size; i++) {
+                int docId = remap[list.docIds[i]];
+                if (docId >= 0) compacted.add(docId, list.freqs[i], lengths[docId]);
+            }
+            list.docIds = compacted.docIds;
+            list.freqs = compacted.freqs;
+            list.size = compacted.size;
+            list.maxFreq = compacted.maxFreq;
+            list.minLength = compacted.minLength;
+        }
+        for (int[] ids : docsByOwner.values()) {
+            for (int i = 0; i < ids.length; i++) ids[i] = remap[ids[i]];
+        }
+        tombstones = 0;
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static EvidenceSnippet toSnippet(Doc doc, double score) {
+        EvidenceSnippet snippet = new EvidenceSnippet();
+        snippet.setSourceId(doc.sourceId());
+        snippet.setSourceType(doc.sourceType());
+        snippet.setOwnerId(doc.ownerId());
+        snippet.setText(doc.text().length() > SNIPPET_LENGTH
+            ? doc.text().substring(0, SNIPPET_LENGTH - 3) + "..."
+            : doc.text());
+        snippet.setScore(Math.round(score * 1000) / 1000.0);
+        return snippet;
+    }
+
+    /** Tokenizes and applies a light plural stemmer so "migrations" matches "migration". */
+    static List<String> analyze(String text) {
+        List<String> tokens = TextNormalizer.tokens(text);
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+                tokens.set(i, token.substring(0, token.length() - 1));
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,35 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.*;
+
+/**
+ * Finds the resume highlights, project achievements and lessons learned that support
+ * each requirement, so prompts cite evidence by source ID instead of listing everything.
+ *
+ * Callers build a {@link RequestEvidence} once per request and pass it to each section that
+ * cites evidence. A request generated from the stored roster head is answered from that roster's
+ * long-lived index ({@link RosterEvidenceIndexes}); any other roster is indexed for the request.
+ */
+@Service
+public class EvidenceRetrievalService {
+
+    static final int EVIDENCE_PER_REQUIREMENT = 3;
+
+    @Autowired
+    private RosterEvidenceIndexes rosterIndexes;
+
+    public RequestEvidence forRequest(ProposalGenerationRequest request) {
+        RequestEvidence stored = rosterIndexes.evidence(request);
+        if (stored != null) return stored;
+        return new RequestEvidence(request,
+            EvidenceIndex.forRoster(request.getEmployeeData(), request.getProjectExperience()));
+    }
+
+    /** Evidence for every mandatory and preferred requirement, keyed by reqId. */
+    public Map<String, List<EvidenceSnippet>> evidenceByRequirement(ProposalGenerationRequest request) {
+        return forRequest(request).byRequirement();
+    }
+}
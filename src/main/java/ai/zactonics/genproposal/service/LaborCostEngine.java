@@ -0,0 +1,343 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import org.springframework.stereotype.Service;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Phased labor cost, margin against contract value and sensitivity sweeps for the cost proposal.
+ *
+ * The roster is copied once into primitive columns (rate, availability, role index) so the
+ * per-variant work is a tight loop over double[] that the JIT can unroll and vectorize.
+ * Rate and duration factors scale the total linearly, so a sweep only re-reads the columns
+ * once per availability factor (availability is capped at 100% per person).
+ *
+ * The staffing sweep varies the roster itself: each employee and each role at every
+ * allocation level (0 takes them off the contract) and one extra hire per role. Per-employee
+ * and per-role monthly costs are computed once, so each variant is a constant-time adjustment
+ * of the baseline and a roster of N people in R roles yields 5N + 6R variants.
+ */
+@Service
+public class LaborCostEngine {
+
+    static final double HOURS_PER_MONTH = 160;
+    static final int DEFAULT_DURATION_MONTHS = 12;
+
+    private static final String[] PHASES = { "Transition-In", "Execution", "Transition-Out" };
+    // share of the contract duration and of each person's availability used in that phase
+    private static final double[] PHASE_SHARE = { 0.15, 0.70, 0.15 };
+    private static final double[] PHASE_LOAD = { 0.60, 1.00, 0.50 };
+
+    static final double[] RATE_FACTORS = steps(0.80, 1.20, 0.05);
+    static final double[] AVAILABILITY_FACTORS = steps(0.50, 1.50, 0.125);
+    static final double[] DURATION_FACTORS = { 0.75, 0.875, 1.0, 1.125, 1.25, 1.5 };
+    static final double[] ALLOCATION_LEVELS = { 0.0, 0.25, 0.5, 0.75, 1.0 };
+
+    static final String EMPLOYEE_ALLOCATION = "EMPLOYEE_ALLOCATION";
+    static final String ROLE_ALLOCATION = "ROLE_ALLOCATION";
+    static final String ADD_HIRE = "ADD_HIRE";
+
+    private static final Pattern DURATION = Pattern.compile(
+        "(\\d+(?:\\.\\d+)?)\\s*-?\\s*(months?|mos?|years?|yrs?|weeks?)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MONEY = Pattern.compile(
+        "(\\d[\\d,]*(?:\\.\\d+)?)\\s*(k|m|b|thousand|million|billion)?\\b", Pattern.CASE_INSENSITIVE);
+
+    /** Struct-of-arrays view of a roster. */
+    public static final class StaffingColumns {
+        final String[] ids;
+        final double[] rates;
+        final double[] availability;
+        final int[] roles;
+        final String[] roleNames;
+        final int size;
+
+        private StaffingColumns(String[] ids, double[] rates, double[] availability, int[] roles, String[] roleNames) {
+            this.ids = ids;
+            this.rates = rates;
+            this.availability = availability;
+            this.roles = roles;
+            this.roleNames = roleNames;
+            this.size = rates.length;
+        }
+
+        public static StaffingColumns of(List<Employee> employees) {
+            List<Employee> roster = employees != null ? employees : List.of();
+            String[] ids = new String[roster.size()];
+            double[] rates = new double[roster.size()];
+            double[] availability = new double[roster.size()];
+            int[] roles = new int[roster.size()];
+            Map<String, Integer> roleIndex = new LinkedHashMap<>();
+            for (int i = 0; i < roster.size(); i++) {
+                Employee emp = roster.get(i);
+                ids[i] = emp.getEmployeeId();
+                rates[i] = emp.getHourlyRate() != null ? emp.getHourlyRate() : 0;
+                availability[i] = emp.getAvailabilityPercentage() != null ? emp.getAvailabilityPercentage() / 100.0 : 1.0;
+                String role = emp.getTitle() != null ? emp.getTitle() : "Unassigned";
+                roles[i] = roleIndex.computeIfAbsent(role, r -> roleIndex.size());
+            }
+            return new StaffingColumns(ids, rates, availability, roles, roleIndex.keySet().toArray(new String[0]));
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public LaborCostModel model(ProposalGenerationRequest request) {
+        return model(request, true);
+    }
+
+    public LaborCostModel model(ProposalGenerationRequest request, boolean includeSweep) {
+        RfpData rfp = request.getRfpData();
+        StaffingColumns columns = StaffingColumns.of(request.getEmployeeData());
+        int months = rfp != null ? parseMonths(rfp.getContractDuration()) : DEFAULT_DURATION_MONTHS;
+        Double contractValue = rfp != null ? parseMoney(rfp.getContractValue()) : null;
+        double trainingCost = trainingCost(request);
+
+        double monthlyCost = monthlyCost(columns, 1.0);
+        double monthlyHours = staffedHours(columns);
+        List<PhaseCost> phases = new ArrayList<>();
+        double laborCost = 0;
+        for (int p = 0; p < PHASES.length; p++) {
+            PhaseCost phase = new PhaseCost();
+            double phaseMonths = months * PHASE_SHARE[p];
+            double cost = monthlyCost * phaseMonths * PHASE_LOAD[p];
+            phase.setPhase(PHASES[p]);
+            phase.setMonths(round(phaseMonths));
+            phase.setStaffingLoad(PHASE_LOAD[p]);
+            phase.setHours(round(monthlyHours * phaseMonths * PHASE_LOAD[p]));
+            phase.setLaborCost(round(cost));
+            phases.add(phase);
+            laborCost += cost;
+        }
+
+        double[] byRole = new double[columns.roleNames.length];
+        double loadedMonths = loadedMonths(months);
+        for (int i = 0; i < columns.size; i++) {
+            byRole[columns.roles[i]] += columns.rates[i] * Math.min(1.0, columns.availability[i]);
+        }
+        Map<String, Double> costByRole = new LinkedHashMap<>();
+        for (int r = 0; r < byRole.length; r++) {
+            costByRole.put(columns.roleNames[r], round(byRole[r] * HOURS_PER_MONTH * loadedMonths));
+        }
+
+        LaborCostModel model = new LaborCostModel();
+        model.setContractValue(contractValue);
+        model.setDurationMonths(months);
+        model.setPhases(phases);
+        model.setLaborCostByRole(costByRole);
+        model.setLaborCost(round(laborCost));
+        model.setTrainingCost(round(trainingCost));
+        model.setTotalCost(round(laborCost + trainingCost));
+        if (contractValue != null && contractValue > 0) {
+            model.setMargin(round(contractValue - laborCost - trainingCost));
+            model.setMarginPercentage(marginPercentage(contractValue, laborCost + trainingCost));
+        }
+
+        if (includeSweep) {
+            long start = System.nanoTime();
+            double[] totals = sweep(columns, months, trainingCost, RATE_FACTORS, AVAILABILITY_FACTORS, DURATION_FACTORS);
+            double[] staffingTotals = sweepStaffing(columns, months, trainingCost, ALLOCATION_LEVELS);
+            model.setSweepMillis(round((System.nanoTime() - start) / 1e6));
+            model.setVariantsEvaluated(totals.length + staffingTotals.length);
+            model.setSensitivity(sensitivityPoints(totals, contractValue));
+            model.setStaffingVariants(staffingVariants(columns, staffingTotals, contractValue));
+        }
+        return model;
+    }
+
+    /**
+     * Total cost (labor + training) for every combination of factors, in rate-major,
+     * then availability, then duration order.
+     */
+    public double[] sweep(StaffingColumns columns, int months, double trainingCost,
+                          double[] rateFactors, double[] availabilityFactors, double[] durationFactors) {
+        double[] totals = new double[rateFactors.length * availabilityFactors.length * durationFactors.length];
+        double loadedMonths = loadedMonths(months);
+        for (int a = 0; a < availabilityFactors.length; a++) {
+            double monthly = monthlyCost(columns, availabilityFactors[a]);
+            for (int r = 0; r < rateFactors.length; r++) {
+                int base = (r * availabilityFactors.length + a) * durationFactors.length;
+                for (int d = 0; d < durationFactors.length; d++) {
+                    totals[base + d] = monthly * rateFactors[r] * loadedMonths * durationFactors[d] + trainingCost;
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Total cost (labor + training) at the contract duration for every staffing variant: each employee
+     * at each allocation level, then each role at each level, then one extra full-time hire per role
+     * at the role's average rate.
+     */
+    public double[] sweepStaffing(StaffingColumns columns, int months, double trainingCost, double[] levels) {
+        int roleCount = columns.roleNames.length;
+        double[] employeeMonthly = new double[columns.size];
+        double[] roleMonthly = new double[roleCount];
+        double[] roleRates = new double[roleCount];
+        int[] roleSizes = new int[roleCount];
+        double base = 0;
+        for (int i = 0; i < columns.size; i++) {
+            double monthly = columns.rates[i] * Math.min(1.0, columns.availability[i]) * HOURS_PER_MONTH;
+            employeeMonthly[i] = monthly;
+            roleMonthly[columns.roles[i]] += monthly;
+            roleRates[columns.roles[i]] += columns.rates[i];
+            roleSizes[columns.roles[i]]++;
+            base += monthly;
+        }
+
+        double loadedMonths = loadedMonths(months);
+        double[] totals = new double[(columns.size + roleCount) * levels.length + roleCount];
+        int v = 0;
+        for (int i = 0; i < columns.size; i++) {
+            double others = base - employeeMonthly[i];
+            for (double level : levels) {
+                totals[v++] = (others + employeeMonthly[i] * level) * loadedMonths + trainingCost;
+            }
+        }
+        for (int r = 0; r < roleCount; r++) {
+            double others = base - roleMonthly[r];
+            for (double level : levels) {
+                totals[v++] = (others + roleMonthly[r] * level) * loadedMonths + trainingCost;
+            }
+        }
+        for (int r = 0; r < roleCount; r++) {
+            double hire = roleRates[r] / roleSizes[r] * HOURS_PER_MONTH;
+            totals[v++] = (base + hire) * loadedMonths + trainingCost;
+        }
+        return totals;
+    }
+
+    /** Labor cost of one month at full phase load, with availability scaled and capped at 100%. */
+    double monthlyCost(StaffingColumns columns, double availabilityFactor) {
+        double[] rates = columns.rates;
+        double[] availability = columns.availability;
+        double sum = 0;
+        for (int i = 0; i < columns.size; i++) {
+            sum += rates[i] * Math.min(1.0, availability[i] * availabilityFactor);
+        }
+        return sum * HOURS_PER_MONTH;
+    }
+
+    private double staffedHours(StaffingColumns columns) {
+        double fte = 0;
+        for (int i = 0; i < columns.size; i++) fte += Math.min(1.0, columns.availability[i]);
+        return fte * HOURS_PER_MONTH;
+    }
+
+    // contract months weighted by each phase's staffing load
+    private static double loadedMonths(int months) {
+        double loaded = 0;
+        for (int p = 0; p < PHASES.length; p++) loaded += months * PHASE_SHARE[p] * PHASE_LOAD[p];
+        return loaded;
+    }
+
+    private List<SensitivityPoint> sensitivityPoints(double[] totals, Double contractValue) {
+        List<SensitivityPoint> points = new ArrayList<>(totals.length);
+        int i = 0;
+        for (double rate : RATE_FACTORS) {
+            for (double availability : AVAILABILITY_FACTORS) {
+                for (double duration : DURATION_FACTORS) {
+                    SensitivityPoint point = new SensitivityPoint();
+                    point.setRateFactor(rate);
+                    point.setAvailabilityFactor(availability);
+                    point.setDurationFactor(duration);
+                    point.setTotalCost(round(totals[i]));
+                    if (contractValue != null && contractValue > 0) {
+                        point.setMarginPercentage(marginPercentage(contractValue, totals[i]));
+                    }
+                    points.add(point);
+                    i++;
+                }
+            }
+        }
+        return points;
+    }
+
+    private List<StaffingVariant> staffingVariants(StaffingColumns columns, double[] totals, Double contractValue) {
+        List<StaffingVariant> variants = new ArrayList<>(totals.length);
+        int v = 0;
+        for (int i = 0; i < columns.size; i++) {
+            for (double level : ALLOCATION_LEVELS) {
+                variants.add(staffingVariant(EMPLOYEE_ALLOCATION, columns.ids[i], level, totals[v++], contractValue));
+            }
+        }
+        for (String role : columns.roleNames) {
+            for (double level : ALLOCATION_LEVELS) {
+                variants.add(staffingVariant(ROLE_ALLOCATION, role, level, totals[v++], contractValue));
+            }
+        }
+        for (String role : columns.roleNames) {
+            variants.add(staffingVariant(ADD_HIRE, role, 1.0, totals[v++], contractValue));
+        }
+        return variants;
+    }
+
+    private static StaffingVariant staffingVariant(String change, String target, double allocation, double total,
+                                                   Double contractValue) {
+        StaffingVariant variant = new StaffingVariant();
+        variant.setChange(change);
+        variant.setTarget(target);
+        variant.setAllocation(allocation);
+        variant.setTotalCost(round(total));
+        if (contractValue != null && contractValue > 0) {
+            variant.setMarginPercentage(marginPercentage(contractValue, total));
+        }
+        return variant;
+    }
+
+    private static double trainingCost(ProposalGenerationRequest request) {
+        SkillsGapAnalysis gap = request.getSkillsGapAnalysis();
+        if (gap == null || gap.getTrainingRecommendations() == null) return 0;
+        return gap.getTrainingRecommendations().stream()
+            .filter(t -> t.getCost() != null)
+            .mapToDouble(TrainingRecommendation::getCost)
+            .sum();
+    }
+
+    /** "24 months" -> 24, "2 years" -> 24, "26 weeks" -> 6; defaults to 12 months. */
+    static int parseMonths(String text) {
+        if (text == null) return DEFAULT_DURATION_MONTHS;
+        Matcher m = DURATION.matcher(text);
+        if (!m.find()) return DEFAULT_DURATION_MONTHS;
+        double value = Double.parseDouble(m.group(1));
+        char unit = Character.toLowerCase(m.group(2).charAt(0));
+        double months = unit == 'y' ? value * 12 : unit == 'w' ? value / 4.33 : value;
+        return Math.max(1, (int) Math.round(months));
+    }
+
+    /** "$3,500,000" -> 3500000, "$3.5M" -> 3500000, "850K" -> 850000; null when absent. */
+    static Double parseMoney(String text) {
+        if (text == null) return null;
+        Matcher m = MONEY.matcher(text);
+        if (!m.find()) return null;
+        double value = Double.parseDouble(m.group(1).replace(",", ""));
+        if (m.group(2) != null) {
+            switch (Character.toLowerCase(m.group(2).charAt(0))) {
+                case 'k', 't' -> value *= 1_000;
+                case 'm' -> value *= 1_000_000;
+                case 'b' -> value *= 1_000_000_000;
+                default -> { }
+            }
+        }
+        return value;
+    }
+
+    private static double marginPercentage(double contractValue, double totalCost) {
+        return Math.round((contractValue - totalCost) / contractValue * 1000) / 10.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static double[] steps(double from, double to, double step) {
+        int count = (int) Math.round((to - from) / step) + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) values[i] = Math.round((from + i * step) * 1000) / 1000.0;
+        return values;
+    }
+}
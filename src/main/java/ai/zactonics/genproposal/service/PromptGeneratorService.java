@@ -1,6 +1,11 @@
 package ai.zactonics.genproposal.service;
 
 import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.profiling.ProposalProfiler;
+import ai.zactonics.genproposal.rules.RecommendationRules;
+import ai.zactonics.genproposal.taxonomy.CompiledTaxonomy;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -8,10 +13,79 @@ import java.util.stream.Collectors;
 @Service
 public class PromptGeneratorService {
 
+    @Autowired
+    private EvidenceRetrievalService evidenceService;
+
+    @Autowired
+    private LaborCostEngine costEngine;
+
+    @Autowired
+    private TrainingScheduleService scheduleService;
+
+    @Autowired
+    private RecommendationRules recommendationRules;
+
+    @Autowired
+    private ProposalProfiler profiler;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    private static final List<String> SECTION_HEADINGS = List.of(
+        "SECTION 1: EXECUTIVE SUMMARY",
+        "SECTION 2: TECHNICAL APPROACH",
+        "SECTION 3: TEAM QUALIFICATIONS",
+        "SECTION 4: PAST PERFORMANCE",
+        "SECTION 5: SKILLS DEVELOPMENT PLAN",
+        "SECTION 6: COST PROPOSAL");
+
+    public ProposalGenerationResponse generateProposal(ProposalGenerationRequest request) {
+        ProposalGenerationResponse response = new ProposalGenerationResponse();
+        // Indexed once and shared by every section that cites evidence
+        RequestEvidence evidence = evidenceService.forRequest(request);
+        
+        // Generate prompts for each section
+        response.setExecutiveSummaryPrompt(generateExecutiveSummaryPrompt(request));
+        response.setTechnicalApproachPrompt(profiler.section("technicalApproachPrompt", request,
+            () -> generateTechnicalApproachPrompt(request, null, evidence)));
+        response.setTeamQualificationsPrompt(profiler.section("teamQualificationsPrompt", request,
+            () -> generateTeamQualificationsPrompt(request, null, evidence)));
+        response.setPastPerformancePrompt(profiler.section("pastPerformancePrompt", request,
+            () -> generatePastPerformancePrompt(request, null, evidence)));
+        response.setSkillsDevelopmentPrompt(generateSkillsDevelopmentPrompt(request));
+        response.setCostProposalPrompt(generateCostProposalPrompt(request));
+        
+        // Generate complete proposal, reusing the section prompts above
+        String sectionsLayout = profiler.section("completeProposal", request, () -> assemble(request, null,
+            List.of(response.getExecutiveSummaryPrompt(), response.getTechnicalApproachPrompt(),
+                response.getTeamQualificationsPrompt(), response.getPastPerformancePrompt(),
+                response.getSkillsDevelopmentPrompt(), response.getCostProposalPrompt())));
+        if (request.getCompleteProposalLayout() == CompleteProposalLayout.SHARED_CONTEXT) {
+            response.setCompleteProposal(profiler.section("completeProposal/shared-context", request,
+                () -> assembleSharedContextProposal(request, evidence)));
+            response.setCompleteProposalStats(completeProposalStats(request, response.getCompleteProposal(), sectionsLayout));
+        } else {
+            response.setCompleteProposal(sectionsLayout);
+        }
+        
+        response.setQualificationScore(calculateQualificationScore(request));
+        response.setRecommendations(generateRecommendations(request));
+        
+        return response;
+    }
+
     public String generateExecutiveSummaryPrompt(ProposalGenerationRequest request) {
+        return profiler.section("executiveSummaryPrompt", request, () -> generateExecutiveSummaryPrompt(request, null));
+    }
+
+    private String generateExecutiveSummaryPrompt(ProposalGenerationRequest request, SharedContext context) {
         StringBuilder prompt = new StringBuilder();
-        prompt.append("Generate an executive summary for a proposal responding to RFP: ")
-              .append(request.getRfpData().getTitle()).append("\n\n");
+        if (context != null) {
+            prompt.append("Generate an executive summary for a proposal responding to this RFP.\n\n");
+        } else {
+            prompt.append("Generate an executive summary for a proposal responding to RFP: ")
+                  .append(request.getRfpData().getTitle()).append("\n\n");
+        }
         
         prompt.append("Key Points to Include:\n");
         prompt.append("- Company: Our company has ").append(getCompanyStrength(request)).append("\n");
@@ -39,6 +113,12 @@ public class PromptGeneratorService {
     }
 
     public String generateTechnicalApproachPrompt(ProposalGenerationRequest request) {
+        return profiler.section("technicalApproachPrompt", request,
+            () -> generateTechnicalApproachPrompt(request, null, evidenceService.forRequest(request)));
+    }
+
+    private String generateTechnicalApproachPrompt(ProposalGenerationRequest request, SharedContext context,
+                                                   RequestEvidence requestEvidence) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("Create a detailed technical approach for the following requirements:\n\n");
         
@@ -48,15 +128,26 @@ public class PromptGeneratorService {
         for (Requirement req : requirements.getMandatoryRequirements()) {
             prompt.append("- ").append(req.getDescription()).append("\n");
             prompt.append("  Required Skills: ").append(String.join(", ", req.getRequiredSkills())).append("\n");
-            prompt.append("  Our Capability: ").append(assessCapability(request, req)).append("\n\n");
+            prompt.append("  Our Capability: ").append(assessCapability(request, req)).append("\n");
+
+            List<EvidenceSnippet> evidence = requestEvidence.evidenceFor(req);
+            if (!evidence.isEmpty()) {
+                prompt.append("  Supporting Evidence:\n");
+                evidence.forEach(e -> appendEvidence(prompt, "  - ", e, context));
+            }
+            prompt.append("\n");
         }
         
         prompt.append("\nPROPOSED SOLUTION APPROACH:\n");
         prompt.append("Based on our experience with projects like:\n");
         
         for (ProjectExperience project : request.getProjectExperience()) {
-            prompt.append("- ").append(project.getProjectName())
-                  .append(" (").append(project.getContractValue()).append(")\n");
+            if (context != null) {
+                prompt.append("- ").append(context.key(project)).append("\n");
+            } else {
+                prompt.append("- ").append(project.getProjectName())
+                      .append(" (").append(project.getContractValue()).append(")\n");
+            }
         }
         
         prompt.append("\nStructure the technical approach with:\n");
@@ -66,44 +157,38 @@ public class PromptGeneratorService {
         prompt.append("4. Security & Compliance Framework\n");
         prompt.append("5. Quality Assurance & Testing\n");
         prompt.append("6. Knowledge Transfer & Support\n");
+        prompt.append("\nCite supporting evidence by its [source ID] when describing our capability.\n");
         
         return prompt.toString();
     }
 
     public String generateTeamQualificationsPrompt(ProposalGenerationRequest request) {
+        return profiler.section("teamQualificationsPrompt", request,
+            () -> generateTeamQualificationsPrompt(request, null, evidenceService.forRequest(request)));
+    }
+
+    private String generateTeamQualificationsPrompt(ProposalGenerationRequest request, SharedContext context,
+                                                    RequestEvidence evidence) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("Generate a team qualifications section featuring these professionals:\n\n");
         
-        for (Employee emp : request.getEmployeeData()) {
-            prompt.append("TEAM MEMBER: ").append(emp.getName()).append("\n");
-            prompt.append("Role: ").append(emp.getTitle()).append("\n");
-            prompt.append("Experience: ").append(emp.getYearsExperience()).append(" years\n");
-            prompt.append("Key Skills: ");
-            
-            String skills = emp.getCurrentSkills().stream()
-                .filter(s -> s.getProficiencyLevel().equals("Expert") || 
-                            s.getProficiencyLevel().equals("Advanced"))
-                .map(Skill::getSkillName)
-                .collect(Collectors.joining(", "));
-            prompt.append(skills).append("\n");
-            
-            prompt.append("Certifications: ");
-            String certs = emp.getCurrentCertifications().stream()
-                .map(Certification::getCertName)
-                .collect(Collectors.joining(", "));
-            prompt.append(certs).append("\n");
+        if (context != null) {
+            // profiles and highlights are in the shared context
+            prompt.append(request.getEmployeeData().stream().map(context::key).collect(Collectors.joining(", ")))
+                  .append("\n\n");
+        } else {
+            for (Employee emp : request.getEmployeeData()) {
+                prompt.append("TEAM MEMBER: ").append(emp.getName()).append("\n");
+                appendEmployeeProfile(prompt, emp);
             
-            if (!emp.getPlannedCertifications().isEmpty()) {
-                prompt.append("Planned Certifications: ");
-                String planned = emp.getPlannedCertifications().stream()
-                    .map(pc -> pc.getCertName() + " (by " + pc.getPlannedCompletion() + ")")
-                    .collect(Collectors.joining(", "));
-                prompt.append(planned).append("\n");
+                List<EvidenceSnippet> highlights = evidence.citedEvidence(
+                    emp.getEmployeeId(), EvidenceIndex.RESUME_HIGHLIGHT);
+                if (!highlights.isEmpty()) {
+                    prompt.append("Highlights:\n");
+                    highlights.forEach(h -> appendEvidence(prompt, "- ", h, null));
+                }
+                prompt.append("\n");
             }
-            
-            prompt.append("Highlights:\n");
-            emp.getResumeHighlights().forEach(h -> prompt.append("- ").append(h).append("\n"));
-            prompt.append("\n");
         }
         
         prompt.append("\nCreate professional bios that emphasize relevant experience ");
@@ -113,26 +198,32 @@ public class PromptGeneratorService {
     }
 
     public String generatePastPerformancePrompt(ProposalGenerationRequest request) {
+        return profiler.section("pastPerformancePrompt", request,
+            () -> generatePastPerformancePrompt(request, null, evidenceService.forRequest(request)));
+    }
+
+    private String generatePastPerformancePrompt(ProposalGenerationRequest request, SharedContext context,
+                                                 RequestEvidence evidence) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("Create a past performance section based on these relevant projects:\n\n");
         
-        for (ProjectExperience project : request.getProjectExperience()) {
-            prompt.append("PROJECT: ").append(project.getProjectName()).append("\n");
-            prompt.append("Client: ").append(project.getClient()).append("\n");
-            prompt.append("Industry: ").append(project.getIndustry()).append("\n");
-            prompt.append("Value: ").append(project.getContractValue()).append("\n");
-            prompt.append("Duration: ").append(project.getDuration()).append("\n");
+        if (context != null) {
+            // details and achievements are in the shared context
+            prompt.append(request.getProjectExperience().stream().map(context::key).collect(Collectors.joining(", ")))
+                  .append("\n\n");
+        } else {
+            for (ProjectExperience project : request.getProjectExperience()) {
+                prompt.append("PROJECT: ").append(project.getProjectName()).append("\n");
+                appendProjectProfile(prompt, project);
             
-            if (project.getSuccessMetrics() != null) {
-                prompt.append("Performance: ");
-                prompt.append("On-Time: ").append(project.getSuccessMetrics().getOnTime()).append(", ");
-                prompt.append("On-Budget: ").append(project.getSuccessMetrics().getOnBudget()).append(", ");
-                prompt.append("Client Satisfaction: ").append(project.getSuccessMetrics().getClientSatisfaction()).append("\n");
+                List<EvidenceSnippet> achievements = evidence.citedEvidence(
+                    project.getProjectId(), EvidenceIndex.KEY_ACHIEVEMENT);
+                if (!achievements.isEmpty()) {
+                    prompt.append("Key Achievements:\n");
+                    achievements.forEach(a -> appendEvidence(prompt, "- ", a, null));
+                }
+                prompt.append("\n");
             }
-            
-            prompt.append("Key Achievements:\n");
-            project.getKeyAchievements().forEach(a -> prompt.append("- ").append(a).append("\n"));
-            prompt.append("\n");
         }
         
         prompt.append("Format each project as a case study that demonstrates ");
@@ -143,6 +234,10 @@ public class PromptGeneratorService {
     }
 
     public String generateSkillsDevelopmentPrompt(ProposalGenerationRequest request) {
+        return profiler.section("skillsDevelopmentPrompt", request, () -> generateSkillsDevelopmentPrompt(request, null));
+    }
+
+    private String generateSkillsDevelopmentPrompt(ProposalGenerationRequest request, SharedContext context) {
         StringBuilder prompt = new StringBuilder();
         SkillsGapAnalysis gap = request.getSkillsGapAnalysis();
         
@@ -160,12 +255,37 @@ public class PromptGeneratorService {
         
         prompt.append("\nTRAINING PLAN:\n");
         for (TrainingRecommendation rec : gap.getTrainingRecommendations()) {
-            prompt.append("- Employee ").append(rec.getEmployeeId())
+            prompt.append("- Employee ").append(employeeRef(context, rec.getEmployeeId()))
                   .append(": ").append(rec.getRecommendedCert())
                   .append(" (").append(rec.getTimelineWeeks()).append(" weeks, $")
                   .append(rec.getCost()).append(")\n");
         }
         
+        TrainingSchedule schedule = scheduleService.schedule(request, TrainingScheduleService.startDate(request));
+        prompt.append("\nTRAINING TIMELINE (fitted into each employee's available hours from ")
+              .append(schedule.getStartDate()).append("):\n");
+        for (ScheduledTraining training : schedule.getTrainingPlan()) {
+            prompt.append("- ").append(employeeRef(context, training.getEmployeeId())).append(": ").append(training.getCertification())
+                  .append(training.getCompletionDate() != null
+                      ? " complete by " + training.getCompletionDate()
+                      : " cannot be scheduled (no available hours)")
+                  .append("\n");
+        }
+        if (schedule.getFullyQualifiedDate() != null) {
+            prompt.append("- Fully qualified for all mandatory requirements by ").append(schedule.getFullyQualifiedDate());
+            if (schedule.getDueDate() != null) {
+                prompt.append(Boolean.TRUE.equals(schedule.getMeetsDueDate()) ? " (before" : " (after")
+                      .append(" the ").append(schedule.getDueDate()).append(" due date)");
+            }
+            prompt.append("\n");
+        }
+        for (RequirementReadiness readiness : schedule.getRequirements()) {
+            if (!readiness.getUncoverable().isEmpty()) {
+                prompt.append("- ").append(readiness.getReqId()).append(" not covered by current staff or planned training: ")
+                      .append(String.join(", ", readiness.getUncoverable())).append("\n");
+            }
+        }
+        
         prompt.append("\nIMPROVEMENT SCENARIOS:\n");
         for (WhatIfScenario scenario : gap.getWhatIfScenarios()) {
             prompt.append("\n").append(scenario.getScenarioName()).append(":\n");
@@ -182,17 +302,38 @@ public class PromptGeneratorService {
     }
 
     public String generateCostProposalPrompt(ProposalGenerationRequest request) {
+        return profiler.section("costProposalPrompt", request, () -> generateCostProposalPrompt(request, null));
+    }
+
+    private String generateCostProposalPrompt(ProposalGenerationRequest request, SharedContext context) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("Generate a cost proposal structure based on:\n\n");
         
         prompt.append("TEAM COMPOSITION:\n");
         for (Employee emp : request.getEmployeeData()) {
-            prompt.append("- ").append(emp.getTitle())
-                  .append(" (").append(emp.getName()).append(")")
-                  .append(": $").append(emp.getHourlyRate()).append("/hour")
+            if (context != null) {
+                prompt.append("- ").append(context.key(emp));
+            } else {
+                prompt.append("- ").append(emp.getTitle())
+                      .append(" (").append(emp.getName()).append(")");
+            }
+            prompt.append(": $").append(emp.getHourlyRate()).append("/hour")
                   .append(", ").append(emp.getAvailabilityPercentage()).append("% available\n");
         }
         
+        LaborCostModel costModel = costEngine.model(request, false);
+        prompt.append("\nLABOR COST MODEL (").append(costModel.getDurationMonths()).append(" months, ")
+              .append((int) LaborCostEngine.HOURS_PER_MONTH).append(" hours/month at stated availability):\n");
+        for (PhaseCost phase : costModel.getPhases()) {
+            prompt.append("- ").append(phase.getPhase()).append(": ").append(phase.getMonths()).append(" months at ")
+                  .append(Math.round(phase.getStaffingLoad() * 100)).append("% load, ")
+                  .append(money(phase.getLaborCost())).append("\n");
+        }
+        prompt.append("Labor Cost by Role:\n");
+        costModel.getLaborCostByRole().forEach((role, cost) ->
+            prompt.append("- ").append(role).append(": ").append(money(cost)).append("\n"));
+        prompt.append("Total Labor Cost: ").append(money(costModel.getLaborCost())).append("\n");
+        
         prompt.append("\nTRAINING INVESTMENTS:\n");
         double totalTrainingCost = request.getSkillsGapAnalysis()
             .getTrainingRecommendations().stream()
@@ -200,6 +341,13 @@ public class PromptGeneratorService {
             .sum();
         prompt.append("Total Training Investment: $").append(totalTrainingCost).append("\n");
         
+        prompt.append("\nTotal Cost: ").append(money(costModel.getTotalCost())).append("\n");
+        if (costModel.getContractValue() != null) {
+            prompt.append("Contract Value: ").append(money(costModel.getContractValue())).append("\n");
+            prompt.append("Projected Margin: ").append(money(costModel.getMargin()))
+                  .append(" (").append(costModel.getMarginPercentage()).append("%)\n");
+        }
+        
         prompt.append("\nCreate a cost breakdown including:\n");
         prompt.append("1. Labor costs by phase\n");
         prompt.append("2. Training and certification costs\n");
@@ -212,29 +360,47 @@ public class PromptGeneratorService {
     }
 
     public String assembleCompleteProposal(ProposalGenerationRequest request) {
+        if (request.getCompleteProposalLayout() == CompleteProposalLayout.SHARED_CONTEXT) {
+            return profiler.section("completeProposal/shared-context", request,
+                () -> assembleSharedContextProposal(request, evidenceService.forRequest(request)));
+        }
+        return profiler.section("completeProposal", request, () -> {
+            RequestEvidence evidence = evidenceService.forRequest(request);
+            return assemble(request, null, List.of(generateExecutiveSummaryPrompt(request),
+                generateTechnicalApproachPrompt(request, null, evidence), generateTeamQualificationsPrompt(request, null, evidence),
+                generatePastPerformancePrompt(request, null, evidence), generateSkillsDevelopmentPrompt(request),
+                generateCostProposalPrompt(request)));
+        });
+    }
+
+    /**
+     * The SHARED_CONTEXT layout: the RFP title, roster and projects, with their cited highlights and
+     * achievements, are listed once up front; sections cite them as [E1], [P1] or by evidence source ID.
+     */
+    private String assembleSharedContextProposal(ProposalGenerationRequest request, RequestEvidence evidence) {
+        SharedContext context = new SharedContext(request);
+        return assemble(request, sharedContextBlock(request, context, evidence), List.of(
+            generateExecutiveSummaryPrompt(request, context), generateTechnicalApproachPrompt(request, context, evidence),
+            generateTeamQualificationsPrompt(request, context, evidence), generatePastPerformancePrompt(request, context, evidence),
+            generateSkillsDevelopmentPrompt(request, context), generateCostProposalPrompt(request, context)));
+    }
+
+    private String assemble(ProposalGenerationRequest request, String sharedContext, List<String> sections) {
         StringBuilder proposal = new StringBuilder();
         
         proposal.append("=== COMPLETE PROPOSAL GENERATION ===\n\n");
-        proposal.append("Create a comprehensive proposal for: ")
-                .append(request.getRfpData().getTitle()).append("\n\n");
-        
-        proposal.append("SECTION 1: EXECUTIVE SUMMARY\n");
-        proposal.append(generateExecutiveSummaryPrompt(request)).append("\n\n");
-        
-        proposal.append("SECTION 2: TECHNICAL APPROACH\n");
-        proposal.append(generateTechnicalApproachPrompt(request)).append("\n\n");
-        
-        proposal.append("SECTION 3: TEAM QUALIFICATIONS\n");
-        proposal.append(generateTeamQualificationsPrompt(request)).append("\n\n");
-        
-        proposal.append("SECTION 4: PAST PERFORMANCE\n");
-        proposal.append(generatePastPerformancePrompt(request)).append("\n\n");
-        
-        proposal.append("SECTION 5: SKILLS DEVELOPMENT PLAN\n");
-        proposal.append(generateSkillsDevelopmentPrompt(request)).append("\n\n");
+        if (sharedContext != null) {
+            proposal.append("Create a comprehensive proposal for the RFP described in the shared context.\n\n");
+            proposal.append(sharedContext).append("\n");
+        } else {
+            proposal.append("Create a comprehensive proposal for: ")
+                    .append(request.getRfpData().getTitle()).append("\n\n");
+        }
         
-        proposal.append("SECTION 6: COST PROPOSAL\n");
-        proposal.append(generateCostProposalPrompt(request)).append("\n\n");
+        for (int i = 0; i < sections.size(); i++) {
+            proposal.append(SECTION_HEADINGS.get(i)).append("\n");
+            proposal.append(sections.get(i)).append("\n\n");
+        }
         
         proposal.append("Format as a professional, persuasive proposal document ");
         proposal.append("that addresses all RFP requirements and evaluation criteria.");
@@ -242,7 +408,62 @@ public class PromptGeneratorService {
         return proposal.toString();
     }
 
+    private String sharedContextBlock(ProposalGenerationRequest request, SharedContext context, RequestEvidence evidence) {
+        StringBuilder block = new StringBuilder();
+        block.append("SHARED CONTEXT (sections cite these entries by key)\n");
+        block.append("RFP: ").append(request.getRfpData().getTitle()).append("\n");
+        
+        block.append("\nTEAM:\n");
+        for (Employee emp : request.getEmployeeData()) {
+            block.append(context.key(emp)).append(" ").append(emp.getName()).append("\n");
+            appendEmployeeProfile(block, emp);
+            List<EvidenceSnippet> highlights = evidence.citedEvidence(
+                emp.getEmployeeId(), EvidenceIndex.RESUME_HIGHLIGHT);
+            if (!highlights.isEmpty()) {
+                block.append("Highlights:\n");
+                highlights.forEach(h -> quoteEvidence(block, h, context));
+            }
+        }
+        
+        block.append("\nPROJECTS:\n");
+        for (ProjectExperience project : request.getProjectExperience()) {
+            block.append(context.key(project)).append(" ").append(project.getProjectName()).append("\n");
+            appendProjectProfile(block, project);
+            List<EvidenceSnippet> achievements = evidence.citedEvidence(
+                project.getProjectId(), EvidenceIndex.KEY_ACHIEVEMENT);
+            if (!achievements.isEmpty()) {
+                block.append("Key Achievements:\n");
+                achievements.forEach(a -> quoteEvidence(block, a, context));
+            }
+        }
+        return block.toString();
+    }
+
+    private CompleteProposalStats completeProposalStats(ProposalGenerationRequest request, String proposal,
+                                                        String sectionsLayout) {
+        CompleteProposalStats stats = new CompleteProposalStats();
+        stats.setLayout(CompleteProposalLayout.SHARED_CONTEXT);
+        stats.setCharacters(proposal.length());
+        stats.setBaselineCharacters(sectionsLayout.length());
+        stats.setSavedCharacters(sectionsLayout.length() - proposal.length());
+        int tokens = PromptTokenEstimator.estimate(proposal);
+        int baselineTokens = PromptTokenEstimator.estimate(sectionsLayout);
+        stats.setTokens(tokens);
+        stats.setBaselineTokens(baselineTokens);
+        stats.setSavedTokens(baselineTokens - tokens);
+        stats.setTokenReductionPercentage(baselineTokens > 0
+            ? Math.round(1000.0 * (baselineTokens - tokens) / baselineTokens) / 10.0
+            : 0.0);
+        stats.setSharedEmployees(request.getEmployeeData().size());
+        stats.setSharedProjects(request.getProjectExperience().size());
+        return stats;
+    }
+
     public QualificationScore calculateQualificationScore(ProposalGenerationRequest request) {
+        return profiler.scoring(request, () -> qualificationScore(request));
+    }
+
+    private QualificationScore qualificationScore(ProposalGenerationRequest request) {
         QualificationScore score = new QualificationScore();
         SkillsGapAnalysis gap = request.getSkillsGapAnalysis();
         
@@ -266,42 +487,9 @@ public class PromptGeneratorService {
         return score;
     }
 
+    /** Messages of the recommendation rules that fire, see resources/rules/recommendations.json. */
     public List<String> generateRecommendations(ProposalGenerationRequest request) {
-        List<String> recommendations = new ArrayList<>();
-        SkillsGapAnalysis gap = request.getSkillsGapAnalysis();
-        
-        if (gap.getCurrentQualificationPercentage() < 80) {
-            recommendations.add("PRIORITY: Implement training plan to reach minimum 80% qualification");
-        }
-        
-        // Check for critical missing certifications
-        for (MissingSkill skill : gap.getMissingSkills()) {
-            if (skill.getImpactOnScore() >= 8) {
-                recommendations.add("CRITICAL: Acquire " + skill.getSkill() + 
-                                  " certification (Impact: " + skill.getImpactOnScore() + " points)");
-            }
-        }
-        
-        // Recommend best scenario
-        WhatIfScenario bestScenario = gap.getWhatIfScenarios().stream()
-            .max(Comparator.comparing(s -> s.getNewQualificationPercentage() / s.getInvestment()))
-            .orElse(null);
-        
-        if (bestScenario != null) {
-            recommendations.add("RECOMMENDED: Pursue '" + bestScenario.getScenarioName() + 
-                              "' strategy for best ROI");
-        }
-        
-        // Check team availability
-        long availableStaff = request.getEmployeeData().stream()
-            .filter(e -> e.getAvailabilityPercentage() >= 75)
-            .count();
-        
-        if (availableStaff < 3) {
-            recommendations.add("WARNING: Limited staff availability may impact delivery");
-        }
-        
-        return recommendations;
+        return profiler.recommendations(request, () -> recommendationRules.evaluate(request).getRecommendations());
     }
 
     // Helper methods
@@ -326,15 +514,77 @@ public class PromptGeneratorService {
             .orElse(request.getSkillsGapAnalysis().getCurrentQualificationPercentage());
     }
 
+    private void appendEmployeeProfile(StringBuilder prompt, Employee emp) {
+        prompt.append("Role: ").append(emp.getTitle()).append("\n");
+        prompt.append("Experience: ").append(emp.getYearsExperience()).append(" years\n");
+        prompt.append("Key Skills: ");
+        
+        String skills = emp.getCurrentSkills().stream()
+            .filter(s -> s.getProficiencyLevel().equals("Expert") || 
+                        s.getProficiencyLevel().equals("Advanced"))
+            .map(Skill::getSkillName)
+            .collect(Collectors.joining(", "));
+        prompt.append(skills).append("\n");
+        
+        prompt.append("Certifications: ");
+        String certs = emp.getCurrentCertifications().stream()
+            .map(Certification::getCertName)
+            .collect(Collectors.joining(", "));
+        prompt.append(certs).append("\n");
+        
+        if (!emp.getPlannedCertifications().isEmpty()) {
+            prompt.append("Planned Certifications: ");
+            String planned = emp.getPlannedCertifications().stream()
+                .map(pc -> pc.getCertName() + " (by " + pc.getPlannedCompletion() + ")")
+                .collect(Collectors.joining(", "));
+            prompt.append(planned).append("\n");
+        }
+    }
+
+    private void appendProjectProfile(StringBuilder prompt, ProjectExperience project) {
+        prompt.append("Client: ").append(project.getClient()).append("\n");
+        prompt.append("Industry: ").append(project.getIndustry()).append("\n");
+        prompt.append("Value: ").append(project.getContractValue()).append("\n");
+        prompt.append("Duration: ").append(project.getDuration()).append("\n");
+        
+        if (project.getSuccessMetrics() != null) {
+            prompt.append("Performance: ");
+            prompt.append("On-Time: ").append(project.getSuccessMetrics().getOnTime()).append(", ");
+            prompt.append("On-Budget: ").append(project.getSuccessMetrics().getOnBudget()).append(", ");
+            prompt.append("Client Satisfaction: ").append(project.getSuccessMetrics().getClientSatisfaction()).append("\n");
+        }
+    }
+
+    private String employeeRef(SharedContext context, String employeeId) {
+        return context != null ? context.employeeKey(employeeId) : employeeId;
+    }
+
+    private void appendEvidence(StringBuilder prompt, String prefix, EvidenceSnippet snippet, SharedContext context) {
+        prompt.append(prefix).append("[").append(snippet.getSourceId()).append("]");
+        if (context == null || !context.isQuoted(snippet)) prompt.append(" ").append(snippet.getText());
+        prompt.append("\n");
+    }
+
+    private void quoteEvidence(StringBuilder block, EvidenceSnippet snippet, SharedContext context) {
+        appendEvidence(block, "- ", snippet, null);
+        context.quote(snippet);
+    }
+
+    private String money(Double amount) {
+        return String.format(Locale.US, "$%,.0f", amount);
+    }
+
     private int getRelevantProjectCount(ProposalGenerationRequest request) {
         return request.getProjectExperience().size();
     }
 
     private String assessCapability(ProposalGenerationRequest request, Requirement req) {
-        // Check if we have employees with required skills
+        // Check if we have employees with required skills, or narrower ones ("Azure DevOps" for "DevOps")
+        CompiledTaxonomy taxonomy = skillTaxonomy.current();
         long qualifiedCount = request.getEmployeeData().stream()
             .filter(emp -> emp.getCurrentSkills().stream()
-                .anyMatch(skill -> req.getRequiredSkills().contains(skill.getSkillName())))
+                .anyMatch(skill -> req.getRequiredSkills().stream().anyMatch(required ->
+                    required.equals(skill.getSkillName()) || taxonomy.isA(skill.getSkillName(), required))))
             .count();
         
         if (qualifiedCount >= 2) return "Strong - Multiple qualified staff";
@@ -0,0 +1,44 @@
+package ai.zactonics.genproposal.service;
+
+/**
+ * Rough LLM token count for prompt text, close to what BPE tokenizers produce for English
+ * prose: a short word is one token and longer words a few, digits go in groups of three,
+ * each punctuation mark is a token and a run of line breaks is one. Good for comparing
+ * two layouts of the same content, not for billing.
+ */
+public final class PromptTokenEstimator {
+
+    private static final int LETTERS_PER_TOKEN = 8;
+    private static final int DIGITS_PER_TOKEN = 3;
+
+    private PromptTokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null) return 0;
+        int tokens = 0;
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            char c = text.charAt(i);
+            int start = i;
+            if (Character.isLetter(c)) {
+                while (i < n && Character.isLetter(text.charAt(i))) i++;
+                tokens += (i - start + LETTERS_PER_TOKEN - 1) / LETTERS_PER_TOKEN;
+            } else if (Character.isDigit(c)) {
+                while (i < n && Character.isDigit(text.charAt(i))) i++;
+                tokens += (i - start + DIGITS_PER_TOKEN - 1) / DIGITS_PER_TOKEN;
+            } else if (c == '\n') {
+                while (i < n && text.charAt(i) == '\n') i++;
+                tokens++;
+            } else if (Character.isWhitespace(c)) {
+                // a space is merged into the word that follows it
+                i++;
+            } else {
+                i++;
+                tokens++;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,57 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.admission.AdmissionControl;
+import ai.zactonics.genproposal.history.ProposalHistoryStore;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.ProposalGenerationResponse;
+import ai.zactonics.genproposal.profiling.ProposalProfiler;
+import ai.zactonics.genproposal.resolution.EntityResolutionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+
+/**
+ * A full generate-proposal run: admission, result cache, entity resolution, generation and
+ * history, shared by the request-body and server-side roster endpoints.
+ */
+@Service
+public class ProposalPipeline {
+
+    @Autowired
+    private PromptGeneratorService promptService;
+
+    @Autowired
+    private RequestFingerprintService fingerprintService;
+
+    @Autowired
+    private ProposalResultCache resultCache;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private ProposalHistoryStore historyStore;
+
+    @Autowired
+    private EntityResolutionService entityResolution;
+
+    @Autowired
+    private ProposalProfiler profiler;
+
+    public ProposalGenerationResponse generate(ProposalGenerationRequest request) {
+        long cost = admissionControl.estimateCost(request);
+        // pin the training timeline's start before hashing, so a cached result or history record is only
+        // reused on the day it was generated for
+        if (request.getTrainingStartDate() == null) request.setTrainingStartDate(LocalDate.now());
+        String fingerprint = fingerprintService.fingerprint(request);
+        return profiler.generation(request, fingerprint, computed -> resultCache.getOrGenerate(fingerprint, () -> {
+            computed.run();
+            ProposalGenerationResponse generated;
+            try (AdmissionControl.Permit permit = admissionControl.admit(cost)) {
+                generated = promptService.generateProposal(entityResolution.deduplicate(request));
+            }
+            historyStore.record(fingerprint, request, generated);
+            return generated;
+        }));
+    }
+}
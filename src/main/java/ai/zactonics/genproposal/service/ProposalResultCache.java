@@ -0,0 +1,45 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.cluster.ClusterCache;
+import ai.zactonics.genproposal.cluster.ClusteredCache;
+import ai.zactonics.genproposal.model.ProposalGenerationResponse;
+import ai.zactonics.genproposal.rules.RecommendationRules;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.function.Supplier;
+
+/**
+ * Generated proposals keyed by request fingerprint, partitioned per tenant and shared across
+ * instances through the cluster tier when proposal.cluster.enabled is set. Keys include the
+ * recommendation rule set and skill taxonomy versions, so reloading either does not serve stale results.
+ */
+@Component
+public class ProposalResultCache {
+
+    @Autowired
+    private ClusterCache clusterCache;
+
+    @Autowired
+    private RecommendationRules recommendationRules;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @Value("${proposal.cache.max-entries-per-tenant:64}")
+    private int maxEntriesPerTenant;
+
+    private ClusteredCache<ProposalGenerationResponse> cache;
+
+    @PostConstruct
+    void init() {
+        cache = clusterCache.cache("proposal-results", ProposalGenerationResponse.class, maxEntriesPerTenant);
+    }
+
+    public ProposalGenerationResponse getOrGenerate(String fingerprint, Supplier<ProposalGenerationResponse> generator) {
+        return cache.getOrCompute(fingerprint + "/" + recommendationRules.version() + "/" + skillTaxonomy.version(),
+            generator);
+    }
+}
@@ -0,0 +1,172 @@
+package ai.zactonics.genproposal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The generated parts of a ProposalGenerationResponse and the request fields each one reads.
+ *
+ * Paths use '.' for properties, '[]' to step into every list element and '#count' for a
+ * list's size, e.g. "employeeData[].hourlyRate". They mirror what the matching
+ * PromptGeneratorService method (and its helpers) read; update both together.
+ * ProposalSectionInputsTests changes each field of the sample request in turn and fails when a
+ * section reacts to a field it does not declare.
+ */
+public enum ProposalSectionType {
+
+    EXECUTIVE_SUMMARY("executiveSummaryPrompt", "Executive Summary", paths(
+        "rfpData.title",
+        "companyCapabilities.coreCompetencies[].capability",
+        "companyCapabilities.coreCompetencies[].yearsExperience",
+        "companyCapabilities.coreCompetencies[].successfulProjects",
+        "skillsGapAnalysis.currentQualificationPercentage",
+        "skillsGapAnalysis.whatIfScenarios[].newQualificationPercentage",
+        "employeeData#count",
+        "projectExperience#count")),
+
+    TECHNICAL_APPROACH("technicalApproachPrompt", "Technical Approach", paths(
+        List.of(
+            "rfpData.extractedRequirements.mandatoryRequirements[].description",
+            "rfpData.extractedRequirements.mandatoryRequirements[].requiredSkills",
+            "employeeData[].currentSkills[].skillName",
+            "projectExperience[].projectName",
+            "projectExperience[].contractValue"),
+        Dependencies.EVIDENCE)),
+
+    TEAM_QUALIFICATIONS("teamQualificationsPrompt", "Team Qualifications", paths(
+        List.of(
+            "employeeData[].name",
+            "employeeData[].title",
+            "employeeData[].yearsExperience",
+            "employeeData[].currentSkills[].skillName",
+            "employeeData[].currentSkills[].proficiencyLevel",
+            "employeeData[].currentCertifications[].certName",
+            "employeeData[].plannedCertifications[].certName",
+            "employeeData[].plannedCertifications[].plannedCompletion"),
+        Dependencies.EVIDENCE)),
+
+    PAST_PERFORMANCE("pastPerformancePrompt", "Past Performance", paths(
+        List.of(
+            "projectExperience[].projectName",
+            "projectExperience[].client",
+            "projectExperience[].industry",
+            "projectExperience[].contractValue",
+            "projectExperience[].duration",
+            "projectExperience[].successMetrics.onTime",
+            "projectExperience[].successMetrics.onBudget",
+            "projectExperience[].successMetrics.clientSatisfaction"),
+        Dependencies.EVIDENCE)),
+
+    SKILLS_DEVELOPMENT("skillsDevelopmentPrompt", "Skills Development Plan", paths(
+        "skillsGapAnalysis.currentQualificationPercentage",
+        "skillsGapAnalysis.missingSkills[].skill",
+        "skillsGapAnalysis.missingSkills[].requiredCount",
+        "skillsGapAnalysis.missingSkills[].currentCount",
+        "skillsGapAnalysis.trainingRecommendations[].employeeId",
+        "skillsGapAnalysis.trainingRecommendations[].recommendedCert",
+        "skillsGapAnalysis.trainingRecommendations[].timelineWeeks",
+        "skillsGapAnalysis.trainingRecommendations[].cost",
+        "skillsGapAnalysis.whatIfScenarios[].scenarioName",
+        "skillsGapAnalysis.whatIfScenarios[].investment",
+        "skillsGapAnalysis.whatIfScenarios[].timelineWeeks",
+        "skillsGapAnalysis.whatIfScenarios[].newQualificationPercentage",
+        "skillsGapAnalysis.whatIfScenarios[].potentialRevenue",
+        // training timeline (TrainingScheduleService)
+        "trainingStartDate",
+        "rfpData.dueDate",
+        "rfpData.extractedRequirements.mandatoryRequirements[].reqId",
+        "rfpData.extractedRequirements.mandatoryRequirements[].requiredSkills",
+        "rfpData.extractedRequirements.mandatoryRequirements[].requiredCertifications",
+        "employeeData[].employeeId",
+        "employeeData[].availabilityPercentage",
+        "employeeData[].currentSkills[].skillName",
+        "employeeData[].currentCertifications[].certId",
+        "employeeData[].currentCertifications[].certName",
+        "employeeData[].currentCertifications[].status",
+        "employeeData[].currentCertifications[].expiryDate",
+        "employeeData[].plannedCertifications[].certId",
+        "employeeData[].plannedCertifications[].certName",
+        "employeeData[].plannedCertifications[].completionPercentage")),
+
+    COST_PROPOSAL("costProposalPrompt", "Cost Proposal", paths(
+        "rfpData.contractValue",
+        "rfpData.contractDuration",
+        "employeeData[].name",
+        "employeeData[].title",
+        "employeeData[].hourlyRate",
+        "employeeData[].availabilityPercentage",
+        "skillsGapAnalysis.trainingRecommendations[].cost")),
+
+    QUALIFICATION_SCORE("qualificationScore", "Qualification Score", paths(
+        "skillsGapAnalysis.currentQualificationPercentage",
+        "skillsGapAnalysis.whatIfScenarios[].scenarioName",
+        "skillsGapAnalysis.whatIfScenarios[].newQualificationPercentage",
+        "skillsGapAnalysis.missingSkills[].skill",
+        "skillsGapAnalysis.missingSkills[].impactOnScore")),
+
+    // what the default rule set reads; the tracker asks RecommendationRules for the active set's paths
+    RECOMMENDATIONS("recommendations", "Recommendations", paths(
+        "skillsGapAnalysis.currentQualificationPercentage",
+        "skillsGapAnalysis.missingSkills[].skill",
+        "skillsGapAnalysis.missingSkills[].impactOnScore",
+        "skillsGapAnalysis.whatIfScenarios[].scenarioName",
+        "skillsGapAnalysis.whatIfScenarios[].newQualificationPercentage",
+        "skillsGapAnalysis.whatIfScenarios[].investment",
+        "employeeData[].availabilityPercentage"));
+
+    private final String responseField;
+    private final String displayName;
+    private final List<String> inputPaths;
+
+    ProposalSectionType(String responseField, String displayName, List<String> inputPaths) {
+        this.responseField = responseField;
+        this.displayName = displayName;
+        this.inputPaths = inputPaths;
+    }
+
+    public String getResponseField() {
+        return responseField;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public List<String> getInputPaths() {
+        return inputPaths;
+    }
+
+    /** True for the six prompt sections that make up completeProposal. */
+    public boolean isPromptSection() {
+        return this != QUALIFICATION_SCORE && this != RECOMMENDATIONS;
+    }
+
+    private static List<String> paths(String... paths) {
+        return List.of(paths);
+    }
+
+    private static List<String> paths(List<String> own, List<String> shared) {
+        List<String> all = new ArrayList<>(own);
+        shared.stream().filter(p -> !all.contains(p)).forEach(all::add);
+        return List.copyOf(all);
+    }
+
+    static final class Dependencies {
+        // Evidence ranking (EvidenceRetrievalService) reads every requirement and every indexed text:
+        // BM25 idf depends on the whole corpus, not only the snippets that end up cited.
+        static final List<String> EVIDENCE = List.of(
+            "rfpData.extractedRequirements.mandatoryRequirements[].reqId",
+            "rfpData.extractedRequirements.mandatoryRequirements[].description",
+            "rfpData.extractedRequirements.mandatoryRequirements[].requiredSkills",
+            "rfpData.extractedRequirements.mandatoryRequirements[].requiredCertifications",
+            "rfpData.extractedRequirements.preferredRequirements[].reqId",
+            "rfpData.extractedRequirements.preferredRequirements[].description",
+            "rfpData.extractedRequirements.preferredRequirements[].requiredSkills",
+            "rfpData.extractedRequirements.preferredRequirements[].requiredCertifications",
+            "employeeData[].employeeId",
+            "employeeData[].resumeHighlights",
+            "projectExperience[].projectId",
+            "projectExperience[].keyAchievements",
+            "projectExperience[].lessonsLearned");
+    }
+}
@@ -0,0 +1,77 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import java.util.*;
+
+/**
+ * Evidence for one proposal request: the top snippets per requirement, searched once up front in
+ * the roster's {@link EvidenceIndex} by {@link EvidenceRetrievalService#forRequest} and passed to every
+ * section that cites evidence. Holds no reference to the index, which may be a long-lived one that
+ * later roster writes update.
+ */
+public final class RequestEvidence {
+
+    private final Map<String, List<EvidenceSnippet>> byRequirement = new LinkedHashMap<>();
+    // requirements without a reqId are looked up by instance
+    private final Map<Requirement, List<EvidenceSnippet>> unidentified = new IdentityHashMap<>();
+
+    RequestEvidence(ProposalGenerationRequest request, EvidenceIndex index) {
+        for (Requirement req : requirements(request)) {
+            if (req.getReqId() != null) byRequirement.put(req.getReqId(), search(index, req));
+            else unidentified.put(req, search(index, req));
+        }
+    }
+
+    /** Evidence for one of the request's requirements; empty for a requirement the request does not contain. */
+    public List<EvidenceSnippet> evidenceFor(Requirement req) {
+        List<EvidenceSnippet> evidence = req.getReqId() != null ? byRequirement.get(req.getReqId()) : unidentified.get(req);
+        return evidence != null ? evidence : List.of();
+    }
+
+    /** Evidence for every mandatory and preferred requirement, keyed by reqId. */
+    public Map<String, List<EvidenceSnippet>> byRequirement() {
+        return Collections.unmodifiableMap(byRequirement);
+    }
+
+    /** Evidence owned by one employee or project that supports at least one requirement, in source order. */
+    public List<EvidenceSnippet> citedEvidence(String ownerId, String sourceType) {
+        Map<String, EvidenceSnippet> cited = new TreeMap<>(Comparator
+            .comparingInt(RequestEvidence::sourceOrdinal)
+            .thenComparing(Comparator.naturalOrder()));
+        for (List<EvidenceSnippet> snippets : byRequirement.values()) {
+            for (EvidenceSnippet snippet : snippets) {
+                if (Objects.equals(snippet.getOwnerId(), ownerId) && snippet.getSourceType().equals(sourceType)) {
+                    cited.putIfAbsent(snippet.getSourceId(), snippet);
+                }
+            }
+        }
+        return new ArrayList<>(cited.values());
+    }
+
+    private static List<EvidenceSnippet> search(EvidenceIndex index, Requirement req) {
+        StringBuilder query = new StringBuilder();
+        if (req.getDescription() != null) query.append(req.getDescription());
+        if (req.getRequiredSkills() != null) req.getRequiredSkills().forEach(s -> query.append(' ').append(s));
+        if (req.getRequiredCertifications() != null) req.getRequiredCertifications().forEach(c -> query.append(' ').append(c));
+        return index.search(query.toString(), EvidenceRetrievalService.EVIDENCE_PER_REQUIREMENT);
+    }
+
+    private static List<Requirement> requirements(ProposalGenerationRequest request) {
+        List<Requirement> all = new ArrayList<>();
+        if (request.getRfpData() == null || request.getRfpData().getExtractedRequirements() == null) return all;
+        ExtractedRequirements extracted = request.getRfpData().getExtractedRequirements();
+        if (extracted.getMandatoryRequirements() != null) all.addAll(extracted.getMandatoryRequirements());
+        if (extracted.getPreferredRequirements() != null) all.addAll(extracted.getPreferredRequirements());
+        return all;
+    }
+
+    // "EMP-001/highlight-3" -> 3
+    private static int sourceOrdinal(String sourceId) {
+        int dash = sourceId.lastIndexOf('-');
+        try {
+            return Integer.parseInt(sourceId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ai.zactonics.genproposal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hash of a request (SHA-256 over canonical JSON with sorted map keys),
+ * used as the cache / history key for identical inputs.
+ */
+@Service
+public class RequestFingerprintService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper canonicalMapper;
+
+    @PostConstruct
+    void init() {
+        canonicalMapper = objectMapper.copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(SerializationFeature.INDENT_OUTPUT, false);
+    }
+
+    public String fingerprint(Object value) {
+        try {
+            byte[] json = canonicalMapper.writeValueAsBytes(value);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.taxonomy.CompiledTaxonomy;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic extraction of structured RfpData / ExtractedRequirements from SampleRfp free text.
+ *
+ * Skills and certifications are found with one Aho-Corasick pass per line over the
+ * vocabulary below; "N positions" and "N+ years" are parsed with precompiled patterns.
+ * The automaton is built once and shared, so batches extract in parallel. Names and aliases from
+ * the skill taxonomy extend the vocabulary; the automaton is rebuilt when the taxonomy is reloaded.
+ */
+@Service
+public class RequirementExtractionService {
+
+    private static final Pattern POSITIONS = Pattern.compile("(\\d+)\\s+(?:positions?|openings?|seats?|FTEs?)\\b",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern YEARS = Pattern.compile("(\\d+)\\s*\\+?\\s*(?:years?|yrs?)\\b",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern LONG_DATE = Pattern.compile("[A-Z][a-z]+ \\d{1,2}, \\d{4}");
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final DateTimeFormatter LONG_DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.US);
+
+    enum TermKind { SKILL, CERTIFICATION }
+
+    record Term(String canonical, TermKind kind) {
+    }
+
+    // surface form -> canonical skill
+    private static final Map<String, String> DEFAULT_SKILLS = new LinkedHashMap<>();
+    // surface form -> canonical certification id
+    private static final Map<String, String> DEFAULT_CERTIFICATIONS = new LinkedHashMap<>();
+
+    static {
+        skill("Azure", "Microsoft Azure", "Azure cloud", "Azure services");
+        skill("Azure Solutions Architect", "Azure Solutions Architecture", "Azure architecture");
+        skill("Azure DevOps");
+        skill("Azure Security");
+        skill("AWS", "Amazon Web Services", "AWS Architecture");
+        skill("Cloud Migration", "large-scale cloud migration", "migration to Azure", "migrate to Azure");
+        skill("Cloud Governance", "cloud governance");
+        skill("Cloud Security", "security frameworks");
+        skill("Zero Trust Architecture", "zero-trust", "zero trust", "zero-trust security architecture");
+        skill("DevOps", "DevOps practices");
+        skill("CI/CD", "CI/CD pipelines", "continuous integration", "continuous delivery");
+        skill("Automation", "automation capabilities");
+        skill("Containerization", "container platforms", "container orchestration");
+        skill("Docker");
+        skill("Kubernetes", "K8s", "AKS");
+        skill("Terraform", "Infrastructure as Code", "IaC");
+        skill("Network Security");
+        skill("Data Migration", "data migration");
+        skill("Data Engineering");
+        skill("Regulatory Compliance", "regulations and compliance", "compliance frameworks");
+        skill("Financial Services", "financial services");
+        skill("Project Management");
+        skill("Knowledge Transfer", "knowledge transfer", "training and knowledge transfer");
+        skill("High Availability", "99.99% uptime", "99.9% uptime", "uptime SLA");
+
+        certification("AZ-305", "AZ-305", "Azure Solutions Architect Expert");
+        certification("AZ-400", "AZ-400", "Azure DevOps Engineer Expert", "Azure DevOps certified");
+        certification("AZ-500", "AZ-500", "Azure Security Engineer", "Azure Security Engineer Associate");
+        certification("AZ-104", "AZ-104", "Azure Administrator");
+        certification("CISSP", "CISSP");
+        certification("PMP", "PMP", "PMP certified");
+        certification("CCSP", "CCSP");
+        certification("CKA", "CKA", "Certified Kubernetes Administrator");
+        certification("ISO 27001", "ISO 27001", "ISO/IEC 27001");
+        certification("PCI-DSS", "PCI-DSS", "PCI DSS");
+    }
+
+    private static void skill(String canonical, String... aliases) {
+        DEFAULT_SKILLS.put(canonical, canonical);
+        for (String alias : aliases) DEFAULT_SKILLS.put(alias, canonical);
+    }
+
+    private static void certification(String canonical, String... aliases) {
+        for (String alias : aliases) DEFAULT_CERTIFICATIONS.put(alias, canonical);
+    }
+
+    @Autowired
+    private TenantExecutors tenantExecutors;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    private record DefaultMatcher(String taxonomyVersion, AhoCorasickMatcher<Term> matcher) {
+    }
+
+    private volatile DefaultMatcher defaultMatcher;
+
+    @PostConstruct
+    void init() {
+        defaultMatcher();
+    }
+
+    public RfpData extract(SampleRfp rfp) {
+        return extract(rfp, defaultMatcher());
+    }
+
+    /** Extracts a batch in parallel, in input order. */
+    public List<RfpData> extractAll(List<SampleRfp> rfps) {
+        AhoCorasickMatcher<Term> active = defaultMatcher();
+        return tenantExecutors.invoke(() -> rfps.parallelStream()
+            .map(rfp -> extract(rfp, active))
+            .toList());
+    }
+
+    private RfpData extract(SampleRfp sample, AhoCorasickMatcher<Term> active) {
+        RfpData rfp = new RfpData();
+        rfp.setRfpId(sample.getRfpNumber());
+        rfp.setTitle(sample.getTitle());
+        rfp.setIssuingOrganization(sample.getIssuingOrganization());
+        rfp.setDueDate(parseDate(sample.getSubmissionDeadline()));
+
+        if (sample.getEvaluationCriteria() != null) {
+            Map<String, Integer> criteria = new LinkedHashMap<>();
+            sample.getEvaluationCriteria().forEach((name, weight) -> criteria.put(TextNormalizer.toKey(name), weight));
+            rfp.setEvaluationCriteria(criteria);
+        }
+
+        List<Requirement> mandatory = new ArrayList<>();
+        if (sample.getTechnicalRequirements() != null) {
+            for (String line : sample.getTechnicalRequirements()) {
+                mandatory.add(toRequirement(String.format("MR-%03d", mandatory.size() + 1), line, active));
+            }
+        }
+
+        Map<String, Integer> teamComposition = new LinkedHashMap<>();
+        if (sample.getStaffingRequirements() != null) {
+            int index = 1;
+            for (Map.Entry<String, String> entry : sample.getStaffingRequirements().entrySet()) {
+                String role = entry.getKey();
+                String detail = entry.getValue() != null ? entry.getValue() : "";
+                teamComposition.put(TextNormalizer.toKey(role), parsePositions(detail));
+
+                Requirement req = toRequirement(String.format("SR-%03d", index++), role + ": " + detail, active);
+                req.setCategory("staffing");
+                mandatory.add(req);
+            }
+        }
+
+        List<Requirement> preferred = new ArrayList<>();
+        if (sample.getScopeOfWork() != null) {
+            for (String line : sample.getScopeOfWork()) {
+                Requirement req = toRequirement(String.format("PR-%03d", preferred.size() + 1), line, active);
+                // scope items only become requirements when they name something we can staff against
+                if (!req.getRequiredSkills().isEmpty() || !req.getRequiredCertifications().isEmpty()) {
+                    preferred.add(req);
+                }
+            }
+        }
+
+        ExtractedRequirements extracted = new ExtractedRequirements();
+        extracted.setMandatoryRequirements(mandatory);
+        extracted.setPreferredRequirements(preferred);
+        extracted.setTeamCompositionRequirements(teamComposition);
+        rfp.setExtractedRequirements(extracted);
+        return rfp;
+    }
+
+    private Requirement toRequirement(String reqId, String text, AhoCorasickMatcher<Term> active) {
+        Set<String> skills = new LinkedHashSet<>();
+        Set<String> certs = new LinkedHashSet<>();
+        for (AhoCorasickMatcher.Match<Term> match : active.findAll(text)) {
+            if (match.payload().kind() == TermKind.SKILL) skills.add(match.payload().canonical());
+            else certs.add(match.payload().canonical());
+        }
+
+        Requirement req = new Requirement();
+        req.setReqId(reqId);
+        req.setDescription(text);
+        req.setCategory(categorize(text, skills));
+        req.setRequiredSkills(new ArrayList<>(skills));
+        req.setRequiredCertifications(new ArrayList<>(certs));
+        req.setMinYearsExperience(parseYears(text));
+        return req;
+    }
+
+    private String categorize(String text, Set<String> skills) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.contains("security") || skills.contains("Zero Trust Architecture")) return "security";
+        if (lower.contains("compliance") || lower.contains("regulat")) return "compliance";
+        if (lower.contains("uptime") || lower.contains("support") || lower.contains("sla")) return "operations";
+        return "technical";
+    }
+
+    int parsePositions(String text) {
+        Matcher m = POSITIONS.matcher(text);
+        return m.find() ? Integer.parseInt(m.group(1)) : 1;
+    }
+
+    Integer parseYears(String text) {
+        Matcher m = YEARS.matcher(text);
+        int max = 0;
+        while (m.find()) {
+            max = Math.max(max, Integer.parseInt(m.group(1)));
+        }
+        return max > 0 ? max : null;
+    }
+
+    private LocalDate parseDate(String text) {
+        if (text == null) return null;
+        try {
+            Matcher iso = ISO_DATE.matcher(text);
+            if (iso.find()) return LocalDate.parse(iso.group());
+            Matcher longDate = LONG_DATE.matcher(text);
+            if (longDate.find()) return LocalDate.parse(longDate.group(), LONG_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            // unparseable deadlines are left for a human to fill in
+        }
+        return null;
+    }
+
+    private AhoCorasickMatcher<Term> defaultMatcher() {
+        CompiledTaxonomy taxonomy = skillTaxonomy.current();
+        DefaultMatcher current = defaultMatcher;
+        if (current == null || !current.taxonomyVersion().equals(taxonomy.version())) {
+            current = new DefaultMatcher(taxonomy.version(), compile(taxonomy));
+            defaultMatcher = current;
+        }
+        return current.matcher();
+    }
+
+    private AhoCorasickMatcher<Term> compile(CompiledTaxonomy taxonomy) {
+        Map<String, Term> vocabulary = new LinkedHashMap<>();
+        DEFAULT_SKILLS.forEach((surface, canonical) -> vocabulary.put(surface, new Term(canonical, TermKind.SKILL)));
+        taxonomy.surfaceForms(false).forEach((surface, canonical) ->
+            vocabulary.putIfAbsent(surface, new Term(canonical, TermKind.SKILL)));
+
+        // certifications win when a surface form is also listed as a skill
+        DEFAULT_CERTIFICATIONS.forEach((surface, canonical) ->
+            vocabulary.put(surface, new Term(canonical, TermKind.CERTIFICATION)));
+        taxonomy.surfaceForms(true).forEach((surface, canonical) ->
+            vocabulary.putIfAbsent(surface, new Term(canonical, TermKind.CERTIFICATION)));
+        return AhoCorasickMatcher.build(vocabulary);
+    }
+}
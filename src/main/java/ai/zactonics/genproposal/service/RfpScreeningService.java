@@ -0,0 +1,333 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.taxonomy.CompiledTaxonomy;
+import ai.zactonics.genproposal.taxonomy.SkillRollup;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.*;
+
+/**
+ * Bid/no-bid screening: scores many RFPs against one roster and ranks them by fit.
+ *
+ * The roster is indexed once per screening run, including its roll-up over the skill
+ * taxonomy, so a requirement for "Cloud Security" is met by "Azure Security"; each RFP is then scored
+ * independently, so scoring runs as a parallel stream on the tenant's pool and
+ * only the top-K results are kept in a bounded heap. Equal fit scores are ranked by rfpId,
+ * so the same batch always returns the same top-K.
+ *
+ * An RFP with no mandatory requirements has nothing to measure the roster against: it is
+ * flagged, scored with zero coverage, ranked after every RFP that has requirements and left
+ * for a human to REVIEW.
+ */
+@Service
+public class RfpScreeningService {
+
+    private static final int DEFAULT_TOP_K = 25;
+    private static final double BID_THRESHOLD = 0.70;
+    private static final double REVIEW_THRESHOLD = 0.50;
+    private static final double MIN_MANDATORY_COVERAGE = 0.50;
+
+    // RFPs with requirements first, then higher fit; ties by rfpId ascending, RFPs without an id last
+    private static final Comparator<RfpFitScore> RANKING = Comparator
+        .comparing((RfpFitScore score) -> Boolean.TRUE.equals(score.getNoMandatoryRequirements()))
+        .thenComparing(Comparator.comparingDouble(RfpFitScore::getFitScore).reversed())
+        .thenComparing(RfpFitScore::getRfpId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private TenantExecutors tenantExecutors;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    public RfpScreeningResponse screen(RfpScreeningRequest request) {
+        long start = System.nanoTime();
+        List<RfpData> rfps = request.getRfps() != null ? request.getRfps() : List.of();
+        int topK = request.getTopK() != null && request.getTopK() > 0 ? request.getTopK() : DEFAULT_TOP_K;
+
+        RosterIndex roster = new RosterIndex(request.getEmployeeData(), request.getCompanyCapabilities(),
+            skillTaxonomy.current());
+
+        List<RfpFitScore> scores = tenantExecutors.invoke(() -> rfps.parallelStream()
+            .filter(Objects::nonNull)
+            .map(rfp -> score(rfp, roster))
+            .toList());
+
+        RfpScreeningResponse response = new RfpScreeningResponse();
+        response.setScreenedCount(scores.size());
+        response.setRankedRfps(topK(scores, topK));
+        response.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    public RfpFitScore score(RfpData rfp, RosterIndex roster) {
+        ExtractedRequirements extracted = rfp.getExtractedRequirements();
+        List<Requirement> mandatory = extracted != null && extracted.getMandatoryRequirements() != null
+            ? extracted.getMandatoryRequirements() : List.of();
+
+        double weightedCoverage = 0;
+        double totalWeight = 0;
+        List<String> uncovered = new ArrayList<>();
+        for (Requirement req : mandatory) {
+            double coverage = roster.coverage(req);
+            double weight = req.getWeight() != null && req.getWeight() > 0 ? req.getWeight() : 1;
+            weightedCoverage += coverage * weight;
+            totalWeight += weight;
+            if (coverage == 0) uncovered.add(req.getReqId());
+        }
+        boolean noMandatoryRequirements = mandatory.isEmpty();
+        double mandatoryCoverage = noMandatoryRequirements ? 0 : weightedCoverage / totalWeight;
+        double teamCoverage = roster.staffingCoverage(extracted);
+        double experienceScore = roster.experienceScore(rfp);
+
+        double fitScore = weightedFit(rfp.getEvaluationCriteria(), mandatoryCoverage, teamCoverage, experienceScore);
+
+        RfpFitScore score = new RfpFitScore();
+        score.setRfpId(rfp.getRfpId());
+        score.setTitle(rfp.getTitle());
+        score.setFitScore(round(fitScore));
+        score.setMandatoryCoverage(round(mandatoryCoverage));
+        score.setTeamCoverage(round(teamCoverage));
+        score.setExperienceScore(round(experienceScore));
+        score.setUncoveredRequirements(uncovered);
+        score.setNoMandatoryRequirements(noMandatoryRequirements);
+        score.setBidDecision(noMandatoryRequirements ? "REVIEW" : decide(fitScore, mandatoryCoverage));
+        return score;
+    }
+
+    /**
+     * Maps evaluation criteria onto the signals we can measure. Criteria we cannot
+     * assess from the roster (price, innovation, ...) are left out of the weighting.
+     */
+    private double weightedFit(Map<String, Integer> criteria, double coverage, double team, double experience) {
+        double technical = 0, staffing = 0, performance = 0;
+        if (criteria != null) {
+            for (Map.Entry<String, Integer> entry : criteria.entrySet()) {
+                String key = TextNormalizer.toKey(entry.getKey());
+                int weight = entry.getValue() != null ? entry.getValue() : 0;
+                if (key.contains("technical")) technical += weight;
+                else if (key.contains("team") || key.contains("staff") || key.contains("personnel")) staffing += weight;
+                else if (key.contains("past_performance") || key.contains("experience")) performance += weight;
+            }
+        }
+        double total = technical + staffing + performance;
+        if (total == 0) {
+            technical = 0.5;
+            staffing = 0.25;
+            performance = 0.25;
+            total = 1;
+        }
+        return (technical * coverage + staffing * team + performance * experience) / total;
+    }
+
+    private String decide(double fitScore, double mandatoryCoverage) {
+        if (mandatoryCoverage < MIN_MANDATORY_COVERAGE) return "NO_BID";
+        if (fitScore >= BID_THRESHOLD) return "BID";
+        if (fitScore >= REVIEW_THRESHOLD) return "REVIEW";
+        return "NO_BID";
+    }
+
+    private List<RfpFitScore> topK(List<RfpFitScore> scores, int k) {
+        // the heap's head is the worst of the kept scores
+        PriorityQueue<RfpFitScore> heap = new PriorityQueue<>(k + 1, RANKING.reversed());
+        for (RfpFitScore score : scores) {
+            if (heap.size() < k) {
+                heap.add(score);
+            } else if (RANKING.compare(score, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(score);
+            }
+        }
+        List<RfpFitScore> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * Read-only lookup structures over one roster, shared by all scoring threads.
+     */
+    public static class RosterIndex {
+        private final Map<String, Integer> skillYears = new HashMap<>();
+        private final Set<String> certifications = new HashSet<>();
+        private final SkillRollup rollup;
+        private final List<Set<String>> titles = new ArrayList<>();
+        private final List<WeightedTerms> industries = new ArrayList<>();
+        private final List<WeightedTerms> competencies = new ArrayList<>();
+
+        public RosterIndex(List<Employee> employees, CompanyCapabilities capabilities, CompiledTaxonomy taxonomy) {
+            List<Employee> roster = employees != null ? employees : List.of();
+            rollup = taxonomy.rollup(roster);
+            for (Employee emp : roster) {
+                titles.add(roleTerms(emp.getTitle()));
+                int years = emp.getYearsExperience() != null ? emp.getYearsExperience() : 0;
+                if (emp.getCurrentSkills() != null) {
+                    for (Skill skill : emp.getCurrentSkills()) {
+                        int skillYears = skill.getYearsExperience() != null ? skill.getYearsExperience() : years;
+                        this.skillYears.merge(TextNormalizer.normalize(skill.getSkillName()), skillYears, Math::max);
+                    }
+                }
+                if (emp.getCurrentCertifications() != null) {
+                    for (Certification cert : emp.getCurrentCertifications()) {
+                        if (cert.getCertId() != null) certifications.add(TextNormalizer.normalize(cert.getCertId()));
+                        if (cert.getCertName() != null) certifications.add(TextNormalizer.normalize(cert.getCertName()));
+                    }
+                }
+            }
+            if (capabilities != null && capabilities.getIndustryExperience() != null) {
+                for (IndustryExperience industry : capabilities.getIndustryExperience()) {
+                    int years = industry.getYears() != null ? industry.getYears() : 0;
+                    industries.add(new WeightedTerms(TextNormalizer.tokens(industry.getIndustry()),
+                        Math.min(years, 10) / 10.0));
+                }
+            }
+            if (capabilities != null && capabilities.getCoreCompetencies() != null) {
+                for (CoreCompetency competency : capabilities.getCoreCompetencies()) {
+                    competencies.add(new WeightedTerms(TextNormalizer.tokens(competency.getCapability()),
+                        maturityFactor(competency.getMaturityLevel())));
+                }
+            }
+        }
+
+        /** Fraction of the requirement's skills and certifications the roster holds. */
+        double coverage(Requirement req) {
+            int minYears = req.getMinYearsExperience() != null ? req.getMinYearsExperience() : 0;
+            List<String> skills = req.getRequiredSkills() != null ? req.getRequiredSkills() : List.of();
+            List<String> certs = req.getRequiredCertifications() != null ? req.getRequiredCertifications() : List.of();
+
+            int skillHits = 0;
+            for (String skill : skills) {
+                Integer years = heldYears(skill);
+                if (years != null && years >= minYears) skillHits++;
+            }
+            int certHits = 0;
+            for (String cert : certs) {
+                if (hasCertification(cert)) certHits++;
+            }
+
+            if (skills.isEmpty() && certs.isEmpty()) return 1.0;
+            if (certs.isEmpty()) return (double) skillHits / skills.size();
+            if (skills.isEmpty()) return (double) certHits / certs.size();
+            return 0.6 * skillHits / skills.size() + 0.4 * certHits / certs.size();
+        }
+
+        // the skill itself or, through the taxonomy, anything narrower
+        private Integer heldYears(String skill) {
+            Integer exact = skillYears.get(TextNormalizer.normalize(skill));
+            Integer narrower = rollup.maxYears(skill);
+            if (exact == null) return narrower;
+            return narrower != null ? Math.max(exact, narrower) : exact;
+        }
+
+        private boolean hasCertification(String required) {
+            if (rollup.certificationHolders(required) > 0) return true;
+            String normalized = TextNormalizer.normalize(required);
+            if (certifications.contains(normalized)) return true;
+            // "Azure Security Engineer AZ-500" should match a held "AZ-500"
+            for (String token : normalized.split(" ")) {
+                if (token.indexOf('-') > 0 && certifications.contains(token)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Fraction of the required positions the roster can fill by role. An employee fills a role
+         * when their title contains every word of the role name ("cloud_engineers" is filled by a
+         * "Senior Cloud Engineer"); each employee fills at most one position, taken by the matching
+         * role with the most positions still open.
+         */
+        double staffingCoverage(ExtractedRequirements extracted) {
+            if (extracted == null || extracted.getTeamCompositionRequirements() == null) return 1.0;
+            List<Set<String>> roles = new ArrayList<>();
+            List<Integer> open = new ArrayList<>();
+            int required = 0;
+            for (Map.Entry<String, Integer> entry : extracted.getTeamCompositionRequirements().entrySet()) {
+                if (entry.getValue() == null || entry.getValue() <= 0) continue;
+                roles.add(roleTerms(entry.getKey()));
+                open.add(entry.getValue());
+                required += entry.getValue();
+            }
+            if (required == 0) return 1.0;
+
+            int filled = 0;
+            for (Set<String> title : titles) {
+                int best = -1;
+                for (int r = 0; r < roles.size(); r++) {
+                    if (open.get(r) > 0 && !roles.get(r).isEmpty() && title.containsAll(roles.get(r))
+                            && (best < 0 || open.get(r) > open.get(best))) {
+                        best = r;
+                    }
+                }
+                if (best >= 0) {
+                    open.set(best, open.get(best) - 1);
+                    filled++;
+                }
+            }
+            return (double) filled / required;
+        }
+
+        // "Solution Architects" / "solution_architects" -> {solution, architect}
+        private static Set<String> roleTerms(String text) {
+            Set<String> terms = new HashSet<>();
+            for (String token : TextNormalizer.tokens(text != null ? text.replace('_', ' ') : null)) {
+                terms.add(token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")
+                    ? token.substring(0, token.length() - 1) : token);
+            }
+            return terms;
+        }
+
+        /** Industry and core-competency overlap with the RFP's title, issuer and requirements. */
+        double experienceScore(RfpData rfp) {
+            Set<String> rfpTokens = new HashSet<>(TextNormalizer.tokens(rfp.getTitle()));
+            rfpTokens.addAll(TextNormalizer.tokens(rfp.getIssuingOrganization()));
+            ExtractedRequirements extracted = rfp.getExtractedRequirements();
+            if (extracted != null && extracted.getMandatoryRequirements() != null) {
+                for (Requirement req : extracted.getMandatoryRequirements()) {
+                    rfpTokens.addAll(TextNormalizer.tokens(req.getDescription()));
+                    rfpTokens.addAll(TextNormalizer.tokens(req.getCategory()));
+                }
+            }
+
+            double industryScore = 0;
+            for (WeightedTerms industry : industries) {
+                if (overlap(industry.terms(), rfpTokens) > 0) {
+                    industryScore = Math.max(industryScore, industry.weight());
+                }
+            }
+
+            double competencyScore = 0;
+            for (WeightedTerms competency : competencies) {
+                competencyScore = Math.max(competencyScore, overlap(competency.terms(), rfpTokens) * competency.weight());
+            }
+
+            return 0.5 * industryScore + 0.5 * competencyScore;
+        }
+
+        private static double overlap(List<String> tokens, Set<String> rfpTokens) {
+            if (tokens.isEmpty()) return 0;
+            int hits = 0;
+            for (String token : tokens) {
+                if (rfpTokens.contains(token)) hits++;
+            }
+            return (double) hits / tokens.size();
+        }
+
+        private static double maturityFactor(String maturity) {
+            if (maturity == null) return 0.5;
+            switch (maturity.toLowerCase(Locale.ROOT)) {
+                case "expert": return 1.0;
+                case "advanced": return 0.85;
+                case "intermediate": return 0.65;
+                default: return 0.5;
+            }
+        }
+
+        private record WeightedTerms(List<String> terms, double weight) {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.roster.RosterSnapshot;
+import ai.zactonics.genproposal.roster.RosterStore;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Long-lived evidence indexes of the stored rosters ({@link RosterStore}), one per tenant.
+ *
+ * Each index follows its tenant's roster head: a roster write re-indexes only the employees and
+ * projects that changed since the indexed version, found by diffing the two snapshots; a write that
+ * replaces most of the roster rebuilds it. A generation whose roster is exactly the indexed head
+ * (RosterController passes the snapshot's own lists) reads it instead of indexing the roster again.
+ * Anything else, including an older pinned version or a head still being indexed, gets a per-request index.
+ */
+@Component
+class RosterEvidenceIndexes {
+
+    @Autowired
+    private RosterStore rosterStore;
+
+    private final Map<String, TenantIndex> indexes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        rosterStore.onPublish(this::follow);
+    }
+
+    /** Evidence from the tenant's long-lived index, or null when the request's roster is not the indexed head. */
+    RequestEvidence evidence(ProposalGenerationRequest request) {
+        RosterSnapshot head = rosterStore.head();
+        if (request.getEmployeeData() != head.employees() || request.getProjectExperience() != head.projects()) {
+            return null;
+        }
+        TenantIndex tenantIndex = indexes.get(TenantContext.get());
+        return tenantIndex != null ? tenantIndex.read(head, index -> new RequestEvidence(request, index)) : null;
+    }
+
+    private void follow(RosterSnapshot head) {
+        indexes.computeIfAbsent(TenantContext.get(), tenant -> new TenantIndex()).advanceTo(head);
+    }
+
+    private static final class TenantIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private EvidenceIndex index;
+        private RosterSnapshot indexed;
+
+        /** Brings the index up to head; a head older than the indexed version (a late listener call) is ignored. */
+        void advanceTo(RosterSnapshot head) {
+            lock.writeLock().lock();
+            try {
+                if (indexed != null && head.version() <= indexed.version()) return;
+                if (indexed == null) {
+                    index = EvidenceIndex.forRoster(head.employees(), head.projects());
+                    indexed = head;
+                    return;
+                }
+
+                Map<String, Employee> employees = new LinkedHashMap<>();
+                Map<String, ProjectExperience> projects = new LinkedHashMap<>();
+                head.forEachEmployeeChange(indexed, employees::put);
+                head.forEachProjectChange(indexed, projects::put);
+                if (employees.size() + projects.size() > (head.employees().size() + head.projects().size()) / 2) {
+                    index = EvidenceIndex.forRoster(head.employees(), head.projects());
+                } else {
+                    employees.forEach((id, employee) -> {
+                        if (employee != null) index.indexEmployee(employee);
+                        else index.removeOwner(id);
+                    });
+                    projects.forEach((id, project) -> {
+                        if (project != null) index.indexProject(project);
+                        else index.removeOwner(id);
+                    });
+                }
+                indexed = head;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /** Runs the reader against the index when it is at exactly that snapshot and not being updated; else null. */
+        <T> T read(RosterSnapshot snapshot, Function<EvidenceIndex, T> reader) {
+            if (!lock.readLock().tryLock()) return null;
+            try {
+                return indexed == snapshot ? reader.apply(index) : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.rules.RecommendationRules;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.*;
+
+/**
+ * Compares an amended request with the previous one, field path by field path, and
+ * regenerates only the sections whose declared inputs (ProposalSectionType) changed.
+ */
+@Service
+public class SectionDependencyTracker {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PromptGeneratorService promptService;
+
+    @Autowired
+    private RequestFingerprintService fingerprintService;
+
+    @Autowired
+    private RecommendationRules recommendationRules;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    /** Changed input paths per section; sections with no changed inputs are absent. */
+    public Map<ProposalSectionType, List<String>> changedSections(ProposalGenerationRequest previous,
+                                                                  ProposalGenerationRequest amended) {
+        JsonNode before = objectMapper.valueToTree(previous);
+        JsonNode after = objectMapper.valueToTree(amended);
+
+        Map<String, Boolean> pathChanged = new HashMap<>();
+        Map<ProposalSectionType, List<String>> changed = new EnumMap<>(ProposalSectionType.class);
+        for (ProposalSectionType section : ProposalSectionType.values()) {
+            for (String path : inputPaths(section)) {
+                boolean differs = pathChanged.computeIfAbsent(path, p -> !select(before, p).equals(select(after, p)));
+                if (differs) changed.computeIfAbsent(section, s -> new ArrayList<>()).add(path);
+            }
+        }
+        return changed;
+    }
+
+    /** Hash of each section's declared inputs; two requests with equal hashes render that section identically. */
+    public Map<ProposalSectionType, String> inputFingerprints(ProposalGenerationRequest request) {
+        JsonNode tree = objectMapper.valueToTree(request);
+        Map<ProposalSectionType, String> fingerprints = new EnumMap<>(ProposalSectionType.class);
+        for (ProposalSectionType section : ProposalSectionType.values()) {
+            List<Object> inputs = new ArrayList<>();
+            inputPaths(section).forEach(path -> inputs.add(select(tree, path)));
+            if (section == ProposalSectionType.RECOMMENDATIONS) inputs.add(recommendationRules.version());
+            // capability assessment and the training timeline match skills through the taxonomy
+            if (section == ProposalSectionType.TECHNICAL_APPROACH || section == ProposalSectionType.SKILLS_DEVELOPMENT) {
+                inputs.add(skillTaxonomy.version());
+            }
+            // an undated request's timeline starts today, so its rendering changes from one day to the next
+            if (section == ProposalSectionType.SKILLS_DEVELOPMENT) inputs.add(TrainingScheduleService.startDate(request));
+            fingerprints.put(section, fingerprintService.fingerprint(inputs));
+        }
+        return fingerprints;
+    }
+
+    public AmendmentRegenerationResponse regenerate(ProposalGenerationRequest previous,
+                                                    ProposalGenerationRequest amended) {
+        Map<ProposalSectionType, List<String>> changed = changedSections(previous, amended);
+
+        AmendmentRegenerationResponse response = new AmendmentRegenerationResponse();
+        Map<String, List<String>> changedByField = new LinkedHashMap<>();
+        List<String> unchanged = new ArrayList<>();
+        Map<String, String> prompts = new LinkedHashMap<>();
+
+        for (ProposalSectionType section : ProposalSectionType.values()) {
+            List<String> paths = changed.get(section);
+            if (paths == null) {
+                unchanged.add(section.getResponseField());
+                continue;
+            }
+            changedByField.put(section.getResponseField(), paths);
+            switch (section) {
+                case QUALIFICATION_SCORE -> response.setQualificationScore(promptService.calculateQualificationScore(amended));
+                case RECOMMENDATIONS -> response.setRecommendations(promptService.generateRecommendations(amended));
+                default -> prompts.put(section.getResponseField(), render(section, amended));
+            }
+        }
+
+        // completeProposal embeds all six prompts plus the RFP title, laid out as requested
+        boolean titleChanged = !Objects.equals(title(previous), title(amended));
+        boolean layoutChanged = previous.getCompleteProposalLayout() != amended.getCompleteProposalLayout();
+        if (titleChanged || layoutChanged || changed.keySet().stream().anyMatch(ProposalSectionType::isPromptSection)) {
+            response.setCompleteProposal(promptService.assembleCompleteProposal(amended));
+        }
+
+        response.setChangedSections(changedByField);
+        response.setUnchangedSections(unchanged);
+        response.setRegeneratedPrompts(prompts);
+        return response;
+    }
+
+    public String render(ProposalSectionType section, ProposalGenerationRequest request) {
+        return switch (section) {
+            case EXECUTIVE_SUMMARY -> promptService.generateExecutiveSummaryPrompt(request);
+            case TECHNICAL_APPROACH -> promptService.generateTechnicalApproachPrompt(request);
+            case TEAM_QUALIFICATIONS -> promptService.generateTeamQualificationsPrompt(request);
+            case PAST_PERFORMANCE -> promptService.generatePastPerformancePrompt(request);
+            case SKILLS_DEVELOPMENT -> promptService.generateSkillsDevelopmentPrompt(request);
+            case COST_PROPOSAL -> promptService.generateCostProposalPrompt(request);
+            default -> throw new IllegalArgumentException(section + " is not a prompt section");
+        };
+    }
+
+    // recommendations read whatever facts the active rule set uses
+    List<String> inputPaths(ProposalSectionType section) {
+        return section == ProposalSectionType.RECOMMENDATIONS ? recommendationRules.inputPaths() : section.getInputPaths();
+    }
+
+    /** Values at a path, in document order; "[]" fans out over list elements, "#count" yields a list size. */
+    static List<JsonNode> select(JsonNode root, String path) {
+        boolean count = path.endsWith("#count");
+        String expression = count ? path.substring(0, path.length() - "#count".length()) : path;
+
+        List<JsonNode> current = List.of(root);
+        for (String segment : expression.split("\\.")) {
+            boolean each = segment.endsWith("[]");
+            String name = each ? segment.substring(0, segment.length() - 2) : segment;
+            List<JsonNode> next = new ArrayList<>();
+            for (JsonNode node : current) {
+                JsonNode child = node.isObject() ? node.path(name) : MissingNode.getInstance();
+                if (each && child.isArray()) child.forEach(next::add);
+                else if (!each || !child.isMissingNode() && !child.isNull()) next.add(child);
+            }
+            current = next;
+        }
+
+        if (count) {
+            return current.stream().<JsonNode>map(n -> IntNode.valueOf(n.isArray() ? n.size() : 0)).toList();
+        }
+        return current;
+    }
+
+    private static String title(ProposalGenerationRequest request) {
+        return request.getRfpData() != null ? request.getRfpData().getTitle() : null;
+    }
+}
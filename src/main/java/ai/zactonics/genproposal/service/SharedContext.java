@@ -0,0 +1,60 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.EvidenceSnippet;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keys for the SHARED_CONTEXT layout of completeProposal: employees are [E1], [E2], ... and
+ * projects [P1], [P2], ... in request order. Sections cite an entry by its key instead of
+ * repeating its details, and evidence quoted in the shared context by its source ID.
+ */
+final class SharedContext {
+
+    private final Map<Object, String> keys = new IdentityHashMap<>();
+    private final Map<String, String> employeeKeysById = new HashMap<>();
+    private final Set<String> quoted = new HashSet<>();
+
+    SharedContext(ProposalGenerationRequest request) {
+        List<Employee> employees = request.getEmployeeData() != null ? request.getEmployeeData() : List.of();
+        for (Employee employee : employees) {
+            String key = "[E" + (keys.size() + 1) + "]";
+            keys.put(employee, key);
+            if (employee.getEmployeeId() != null) employeeKeysById.putIfAbsent(employee.getEmployeeId(), key);
+        }
+        List<ProjectExperience> projects = request.getProjectExperience() != null ? request.getProjectExperience() : List.of();
+        int p = 0;
+        for (ProjectExperience project : projects) {
+            keys.put(project, "[P" + (++p) + "]");
+        }
+    }
+
+    String key(Employee employee) {
+        return keys.get(employee);
+    }
+
+    String key(ProjectExperience project) {
+        return keys.get(project);
+    }
+
+    /** Records that the snippet's text is quoted in the shared context, so sections only cite its source ID. */
+    void quote(EvidenceSnippet snippet) {
+        quoted.add(snippet.getSourceId());
+    }
+
+    boolean isQuoted(EvidenceSnippet snippet) {
+        return quoted.contains(snippet.getSourceId());
+    }
+
+    /** Key of the roster employee with this id, or the id itself when it is not on the roster. */
+    String employeeKey(String employeeId) {
+        return employeeKeysById.getOrDefault(employeeId, employeeId);
+    }
+}
@@ -0,0 +1,56 @@
+package ai.zactonics.genproposal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shared normalization for matching free text, skill names and certification ids.
+ */
+public final class TextNormalizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+        "of", "on", "or", "our", "the", "to", "with", "we", "will", "all", "its", "this", "that"
+    );
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern EDGE_UNDERSCORES = Pattern.compile("^_+|_+$");
+
+    private TextNormalizer() {
+    }
+
+    /** Lowercases and collapses whitespace, e.g. " Azure  DevOps" -> "azure devops". */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /** Converts a label such as "Team Qualifications" to its snake_case key "team_qualifications". */
+    public static String toKey(String label) {
+        if (label == null) return "";
+        String key = NON_ALNUM.matcher(label.trim().toLowerCase(Locale.ROOT)).replaceAll("_");
+        return EDGE_UNDERSCORES.matcher(key).replaceAll("");
+    }
+
+    /** Splits text into lowercase alphanumeric tokens, dropping stop words. */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean alnum = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (alnum && start < 0) {
+                start = i;
+            } else if (!alnum && start >= 0) {
+                String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(token)) tokens.add(token);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
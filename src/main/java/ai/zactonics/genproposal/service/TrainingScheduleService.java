@@ -0,0 +1,293 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.*;
+import ai.zactonics.genproposal.taxonomy.CompiledTaxonomy;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Packs certification training into each employee's spare capacity and works out when every
+ * mandatory requirement of an RFP is covered.
+ *
+ * An employee trains {@code availabilityPercentage} of a 40-hour week, capped at
+ * proposal.training.max-hours-per-week, one certification at a time, shortest remaining first.
+ * Effort comes from TrainingRecommendation.timelineWeeks (at proposal.training.hours-per-timeline-week)
+ * or proposal.training.default-cert-hours, reduced by a planned certification's completionPercentage.
+ * A requirement is covered once each required certification is held by someone and each required
+ * skill is either a current skill or named in a held certification. Through the skill taxonomy a
+ * narrower skill or certification (AZ-500 for "Azure Certification") also counts.
+ */
+@Service
+public class TrainingScheduleService {
+
+    static final double HOURS_PER_WEEK = 40;
+
+    @Autowired
+    private TenantExecutors tenantExecutors;
+
+    @Autowired
+    private SkillTaxonomy skillTaxonomy;
+
+    @Value("${proposal.training.max-hours-per-week:16}")
+    private double maxHoursPerWeek;
+
+    @Value("${proposal.training.hours-per-timeline-week:10}")
+    private double hoursPerTimelineWeek;
+
+    @Value("${proposal.training.default-cert-hours:80}")
+    private double defaultCertHours;
+
+    private record Candidate(Employee employee, String certId, String certName, String source,
+                             double remainingHours, LocalDate plannedCompletion) {
+    }
+
+    private record Holding(String employeeId, String certId, String certName, LocalDate from) {
+    }
+
+    /** The request's trainingStartDate, or today when it has none. */
+    public static LocalDate startDate(ProposalGenerationRequest request) {
+        return request.getTrainingStartDate() != null ? request.getTrainingStartDate() : LocalDate.now();
+    }
+
+    public TrainingSchedule schedule(ProposalGenerationRequest request, LocalDate startDate) {
+        List<TrainingRecommendation> recommendations = request.getSkillsGapAnalysis() != null
+            ? request.getSkillsGapAnalysis().getTrainingRecommendations()
+            : null;
+        return schedule(request.getRfpData(), request.getEmployeeData(), recommendations, startDate, skillTaxonomy.current());
+    }
+
+    /** Schedules each RFP independently against the same roster, in parallel. */
+    public List<TrainingSchedule> scheduleAll(TrainingScheduleRequest request) {
+        LocalDate start = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+        List<RfpData> rfps = request.getRfps() != null ? request.getRfps() : List.of();
+        CompiledTaxonomy taxonomy = skillTaxonomy.current();
+        return tenantExecutors.invoke(() -> rfps.parallelStream()
+            .map(rfp -> schedule(rfp, request.getEmployeeData(), request.getTrainingRecommendations(), start, taxonomy))
+            .toList());
+    }
+
+    private TrainingSchedule schedule(RfpData rfp, List<Employee> roster, List<TrainingRecommendation> recommendations,
+                                      LocalDate start, CompiledTaxonomy taxonomy) {
+        List<Employee> employees = roster != null ? roster : List.of();
+        List<Requirement> mandatory = rfp != null && rfp.getExtractedRequirements() != null
+            && rfp.getExtractedRequirements().getMandatoryRequirements() != null
+            ? rfp.getExtractedRequirements().getMandatoryRequirements()
+            : List.of();
+
+        List<Holding> holdings = currentHoldings(employees, start);
+        List<ScheduledTraining> plan = new ArrayList<>();
+        Map<String, List<Candidate>> byEmployee = new LinkedHashMap<>();
+        for (Candidate candidate : candidates(employees, recommendations)) {
+            if (isRelevant(candidate, mandatory, taxonomy)) {
+                byEmployee.computeIfAbsent(candidate.employee().getEmployeeId(), id -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        for (List<Candidate> queue : byEmployee.values()) {
+            queue.sort(Comparator.comparingDouble(Candidate::remainingHours));
+            Employee employee = queue.get(0).employee();
+            double weeklyHours = weeklyTrainingHours(employee);
+            LocalDate cursor = start;
+            for (Candidate candidate : queue) {
+                ScheduledTraining training = new ScheduledTraining();
+                training.setEmployeeId(employee.getEmployeeId());
+                training.setCertification(candidate.certName() != null ? candidate.certName() : candidate.certId());
+                training.setSource(candidate.source());
+                training.setRemainingHours(candidate.remainingHours());
+                training.setWeeklyHours(weeklyHours);
+                training.setPlannedCompletion(candidate.plannedCompletion());
+                if (weeklyHours > 0) {
+                    LocalDate done = cursor.plusDays((long) Math.ceil(candidate.remainingHours() / weeklyHours * 7));
+                    training.setStartDate(cursor);
+                    training.setCompletionDate(done);
+                    holdings.add(new Holding(employee.getEmployeeId(), candidate.certId(), candidate.certName(), done));
+                    cursor = done;
+                }
+                plan.add(training);
+            }
+        }
+        plan.sort(Comparator.comparing(ScheduledTraining::getCompletionDate, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        LocalDate dueDate = rfp != null ? rfp.getDueDate() : null;
+        List<RequirementReadiness> readiness = new ArrayList<>();
+        LocalDate fullyQualified = start;
+        for (Requirement req : mandatory) {
+            RequirementReadiness r = readiness(req, employees, holdings, start, dueDate, taxonomy);
+            readiness.add(r);
+            if (r.getCoveredDate() == null) fullyQualified = null;
+            else if (fullyQualified != null && r.getCoveredDate().isAfter(fullyQualified)) fullyQualified = r.getCoveredDate();
+        }
+
+        TrainingSchedule schedule = new TrainingSchedule();
+        schedule.setRfpId(rfp != null ? rfp.getRfpId() : null);
+        schedule.setStartDate(start);
+        schedule.setDueDate(dueDate);
+        schedule.setFullyQualifiedDate(fullyQualified);
+        schedule.setMeetsDueDate(meetsDueDate(fullyQualified, dueDate));
+        schedule.setRequirements(readiness);
+        schedule.setTrainingPlan(plan);
+        return schedule;
+    }
+
+    private RequirementReadiness readiness(Requirement req, List<Employee> employees, List<Holding> holdings,
+                                           LocalDate start, LocalDate dueDate, CompiledTaxonomy taxonomy) {
+        LocalDate covered = start;
+        Set<String> coveredBy = new LinkedHashSet<>();
+        List<String> uncoverable = new ArrayList<>();
+
+        for (String cert : nullSafe(req.getRequiredCertifications())) {
+            Holding earliest = null;
+            for (Holding h : holdings) {
+                if (certMatches(cert, h.certId(), h.certName(), taxonomy)
+                    && (earliest == null || h.from().isBefore(earliest.from()))) {
+                    earliest = h;
+                }
+            }
+            if (earliest == null) {
+                uncoverable.add(cert);
+            } else {
+                coveredBy.add(earliest.employeeId());
+                if (earliest.from().isAfter(covered)) covered = earliest.from();
+            }
+        }
+
+        for (String skill : nullSafe(req.getRequiredSkills())) {
+            String current = currentHolder(skill, employees, taxonomy);
+            if (current != null) {
+                coveredBy.add(current);
+                continue;
+            }
+            Holding earliest = null;
+            for (Holding h : holdings) {
+                if (h.certName() != null && containsPhrase(h.certName(), skill)
+                    && (earliest == null || h.from().isBefore(earliest.from()))) {
+                    earliest = h;
+                }
+            }
+            if (earliest == null) {
+                uncoverable.add(skill);
+            } else {
+                coveredBy.add(earliest.employeeId());
+                if (earliest.from().isAfter(covered)) covered = earliest.from();
+            }
+        }
+
+        RequirementReadiness readiness = new RequirementReadiness();
+        readiness.setReqId(req.getReqId());
+        readiness.setDescription(req.getDescription());
+        readiness.setCoveredDate(uncoverable.isEmpty() ? covered : null);
+        readiness.setMeetsDueDate(meetsDueDate(readiness.getCoveredDate(), dueDate));
+        readiness.setCoveredBy(new ArrayList<>(coveredBy));
+        readiness.setUncoverable(uncoverable);
+        return readiness;
+    }
+
+    private List<Candidate> candidates(List<Employee> employees, List<TrainingRecommendation> recommendations) {
+        Map<String, Employee> byId = new HashMap<>();
+        employees.forEach(e -> byId.put(e.getEmployeeId(), e));
+        Map<String, TrainingRecommendation> recommended = new LinkedHashMap<>();
+        for (TrainingRecommendation rec : nullSafe(recommendations)) {
+            if (rec.getRecommendedCert() != null && byId.containsKey(rec.getEmployeeId())) {
+                recommended.put(rec.getEmployeeId() + "|" + TextNormalizer.normalize(rec.getRecommendedCert()), rec);
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Employee employee : employees) {
+            for (PlannedCertification planned : nullSafe(employee.getPlannedCertifications())) {
+                TrainingRecommendation rec = recommended.remove(employee.getEmployeeId() + "|"
+                    + TextNormalizer.normalize(planned.getCertId()));
+                if (rec == null) {
+                    rec = recommended.remove(employee.getEmployeeId() + "|" + TextNormalizer.normalize(planned.getCertName()));
+                }
+                double effort = effortHours(rec);
+                int done = planned.getCompletionPercentage() != null ? planned.getCompletionPercentage() : 0;
+                candidates.add(new Candidate(employee, planned.getCertId(), planned.getCertName(), "planned",
+                    effort * Math.max(0, 100 - done) / 100.0, planned.getPlannedCompletion()));
+            }
+        }
+        for (TrainingRecommendation rec : recommended.values()) {
+            candidates.add(new Candidate(byId.get(rec.getEmployeeId()), rec.getRecommendedCert(), rec.getRecommendedCert(),
+                "recommended", effortHours(rec), null));
+        }
+        return candidates;
+    }
+
+    private double effortHours(TrainingRecommendation rec) {
+        return rec != null && rec.getTimelineWeeks() != null ? rec.getTimelineWeeks() * hoursPerTimelineWeek : defaultCertHours;
+    }
+
+    private double weeklyTrainingHours(Employee employee) {
+        int availability = employee.getAvailabilityPercentage() != null ? employee.getAvailabilityPercentage() : 0;
+        return Math.min(maxHoursPerWeek, HOURS_PER_WEEK * Math.max(0, availability) / 100.0);
+    }
+
+    // only train what this RFP's mandatory requirements ask for
+    private static boolean isRelevant(Candidate candidate, List<Requirement> mandatory, CompiledTaxonomy taxonomy) {
+        for (Requirement req : mandatory) {
+            for (String cert : nullSafe(req.getRequiredCertifications())) {
+                if (certMatches(cert, candidate.certId(), candidate.certName(), taxonomy)) return true;
+            }
+            for (String skill : nullSafe(req.getRequiredSkills())) {
+                if (candidate.certName() != null && containsPhrase(candidate.certName(), skill)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Holding> currentHoldings(List<Employee> employees, LocalDate start) {
+        List<Holding> holdings = new ArrayList<>();
+        for (Employee employee : employees) {
+            for (Certification cert : nullSafe(employee.getCurrentCertifications())) {
+                boolean expired = "Expired".equalsIgnoreCase(cert.getStatus())
+                    || cert.getExpiryDate() != null && cert.getExpiryDate().isBefore(start);
+                if (!expired) holdings.add(new Holding(employee.getEmployeeId(), cert.getCertId(), cert.getCertName(), start));
+            }
+        }
+        return holdings;
+    }
+
+    private static String currentHolder(String skill, List<Employee> employees, CompiledTaxonomy taxonomy) {
+        String required = TextNormalizer.toKey(skill);
+        if (required.isEmpty()) return null;
+        for (Employee employee : employees) {
+            for (Skill held : nullSafe(employee.getCurrentSkills())) {
+                // whole words only: "Azure DevOps Pipelines" satisfies "Azure DevOps", "JavaScript" does not satisfy "Java";
+                // variants ("Azure Solutions Architecture") and narrower skills ("Azure Security" for "Cloud Security")
+                // come from the taxonomy
+                String heldKey = TextNormalizer.toKey(held.getSkillName());
+                if (heldKey.equals(required) || heldKey.startsWith(required + "_")
+                    || taxonomy.isA(held.getSkillName(), skill)) {
+                    return employee.getEmployeeId();
+                }
+            }
+        }
+        return null;
+    }
+
+    static boolean certMatches(String required, String certId, String certName, CompiledTaxonomy taxonomy) {
+        String r = TextNormalizer.normalize(required);
+        if (certId != null && containsPhrase(r, certId)) return true;
+        if (certName != null && (containsPhrase(r, certName) || containsPhrase(certName, r))) return true;
+        return taxonomy.isA(certId, required) || taxonomy.isA(certName, required);
+    }
+
+    private static boolean containsPhrase(String text, String phrase) {
+        String p = TextNormalizer.normalize(phrase);
+        return !p.isEmpty() && (" " + TextNormalizer.normalize(text) + " ").contains(" " + p + " ");
+    }
+
+    private static Boolean meetsDueDate(LocalDate date, LocalDate dueDate) {
+        if (dueDate == null) return null;
+        return date != null && !date.isAfter(dueDate);
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
@@ -0,0 +1,158 @@
+package ai.zactonics.genproposal.taxonomy;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.TaxonomyInfo;
+import ai.zactonics.genproposal.service.TextNormalizer;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * A taxonomy compiled for matching.
+ *
+ * Nodes are numbered in pre-order, so a node's subtree is the contiguous range
+ * [node, last[node]] and "held is-a required" is two integer comparisons once both names are
+ * resolved. Names and aliases resolve through one map keyed by {@link TextNormalizer#toKey}.
+ * Skills and certifications are separate forests; nothing in one is-a anything in the other.
+ */
+public final class CompiledTaxonomy {
+
+    private final String version;
+    private final String source;
+    private final Instant loadedAt = Instant.now();
+
+    private final List<String> names = new ArrayList<>();
+    private final List<List<String>> aliases = new ArrayList<>();
+    private final Map<String, Integer> byKey = new HashMap<>();
+    private int[] parent = new int[0];
+    private int[] last = new int[0];
+    private int[] depth = new int[0];
+    private int certificationsFrom;
+
+    private CompiledTaxonomy(String version, String source) {
+        this.version = version;
+        this.source = source;
+    }
+
+    /** Compiles the definition; throws IllegalArgumentException naming the offending node. */
+    static CompiledTaxonomy compile(TaxonomyDefinition definition, String version, String source) {
+        CompiledTaxonomy compiled = new CompiledTaxonomy(version, source);
+        List<int[]> shape = new ArrayList<>();
+        for (TaxonomyNodeDefinition root : nullSafe(definition.getSkills())) compiled.add(root, -1, 0, shape);
+        compiled.certificationsFrom = compiled.names.size();
+        for (TaxonomyNodeDefinition root : nullSafe(definition.getCertifications())) compiled.add(root, -1, 0, shape);
+
+        int size = compiled.names.size();
+        compiled.parent = new int[size];
+        compiled.last = new int[size];
+        compiled.depth = new int[size];
+        for (int node = 0; node < size; node++) {
+            compiled.parent[node] = shape.get(node)[0];
+            compiled.last[node] = shape.get(node)[1];
+            compiled.depth[node] = shape.get(node)[2];
+        }
+        return compiled;
+    }
+
+    // shape[node] = {parent, last descendant, depth}; returns the last node of the subtree
+    private int add(TaxonomyNodeDefinition definition, int parentNode, int nodeDepth, List<int[]> shape) {
+        String name = definition.getName();
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Every node needs a name"
+                + (parentNode >= 0 ? " (under '" + names.get(parentNode) + "')" : ""));
+        }
+        int node = names.size();
+        names.add(name);
+        aliases.add(nullSafe(definition.getAliases()));
+        register(name, node);
+        for (String alias : nullSafe(definition.getAliases())) register(alias, node);
+
+        int[] nodeShape = { parentNode, node, nodeDepth };
+        shape.add(nodeShape);
+        for (TaxonomyNodeDefinition child : nullSafe(definition.getChildren())) {
+            nodeShape[1] = add(child, node, nodeDepth + 1, shape);
+        }
+        return nodeShape[1];
+    }
+
+    private void register(String surface, int node) {
+        Integer existing = byKey.putIfAbsent(TextNormalizer.toKey(surface), node);
+        if (existing != null && existing != node) {
+            throw new IllegalArgumentException("'" + surface + "' under '" + names.get(node)
+                + "' is already defined as '" + names.get(existing) + "'");
+        }
+    }
+
+    /** True when both names are in the taxonomy and {@code held} is {@code required} or one of its descendants. */
+    public boolean isA(String held, String required) {
+        int ancestor = node(required);
+        if (ancestor < 0) return false;
+        int node = node(held);
+        return node >= ancestor && node <= last[ancestor];
+    }
+
+    public boolean contains(String name) {
+        return node(name) >= 0;
+    }
+
+    /** Roll-up of a roster over this taxonomy: per node, the employees holding anything in its subtree. */
+    public SkillRollup rollup(List<Employee> employees) {
+        return SkillRollup.of(this, employees);
+    }
+
+    /** Names and aliases mapped to their canonical node name, for skills or for certifications. */
+    public Map<String, String> surfaceForms(boolean certifications) {
+        Map<String, String> forms = new LinkedHashMap<>();
+        int from = certifications ? certificationsFrom : 0;
+        int to = certifications ? names.size() : certificationsFrom;
+        for (int node = from; node < to; node++) {
+            forms.put(names.get(node), names.get(node));
+            for (String alias : aliases.get(node)) forms.put(alias, names.get(node));
+        }
+        return forms;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public TaxonomyInfo info() {
+        TaxonomyInfo info = new TaxonomyInfo();
+        info.setVersion(version);
+        info.setSource(source);
+        info.setLoadedAt(loadedAt);
+        info.setSkillCount(certificationsFrom);
+        info.setCertificationCount(names.size() - certificationsFrom);
+        info.setMaxDepth(Arrays.stream(depth).max().orElse(-1) + 1);
+        return info;
+    }
+
+    int node(String name) {
+        if (name == null) return -1;
+        Integer node = byKey.get(TextNormalizer.toKey(name));
+        return node != null ? node : -1;
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    String name(int node) {
+        return names.get(node);
+    }
+
+    int parent(int node) {
+        return parent[node];
+    }
+
+    int depth(int node) {
+        return depth[node];
+    }
+
+    boolean isCertification(int node) {
+        return node >= certificationsFrom;
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
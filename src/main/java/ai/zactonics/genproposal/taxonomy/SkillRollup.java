@@ -0,0 +1,114 @@
+package ai.zactonics.genproposal.taxonomy;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.Skill;
+import ai.zactonics.genproposal.model.SkillRollupEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-node totals of one roster over a taxonomy, computed once so that "how many employees
+ * can do Cloud Security" and "most years anyone has in DevOps" are array reads.
+ *
+ * Each held skill or certification is added to its node and every ancestor; an employee is
+ * counted once per node however many of their skills fall in its subtree. Certifications are
+ * also counted on their own, so a required certification is never met by a skill alone.
+ */
+public final class SkillRollup {
+
+    private final CompiledTaxonomy taxonomy;
+    private final int[] employees;
+    private final int[] certificationHolders;
+    private final int[] maxYears;
+
+    private SkillRollup(CompiledTaxonomy taxonomy) {
+        this.taxonomy = taxonomy;
+        this.employees = new int[taxonomy.size()];
+        this.certificationHolders = new int[taxonomy.size()];
+        this.maxYears = new int[taxonomy.size()];
+        Arrays.fill(maxYears, -1);
+    }
+
+    static SkillRollup of(CompiledTaxonomy taxonomy, List<Employee> roster) {
+        SkillRollup rollup = new SkillRollup(taxonomy);
+        int[] countedFor = new int[taxonomy.size()];
+        int[] certCountedFor = new int[taxonomy.size()];
+        int stamp = 0;
+        for (Employee employee : roster != null ? roster : List.<Employee>of()) {
+            stamp++;
+            int years = employee.getYearsExperience() != null ? employee.getYearsExperience() : 0;
+            if (employee.getCurrentSkills() != null) {
+                for (Skill skill : employee.getCurrentSkills()) {
+                    int skillYears = skill.getYearsExperience() != null ? skill.getYearsExperience() : years;
+                    rollup.add(taxonomy.node(skill.getSkillName()), skillYears, countedFor, stamp);
+                }
+            }
+            if (employee.getCurrentCertifications() != null) {
+                for (Certification cert : employee.getCurrentCertifications()) {
+                    int node = taxonomy.node(cert.getCertId());
+                    if (node < 0) node = taxonomy.node(cert.getCertName());
+                    rollup.add(node, -1, countedFor, stamp);
+                    rollup.addCertification(node, certCountedFor, stamp);
+                }
+            }
+        }
+        return rollup;
+    }
+
+    private void add(int node, int years, int[] countedFor, int stamp) {
+        for (int n = node; n >= 0; n = taxonomy.parent(n)) {
+            if (countedFor[n] != stamp) {
+                countedFor[n] = stamp;
+                employees[n]++;
+            }
+            if (years > maxYears[n]) maxYears[n] = years;
+        }
+    }
+
+    private void addCertification(int node, int[] countedFor, int stamp) {
+        for (int n = node; n >= 0 && countedFor[n] != stamp; n = taxonomy.parent(n)) {
+            countedFor[n] = stamp;
+            certificationHolders[n]++;
+        }
+    }
+
+    /** Employees holding the named node or a descendant; -1 when the name is not in the taxonomy. */
+    public int employees(String name) {
+        int node = taxonomy.node(name);
+        return node >= 0 ? employees[node] : -1;
+    }
+
+    /**
+     * Employees holding a certification at the named node or a descendant; skills do not count.
+     * -1 when the name is not in the taxonomy.
+     */
+    public int certificationHolders(String name) {
+        int node = taxonomy.node(name);
+        return node >= 0 ? certificationHolders[node] : -1;
+    }
+
+    /** Most years any employee has in the named skill's subtree, or null when nobody holds it or it is unknown. */
+    public Integer maxYears(String name) {
+        int node = taxonomy.node(name);
+        return node >= 0 && maxYears[node] >= 0 ? maxYears[node] : null;
+    }
+
+    /** Nodes held by at least one employee, in taxonomy order. */
+    public List<SkillRollupEntry> entries() {
+        List<SkillRollupEntry> entries = new ArrayList<>();
+        for (int node = 0; node < employees.length; node++) {
+            if (employees[node] == 0) continue;
+            SkillRollupEntry entry = new SkillRollupEntry();
+            entry.setName(taxonomy.name(node));
+            entry.setParent(taxonomy.parent(node) >= 0 ? taxonomy.name(taxonomy.parent(node)) : null);
+            entry.setDepth(taxonomy.depth(node));
+            entry.setCertification(taxonomy.isCertification(node));
+            entry.setEmployees(employees[node]);
+            entry.setMaxYearsExperience(maxYears[node] >= 0 ? maxYears[node] : null);
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,130 @@
+package ai.zactonics.genproposal.taxonomy;
+
+import ai.zactonics.genproposal.model.TaxonomyInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The active skill and certification taxonomy, loaded from proposal.taxonomy.location.
+ *
+ * Reloads like the recommendation rules: a file location is checked every
+ * proposal.taxonomy.reload-interval, POST /api/taxonomy/reload reloads on demand, and an invalid
+ * file is rejected while the previous taxonomy stays active. Callers take one {@link #current()}
+ * snapshot per operation so a reload never changes the answer halfway through a request.
+ */
+@Component
+public class SkillTaxonomy {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillTaxonomy.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${proposal.taxonomy.location:classpath:taxonomy/skills.json}")
+    private String location;
+
+    @Value("${proposal.taxonomy.reload-interval:5s}")
+    private Duration reloadInterval;
+
+    private volatile CompiledTaxonomy current;
+    private long lastModified;
+    private ScheduledExecutorService watcher;
+
+    @PostConstruct
+    void init() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        current = load(resource);
+        if (resource.isFile() && !reloadInterval.isZero()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "skill-taxonomy-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = reloadInterval.toMillis();
+            watcher.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watcher != null) watcher.shutdownNow();
+    }
+
+    public CompiledTaxonomy current() {
+        return current;
+    }
+
+    /** Recompiles the taxonomy file; throws IllegalArgumentException and keeps the current taxonomy if it is invalid. */
+    public synchronized TaxonomyInfo reload() throws IOException {
+        current = load(resourceLoader.getResource(location));
+        return current.info();
+    }
+
+    public TaxonomyInfo info() {
+        return current.info();
+    }
+
+    public String version() {
+        return current.version();
+    }
+
+    private synchronized void reloadIfModified() {
+        try {
+            Resource resource = resourceLoader.getResource(location);
+            if (resource.lastModified() == lastModified) return;
+            current = load(resource);
+            log.info("Reloaded skill taxonomy {} (version {})", location, current.version());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping skill taxonomy {}: {}", current.version(), e.getMessage());
+        }
+    }
+
+    private CompiledTaxonomy load(Resource resource) throws IOException {
+        byte[] bytes;
+        try (InputStream in = resource.getInputStream()) {
+            bytes = in.readAllBytes();
+        }
+        if (resource.isFile()) lastModified = resource.lastModified();
+        try {
+            TaxonomyDefinition definition = objectMapper.readValue(bytes, TaxonomyDefinition.class);
+            CompiledTaxonomy compiled = CompiledTaxonomy.compile(definition, hash(bytes), location);
+            meterRegistry.counter("proposal.taxonomy.loads", "result", "ok").increment();
+            return compiled;
+        } catch (IOException | IllegalArgumentException e) {
+            meterRegistry.counter("proposal.taxonomy.loads", "result", "rejected").increment();
+            throw new IllegalArgumentException("Invalid taxonomy file " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ai.zactonics.genproposal.taxonomy;
+
+import lombok.Data;
+import java.util.List;
+
+/** JSON form of a taxonomy file, see resources/taxonomy/skills.json. */
+@Data
+public class TaxonomyDefinition {
+    private List<TaxonomyNodeDefinition> skills;
+    private List<TaxonomyNodeDefinition> certifications;
+}
@@ -0,0 +1,15 @@
+package ai.zactonics.genproposal.taxonomy;
+
+import lombok.Data;
+import java.util.List;
+
+/**
+ * One skill or certification; every descendant "is-a" this node, so an employee holding a
+ * descendant satisfies a requirement naming it. Names and aliases must be unique across the file.
+ */
+@Data
+public class TaxonomyNodeDefinition {
+    private String name;
+    private List<String> aliases;
+    private List<TaxonomyNodeDefinition> children;
+}
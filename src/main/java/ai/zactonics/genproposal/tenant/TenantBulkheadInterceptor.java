@@ -0,0 +1,41 @@
+package ai.zactonics.genproposal.tenant;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds a tenant bulkhead permit for the duration of each API call.
+ * An async call (e.g. a streamed export) is dispatched twice but completes once: the permit
+ * taken on the first dispatch is kept in a request attribute and released after the async one.
+ * Startup warmup calls hold no permit (see WarmupToken).
+ */
+@Component
+public class TenantBulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = TenantBulkheadInterceptor.class.getName() + ".permit";
+
+    @Autowired
+    private TenantLimiter tenantLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || TenantContext.isWarmup()) {
+            return true;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, tenantLimiter.acquire(TenantContext.get()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof TenantLimiter.Permit tenantPermit) {
+            tenantPermit.close();
+        }
+    }
+}
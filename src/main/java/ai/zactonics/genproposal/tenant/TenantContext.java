@@ -0,0 +1,34 @@
+package ai.zactonics.genproposal.tenant;
+
+/**
+ * Tenant of the request being handled on the current thread.
+ * Set by TenantResolverFilter; falls back to DEFAULT_TENANT outside a request.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+    /** Startup warmup traffic; not a valid slug, so no X-Tenant-ID can name it. */
+    public static final String WARMUP_TENANT = "~warmup";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static void set(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static String get() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static boolean isWarmup() {
+        return WARMUP_TENANT.equals(CURRENT.get());
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,97 @@
+package ai.zactonics.genproposal.tenant;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * One bounded ForkJoinPool per tenant for parallel batch work (screening, bulk extraction).
+ * Parallel streams started inside {@link #invoke} run on the tenant's pool instead of the
+ * JVM-wide common pool, so a large batch from one tenant cannot starve the others.
+ * A pool left idle for proposal.tenant.idle-eviction is shut down when the next tenant's pool is created.
+ */
+@Component
+public class TenantExecutors {
+
+    @Value("${proposal.tenant.parallelism:2}")
+    private int parallelism;
+
+    @Value("${proposal.tenant.idle-eviction:10m}")
+    private Duration idleEviction;
+
+    private final Map<String, TenantPool> pools = new ConcurrentHashMap<>();
+
+    public <T> T invoke(Supplier<T> task) {
+        String tenantId = TenantContext.get();
+        ForkJoinPool pool = pool(tenantId);
+        try {
+            return pool.submit(() -> {
+                TenantContext.set(tenantId);
+                try {
+                    return task.get();
+                } finally {
+                    TenantContext.clear();
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for tenant batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** The current tenant's pool as an Executor, for pipelines that hand work over piece by piece. */
+    public Executor executor() {
+        String tenantId = TenantContext.get();
+        return task -> pool(tenantId).execute(() -> {
+            TenantContext.set(tenantId);
+            try {
+                task.run();
+            } finally {
+                TenantContext.clear();
+            }
+        });
+    }
+
+    private ForkJoinPool pool(String tenantId) {
+        TenantPool tenantPool = pools.get(tenantId);
+        if (tenantPool == null) {
+            evictIdle();
+            tenantPool = pools.computeIfAbsent(tenantId, id -> new TenantPool(new ForkJoinPool(Math.max(1, parallelism))));
+        }
+        tenantPool.lastUsed = System.nanoTime();
+        return tenantPool.pool;
+    }
+
+    // Dropped pools are not shut down: their idle workers have already timed out, and a caller that
+    // fetched one just before eviction can still submit to it (it is collected once unreferenced).
+    private void evictIdle() {
+        long now = System.nanoTime();
+        pools.values().removeIf(tenantPool ->
+            now - tenantPool.lastUsed > idleEviction.toNanos() && tenantPool.pool.isQuiescent());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pools.values().forEach(tenantPool -> tenantPool.pool.shutdown());
+    }
+
+    private static class TenantPool {
+        final ForkJoinPool pool;
+        volatile long lastUsed = System.nanoTime();
+
+        TenantPool(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+    }
+}
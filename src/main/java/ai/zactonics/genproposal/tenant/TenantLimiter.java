@@ -0,0 +1,176 @@
+package ai.zactonics.genproposal.tenant;
+
+import ai.zactonics.genproposal.config.RequestRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-tenant bulkhead (bounded concurrent requests) and token-bucket rate limit,
+ * plus per-tenant request metrics. A tenant that exhausts its own permits is
+ * rejected with 429 instead of occupying server threads other tenants need.
+ * State (and metrics) of a tenant with nothing in flight for proposal.tenant.idle-eviction is
+ * dropped when a new tenant arrives, so max-tenants bounds active tenants rather than all ever seen.
+ */
+@Component
+public class TenantLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${proposal.tenant.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${proposal.tenant.bulkhead-wait-ms:0}")
+    private long bulkheadWaitMs;
+
+    @Value("${proposal.tenant.requests-per-second:20}")
+    private double requestsPerSecond;
+
+    @Value("${proposal.tenant.burst:40}")
+    private int burst;
+
+    @Value("${proposal.tenant.max-tenants:1000}")
+    private int maxTenants;
+
+    @Value("${proposal.tenant.idle-eviction:10m}")
+    private Duration idleEviction;
+
+    private final Map<String, TenantState> tenants = new ConcurrentHashMap<>();
+
+    /** Reserves a bulkhead permit for the tenant, or throws a 429 RequestRejectedException. */
+    public Permit acquire(String tenantId) {
+        TenantState state = state(tenantId);
+        state.lastUsed = System.nanoTime();
+
+        long waitNanos = state.bucket.tryConsume();
+        if (waitNanos > 0) {
+            state.rejected.increment();
+            throw new RequestRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                "Rate limit exceeded for tenant " + tenantId, Duration.ofNanos(waitNanos));
+        }
+
+        boolean acquired;
+        try {
+            acquired = state.permits.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            state.rejected.increment();
+            throw new RequestRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many concurrent requests for tenant " + tenantId, Duration.ofSeconds(1));
+        }
+        state.inflight.incrementAndGet();
+        return new Permit(state, System.nanoTime());
+    }
+
+    private TenantState state(String tenantId) {
+        TenantState state = tenants.get(tenantId);
+        if (state != null) return state;
+        evictIdle();
+        if (tenants.size() >= maxTenants) {
+            throw new RequestRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                "Tenant capacity reached", Duration.ofSeconds(30));
+        }
+        return tenants.computeIfAbsent(tenantId, id -> new TenantState(id));
+    }
+
+    // a tenant evicted just as it acquires keeps its permit on the dropped state; the next call starts fresh
+    private void evictIdle() {
+        long now = System.nanoTime();
+        tenants.values().removeIf(state -> {
+            boolean idle = state.inflight.get() == 0 && now - state.lastUsed > idleEviction.toNanos();
+            if (idle) state.removeMeters();
+            return idle;
+        });
+    }
+
+    public class Permit implements AutoCloseable {
+        private final TenantState state;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(TenantState state, long startNanos) {
+            this.state = state;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            state.inflight.decrementAndGet();
+            state.permits.release();
+            state.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private class TenantState {
+        final Semaphore permits = new Semaphore(maxConcurrent);
+        final TokenBucket bucket = new TokenBucket(requestsPerSecond, burst);
+        final AtomicInteger inflight = new AtomicInteger();
+        final Timer latency;
+        final Counter rejected;
+        final Gauge inflightGauge;
+        volatile long lastUsed = System.nanoTime();
+
+        TenantState(String tenantId) {
+            latency = Timer.builder("proposal.tenant.request.duration")
+                .tag("tenant", tenantId)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+            rejected = Counter.builder("proposal.tenant.request.rejected")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+            inflightGauge = Gauge.builder("proposal.tenant.request.inflight", inflight, AtomicInteger::get)
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        }
+
+        void removeMeters() {
+            meterRegistry.remove(latency);
+            meterRegistry.remove(rejected);
+            meterRegistry.remove(inflightGauge);
+        }
+    }
+
+    /** Token bucket refilled lazily on each call. */
+    private static class TokenBucket {
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(double perSecond, int capacity) {
+            this.ratePerNano = perSecond / 1_000_000_000d;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+        }
+
+        /** Returns 0 when a token was taken, otherwise nanoseconds until one is available. */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerNano);
+        }
+    }
+}
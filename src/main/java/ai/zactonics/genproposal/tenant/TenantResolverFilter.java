@@ -0,0 +1,93 @@
+package ai.zactonics.genproposal.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant from the X-Tenant-ID header (lowercase slug) for every request.
+ * Requests without the header run as the default tenant.
+ *
+ * The header is a trusted-proxy header: the gateway that authenticates callers sets it, together
+ * with X-Tenant-Proxy-Token matching proposal.tenant.proxy-token. A non-default tenant without a
+ * valid proxy token (or any non-default tenant while no token is configured) is rejected with 403,
+ * since the tenant is all that separates one tenant's rosters, history and cached results from another's.
+ * Requests carrying the process's {@link WarmupToken} run as the internal warmup tenant.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantResolverFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+    public static final String PROXY_TOKEN_HEADER = "X-Tenant-Proxy-Token";
+
+    private static final Pattern TENANT_SLUG = Pattern.compile("[a-z0-9][a-z0-9-]{0,39}");
+
+    @Value("${proposal.tenant.proxy-token:}")
+    private String proxyToken;
+
+    @Autowired
+    private WarmupToken warmupToken;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String warmup = request.getHeader(WarmupToken.HEADER);
+        if (warmup != null) {
+            if (!warmupToken.matches(warmup)) {
+                response.sendError(HttpStatus.FORBIDDEN.value(), "Invalid " + WarmupToken.HEADER);
+                return;
+            }
+            runAs(TenantContext.WARMUP_TENANT, request, response, filterChain);
+            return;
+        }
+
+        String header = request.getHeader(TENANT_HEADER);
+        String tenantId = header == null || header.isBlank() ? TenantContext.DEFAULT_TENANT : header.trim().toLowerCase();
+
+        if (!TENANT_SLUG.matcher(tenantId).matches()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + TENANT_HEADER);
+            return;
+        }
+        if (!tenantId.equals(TenantContext.DEFAULT_TENANT) && !fromTrustedProxy(request)) {
+            response.sendError(HttpStatus.FORBIDDEN.value(), TENANT_HEADER + " is only accepted from the trusted proxy");
+            return;
+        }
+        runAs(tenantId, request, response, filterChain);
+    }
+
+    private void runAs(String tenantId, HttpServletRequest request, HttpServletResponse response,
+                       FilterChain filterChain) throws ServletException, IOException {
+        TenantContext.set(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private boolean fromTrustedProxy(HttpServletRequest request) {
+        String presented = request.getHeader(PROXY_TOKEN_HEADER);
+        return !proxyToken.isEmpty() && presented != null && MessageDigest.isEqual(
+            proxyToken.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The async dispatch that completes a streamed response runs as the caller's tenant too. */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
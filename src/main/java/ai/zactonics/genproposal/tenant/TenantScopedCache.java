@@ -0,0 +1,117 @@
+package ai.zactonics.genproposal.tenant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache partitioned by tenant. Each tenant gets its own partition capped at
+ * maxEntriesPerTenant, so one tenant filling the cache only evicts its own entries.
+ * Hits and misses are counted per tenant. The partition (and meters) of a tenant unused for
+ * idleEviction is dropped when a new tenant's partition is created, as TenantLimiter does.
+ */
+public class TenantScopedCache<K, V> {
+
+    private final String name;
+    private final int maxEntriesPerTenant;
+    private final Duration idleEviction;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Partition<K, V>> partitions = new ConcurrentHashMap<>();
+
+    public TenantScopedCache(String name, int maxEntriesPerTenant, Duration idleEviction, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxEntriesPerTenant = maxEntriesPerTenant;
+        this.idleEviction = idleEviction;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public V get(K key) {
+        Partition<K, V> partition = partition(TenantContext.get());
+        V value;
+        synchronized (partition) {
+            value = partition.entries.get(key);
+        }
+        (value != null ? partition.hits : partition.misses).increment();
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (maxEntriesPerTenant <= 0) return;
+        Partition<K, V> partition = partition(TenantContext.get());
+        synchronized (partition) {
+            partition.entries.put(key, value);
+        }
+    }
+
+    /** Cached value for the current tenant, computing it outside the partition lock on a miss. */
+    public V getOrCompute(K key, Supplier<V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.get();
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void invalidateTenant(String tenantId) {
+        Partition<K, V> partition = partitions.get(tenantId);
+        if (partition != null) {
+            synchronized (partition) {
+                partition.entries.clear();
+            }
+        }
+    }
+
+    private Partition<K, V> partition(String tenantId) {
+        Partition<K, V> partition = partitions.get(tenantId);
+        if (partition == null) {
+            evictIdle();
+            partition = partitions.computeIfAbsent(tenantId, id -> new Partition<>(id, this));
+        }
+        partition.lastUsed = System.nanoTime();
+        return partition;
+    }
+
+    // a call still holding an evicted partition only loses its own entry and count; the next call starts fresh
+    private void evictIdle() {
+        long now = System.nanoTime();
+        partitions.values().removeIf(partition -> {
+            boolean idle = now - partition.lastUsed > idleEviction.toNanos();
+            if (idle) partition.removeMeters(meterRegistry);
+            return idle;
+        });
+    }
+
+    private static class Partition<K, V> {
+        final LinkedHashMap<K, V> entries;
+        final Counter hits;
+        final Counter misses;
+        volatile long lastUsed = System.nanoTime();
+
+        Partition(String tenantId, TenantScopedCache<K, V> cache) {
+            int max = cache.maxEntriesPerTenant;
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > max;
+                }
+            };
+            hits = Counter.builder("proposal.tenant.cache.requests")
+                .tag("cache", cache.name).tag("tenant", tenantId).tag("result", "hit")
+                .register(cache.meterRegistry);
+            misses = Counter.builder("proposal.tenant.cache.requests")
+                .tag("cache", cache.name).tag("tenant", tenantId).tag("result", "miss")
+                .register(cache.meterRegistry);
+        }
+
+        void removeMeters(MeterRegistry meterRegistry) {
+            meterRegistry.remove(hits);
+            meterRegistry.remove(misses);
+        }
+    }
+}
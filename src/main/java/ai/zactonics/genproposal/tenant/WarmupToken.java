@@ -0,0 +1,36 @@
+package ai.zactonics.genproposal.tenant;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Per-process secret carried by StartupWarmup's own HTTP calls. A request presenting it runs as
+ * {@link TenantContext#WARMUP_TENANT}, which skips the tenant bulkhead, rate limit and admission
+ * control, so warmup neither drains a real tenant's bucket nor seeds its meters and latency baseline.
+ */
+@Component
+public class WarmupToken {
+
+    public static final String HEADER = "X-Warmup-Token";
+
+    private final String value;
+
+    public WarmupToken() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        value = HexFormat.of().formatHex(secret);
+    }
+
+    public String value() {
+        return value;
+    }
+
+    boolean matches(String presented) {
+        return presented != null && MessageDigest.isEqual(
+            value.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,7 @@ package ai.zactonics.genproposal;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "proposal.warmup.enabled=false")
 class GenproposalApplicationTests {
 
 	@Test
@@ -0,0 +1,118 @@
+package ai.zactonics.genproposal.admission;
+
+import ai.zactonics.genproposal.config.RequestRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTests {
+
+	@Test
+	void costIsHeldUnderTheLimitButALoneRequestIsAlwaysAdmitted() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 2.0, 10);
+
+		assertTrue(limit.tryAcquire(500));
+		assertFalse(limit.tryAcquire(1));
+		assertEquals(500, limit.inflight());
+		limit.release(500, 500_000);
+
+		assertTrue(limit.tryAcquire(60));
+		assertTrue(limit.tryAcquire(40));
+		assertFalse(limit.tryAcquire(1));
+		assertEquals(100, limit.inflight());
+		assertEquals(100.0, limit.limit());
+	}
+
+	@Test
+	void theLimitGrowsWhileLatencyHoldsAndOnlyWhenItIsInUse() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 1000, 2.0, 10);
+		// the first completion only sets the baseline of 1,000ns per unit
+		complete(limit, 60, 60_000);
+		assertEquals(100.0, limit.limit());
+
+		// at least half the limit was in flight, so it grows by increaseUnits x cost / limit
+		complete(limit, 60, 60_000);
+		assertEquals(106.0, limit.limit());
+		complete(limit, 10, 10_000);
+		assertEquals(106.0, limit.limit());
+		// slower, but within the tolerance of the baseline
+		complete(limit, 60, 90_000);
+		assertEquals(106 + 600.0 / 106, limit.limit(), 1e-9);
+
+		AdaptiveConcurrencyLimit capped = new AdaptiveConcurrencyLimit(100, 10, 120, 2.0, 100);
+		complete(capped, 60, 60_000);
+		complete(capped, 60, 60_000);
+		assertEquals(120.0, capped.limit());
+	}
+
+	@Test
+	void degradedLatencyCutsTheLimitAtMostOncePerInterval() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1000, 850, 5000, 2.0, 10);
+		complete(limit, 100, 100_000);
+
+		complete(limit, 100, 300_000);
+		assertEquals(900.0, limit.limit());
+		complete(limit, 100, 300_000);
+		assertEquals(900.0, limit.limit());
+
+		Thread.sleep(110);
+		complete(limit, 100, 300_000);
+		assertEquals(850.0, limit.limit());
+		Thread.sleep(110);
+		complete(limit, 100, 300_000);
+		assertEquals(850.0, limit.limit());
+
+		// a faster completion resets the baseline and leaves the limit alone
+		complete(limit, 100, 50_000);
+		assertEquals(850.0, limit.limit());
+		assertEquals(0, limit.inflight());
+	}
+
+	@Test
+	void aFullLimitRejectsWithTheAverageLatencyAsTheRetryHint() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		AdmissionControl admissionControl = new AdmissionControl();
+		ReflectionTestUtils.setField(admissionControl, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(admissionControl, "initialLimit", 100.0);
+		ReflectionTestUtils.setField(admissionControl, "minLimit", 10.0);
+		ReflectionTestUtils.setField(admissionControl, "maxLimit", 1000.0);
+		ReflectionTestUtils.setField(admissionControl, "latencyTolerance", 2.0);
+		ReflectionTestUtils.setField(admissionControl, "increaseUnits", 10.0);
+		ReflectionTestUtils.invokeMethod(admissionControl, "init");
+		AdaptiveConcurrencyLimit limit = (AdaptiveConcurrencyLimit) ReflectionTestUtils.getField(admissionControl, "concurrencyLimit");
+
+		AdmissionControl.Permit first = admissionControl.admit(80);
+		RequestRejectedException rejected = assertThrows(RequestRejectedException.class, () -> admissionControl.admit(30));
+		assertEquals(503, rejected.getStatusCode().value());
+		// nothing has completed yet, so the hint rounds up to a second
+		assertEquals(Duration.ZERO, rejected.getRetryAfter());
+		assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(1.0, meterRegistry.counter("proposal.admission.rejected", "reason", "overloaded").count());
+
+		first.close();
+		first.close();
+		assertEquals(0, limit.inflight());
+		try (AdmissionControl.Permit second = admissionControl.admit(30)) {
+			assertEquals(30, limit.inflight());
+		}
+
+		AdaptiveConcurrencyLimit averaged = new AdaptiveConcurrencyLimit(100, 10, 1000, 2.0, 10);
+		assertEquals(0, averaged.averageLatencyNanos());
+		complete(averaged, 10, 1_000_000);
+		complete(averaged, 10, 2_000_000);
+		assertEquals(1_100_000, averaged.averageLatencyNanos());
+	}
+
+	private static void complete(AdaptiveConcurrencyLimit limit, long cost, long latencyNanos) {
+		assertTrue(limit.tryAcquire(cost));
+		limit.release(cost, latencyNanos);
+	}
+}
@@ -0,0 +1,202 @@
+package ai.zactonics.genproposal.bench;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.Skill;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process parse and serialize cost of a proposal request with a generated roster, through the
+ * same Jackson message converters the API uses for JSON, Smile and CBOR. Unlike wire-benchmark.sh
+ * it needs no running server, and the roster size is a parameter.
+ *
+ * Run with: ./gradlew wireBenchmark [-Pemployees=1000,10000,50000] [-Piterations=20]
+ */
+public final class WireFormatBenchmark {
+
+	private static final String[] SKILLS = { "Azure", "AWS", "Kubernetes", "Terraform", "Java", "Python",
+		"Cloud Security", "Zero Trust Architecture", "Cloud Migration", "Azure DevOps", "Data Engineering",
+		"Compliance Management", "Audit Preparation", "Site Reliability", "PostgreSQL", "React" };
+	private static final String[] CERTS = { "AZ-305", "AZ-400", "AZ-500", "CISSP", "CISA", "CKA",
+		"AWS Solutions Architect", "ISO 27001 Lead Auditor", "PMP" };
+	private static final String[] LEVELS = { "Beginner", "Intermediate", "Advanced", "Expert" };
+
+	private WireFormatBenchmark() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		int[] rosterSizes = parseSizes(args.length > 0 ? args[0] : "1000,10000,50000");
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		Map<String, AbstractJackson2HttpMessageConverter> converters = new LinkedHashMap<>();
+		converters.put("json", new MappingJackson2HttpMessageConverter(builder.build()));
+		converters.put("smile", new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()));
+		converters.put("cbor", new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build()));
+
+		ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+		ProposalGenerationRequest template;
+		try (InputStream in = WireFormatBenchmark.class.getResourceAsStream("/proposal-request.json")) {
+			template = json.readValue(in, ProposalGenerationRequest.class);
+		}
+
+		System.out.printf("%-10s %-6s %14s %14s %12s %12s%n",
+			"employees", "format", "bytes", "gzip_bytes", "parse_ms", "write_ms");
+		for (int employees : rosterSizes) {
+			ProposalGenerationRequest request = withRoster(template, employees);
+			for (Map.Entry<String, AbstractJackson2HttpMessageConverter> entry : converters.entrySet()) {
+				measure(entry.getKey(), entry.getValue(), request, employees, iterations);
+			}
+		}
+	}
+
+	private static void measure(String format, AbstractJackson2HttpMessageConverter converter,
+								ProposalGenerationRequest request, int employees, int iterations) throws IOException {
+		byte[] body = write(converter, request);
+		// Warm up the converter and JIT before timing
+		for (int i = 0; i < Math.max(3, iterations / 4); i++) {
+			read(converter, body);
+			write(converter, request);
+		}
+
+		long parseNanos = 0;
+		long writeNanos = 0;
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			ProposalGenerationRequest parsed = read(converter, body);
+			parseNanos += System.nanoTime() - start;
+			if (parsed.getEmployeeData().size() != employees) throw new IllegalStateException("Roster did not round-trip");
+
+			start = System.nanoTime();
+			write(converter, parsed);
+			writeNanos += System.nanoTime() - start;
+		}
+		System.out.printf("%-10d %-6s %14d %14d %12.2f %12.2f%n", employees, format, body.length, gzipped(body),
+			parseNanos / 1e6 / iterations, writeNanos / 1e6 / iterations);
+	}
+
+	private static ProposalGenerationRequest read(AbstractJackson2HttpMessageConverter converter, byte[] body)
+			throws IOException {
+		return (ProposalGenerationRequest) converter.read(ProposalGenerationRequest.class, new MockHttpInputMessage(body));
+	}
+
+	private static byte[] write(AbstractJackson2HttpMessageConverter converter, ProposalGenerationRequest request)
+			throws IOException {
+		MockHttpOutputMessage out = new MockHttpOutputMessage();
+		converter.write(request, converter.getSupportedMediaTypes().get(0), out);
+		return out.getBodyAsBytes();
+	}
+
+	private static int gzipped(byte[] body) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		return out.size();
+	}
+
+	/** The template request with a generated roster of the given size and one project per ten employees. */
+	private static ProposalGenerationRequest withRoster(ProposalGenerationRequest template, int employees) {
+		Random random = new Random(employees);
+		List<Employee> roster = new ArrayList<>(employees);
+		for (int i = 0; i < employees; i++) {
+			roster.add(employee(i, random));
+		}
+		List<ProjectExperience> projects = new ArrayList<>();
+		for (int i = 0; i < Math.max(1, employees / 10); i++) {
+			projects.add(project(i, random, employees));
+		}
+		template.setEmployeeData(roster);
+		template.setProjectExperience(projects);
+		return template;
+	}
+
+	private static Employee employee(int i, Random random) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(String.format("EMP-%06d", i));
+		employee.setName("Employee " + i);
+		employee.setTitle(random.nextBoolean() ? "Cloud Architect" : "Software Engineer");
+		employee.setYearsExperience(1 + random.nextInt(25));
+		employee.setClearanceLevel(random.nextInt(4) == 0 ? "Secret" : "None");
+		employee.setAvailabilityPercentage(25 * (1 + random.nextInt(4)));
+		employee.setHourlyRate(90.0 + random.nextInt(120));
+
+		List<Skill> skills = new ArrayList<>();
+		for (int s = 0; s < 8; s++) {
+			skills.add(new Skill(SKILLS[random.nextInt(SKILLS.length)], LEVELS[random.nextInt(LEVELS.length)],
+				1 + random.nextInt(15)));
+		}
+		employee.setCurrentSkills(skills);
+
+		List<Certification> certifications = new ArrayList<>();
+		for (int c = 0; c < 3; c++) {
+			Certification cert = new Certification();
+			cert.setCertName(CERTS[random.nextInt(CERTS.length)]);
+			cert.setCertId("C-" + i + "-" + c);
+			cert.setDateObtained(LocalDate.of(2018 + random.nextInt(6), 1 + random.nextInt(12), 1));
+			cert.setExpiryDate(cert.getDateObtained().plusYears(3));
+			cert.setStatus("Active");
+			certifications.add(cert);
+		}
+		employee.setCurrentCertifications(certifications);
+		employee.setPlannedCertifications(List.of());
+		employee.setResumeHighlights(List.of(
+			"Led migration of " + (10 + random.nextInt(400)) + " applications to " + SKILLS[random.nextInt(SKILLS.length)],
+			"Designed " + SKILLS[random.nextInt(SKILLS.length)] + " controls for a regulated financial client",
+			"Reduced infrastructure cost by " + (5 + random.nextInt(40)) + "% through automation"));
+		return employee;
+	}
+
+	private static ProjectExperience project(int i, Random random, int employees) {
+		ProjectExperience project = new ProjectExperience();
+		project.setProjectId(String.format("PROJ-%05d", i));
+		project.setProjectName("Modernization Program " + i);
+		project.setClient("Client " + random.nextInt(500));
+		project.setIndustry(random.nextBoolean() ? "Financial Services" : "Healthcare");
+		project.setContractValue("$" + (1 + random.nextInt(9)) + ",000,000");
+		project.setDuration((6 + random.nextInt(30)) + " months");
+		project.setCompletionDate(LocalDate.of(2019 + random.nextInt(6), 1 + random.nextInt(12), 1));
+		List<String> team = new ArrayList<>();
+		for (int t = 0; t < 6; t++) {
+			team.add(String.format("EMP-%06d", random.nextInt(employees)));
+		}
+		project.setTeamMembers(team);
+		project.setTechnologiesUsed(List.of(SKILLS[random.nextInt(SKILLS.length)], SKILLS[random.nextInt(SKILLS.length)]));
+		project.setKeyAchievements(List.of("Delivered " + (90 + random.nextInt(10)) + "% of milestones on schedule",
+			"Migrated " + (50 + random.nextInt(500)) + " workloads with zero downtime"));
+		project.setLessonsLearned(List.of("Automate landing-zone provisioning early"));
+		project.setReferenceable(random.nextBoolean());
+		return project;
+	}
+
+	private static int[] parseSizes(String sizes) {
+		String[] parts = sizes.split(",");
+		int[] values = new int[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			values[i] = Integer.parseInt(parts[i].trim());
+		}
+		return values;
+	}
+}
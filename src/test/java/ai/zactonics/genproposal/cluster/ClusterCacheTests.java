@@ -0,0 +1,293 @@
+package ai.zactonics.genproposal.cluster;
+
+import ai.zactonics.genproposal.model.ClusterMember;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import ai.zactonics.genproposal.tenant.TenantResolverFilter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterCacheTests {
+
+	private static final String TOKEN = "cluster-secret";
+	private static final String NAMESPACE = "summaries";
+
+	private final List<Node> nodes = new ArrayList<>();
+
+	@AfterEach
+	void stopNodes() {
+		for (Node node : nodes) node.server.stop(0);
+		TenantContext.clear();
+	}
+
+	@Test
+	void aValueComputedOnOneNodeIsServedByItsOwnerToTheOther() throws Exception {
+		List<Node> cluster = cluster(TOKEN, TOKEN);
+		Node a = cluster.get(0);
+		Node b = cluster.get(1);
+		ClusteredCache<String> onA = a.cache.cache(NAMESPACE, String.class, 16);
+		ClusteredCache<String> onB = b.cache.cache(NAMESPACE, String.class, 16);
+
+		// owned by b: a computes it and publishes it to b asynchronously
+		String remote = keyOwnedBy(a, b.url);
+		assertEquals("computed on a", onA.getOrCompute(remote, () -> "computed on a"));
+		awaitOwned(b, remote);
+		assertEquals("computed on a", onB.getOrCompute(remote, ClusterCacheTests::neverCalled));
+		assertEquals(1.0, lookups(b, "local", "hit"));
+
+		// owned by a: a keeps it, and b reads it from a
+		String local = keyOwnedBy(a, a.url);
+		assertEquals("also on a", onA.getOrCompute(local, () -> "also on a"));
+		assertEquals("also on a", onB.getOrCompute(local, ClusterCacheTests::neverCalled));
+		assertEquals(1.0, lookups(b, "peer", "hit"));
+	}
+
+	@Test
+	void aMissAtTheOwnerFallsBackToTheLoader() throws Exception {
+		List<Node> cluster = cluster(TOKEN, TOKEN);
+		Node a = cluster.get(0);
+		String key = keyOwnedBy(a, cluster.get(1).url);
+		AtomicInteger loads = new AtomicInteger();
+
+		ClusteredCache<String> onA = a.cache.cache(NAMESPACE, String.class, 16);
+		assertEquals("loaded", onA.getOrCompute(key, () -> {
+			loads.incrementAndGet();
+			return "loaded";
+		}));
+		// the near-cache answers from now on
+		assertEquals("loaded", onA.getOrCompute(key, ClusterCacheTests::neverCalled));
+		assertEquals(1, loads.get());
+		assertEquals(1.0, lookups(a, "peer", "miss"));
+	}
+
+	@Test
+	void anUnreachablePeerIsSkippedUntilItsCooldownEnds() throws Exception {
+		List<Node> cluster = cluster(TOKEN, TOKEN);
+		Node a = cluster.get(0);
+		Node b = cluster.get(1);
+		String first = keyOwnedBy(a, b.url);
+		String second = keyOwnedBy(a, b.url, first);
+		b.server.stop(0);
+
+		ClusteredCache<String> onA = a.cache.cache(NAMESPACE, String.class, 16);
+		assertEquals("first", onA.getOrCompute(first, () -> "first"));
+		assertEquals(1.0, a.meterRegistry.counter("proposal.cluster.peer.failures", "peer", b.url).count());
+		assertEquals(List.of(true, false), a.cache.members().stream().map(ClusterMember::isUp).toList());
+
+		// during the cooldown b's keys are owned by a, so nothing more is sent to b
+		assertEquals("second", onA.getOrCompute(second, () -> "second"));
+		assertEquals(1.0, a.meterRegistry.counter("proposal.cluster.peer.failures", "peer", b.url).count());
+		assertEquals("second", a.cache.decode(a.cache.ownedGet(NAMESPACE, second, TOKEN), String.class));
+
+		Thread.sleep(a.cooldown.toMillis() + 50);
+		assertEquals(List.of(true, true), a.cache.members().stream().map(ClusterMember::isUp).toList());
+	}
+
+	@Test
+	void aPeerWithAnotherTokenIsRefusedButNotMarkedDown() throws Exception {
+		List<Node> cluster = cluster(TOKEN, "some-other-secret");
+		Node a = cluster.get(0);
+		Node b = cluster.get(1);
+
+		String key = keyOwnedBy(a, b.url);
+		assertNull(a.cache.fetch(NAMESPACE, key));
+		assertEquals(1.0, lookups(a, "peer", "error"));
+		assertEquals(List.of(true, true), a.cache.members().stream().map(ClusterMember::isUp).toList());
+	}
+
+	@Test
+	void ownedEntriesRequireTheTokenBeforeTheBodyIsRead() throws Exception {
+		Node a = cluster(TOKEN).get(0);
+		InputStream unread = new InputStream() {
+			@Override
+			public int read() {
+				throw new AssertionError("body read before the token was checked");
+			}
+		};
+
+		assertEquals(403, status(() -> a.cache.ownedGet(NAMESPACE, "key", null)));
+		assertEquals(403, status(() -> a.cache.ownedGet(NAMESPACE, "key", TOKEN + "x")));
+		assertEquals(403, status(() -> a.cache.ownedPut(NAMESPACE, "key", unread, 10, "wrong")));
+
+		byte[] value = {1, 2, 3};
+		a.cache.ownedPut(NAMESPACE, "key", new ByteArrayInputStream(value), value.length, TOKEN);
+		assertArrayEquals(value, a.cache.ownedGet(NAMESPACE, "key", TOKEN));
+	}
+
+	@Test
+	void ownedEntriesAreBoundedBySizeWhetherOrNotTheLengthIsKnown() throws Exception {
+		Node a = cluster(TOKEN).get(0);
+		int max = (int) a.maxEntrySize.toBytes();
+
+		assertEquals(413, status(() ->
+			a.cache.ownedPut(NAMESPACE, "key", new ByteArrayInputStream(new byte[0]), max + 1, TOKEN)));
+		assertEquals(413, status(() ->
+			a.cache.ownedPut(NAMESPACE, "key", new ByteArrayInputStream(new byte[max + 1]), -1, TOKEN)));
+		assertNull(a.cache.ownedGet(NAMESPACE, "key", TOKEN));
+
+		a.cache.ownedPut(NAMESPACE, "key", new ByteArrayInputStream(new byte[max]), -1, TOKEN);
+		assertEquals(max, a.cache.ownedGet(NAMESPACE, "key", TOKEN).length);
+	}
+
+	@Test
+	void aDisabledNodeLooksEmptyToPeersAndCachesLocally() throws Exception {
+		ClusterCache disabled = clusterCache(new SimpleMeterRegistry(), false, "", List.of(), "", Duration.ofSeconds(10));
+
+		assertEquals(404, status(() -> disabled.ownedGet(NAMESPACE, "key", TOKEN)));
+		assertEquals(List.of(), disabled.members());
+		ClusteredCache<String> cache = disabled.cache(NAMESPACE, String.class, 16);
+		assertEquals("local", cache.getOrCompute("key", () -> "local"));
+		assertEquals("local", cache.getOrCompute("key", ClusterCacheTests::neverCalled));
+	}
+
+	@Test
+	void anEnabledNodeNeedsItsAddressAndAToken() {
+		IllegalStateException noSelf = assertThrows(IllegalStateException.class, () ->
+			clusterCache(new SimpleMeterRegistry(), true, " ", List.of(), TOKEN, Duration.ofSeconds(10)));
+		assertTrue(noSelf.getMessage().contains("proposal.cluster.self"), noSelf.getMessage());
+		IllegalStateException noToken = assertThrows(IllegalStateException.class, () ->
+			clusterCache(new SimpleMeterRegistry(), true, "http://localhost:1", List.of(), "", Duration.ofSeconds(10)));
+		assertTrue(noToken.getMessage().contains("proposal.cluster.token"), noToken.getMessage());
+	}
+
+	/** One node per token, each listing all the others as peers and served over HTTP like the controller does. */
+	private List<Node> cluster(String... tokens) throws IOException {
+		List<Node> cluster = new ArrayList<>();
+		for (String token : tokens) {
+			HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+			cluster.add(new Node(server, "http://127.0.0.1:" + server.getAddress().getPort()));
+		}
+		for (int i = 0; i < cluster.size(); i++) {
+			Node node = cluster.get(i);
+			// trailing slashes are trimmed by the cache
+			List<String> peers = cluster.stream().filter(peer -> peer != node).map(peer -> peer.url + "/").toList();
+			node.cache = clusterCache(node.meterRegistry, true, node.url + "/", peers, tokens[i], node.cooldown);
+			node.server.createContext("/internal/cluster/cache/", exchange -> serve(node.cache, exchange));
+			node.server.start();
+			nodes.add(node);
+		}
+		return cluster;
+	}
+
+	private ClusterCache clusterCache(SimpleMeterRegistry meterRegistry, boolean enabled, String self, List<String> peers,
+									  String token, Duration cooldown) {
+		ClusterCache cache = new ClusterCache();
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(cache, "smileConverter",
+			new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile().build()));
+		ReflectionTestUtils.setField(cache, "enabled", enabled);
+		ReflectionTestUtils.setField(cache, "self", self);
+		ReflectionTestUtils.setField(cache, "peers", peers);
+		ReflectionTestUtils.setField(cache, "virtualNodes", 128);
+		ReflectionTestUtils.setField(cache, "timeout", Duration.ofSeconds(2));
+		ReflectionTestUtils.setField(cache, "peerCooldown", cooldown);
+		ReflectionTestUtils.setField(cache, "ownedEntriesPerTenant", 64);
+		ReflectionTestUtils.setField(cache, "maxEntrySize", DataSize.ofKilobytes(4));
+		ReflectionTestUtils.setField(cache, "token", token);
+		ReflectionTestUtils.setField(cache, "tenantIdleEviction", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(cache, "tenantProxyToken", "");
+		ReflectionTestUtils.invokeMethod(cache, "init");
+		return cache;
+	}
+
+	// what ClusterCacheController and the tenant filter do for a peer request
+	private static void serve(ClusterCache cache, HttpExchange exchange) throws IOException {
+		String[] path = exchange.getRequestURI().getRawPath().substring("/internal/cluster/cache/".length()).split("/");
+		String namespace = URLDecoder.decode(path[0], StandardCharsets.UTF_8);
+		String key = URLDecoder.decode(path[1], StandardCharsets.UTF_8);
+		String token = exchange.getRequestHeaders().getFirst(ClusterCache.TOKEN_HEADER);
+		TenantContext.set(exchange.getRequestHeaders().getFirst(TenantResolverFilter.TENANT_HEADER));
+		try {
+			if (exchange.getRequestMethod().equals("PUT")) {
+				long length = Long.parseLong(exchange.getRequestHeaders().getFirst("Content-Length"));
+				cache.ownedPut(namespace, key, exchange.getRequestBody(), length, token);
+				exchange.sendResponseHeaders(204, -1);
+				return;
+			}
+			byte[] value = cache.ownedGet(namespace, key, token);
+			if (value == null) {
+				exchange.sendResponseHeaders(404, -1);
+			} else {
+				exchange.sendResponseHeaders(200, value.length);
+				exchange.getResponseBody().write(value);
+			}
+		} catch (ResponseStatusException e) {
+			exchange.sendResponseHeaders(e.getStatusCode().value(), -1);
+		} finally {
+			exchange.close();
+			TenantContext.clear();
+		}
+	}
+
+	private static String keyOwnedBy(Node node, String owner, String... except) {
+		ConsistentHashRing ring = (ConsistentHashRing) ReflectionTestUtils.getField(node.cache, "ring");
+		for (int i = 0; ; i++) {
+			String key = "rfp-" + i;
+			if (ring.owner(key, n -> true).equals(owner) && !List.of(except).contains(key)) return key;
+		}
+	}
+
+	private static void awaitOwned(Node node, String key) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (node.cache.ownedGet(NAMESPACE, key, TOKEN) == null) {
+			if (System.nanoTime() > deadline) throw new AssertionError(key + " never reached " + node.url);
+			Thread.sleep(10);
+		}
+	}
+
+	private static double lookups(Node node, String owner, String result) {
+		return node.meterRegistry.counter("proposal.cluster.lookups", "namespace", NAMESPACE, "owner", owner,
+			"result", result).count();
+	}
+
+	private static int status(ThrowingCall call) {
+		return assertThrows(ResponseStatusException.class, call::run).getStatusCode().value();
+	}
+
+	private static String neverCalled() {
+		throw new AssertionError("loader called for a cached value");
+	}
+
+	@FunctionalInterface
+	private interface ThrowingCall {
+		void run() throws Exception;
+	}
+
+	private static final class Node {
+		private final HttpServer server;
+		private final String url;
+		private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		private final Duration cooldown = Duration.ofMillis(300);
+		private final DataSize maxEntrySize = DataSize.ofKilobytes(4);
+		private ClusterCache cache;
+
+		private Node(HttpServer server, String url) {
+			this.server = server;
+			this.url = url;
+		}
+	}
+}
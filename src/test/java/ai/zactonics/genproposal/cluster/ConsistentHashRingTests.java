@@ -0,0 +1,96 @@
+package ai.zactonics.genproposal.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTests {
+
+	private static final List<String> NODES = List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+	private static final int KEYS = 30_000;
+
+	@Test
+	void keysSpreadEvenlyAndOwnershipIsStable() {
+		ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+		ConsistentHashRing rebuilt = new ConsistentHashRing(List.of(NODES.get(2), NODES.get(0), NODES.get(1)), 128);
+
+		Map<String, Integer> owned = new HashMap<>();
+		for (int i = 0; i < KEYS; i++) {
+			String owner = ring.owner("key-" + i, node -> true);
+			owned.merge(owner, 1, Integer::sum);
+			// every node builds the same ring whatever order its peers are listed in
+			assertEquals(owner, rebuilt.owner("key-" + i, node -> true));
+		}
+		assertEquals(Set.copyOf(NODES), owned.keySet());
+		for (int count : owned.values()) {
+			assertTrue(count > KEYS / 3 * 0.75 && count < KEYS / 3 * 1.25, owned.toString());
+		}
+	}
+
+	@Test
+	void aDownNodesKeysMoveToTheOthersAndNoOtherKeyMoves() {
+		ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+		String down = NODES.get(1);
+
+		int moved = 0;
+		for (int i = 0; i < KEYS; i++) {
+			String before = ring.owner("key-" + i, node -> true);
+			String after = ring.owner("key-" + i, node -> !node.equals(down));
+			assertNotEquals(down, after);
+			if (before.equals(down)) moved++;
+			else assertEquals(before, after);
+		}
+		assertTrue(moved > 0);
+	}
+
+	@Test
+	void anAddedNodeTakesAboutItsShareFromTheOthers() {
+		ConsistentHashRing three = new ConsistentHashRing(NODES, 128);
+		String added = "http://node-d:8080";
+		ConsistentHashRing four = new ConsistentHashRing(List.of(NODES.get(0), NODES.get(1), NODES.get(2), added), 128);
+
+		int moved = 0;
+		for (int i = 0; i < KEYS; i++) {
+			String before = three.owner("key-" + i, node -> true);
+			String after = four.owner("key-" + i, node -> true);
+			if (!before.equals(after)) {
+				// keys only ever move to the new node
+				assertEquals(added, after);
+				moved++;
+			}
+		}
+		assertTrue(moved > KEYS / 4 * 0.75 && moved < KEYS / 4 * 1.25, "moved " + moved);
+	}
+
+	@Test
+	void noLiveNodesOrNoNodesMeansNoOwner() {
+		assertNull(new ConsistentHashRing(NODES, 128).owner("key", node -> false));
+		assertNull(new ConsistentHashRing(List.of(), 128).owner("key", node -> true));
+		assertEquals(NODES.get(0), new ConsistentHashRing(List.of(NODES.get(0)), 1).owner("key", node -> true));
+	}
+
+	@Test
+	void duplicateNodesAreListedOnce() {
+		ConsistentHashRing ring = new ConsistentHashRing(List.of(NODES.get(0), NODES.get(1), NODES.get(0)), 16);
+
+		assertEquals(List.of(NODES.get(0), NODES.get(1)), ring.nodes());
+	}
+
+	@Test
+	void similarNamesHashFarApart() {
+		long a = ConsistentHashRing.hash("node#1");
+		long b = ConsistentHashRing.hash("node#2");
+
+		// the finalizer flips about half the bits for a one-bit change in the input
+		int differing = Long.bitCount(a ^ b);
+		assertTrue(differing > 16 && differing < 48, "differing bits " + differing);
+	}
+}
@@ -0,0 +1,131 @@
+package ai.zactonics.genproposal.config;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestSizeLimitFilterTests {
+
+	private static final int MAX_BODY = 64;
+	private static final int MAX_UPLOAD = 1024;
+
+	@Test
+	void aDeclaredLengthOverTheCapIsRejectedWithoutReadingTheBody() throws Exception {
+		MockHttpServletRequest request = post("/api/prompt/generate", new byte[MAX_BODY + 1]);
+		HttpServletRequest unread = new HttpServletRequestWrapper(request) {
+			@Override
+			public ServletInputStream getInputStream() {
+				throw new AssertionError("the body should not be read");
+			}
+		};
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter().doFilter(unread, response, chain);
+		assertEquals(413, response.getStatus());
+		assertEquals("Request body exceeds " + DataSize.ofBytes(MAX_BODY), response.getErrorMessage());
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	void aBodyWithoutALengthIsReadUpToTheCap() throws Exception {
+		MockHttpServletResponse tooLong = new MockHttpServletResponse();
+		MockFilterChain rejected = new MockFilterChain();
+		filter().doFilter(chunked(post("/api/prompt/generate", new byte[MAX_BODY + 1])), tooLong, rejected);
+		assertEquals(413, tooLong.getStatus());
+		assertNull(rejected.getRequest());
+
+		// a body at the cap is buffered, so it can be read more than once and now has a length
+		byte[] body = "x".repeat(MAX_BODY).getBytes(StandardCharsets.UTF_8);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter().doFilter(chunked(post("/api/prompt/generate", body)), response, chain);
+		assertEquals(200, response.getStatus());
+		HttpServletRequest passed = (HttpServletRequest) chain.getRequest();
+		assertEquals(MAX_BODY, passed.getContentLengthLong());
+		assertArrayEquals(body, passed.getInputStream().readAllBytes());
+		assertArrayEquals(body, passed.getInputStream().readAllBytes());
+		assertEquals("x".repeat(MAX_BODY), passed.getReader().readLine());
+	}
+
+	@Test
+	void uploadsAreCappedWhileTheyStream() throws Exception {
+		MockHttpServletResponse declared = new MockHttpServletResponse();
+		filter().doFilter(post("/api/ingest/roster", new byte[MAX_UPLOAD + 1]), declared, new MockFilterChain());
+		assertEquals(413, declared.getStatus());
+		assertEquals("Upload exceeds " + DataSize.ofKilobytes(1), declared.getErrorMessage());
+
+		// above the body cap but within the upload cap, and not buffered
+		MockFilterChain chain = new MockFilterChain();
+		filter().doFilter(chunked(post("/api/ingest/roster", new byte[MAX_UPLOAD])), new MockHttpServletResponse(), chain);
+		assertEquals(MAX_UPLOAD, chain.getRequest().getInputStream().readAllBytes().length);
+
+		MockFilterChain overflow = new MockFilterChain();
+		filter().doFilter(chunked(post("/api/ingest/roster", new byte[MAX_UPLOAD + 1])), new MockHttpServletResponse(), overflow);
+		InputStream in = overflow.getRequest().getInputStream();
+		ResponseStatusException tooLarge = assertThrows(ResponseStatusException.class, in::readAllBytes);
+		assertEquals(413, tooLarge.getStatusCode().value());
+	}
+
+	@Test
+	void requestsOutsideTheApiAndEmptyRequestsPassThrough() throws Exception {
+		MockHttpServletRequest actuator = post("/actuator/health", new byte[MAX_BODY * 2]);
+		MockFilterChain chain = new MockFilterChain();
+		filter().doFilter(actuator, new MockHttpServletResponse(), chain);
+		assertSame(actuator, chain.getRequest());
+
+		MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/taxonomy");
+		MockFilterChain getChain = new MockFilterChain();
+		filter().doFilter(get, new MockHttpServletResponse(), getChain);
+		assertSame(get, getChain.getRequest());
+
+		MockHttpServletRequest empty = post("/api/prompt/generate", new byte[0]);
+		MockFilterChain emptyChain = new MockFilterChain();
+		filter().doFilter(empty, new MockHttpServletResponse(), emptyChain);
+		assertSame(empty, emptyChain.getRequest());
+	}
+
+	private static RequestSizeLimitFilter filter() {
+		RequestSizeLimitFilter filter = new RequestSizeLimitFilter();
+		ReflectionTestUtils.setField(filter, "maxBodySize", DataSize.ofBytes(MAX_BODY));
+		ReflectionTestUtils.setField(filter, "maxUploadSize", DataSize.ofKilobytes(1));
+		return filter;
+	}
+
+	private static MockHttpServletRequest post(String uri, byte[] body) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+		request.setContent(body);
+		return request;
+	}
+
+	// a chunked body carries no Content-Length
+	private static HttpServletRequest chunked(HttpServletRequest request) {
+		return new HttpServletRequestWrapper(request) {
+			@Override
+			public int getContentLength() {
+				return -1;
+			}
+
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+		};
+	}
+}
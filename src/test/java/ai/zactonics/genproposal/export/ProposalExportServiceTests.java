@@ -0,0 +1,117 @@
+package ai.zactonics.genproposal.export;
+
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.service.ProposalSectionType;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"proposal.history.enabled=false", "proposal.warmup.enabled=false"})
+class ProposalExportServiceTests {
+
+	private static final Map<String, String> CONTENT = Map.of(
+		"Executive Summary", "We will migrate <500> applications.\n- Zero downtime\n- Fixed price");
+
+	@Autowired
+	private ProposalExportService exportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("classpath:proposal-request.json")
+	private Resource proposalRequest;
+
+	private ProposalGenerationRequest request;
+
+	@BeforeEach
+	void loadRequest() throws Exception {
+		request = objectMapper.readValue(proposalRequest.getInputStream(), ProposalGenerationRequest.class);
+	}
+
+	@Test
+	void markdownRendersSuppliedTextAndLabelsPrompts() throws Exception {
+		String md = new String(export(ExportFormat.MARKDOWN, CONTENT), StandardCharsets.UTF_8);
+		assertTrue(md.startsWith("# Proposal: "));
+		assertTrue(md.contains("## Executive Summary\n\nWe will migrate \\<500\\> applications.\n\n- Zero downtime\n"));
+		assertFalse(md.contains("Generate an executive summary"));
+		assertTrue(md.contains("## Technical Approach\n\n### " + ProposalExportService.PROMPT_LABEL));
+	}
+
+	@Test
+	void htmlEscapesSuppliedText() throws Exception {
+		String html = new String(export(ExportFormat.HTML, CONTENT), StandardCharsets.UTF_8);
+		assertTrue(html.contains("<h2>Executive Summary</h2>"));
+		assertTrue(html.contains("<p>We will migrate &lt;500&gt; applications.</p>"));
+		assertTrue(html.contains("<li>Zero downtime</li>"));
+		assertTrue(html.trim().endsWith("</html>"));
+	}
+
+	@Test
+	void docxIsAZipWithTheDocumentPartLast() throws Exception {
+		byte[] docx = export(ExportFormat.DOCX, CONTENT);
+		List<String> entries = new ArrayList<>();
+		String document = null;
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(docx))) {
+			for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+				entries.add(entry.getName());
+				if (entry.getName().equals("word/document.xml")) {
+					document = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+				}
+			}
+		}
+		assertTrue(entries.contains("[Content_Types].xml"));
+		assertEquals("word/document.xml", entries.get(entries.size() - 1));
+		assertTrue(document.contains("We will migrate &lt;500&gt; applications."));
+		assertTrue(document.trim().endsWith("</w:document>"));
+	}
+
+	@Test
+	void onlyComputedAndPromptSectionsAreCached() throws Exception {
+		TenantContext.set("export-cache-tests");
+		try {
+			export(ExportFormat.MARKDOWN, CONTENT);
+			String md = new String(export(ExportFormat.MARKDOWN, Map.of("Executive Summary", "Revised summary")),
+				StandardCharsets.UTF_8);
+			assertTrue(md.contains("## Executive Summary\n\nRevised summary\n"));
+			int cached = ProposalSectionType.values().length - 1;
+			assertEquals(cached, fragmentRequests("miss"));
+			assertEquals(cached, fragmentRequests("hit"));
+		} finally {
+			TenantContext.clear();
+		}
+	}
+
+	private double fragmentRequests(String result) {
+		return meterRegistry.counter("proposal.tenant.cache.requests",
+			"cache", "export-fragments", "tenant", TenantContext.get(), "result", result).count();
+	}
+
+	private byte[] export(ExportFormat format, Map<String, String> content) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(request, null, content, format, out);
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,267 @@
+package ai.zactonics.genproposal.history;
+
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.ProposalGenerationResponse;
+import ai.zactonics.genproposal.model.ProposalHistoryEntry;
+import ai.zactonics.genproposal.model.ProposalHistorySummary;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.service.RequestFingerprintService;
+import ai.zactonics.genproposal.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProposalHistoryStoreTests {
+
+	private static final String LARGE_SEGMENTS = "16MB";
+	// every record rolls a new segment
+	private static final String ONE_RECORD_SEGMENTS = "1B";
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final List<ProposalHistoryStore> opened = new ArrayList<>();
+	private SimpleMeterRegistry meterRegistry;
+
+	@TempDir
+	Path dir;
+
+	@AfterEach
+	void closeStores() throws InterruptedException {
+		for (ProposalHistoryStore store : opened) store.shutdown();
+		TenantContext.clear();
+	}
+
+	@Test
+	void recordsSurviveARestart() throws Exception {
+		ProposalHistoryStore store = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		for (int i = 1; i <= 3; i++) store.record("hash-" + i, request("RFP-" + i), response("Proposal " + i));
+		awaitRecords(store, 3);
+		restart(store);
+
+		ProposalHistoryStore reopened = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		assertEquals(List.of("RFP-3", "RFP-2", "RFP-1"), rfpIds(reopened));
+		long id = reopened.findByInputHash("hash-2").get(0).getId();
+		ProposalHistoryEntry entry = reopened.get(id).orElseThrow();
+		assertEquals("RFP-2", entry.getRequest().getRfpData().getRfpId());
+		assertEquals("Proposal 2", entry.getResponse().getCompleteProposal());
+
+		// ids continue after the recovered ones
+		reopened.record("hash-4", request("RFP-4"), response("Proposal 4"));
+		awaitRecords(reopened, 4);
+		assertEquals(id + 2, reopened.findByInputHash("hash-4").get(0).getId());
+	}
+
+	@Test
+	void aTornRecordAtTheEndOfTheNewestSegmentIsTruncated() throws Exception {
+		ProposalHistoryStore store = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		for (int i = 1; i <= 3; i++) store.record("hash-" + i, request("RFP-" + i), response("Proposal " + i));
+		awaitRecords(store, 3);
+		restart(store);
+
+		Path segment = segments().get(0);
+		long intact = Files.size(segment);
+		byte[] first = Files.readAllBytes(segment);
+		// the first half of a copy of the first record, as a crash mid-append leaves it
+		Files.write(segment, Arrays.copyOf(first, recordOffsets(segment).get(1).intValue() / 2),
+			StandardOpenOption.APPEND);
+
+		ProposalHistoryStore reopened = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		assertEquals(3, rfpIds(reopened).size());
+		assertEquals(intact, Files.size(segment));
+
+		reopened.record("hash-4", request("RFP-4"), response("Proposal 4"));
+		awaitRecords(reopened, 4);
+		restart(reopened);
+		assertEquals(List.of("RFP-4", "RFP-3", "RFP-2", "RFP-1"), rfpIds(open(LARGE_SEGMENTS, Duration.ofDays(90))));
+	}
+
+	@Test
+	void aDamagedRecordInASealedSegmentIsSkipped() throws Exception {
+		ProposalHistoryStore store = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		for (int i = 1; i <= 3; i++) store.record("hash-" + i, request("RFP-" + i), response("Proposal " + i));
+		awaitRecords(store, 3);
+		restart(store);
+		// a later run rolls a new segment, sealing the first
+		store = open(ONE_RECORD_SEGMENTS, Duration.ofDays(90));
+		store.record("hash-4", request("RFP-4"), response("Proposal 4"));
+		awaitRecords(store, 4);
+		restart(store);
+
+		Path sealed = segments().get(0);
+		long size = Files.size(sealed);
+		// flip a payload byte of the middle record, so its checksum fails
+		List<Long> offsets = recordOffsets(sealed);
+		flipByte(sealed, offsets.get(2) - 1);
+
+		ProposalHistoryStore reopened = open(ONE_RECORD_SEGMENTS, Duration.ofDays(90));
+		assertEquals(List.of("RFP-4", "RFP-3", "RFP-1"), rfpIds(reopened));
+		assertEquals(size, Files.size(sealed));
+		assertEquals(1.0, meterRegistry.counter("proposal.history.damaged").count());
+	}
+
+	@Test
+	void aDamagedHeaderInTheNewestSegmentIsSkippedRatherThanTruncated() throws Exception {
+		ProposalHistoryStore store = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		for (int i = 1; i <= 3; i++) store.record("hash-" + i, request("RFP-" + i), response("Proposal " + i));
+		awaitRecords(store, 3);
+		restart(store);
+
+		Path segment = segments().get(0);
+		long size = Files.size(segment);
+		// the magic number of the middle record: its length is unknown, so the next record is found by scanning
+		flipByte(segment, recordOffsets(segment).get(1));
+
+		ProposalHistoryStore reopened = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		assertEquals(List.of("RFP-3", "RFP-1"), rfpIds(reopened));
+		assertEquals(size, Files.size(segment));
+	}
+
+	@Test
+	void retentionDropsExpiredSealedSegments() throws Exception {
+		ProposalHistoryStore store = open(ONE_RECORD_SEGMENTS, Duration.ofMillis(50));
+		for (int i = 1; i <= 3; i++) {
+			store.record("hash-" + i, request("RFP-" + i), response("Proposal " + i));
+			awaitRecords(store, i);
+		}
+		assertEquals(3, segments().size());
+		Thread.sleep(100);
+
+		// the newest segment is still being appended to and is kept whatever its age
+		assertEquals(2, store.compact());
+		assertEquals(List.of("RFP-3"), rfpIds(store));
+		assertEquals(1, segments().size());
+		assertEquals(0, store.compact());
+	}
+
+	@Test
+	void findNarrowsByRfpTimeRangeAndTenant() throws Exception {
+		ProposalHistoryStore store = open(LARGE_SEGMENTS, Duration.ofDays(90));
+		List<Instant> between = new ArrayList<>();
+		String[] rfps = {"RFP-A", "RFP-B", "RFP-A", "RFP-B"};
+		for (int i = 0; i < rfps.length; i++) {
+			store.record("hash-" + i, request(rfps[i]), response("Proposal " + i));
+			awaitRecords(store, i + 1);
+			Thread.sleep(5);
+			between.add(Instant.now());
+			Thread.sleep(5);
+		}
+
+		assertEquals(List.of("RFP-A", "RFP-B"), rfpIds(store.find(null, null, between.get(0), between.get(2), 10)));
+		assertEquals(List.of("RFP-B", "RFP-A"), rfpIds(store.find(null, null, between.get(0), null, 2)));
+		assertEquals(List.of("RFP-B", "RFP-A"), rfpIds(store.find(null, null, null, between.get(1), 10)));
+		assertEquals(2, store.find("RFP-A", null, null, null, 10).size());
+		assertEquals(List.of("RFP-A"), rfpIds(store.find("RFP-A", null, between.get(1), null, 10)));
+		assertEquals(List.of(), store.find(null, null, between.get(2), between.get(0), 10));
+
+		String rosterVersion = store.find(null, null, null, null, 1).get(0).getRosterVersion();
+		assertEquals(4, store.find(null, rosterVersion, null, null, 10).size());
+		assertEquals(List.of(), store.find(null, "unknown", null, null, 10));
+
+		TenantContext.set("other-tenant");
+		assertEquals(List.of(), store.find(null, null, null, null, 10));
+		assertEquals(List.of(), store.findByInputHash("hash-0"));
+		assertTrue(store.get(1).isEmpty());
+	}
+
+	private ProposalHistoryStore open(String segmentSize, Duration retention) throws IOException {
+		RequestFingerprintService fingerprintService = new RequestFingerprintService();
+		ReflectionTestUtils.setField(fingerprintService, "objectMapper", objectMapper);
+		ReflectionTestUtils.invokeMethod(fingerprintService, "init");
+
+		meterRegistry = new SimpleMeterRegistry();
+		ProposalHistoryStore store = new ProposalHistoryStore();
+		ReflectionTestUtils.setField(store, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(store, "fingerprintService", fingerprintService);
+		ReflectionTestUtils.setField(store, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(store, "enabled", true);
+		ReflectionTestUtils.setField(store, "directory", dir);
+		ReflectionTestUtils.setField(store, "segmentSize", DataSize.parse(segmentSize));
+		ReflectionTestUtils.setField(store, "retention", retention);
+		ReflectionTestUtils.setField(store, "queueCapacity", 100);
+		ReflectionTestUtils.setField(store, "maxSimilarCandidates", 100);
+		store.init();
+		opened.add(store);
+		return store;
+	}
+
+	private void restart(ProposalHistoryStore store) throws InterruptedException {
+		store.shutdown();
+		opened.remove(store);
+	}
+
+	// appends are written by the store's background thread
+	private static void awaitRecords(ProposalHistoryStore store, int count) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (store.find(null, null, null, null, count).size() < count) {
+			if (System.nanoTime() > deadline) throw new AssertionError("history did not reach " + count + " records");
+			Thread.sleep(10);
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(p -> p.getFileName().toString().startsWith("segment-")).sorted().toList();
+		}
+	}
+
+	/** Start of every record in an intact segment, followed by its end. */
+	private static List<Long> recordOffsets(Path segment) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+		List<Long> offsets = new ArrayList<>();
+		long offset = 0;
+		while (offset < bytes.capacity()) {
+			offsets.add(offset);
+			offset += 16 + bytes.getInt((int) offset + 4) + bytes.getInt((int) offset + 8);
+		}
+		offsets.add(offset);
+		return offsets;
+	}
+
+	private static void flipByte(Path file, long position) throws IOException {
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[(int) position] ^= 0x5A;
+		Files.write(file, bytes);
+	}
+
+	private static List<String> rfpIds(ProposalHistoryStore store) {
+		return rfpIds(store.find(null, null, null, null, 100));
+	}
+
+	private static List<String> rfpIds(List<ProposalHistorySummary> summaries) {
+		return summaries.stream().map(ProposalHistorySummary::getRfpId).toList();
+	}
+
+	private static ProposalGenerationRequest request(String rfpId) {
+		RfpData rfp = new RfpData();
+		rfp.setRfpId(rfpId);
+		rfp.setTitle("Cloud migration " + rfpId);
+		ProposalGenerationRequest request = new ProposalGenerationRequest();
+		request.setRfpData(rfp);
+		return request;
+	}
+
+	private static ProposalGenerationResponse response(String text) {
+		ProposalGenerationResponse response = new ProposalGenerationResponse();
+		response.setCompleteProposal(text);
+		return response;
+	}
+}
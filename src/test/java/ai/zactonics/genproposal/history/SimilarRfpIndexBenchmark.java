@@ -0,0 +1,72 @@
+package ai.zactonics.genproposal.history;
+
+import ai.zactonics.genproposal.model.RfpData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Lookup cost of {@link SimilarRfpIndex} at a given size: fills the index with synthetic RFPs
+ * (spread over a few tenants, as the history store would) and times signature computation and
+ * queries for stored and unseen RFPs. Reading matched responses from disk is not included.
+ *
+ * Run with: ./gradlew similarRfpBenchmark [-Prfps=300000] [-Pqueries=20000]
+ */
+final class SimilarRfpIndexBenchmark {
+
+	private static final String[] TENANTS = { "default", "acme", "globex", "initech" };
+
+	private SimilarRfpIndexBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+		Random random = new Random(46);
+
+		List<int[]> stored = new ArrayList<>(size);
+		long start = System.nanoTime();
+		for (int i = 0; i < size; i++) {
+			stored.add(SimilarRfpIndex.signature(SimilarRfpIndexTests.randomRfp(random)));
+		}
+		double signatureMicros = (System.nanoTime() - start) / 1e3 / size;
+
+		SimilarRfpIndex index = new SimilarRfpIndex(256);
+		start = System.nanoTime();
+		for (int i = 0; i < size; i++) {
+			index.add(i, TENANTS[i % TENANTS.length], stored.get(i));
+		}
+		double addMicros = (System.nanoTime() - start) / 1e3 / size;
+
+		List<RfpData> unseen = new ArrayList<>(queries);
+		for (int i = 0; i < queries; i++) unseen.add(SimilarRfpIndexTests.randomRfp(random));
+		List<int[]> unseenSignatures = unseen.stream().map(SimilarRfpIndex::signature).toList();
+
+		// warm up the query path before timing
+		query(index, stored, random, queries, 0.5);
+		query(index, unseenSignatures, random, queries, 0.5);
+
+		double storedMicros = query(index, stored, random, queries, 0.5);
+		double unseenMicros = query(index, unseenSignatures, random, queries, 0.5);
+
+		System.out.printf("records            %,d%n", index.size());
+		System.out.printf("signature          %.2f us%n", signatureMicros);
+		System.out.printf("add                %.2f us%n", addMicros);
+		System.out.printf("query (stored RFP) %.2f us%n", storedMicros);
+		System.out.printf("query (unseen RFP) %.2f us%n", unseenMicros);
+	}
+
+	private static double query(SimilarRfpIndex index, List<int[]> signatures, Random random, int queries,
+								double minSimilarity) {
+		int found = 0;
+		long start = System.nanoTime();
+		for (int q = 0; q < queries; q++) {
+			int i = random.nextInt(signatures.size());
+			found += index.query(TENANTS[i % TENANTS.length], signatures.get(i), minSimilarity).size();
+		}
+		double micros = (System.nanoTime() - start) / 1e3 / queries;
+		if (found < 0) throw new IllegalStateException();
+		return micros;
+	}
+}
@@ -0,0 +1,137 @@
+package ai.zactonics.genproposal.history;
+
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.Requirement;
+import ai.zactonics.genproposal.model.RfpData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimilarRfpIndexTests {
+
+	private static final String TENANT = "acme";
+
+	@Test
+	void findsEveryRecordAfterGrowing() {
+		SimilarRfpIndex index = new SimilarRfpIndex(256);
+		List<int[]> signatures = signatures(500, new Random(1));
+		for (int i = 0; i < signatures.size(); i++) {
+			index.add(i, TENANT, signatures.get(i));
+		}
+
+		assertEquals(500, index.size());
+		for (int i = 0; i < signatures.size(); i++) {
+			List<SimilarRfpIndex.Match> matches = index.query(TENANT, signatures.get(i), 0.9);
+			assertFalse(matches.isEmpty(), "record " + i);
+			assertEquals(i, matches.get(0).id());
+			assertEquals(1.0, matches.get(0).similarity());
+		}
+	}
+
+	@Test
+	void compactionRelinksTheRemainingRecords() {
+		SimilarRfpIndex index = new SimilarRfpIndex(256);
+		List<int[]> signatures = signatures(3000, new Random(2));
+		for (int i = 0; i < signatures.size(); i++) {
+			index.add(i, TENANT, signatures.get(i));
+		}
+
+		// more than 1024 tombstones and more than half the slots, so this compacts
+		index.removeAll(LongStream.range(0, 2000).boxed().toList());
+		assertEquals(1000, index.size());
+		for (int i = 0; i < signatures.size(); i++) {
+			List<SimilarRfpIndex.Match> matches = index.query(TENANT, signatures.get(i), 0.9);
+			if (i < 2000) {
+				long id = i;
+				assertTrue(matches.stream().noneMatch(m -> m.id() == id), "removed record " + i);
+			} else {
+				assertEquals(i, matches.get(0).id(), "record " + i);
+			}
+		}
+
+		// slots freed by compaction are reused
+		List<int[]> added = signatures(500, new Random(3));
+		for (int i = 0; i < added.size(); i++) {
+			index.add(10_000 + i, TENANT, added.get(i));
+		}
+		assertEquals(1500, index.size());
+		for (int i = 0; i < added.size(); i++) {
+			assertEquals(10_000 + i, index.query(TENANT, added.get(i), 0.9).get(0).id());
+		}
+		assertEquals(2999, index.query(TENANT, signatures.get(2999), 0.9).get(0).id());
+	}
+
+	@Test
+	void tenantsDoNotSeeEachOthersRecords() {
+		SimilarRfpIndex index = new SimilarRfpIndex(256);
+		int[] signature = signatures(1, new Random(4)).get(0);
+		// "Aa" and "BB" have the same String.hashCode, so their band keys collide
+		index.add(1, "Aa", signature);
+		index.add(2, "BB", signature);
+		index.add(3, null, signature);
+
+		assertEquals(List.of(1L), ids(index.query("Aa", signature, 0)));
+		assertEquals(List.of(2L), ids(index.query("BB", signature, 0)));
+		assertEquals(List.of(3L), ids(index.query(null, signature, 0)));
+		assertTrue(index.query("other", signature, 0).isEmpty());
+	}
+
+	@Test
+	void similarRfpsRankAboveUnrelatedOnes() {
+		SimilarRfpIndex index = new SimilarRfpIndex(256);
+		RfpData base = rfp("Azure cloud migration services", List.of("Azure", "Cloud Migration", "Azure DevOps"),
+			"Migrate 500 applications to Azure", "Implement zero trust security architecture");
+		RfpData near = rfp("Azure cloud migration program", List.of("Azure", "Cloud Migration", "Azure DevOps"),
+			"Migrate 300 applications to Azure", "Implement zero trust security architecture");
+		RfpData unrelated = rfp("Hospital staffing support", List.of("Nursing", "Scheduling"),
+			"Provide registered nurses", "Maintain shift coverage");
+		index.add(1, TENANT, SimilarRfpIndex.signature(near));
+		index.add(2, TENANT, SimilarRfpIndex.signature(unrelated));
+
+		List<SimilarRfpIndex.Match> matches = index.query(TENANT, SimilarRfpIndex.signature(base), 0.3);
+		assertEquals(List.of(1L), ids(matches));
+	}
+
+	static List<int[]> signatures(int count, Random random) {
+		List<int[]> signatures = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			signatures.add(SimilarRfpIndex.signature(randomRfp(random)));
+		}
+		return signatures;
+	}
+
+	static RfpData randomRfp(Random random) {
+		List<String> skills = new ArrayList<>();
+		for (int s = 0; s < 4; s++) skills.add("skill" + random.nextInt(2000));
+		return rfp("program " + random.nextInt(1_000_000) + " " + random.nextInt(1_000_000), skills,
+			"deliver module" + random.nextInt(5000) + " and module" + random.nextInt(5000),
+			"support system" + random.nextInt(5000));
+	}
+
+	private static RfpData rfp(String title, List<String> skills, String... descriptions) {
+		List<Requirement> requirements = new ArrayList<>();
+		for (String description : descriptions) {
+			Requirement req = new Requirement();
+			req.setDescription(description);
+			req.setRequiredSkills(skills);
+			requirements.add(req);
+		}
+		ExtractedRequirements extracted = new ExtractedRequirements();
+		extracted.setMandatoryRequirements(requirements);
+		RfpData rfp = new RfpData();
+		rfp.setTitle(title);
+		rfp.setExtractedRequirements(extracted);
+		return rfp;
+	}
+
+	private static List<Long> ids(List<SimilarRfpIndex.Match> matches) {
+		return matches.stream().map(SimilarRfpIndex.Match::id).toList();
+	}
+}
@@ -0,0 +1,86 @@
+package ai.zactonics.genproposal.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRowReaderTests {
+
+	@Test
+	void quotedFieldsKeepDelimitersQuotesAndLineBreaks() throws IOException {
+		List<List<String>> rows = rows("""
+			name,highlights,title
+			"Smith, Jane","Led the ""Phoenix"" migration
+			Cut hosting cost 40%",  Architect \s
+			""");
+
+		assertEquals(List.of(
+			List.of("name", "highlights", "title"),
+			List.of("Smith, Jane", "Led the \"Phoenix\" migration\nCut hosting cost 40%", "Architect")), rows);
+	}
+
+	@Test
+	void rowNumbersAreTheLineEachRowStartsOn() throws IOException {
+		try (CsvRowReader reader = new CsvRowReader(new StringReader("a,b\r\n\r\n\"x\ny\",1\r\n2,3\r\n"))) {
+			reader.next();
+			assertEquals(1, reader.rowNumber());
+			assertEquals(List.of("x\ny", "1"), Arrays.asList(reader.next()));
+			assertEquals(3, reader.rowNumber());
+			assertEquals(List.of("2", "3"), Arrays.asList(reader.next()));
+			assertEquals(5, reader.rowNumber());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void emptyCellsAreNullAndQuotedWhitespaceIsKept() throws IOException {
+		assertEquals(List.of(Arrays.asList("a", null, " b ", null, null)), rows("a,,\" b \",\"\",   \n"));
+	}
+
+	@Test
+	void theDelimiterIsDetectedFromTheFirstLine() throws IOException {
+		assertEquals(List.of(List.of("name", "rate"), List.of("Jane", "95,50")), rows("name;rate\nJane;95,50\n"));
+		assertEquals(List.of(List.of("name", "rate"), List.of("Jane", "95;50")), rows("name\trate\nJane\t95;50\n"));
+		// delimiters inside a quoted header do not count
+		assertEquals(List.of(List.of("a;b;c", "d"), List.of("1", "2")), rows("\"a;b;c\",d\n1,2\n"));
+		// a tie, or a header with no delimiter at all, means comma
+		assertEquals(List.of(List.of("a;b", "c")), rows("a;b,c\n"));
+		assertEquals(List.of(List.of("name"), List.of("Jane")), rows("name\nJane"));
+	}
+
+	@Test
+	void aByteOrderMarkIsSkipped() throws IOException {
+		List<List<String>> rows = rows("\uFEFFemployee_id;name\nE1;Jane\n");
+		assertEquals(List.of("employee_id", "name"), rows.get(0));
+		assertEquals(List.of("E1", "Jane"), rows.get(1));
+	}
+
+	@Test
+	void theLastRowNeedsNoLineBreak() throws IOException {
+		assertEquals(List.of(List.of("a", "b"), Arrays.asList("1", null)), rows("a,b\n1,"));
+		assertEquals(List.of(), rows(""));
+	}
+
+	@Test
+	void anUnterminatedQuoteIsAnError() {
+		IOException error = assertThrows(IOException.class, () -> rows("a,b\n1,\"open\n2,3\n"));
+		assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+	}
+
+	private static List<List<String>> rows(String csv) throws IOException {
+		List<List<String>> rows = new ArrayList<>();
+		try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+			for (String[] row; (row = reader.next()) != null; ) rows.add(Arrays.asList(row));
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,143 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.model.IngestionResult;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end ingestion time for an employee sheet plus a skills sheet of the same length, as
+ * CSV and as .xlsx: reading, batch mapping on the tenant pool and merging. Each format is
+ * ingested a few times to warm up before the timed runs; the median run is reported.
+ *
+ * Run with: ./gradlew ingestBenchmark [-Prows=100000] [-Pruns=5]
+ */
+final class RosterIngestionBenchmark {
+
+	private static final String[] CLEARANCES = {"None", "Public Trust", "Secret", "Top Secret", "TS/SCI"};
+	private static final String[] SKILLS = {"AWS", "Azure", "Kubernetes", "Java", "Python", "Terraform", "DevOps"};
+	private static final String EMPLOYEE_HEADER = "employee_id,name,title,years_experience,clearance,availability,hourly_rate,highlights";
+	private static final String SKILL_HEADER = "employee_id,skill,level,years";
+
+	private RosterIngestionBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		String employees = csv(EMPLOYEE_HEADER, rows, RosterIngestionBenchmark::employeeRow);
+		String skills = csv(SKILL_HEADER, rows, RosterIngestionBenchmark::skillRow);
+		Path xlsx = Files.createTempFile("ingest-benchmark", ".xlsx");
+		try {
+			Map<String, String> sheets = new LinkedHashMap<>();
+			sheets.put("Employees", sheet(employees));
+			sheets.put("Skills", sheet(skills));
+			try (OutputStream out = Files.newOutputStream(xlsx)) {
+				XlsxWorkbookTests.writeWorkbook(out, XlsxWorkbookTests.sharedStrings(), sheets);
+			}
+
+			TenantExecutors executors = new TenantExecutors();
+			ReflectionTestUtils.setField(executors, "parallelism", Runtime.getRuntime().availableProcessors());
+			ReflectionTestUtils.setField(executors, "idleEviction", Duration.ofMinutes(10));
+			RosterIngestionService service = new RosterIngestionService();
+			ReflectionTestUtils.setField(service, "tenantExecutors", executors);
+			ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+			ReflectionTestUtils.setField(service, "batchSize", 1000);
+			ReflectionTestUtils.setField(service, "maxBatchesInFlight", 8);
+			ReflectionTestUtils.setField(service, "maxRows", 2L * rows);
+			ReflectionTestUtils.setField(service, "maxErrors", 1000);
+
+			System.out.printf("%,d employee rows + %,d skill rows, %d cores, xlsx %,d KB%n",
+				rows, rows, Runtime.getRuntime().availableProcessors(), Files.size(xlsx) / 1024);
+			System.out.printf("%-6s %12s %16s %12s%n", "format", "median ms", "rows/s", "accepted");
+			time("csv", runs, rows, () -> service.ingest(List.of(
+				new RosterIngestionService.SheetSource(SheetKind.SKILLS, "Skills", () -> new CsvRowReader(new StringReader(skills))),
+				new RosterIngestionService.SheetSource(SheetKind.EMPLOYEES, "Employees", () -> new CsvRowReader(new StringReader(employees))))));
+			time("xlsx", runs, rows, () -> {
+				try (XlsxWorkbook workbook = XlsxWorkbook.open(xlsx, 2L * rows)) {
+					return service.ingest(List.of(
+						new RosterIngestionService.SheetSource(SheetKind.SKILLS, "Skills", () -> workbook.openSheet("Skills")),
+						new RosterIngestionService.SheetSource(SheetKind.EMPLOYEES, "Employees", () -> workbook.openSheet("Employees"))));
+				}
+			});
+			ReflectionTestUtils.invokeMethod(executors, "shutdown");
+		} finally {
+			Files.deleteIfExists(xlsx);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Ingestion {
+		IngestionResult run() throws IOException;
+	}
+
+	private static void time(String format, int runs, int rows, Ingestion ingestion) throws IOException {
+		// warm-up
+		for (int i = 0; i < 3; i++) ingestion.run();
+		long[] millis = new long[runs];
+		IngestionResult result = null;
+		for (int i = 0; i < runs; i++) {
+			long start = System.nanoTime();
+			result = ingestion.run();
+			millis[i] = (System.nanoTime() - start) / 1_000_000;
+		}
+		Arrays.sort(millis);
+		long median = millis[runs / 2];
+		if (result.getRowsRejected() > 0) throw new IllegalStateException("rows rejected: " + result.getErrors());
+		System.out.printf("%-6s %,12d %,16.0f %,12d%n", format, median, 2.0 * rows / Math.max(1, median) * 1000,
+			result.getRowsAccepted());
+	}
+
+	private interface RowWriter {
+		void write(StringBuilder out, int i);
+	}
+
+	private static String csv(String header, int rows, RowWriter writer) {
+		StringBuilder out = new StringBuilder(rows * 96).append(header).append('\n');
+		for (int i = 0; i < rows; i++) {
+			writer.write(out, i);
+			out.append('\n');
+		}
+		return out.toString();
+	}
+
+	private static void employeeRow(StringBuilder out, int i) {
+		out.append("EMP-").append(i).append(",Employee ").append(i).append(",Cloud Engineer ").append(i % 5 + 1)
+			.append(',').append(i % 30).append(',').append(CLEARANCES[i % CLEARANCES.length])
+			.append(',').append(25 * (i % 5)).append('%').append(",$").append(90 + i % 120).append(".50")
+			.append(",\"Migrated ").append(i % 400).append(" workloads; Cut hosting cost ").append(i % 60).append("%\"");
+	}
+
+	private static void skillRow(StringBuilder out, int i) {
+		out.append("EMP-").append(i).append(',').append(SKILLS[i % SKILLS.length]).append(',')
+			.append(i % 5 + 1).append(',').append(i % 15);
+	}
+
+	// the CSV's cells as inline strings, one <row> per line
+	private static String sheet(String csv) throws IOException {
+		StringBuilder rows = new StringBuilder(csv.length() * 3);
+		try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+			for (String[] row; (row = reader.next()) != null; ) {
+				rows.append("<row r=\"").append(reader.rowNumber()).append("\">");
+				for (String cell : row) {
+					rows.append("<c t=\"inlineStr\"><is><t>").append(cell.replace("&", "&amp;").replace("<", "&lt;"))
+						.append("</t></is></c>");
+				}
+				rows.append("</row>");
+			}
+		}
+		return XlsxWorkbookTests.sheet(rows.toString());
+	}
+}
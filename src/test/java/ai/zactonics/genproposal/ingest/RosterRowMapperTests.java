@@ -0,0 +1,161 @@
+package ai.zactonics.genproposal.ingest;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.PlannedCertification;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import ai.zactonics.genproposal.model.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RosterRowMapperTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+	@Test
+	void employeeHeadersAreMatchedByAliasAndValuesNormalized() {
+		MappedRow row = map(SheetKind.EMPLOYEES,
+			new String[] {"Emp ID", "Full Name", "Job Title", "YOE", "Security Clearance", "Allocation", "Bill Rate", "Highlights"},
+			new String[] {"1001.0", "  Jane\t Doe ", "Cloud Architect", "12", "ts/sci", "0.75", "$1,250.50",
+				"Led migration; Cut cost | Led migration"});
+
+		assertTrue(row.accepted(), row.errors().toString());
+		Employee employee = (Employee) row.value();
+		assertEquals("1001", employee.getEmployeeId());
+		assertEquals("Jane Doe", employee.getName());
+		assertEquals(12, employee.getYearsExperience());
+		assertEquals("TS/SCI", employee.getClearanceLevel());
+		assertEquals(75, employee.getAvailabilityPercentage());
+		assertEquals(1250.5, employee.getHourlyRate());
+		assertEquals(List.of("Led migration", "Cut cost"), employee.getResumeHighlights());
+	}
+
+	@Test
+	void anEmployeeWithoutAnIdGetsOneFromTheName() {
+		MappedRow row = map(SheetKind.EMPLOYEES, new String[] {"name", "availability"}, new String[] {"Jane O'Doe", "80%"});
+
+		assertEquals("JANE_O_DOE", ((Employee) row.value()).getEmployeeId());
+		assertEquals(80, ((Employee) row.value()).getAvailabilityPercentage());
+	}
+
+	@Test
+	void everyProblemInARejectedRowIsReportedAgainstTheUsersHeader() {
+		MappedRow row = map(SheetKind.EMPLOYEES,
+			new String[] {"employee_id", "Years", "Availability", "Rate"},
+			new String[] {"E1", "12.5", "140", "lots"});
+
+		assertFalse(row.accepted());
+		assertEquals(List.of(
+			"Years: '12.5' is not a whole number",
+			"Availability: '140' is outside 0 to 100",
+			"Rate: 'lots' is not a number"), messages(row));
+		assertEquals(7, row.errors().get(0).getRow());
+	}
+
+	@Test
+	void skillProficiencyAcceptsNamesAndScores() {
+		String[] header = {"employee_id", "skill", "sub_skill", "level"};
+		Skill scored = (Skill) map(SheetKind.SKILLS, header, new String[] {"E1", "AWS", "Lambda", "4"}).value();
+		assertEquals("AWS - Lambda", scored.getSkillName());
+		assertEquals("Advanced", scored.getProficiencyLevel());
+		assertEquals("Expert", ((Skill) map(SheetKind.SKILLS, header, new String[] {"E1", "Go", null, "master"}).value())
+			.getProficiencyLevel());
+
+		assertEquals(List.of("level: '6' is not a proficiency from 1 to 5"),
+			messages(map(SheetKind.SKILLS, header, new String[] {"E1", "Go", null, "6"})));
+		assertEquals(List.of("employee_id: employee_id or employee_name is required", "skill: is required"),
+			messages(map(SheetKind.SKILLS, header, new String[] {null, null, null, "Expert"})));
+	}
+
+	@Test
+	void skillRowsNameTheirEmployee() {
+		MappedRow row = map(SheetKind.SKILLS, new String[] {"employee", "skill", "proficiency"},
+			new String[] {"Jane Doe", "Azure", "expert"});
+
+		assertNull(row.employeeId());
+		assertEquals("Jane Doe", row.employeeName());
+	}
+
+	@Test
+	void certificationDatesAcceptExcelSerialsAndMonthsAndMarkExpiry() {
+		String[] header = {"emp_id", "certification", "exam_code", "issued", "expires", "status"};
+		Certification active = (Certification) map(SheetKind.CERTIFICATIONS, header,
+			new String[] {"E1", "AWS SA Pro", "sap-c02", "45000", "2027-03", "active"}).value();
+		assertEquals("SAP-C02", active.getCertId());
+		assertEquals(LocalDate.of(2023, 3, 15), active.getDateObtained());
+		// a month-only expiry lasts to the end of the month
+		assertEquals(LocalDate.of(2027, 3, 31), active.getExpiryDate());
+		assertEquals("Active", active.getStatus());
+
+		Certification lapsed = (Certification) map(SheetKind.CERTIFICATIONS, header,
+			new String[] {"E1", "CISSP", null, "Jan 5, 2020", "2025-05-31T00:00:00", "Active"}).value();
+		assertEquals(LocalDate.of(2020, 1, 5), lapsed.getDateObtained());
+		assertEquals("Expired", lapsed.getStatus());
+
+		assertEquals(List.of("expires: expires before it was obtained"), messages(map(SheetKind.CERTIFICATIONS, header,
+			new String[] {"E1", "CISSP", null, "2024-01-01", "2023-01-01", null})));
+		assertEquals(List.of("issued: 'someday' is not a date (use YYYY-MM-DD or YYYY-MM)"), messages(map(
+			SheetKind.CERTIFICATIONS, header, new String[] {"E1", "CISSP", null, "someday", null, null})));
+	}
+
+	@Test
+	void plannedCertificationsReadProgressAndCost() {
+		PlannedCertification planned = (PlannedCertification) map(SheetKind.PLANNED_CERTIFICATIONS,
+			new String[] {"employee_id", "cert", "due", "status", "progress", "cost"},
+			new String[] {"E1", "CKA", "09/2025", "in progress", "40%", "$2,400"}).value();
+
+		assertEquals(LocalDate.of(2025, 9, 30), planned.getPlannedCompletion());
+		assertEquals("In Progress", planned.getTrainingStatus());
+		assertEquals(40, planned.getCompletionPercentage());
+		assertEquals(2400.0, planned.getTrainingCost());
+	}
+
+	@Test
+	void projectsReadRangesMoneyFlagsAndReferences() {
+		MappedRow row = map(SheetKind.PROJECTS,
+			new String[] {"Project", "Agency", "Value", "Dates", "Tech Stack", "On Time", "On Budget", "CSAT",
+				"Reference", "Reference Email"},
+			new String[] {"Cloud Migration", "GSA", "3500000", "2021-01 to 2022-06", "AWS, Terraform, AWS", "x", "no",
+				"9.5", "Pat Lee", "pat.lee@gsa.gov"});
+
+		assertTrue(row.accepted(), row.errors().toString());
+		ProjectExperience project = (ProjectExperience) row.value();
+		assertEquals("CLOUD_MIGRATION", project.getProjectId());
+		assertEquals("$3,500,000", project.getContractValue());
+		assertEquals(LocalDate.of(2022, 6, 30), project.getCompletionDate());
+		assertEquals(List.of("AWS", "Terraform"), project.getTechnologiesUsed());
+		assertEquals(true, project.getSuccessMetrics().getOnTime());
+		assertEquals(false, project.getSuccessMetrics().getOnBudget());
+		assertEquals(9.5, project.getSuccessMetrics().getClientSatisfaction());
+		assertEquals("Pat Lee", project.getReferenceContact().getName());
+
+		assertEquals(List.of("On Time: 'maybe' is not yes or no", "Reference Email: 'pat at gsa' is not an email address"),
+			messages(map(SheetKind.PROJECTS, new String[] {"project_id", "On Time", "Reference Email"},
+				new String[] {"P1", "maybe", "pat at gsa"})));
+	}
+
+	@Test
+	void shortRowsLeaveTheMissingColumnsEmpty() {
+		MappedRow row = map(SheetKind.EMPLOYEES, new String[] {"employee_id", "name", "title", "rate"}, new String[] {"E1"});
+
+		assertTrue(row.accepted());
+		assertNull(((Employee) row.value()).getHourlyRate());
+	}
+
+	private static MappedRow map(SheetKind kind, String[] header, String[] cells) {
+		return new RosterRowMapper(kind, kind.label(), SheetColumns.of(kind, header), TODAY).map(7, cells);
+	}
+
+	private static List<String> messages(MappedRow row) {
+		return row.errors().stream()
+			.map(error -> (error.getColumn() != null ? error.getColumn() + ": " : "") + error.getMessage())
+			.toList();
+	}
+}
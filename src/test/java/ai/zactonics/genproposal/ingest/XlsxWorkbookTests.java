@@ -0,0 +1,180 @@
+package ai.zactonics.genproposal.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XlsxWorkbookTests {
+
+	private static final String MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsSharedInlineNumericBooleanAndFormulaCells() throws IOException {
+		Path file = workbook(sharedStrings("Jane Doe"), Map.of("Employees", sheet("""
+			<row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="inlineStr"><is><t>Inline</t></is></c>\
+			<c r="C1"><v>42.5</v></c><c r="D1" t="b"><v>1</v></c><c r="E1" t="e"><v>#N/A</v></c>\
+			<c r="F1" t="str"><f>A1</f><v>  Formula  </v></c></row>""")));
+
+		assertEquals(List.of(Arrays.asList("Jane Doe", "Inline", "42.5", "TRUE", null, "Formula")), rows(file, "Employees"));
+	}
+
+	@Test
+	void cellsLandInTheColumnTheirReferenceNames() throws IOException {
+		Path file = workbook(sharedStrings(), Map.of("Sheet1", sheet("""
+			<row r="2"><c r="B2"><v>1</v></c><c r="AA2"><v>2</v></c></row>\
+			<row r="4"></row>\
+			<row r="7"><c><v>3</v></c><c><v>4</v></c></row>""")));
+
+		try (XlsxWorkbook workbook = XlsxWorkbook.open(file, 100); RowReader reader = workbook.openSheet("Sheet1")) {
+			String[] sparse = reader.next();
+			assertEquals(27, sparse.length);
+			assertEquals("1", sparse[1]);
+			assertEquals("2", sparse[26]);
+			assertEquals(2, reader.rowNumber());
+			// the empty row 4 is skipped
+			assertEquals(List.of("3", "4"), Arrays.asList(reader.next()));
+			assertEquals(7, reader.rowNumber());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void aSharedStringCellWithoutAValueIsBlank() throws IOException {
+		Path file = workbook(sharedStrings("Jane Doe"), Map.of("Sheet1", sheet("""
+			<row r="1"><c r="A1" t="s"/><c r="B1" t="s"><v></v></c><c r="C1" t="s"><v>0</v></c></row>""")));
+
+		assertEquals(List.of(Arrays.asList(null, null, "Jane Doe")), rows(file, "Sheet1"));
+	}
+
+	@Test
+	void richTextRunsAreJoinedWithoutPhoneticGuides() throws IOException {
+		Path file = workbook("""
+			<sst xmlns="%s"><si><r><t xml:space="preserve">Jane </t></r><r><rPr><b/></rPr><t>Doe</t></r>\
+			<rPh sb="0" eb="4"><t>ジェーン</t></rPh></si></sst>""".formatted(MAIN),
+			Map.of("Sheet1", sheet("<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c></row>")));
+
+		assertEquals(List.of(List.of("Jane Doe")), rows(file, "Sheet1"));
+	}
+
+	@Test
+	void aMissingSharedStringIsAnError() throws IOException {
+		Path file = workbook(sharedStrings("only"), Map.of("Sheet1", sheet("""
+			<row r="3"><c r="A3" t="s"><v>5</v></c></row>""")));
+
+		IOException error = assertThrows(IOException.class, () -> rows(file, "Sheet1"));
+		assertTrue(error.getMessage().contains("Row 3 references missing shared string 5"), error.getMessage());
+	}
+
+	@Test
+	void sheetsAreListedInWorkbookOrder() throws IOException {
+		Map<String, String> sheets = new LinkedHashMap<>();
+		sheets.put("Employees", sheet(""));
+		sheets.put("Skills", sheet(""));
+		sheets.put("Certs", sheet(""));
+		try (XlsxWorkbook workbook = XlsxWorkbook.open(workbook(sharedStrings(), sheets), 100)) {
+			assertEquals(List.of("Employees", "Skills", "Certs"), workbook.sheetNames());
+			assertThrows(IOException.class, () -> workbook.openSheet("Projects"));
+		}
+	}
+
+	@Test
+	void aSharedStringTableOverTheLimitIsRejected() throws IOException {
+		Path file = workbook(sharedStrings("a", "b", "c"), Map.of("Sheet1", sheet("")));
+
+		IOException error = assertThrows(IOException.class, () -> XlsxWorkbook.open(file, 2));
+		assertTrue(error.getMessage().contains("exceeds 2 entries"), error.getMessage());
+	}
+
+	@Test
+	void aSheetThatInflatesImplausiblyIsNotRead() throws IOException {
+		// 4 MB of whitespace deflates to a few kilobytes, far past the allowed ratio
+		Path file = workbook(sharedStrings(), Map.of("Sheet1", sheet(" ".repeat(4 << 20) + "<row r=\"1\"><c><v>1</v></c></row>")));
+
+		// the guard's error reaches the caller through the XML parser
+		Throwable error = assertThrows(IOException.class, () -> rows(file, "Sheet1"));
+		while (error.getCause() != null && !error.getMessage().contains("zip bomb")) error = error.getCause();
+		assertTrue(error.getMessage().contains("zip bomb"), error.getMessage());
+	}
+
+	@Test
+	void columnIndexesFollowSpreadsheetLetters() {
+		assertEquals(0, XlsxWorkbook.columnIndex("A1"));
+		assertEquals(2, XlsxWorkbook.columnIndex("C12"));
+		assertEquals(26, XlsxWorkbook.columnIndex("AA7"));
+		assertEquals(16_383, XlsxWorkbook.columnIndex("XFD1048576"));
+	}
+
+	private Path workbook(String sharedStrings, Map<String, String> sheets) throws IOException {
+		Path file = Files.createTempFile(dir, "workbook", ".xlsx");
+		try (OutputStream out = Files.newOutputStream(file)) {
+			writeWorkbook(out, sharedStrings, sheets);
+		}
+		return file;
+	}
+
+	private static List<List<String>> rows(Path file, String sheet) throws IOException {
+		List<List<String>> rows = new ArrayList<>();
+		try (XlsxWorkbook workbook = XlsxWorkbook.open(file, 100); RowReader reader = workbook.openSheet(sheet)) {
+			for (String[] row; (row = reader.next()) != null; ) rows.add(Arrays.asList(row));
+		}
+		return rows;
+	}
+
+	static String sharedStrings(String... strings) {
+		StringBuilder xml = new StringBuilder("<sst xmlns=\"" + MAIN + "\">");
+		for (String string : strings) xml.append("<si><t>").append(string).append("</t></si>");
+		return xml.append("</sst>").toString();
+	}
+
+	static String sheet(String rows) {
+		return "<worksheet xmlns=\"" + MAIN + "\"><sheetData>" + rows + "</sheetData></worksheet>";
+	}
+
+	/** A minimal .xlsx: the workbook, its relationships, the shared strings and one part per sheet, in map order. */
+	static void writeWorkbook(OutputStream out, String sharedStrings, Map<String, String> sheets) throws IOException {
+		StringBuilder workbook = new StringBuilder("<workbook xmlns=\"" + MAIN + "\" xmlns:r=\""
+			+ "http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+		StringBuilder rels = new StringBuilder(
+			"<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			int n = 0;
+			for (Map.Entry<String, String> sheet : sheets.entrySet()) {
+				n++;
+				workbook.append("<sheet name=\"").append(sheet.getKey()).append("\" sheetId=\"").append(n)
+					.append("\" r:id=\"rId").append(n).append("\"/>");
+				rels.append("<Relationship Id=\"rId").append(n).append("\" Target=\"worksheets/sheet").append(n)
+					.append(".xml\"/>");
+				entry(zip, "xl/worksheets/sheet" + n + ".xml", sheet.getValue());
+			}
+			entry(zip, "xl/workbook.xml", workbook.append("</sheets></workbook>").toString());
+			entry(zip, "xl/_rels/workbook.xml.rels", rels.append("</Relationships>").toString());
+			entry(zip, "xl/sharedStrings.xml", sharedStrings);
+		}
+	}
+
+	private static void entry(ZipOutputStream zip, String name, String content) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+	}
+}
@@ -0,0 +1,109 @@
+package ai.zactonics.genproposal.resolution;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.EntityResolutionResult;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {"proposal.history.enabled=false", "proposal.warmup.enabled=false",
+	"proposal.resolution.distinct-id-prefixes=emp"})
+class EntityResolutionServiceTests {
+
+	@Autowired
+	private EntityResolutionService entityResolution;
+
+	@Test
+	void sameNameWithoutCorroborationIsNotMerged() {
+		EntityResolutionResult result = resolve(
+			employee("HR-1001", "John Smith", "Cloud Architect"),
+			employee("RES-2002", "John Smith", "Cloud Architect"));
+		assertEquals(2, result.getEmployeesOut());
+	}
+
+	@Test
+	void sharedCertificationOutweighsDifferentTitles() {
+		// titles drift between an HR export and an older resume; the name and the shared cert decide
+		Employee a = employee("HR-1001", "Maria Garcia", "Security Engineer");
+		Employee b = employee("RES-2002", "Maria Garcia", "Project Manager");
+		a.setCurrentCertifications(List.of(cert("CISSP")));
+		b.setCurrentCertifications(List.of(cert("CISSP")));
+		assertEquals(1, resolve(a, b).getEmployeesOut());
+	}
+
+	@Test
+	void differentNamesWithSharedCertificationAreNotMerged() {
+		Employee a = employee("HR-1001", "Maria Garcia", "Security Engineer");
+		Employee b = employee("RES-2002", "Maria Lopez", "Security Engineer");
+		a.setCurrentCertifications(List.of(cert("CISSP")));
+		b.setCurrentCertifications(List.of(cert("CISSP")));
+		assertEquals(2, resolve(a, b).getEmployeesOut());
+	}
+
+	@Test
+	void numericIdsAreMergedOnCorroboratedNames() {
+		Employee a = employee("1001", "John Smith", "Cloud Architect");
+		Employee b = employee("2002", "John Smith", "Cloud Architect");
+		a.setCurrentCertifications(List.of(cert("AZ-305")));
+		b.setCurrentCertifications(List.of(cert("AZ-305")));
+		assertEquals(1, resolve(a, b).getEmployeesOut());
+	}
+
+	@Test
+	void sharedPrefixOutsideTheDistinctListIsMerged() {
+		// HR and the resume parser both issue "HR-" ids here, so the prefix does not name one system
+		Employee a = employee("HR-1001", "John Smith", "Cloud Architect");
+		Employee b = employee("HR-2002", "John Smith", "Cloud Architect");
+		a.setCurrentCertifications(List.of(cert("AZ-305")));
+		b.setCurrentCertifications(List.of(cert("AZ-305")));
+		assertEquals(1, resolve(a, b).getEmployeesOut());
+	}
+
+	@Test
+	void idsFromADistinctSourceAreNeverMerged() {
+		Employee a = employee("EMP-001", "John Smith", "Cloud Architect");
+		Employee b = employee("EMP-002", "John Smith", "Cloud Architect");
+		a.setCurrentCertifications(List.of(cert("AZ-305")));
+		b.setCurrentCertifications(List.of(cert("AZ-305")));
+		assertEquals(2, resolve(a, b).getEmployeesOut());
+	}
+
+	@Test
+	void sameNameWithSharedCertificationFromAnotherSourceIsMerged() {
+		Employee a = employee("HR-1001", "John Smith", "Cloud Architect");
+		Employee b = employee("RES-2002", "Smith, John", "Cloud Architect");
+		a.setCurrentCertifications(List.of(cert("AZ-305")));
+		b.setCurrentCertifications(List.of(cert("AZ-305")));
+		EntityResolutionResult result = resolve(a, b);
+		assertEquals(1, result.getEmployeesOut());
+		assertEquals(1, result.getEmployeeMerges().size());
+	}
+
+	private EntityResolutionResult resolve(Employee... employees) {
+		ProposalGenerationRequest request = new ProposalGenerationRequest();
+		request.setEmployeeData(List.of(employees));
+		return entityResolution.resolve(request);
+	}
+
+	private static Employee employee(String id, String name, String title) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName(name);
+		employee.setTitle(title);
+		return employee;
+	}
+
+	private static Certification cert(String certId) {
+		Certification cert = new Certification();
+		cert.setCertId(certId);
+		cert.setCertName(certId);
+		return cert;
+	}
+
+}
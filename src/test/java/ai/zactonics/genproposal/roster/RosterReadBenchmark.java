@@ -0,0 +1,92 @@
+package ai.zactonics.genproposal.roster;
+
+import ai.zactonics.genproposal.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How roster reads scale with reader threads while a writer keeps publishing: each reader pins
+ * the head, looks up a few employees by id and releases the pin, the way a generation does,
+ * while one thread replaces random employees one at a time. Reads never lock, so throughput
+ * should grow with the reader count up to the core count.
+ *
+ * Run with: ./gradlew rosterReadBenchmark [-Pemployees=50000] [-Pseconds=3]
+ */
+final class RosterReadBenchmark {
+
+	private static final int LOOKUPS_PER_PIN = 8;
+
+	private RosterReadBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int employees = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+		double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 3;
+
+		VersionedRoster roster = new VersionedRoster();
+		List<Employee> initial = new ArrayList<>(employees);
+		for (int i = 0; i < employees; i++) initial.add(VersionedRosterTests.employee("EMP-" + i));
+		RosterTable<Employee> table = RosterTable.of(initial, Employee::getEmployeeId);
+		roster.update(current -> new RosterSnapshot(0, table, current.projectTable(), current.companyCapabilities()));
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		System.out.printf("employees %,d, %d cores, %.1f s per run%n", employees, cores, seconds);
+		System.out.printf("%-8s %16s %16s %14s%n", "readers", "pins/s", "pins/s/reader", "writes/s");
+		// the first run warms up the read and write paths
+		run(roster, employees, 1, seconds);
+		for (int readers = 1; readers <= Math.max(2, cores * 2); readers <<= 1) {
+			double[] result = run(roster, employees, readers, seconds);
+			System.out.printf("%-8d %,16.0f %,16.0f %,14.0f%n", readers, result[0], result[0] / readers, result[1]);
+		}
+	}
+
+	// pins per second across all readers and writes per second, over one timed run
+	private static double[] run(VersionedRoster roster, int employees, int readers, double seconds) throws Exception {
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder pins = new LongAdder();
+		LongAdder writes = new LongAdder();
+		CountDownLatch done = new CountDownLatch(readers + 1);
+
+		Thread writer = new Thread(() -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			while (running.get()) {
+				String id = "EMP-" + random.nextInt(employees);
+				Employee employee = VersionedRosterTests.employee(id);
+				roster.update(current -> new RosterSnapshot(0, current.employeeTable().put(id, employee),
+					current.projectTable(), current.companyCapabilities()));
+				writes.increment();
+			}
+			done.countDown();
+		});
+		writer.start();
+
+		for (int r = 0; r < readers; r++) {
+			new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				long found = 0;
+				while (running.get()) {
+					try (RosterPin pin = roster.pinHead()) {
+						for (int i = 0; i < LOOKUPS_PER_PIN; i++) {
+							if (pin.snapshot().employee("EMP-" + random.nextInt(employees)) != null) found++;
+						}
+					}
+					pins.increment();
+				}
+				if (found < 0) throw new IllegalStateException();
+				done.countDown();
+			}).start();
+		}
+
+		long start = System.nanoTime();
+		Thread.sleep((long) (seconds * 1000));
+		running.set(false);
+		done.await();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		return new double[] {pins.sum() / elapsed, writes.sum() / elapsed};
+	}
+}
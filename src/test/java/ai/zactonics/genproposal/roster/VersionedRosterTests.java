@@ -0,0 +1,230 @@
+package ai.zactonics.genproposal.roster;
+
+import ai.zactonics.genproposal.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionedRosterTests {
+
+	@Test
+	void insertsGrowTheTableAndKeepRosterOrder() {
+		RosterTable<Employee> table = RosterTable.empty();
+		List<Employee> added = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			Employee employee = employee("EMP-" + i);
+			added.add(employee);
+			table = table.put(employee.getEmployeeId(), employee);
+		}
+
+		assertEquals(2000, table.size());
+		assertEquals(256, table.bucketCount());
+		assertEquals(added, table.values());
+		for (Employee employee : added) assertSame(employee, table.get(employee.getEmployeeId()));
+	}
+
+	@Test
+	void changesAcrossAGrowthReportOnlyTheTouchedEntries() {
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 512; i++) employees.add(employee("EMP-" + i));
+		RosterTable<Employee> older = RosterTable.of(employees, Employee::getEmployeeId);
+
+		Employee added = employee("EMP-NEW");
+		Employee replaced = employee("EMP-3");
+		RosterTable<Employee> newer = older.put(added.getEmployeeId(), added)
+			.put(replaced.getEmployeeId(), replaced)
+			.remove("EMP-5");
+
+		assertNotEquals(older.bucketCount(), newer.bucketCount());
+		Map<String, Employee> changes = new HashMap<>();
+		newer.forEachChange(older, changes::put);
+		Map<String, Employee> expected = new HashMap<>();
+		expected.put("EMP-NEW", added);
+		expected.put("EMP-3", replaced);
+		expected.put("EMP-5", null);
+		assertEquals(expected, changes);
+		assertEquals(2, newer.values().indexOf(employees.get(2)));
+		assertSame(replaced, newer.values().get(3));
+	}
+
+	@Test
+	void changesWithinTheSameBucketsSkipSharedOnes() {
+		RosterTable<Employee> older = RosterTable.of(List.of(employee("EMP-1"), employee("EMP-2")), Employee::getEmployeeId);
+		Employee replaced = employee("EMP-2");
+		RosterTable<Employee> newer = older.put("EMP-2", replaced).remove("EMP-1").remove("EMP-9");
+
+		Map<String, Employee> changes = new HashMap<>();
+		newer.forEachChange(older, changes::put);
+		Map<String, Employee> expected = new HashMap<>();
+		expected.put("EMP-2", replaced);
+		expected.put("EMP-1", null);
+		assertEquals(expected, changes);
+		assertEquals(List.of(replaced), newer.values());
+	}
+
+	@Test
+	void aPinnedVersionOutlivesLaterWritesUntilReleased() {
+		VersionedRoster roster = new VersionedRoster();
+		RosterSnapshot first = put(roster, "EMP-1");
+		RosterPin pin = roster.pinHead();
+		put(roster, "EMP-2");
+		put(roster, "EMP-3");
+
+		assertSame(first, pin.snapshot());
+		assertEquals(List.of(first.version(), first.version() + 2), versions(roster));
+		assertEquals(1, pin.snapshot().employees().size());
+
+		pin.close();
+		pin.close();
+		assertEquals(List.of(first.version() + 2), versions(roster));
+		assertNull(roster.pin(first.version()));
+	}
+
+	@Test
+	void aVersionCanBePinnedAgainWhileRetained() {
+		VersionedRoster roster = new VersionedRoster();
+		long version = put(roster, "EMP-1").version();
+		RosterPin held = roster.pinHead();
+		put(roster, "EMP-2");
+
+		RosterPin again = roster.pin(version);
+		assertNotNull(again);
+		held.close();
+		assertTrue(versions(roster).contains(version));
+		again.close();
+		assertFalse(versions(roster).contains(version));
+		assertNull(roster.pin(version + 5));
+	}
+
+	@Test
+	void concurrentWritersPublishEveryUpdate() throws Exception {
+		VersionedRoster roster = new VersionedRoster();
+		int threads = 8;
+		int perThread = 500;
+		run(threads, t -> {
+			for (int i = 0; i < perThread; i++) put(roster, "EMP-" + t + "-" + i);
+		});
+
+		RosterSnapshot head = roster.head();
+		assertEquals(threads * perThread, head.version());
+		assertEquals(threads * perThread, head.employees().size());
+		assertEquals(List.of(head.version()), versions(roster));
+	}
+
+	@Test
+	void pinsRacingWritesNeverSeeAReclaimedOrChangingVersion() throws Exception {
+		VersionedRoster roster = new VersionedRoster();
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+		int readers = 6;
+		run(readers + 2, t -> {
+			if (t < 2) {
+				for (int i = 0; i < 3000; i++) put(roster, "EMP-" + t + "-" + i);
+				writing.set(false);
+				return;
+			}
+			while (writing.get()) {
+				try (RosterPin pin = roster.pinHead()) {
+					RosterSnapshot snapshot = pin.snapshot();
+					int before = snapshot.employees().size();
+					if (snapshot.isReclaimed()) failures.add("pinned v" + snapshot.version() + " was reclaimed");
+					// one employee per version: a snapshot that changed under its pin would not match
+					if (before != snapshot.version()) failures.add("v" + snapshot.version() + " holds " + before);
+					Thread.yield();
+					if (snapshot.employees().size() != before) failures.add("v" + snapshot.version() + " changed");
+				}
+			}
+		});
+
+		assertEquals(List.of(), List.copyOf(failures));
+		assertEquals(List.of(roster.head().version()), versions(roster));
+	}
+
+	@Test
+	void anUnpinRacingTheNextWriteReclaimsTheOldVersionOnce() throws Exception {
+		VersionedRoster roster = new VersionedRoster();
+		for (int round = 0; round < 2000; round++) {
+			RosterPin pin = roster.pinHead();
+			RosterSnapshot pinned = pin.snapshot();
+			String id = "EMP-" + round;
+			CyclicBarrier start = new CyclicBarrier(2);
+			Thread writer = new Thread(() -> {
+				await(start);
+				put(roster, id);
+			});
+			writer.start();
+			await(start);
+			pin.close();
+			writer.join();
+
+			assertTrue(pinned.isReclaimed(), "round " + round);
+			assertEquals(List.of(roster.head().version()), versions(roster), "round " + round);
+		}
+	}
+
+	private static RosterSnapshot put(VersionedRoster roster, String id) {
+		Employee employee = employee(id);
+		return roster.update(current -> new RosterSnapshot(0, current.employeeTable().put(id, employee),
+			current.projectTable(), current.companyCapabilities()));
+	}
+
+	private static List<Long> versions(VersionedRoster roster) {
+		return roster.retainedVersions().stream().map(RosterSnapshot::version).toList();
+	}
+
+	static Employee employee(String id) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setName("Employee " + id);
+		return employee;
+	}
+
+	private interface Task {
+		void run(int thread) throws Exception;
+	}
+
+	// runs task on the given number of threads at once and rethrows the first failure
+	private static void run(int threads, Task task) throws Exception {
+		CountDownLatch done = new CountDownLatch(threads);
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			new Thread(() -> {
+				try {
+					start.await();
+					task.run(thread);
+				} catch (Throwable e) {
+					errors.add(e);
+				} finally {
+					done.countDown();
+				}
+			}).start();
+		}
+		done.await();
+		if (!errors.isEmpty()) throw new AssertionError(errors.peek());
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
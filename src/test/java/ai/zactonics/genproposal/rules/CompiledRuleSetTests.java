@@ -0,0 +1,204 @@
+package ai.zactonics.genproposal.rules;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.MissingSkill;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.RuleEvaluation;
+import ai.zactonics.genproposal.model.RuleSetInfo;
+import ai.zactonics.genproposal.model.SkillsGapAnalysis;
+import ai.zactonics.genproposal.model.WhatIfScenario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledRuleSetTests {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@Test
+	void defaultRulesMatchTheFormerIfChain() throws IOException {
+		CompiledRuleSet rules = compile(defaultRuleFile());
+		ProposalGenerationRequest sample;
+		try (InputStream in = getClass().getResourceAsStream("/proposal-request.json")) {
+			sample = objectMapper.readValue(in, ProposalGenerationRequest.class);
+		}
+		assertEquals(legacyRecommendations(sample), rules.evaluate(sample).getRecommendations());
+
+		Random random = new Random(42);
+		for (int variant = 0; variant < 40; variant++) {
+			ProposalGenerationRequest request = randomRequest(random);
+			assertEquals(legacyRecommendations(request), rules.evaluate(request).getRecommendations(),
+				"variant " + variant);
+		}
+	}
+
+	@Test
+	void identicalConditionsAreCompiledOnce() throws IOException {
+		CompiledRuleSet rules = compile("""
+			{ "rules": [
+			  { "id": "a", "when": [{ "fact": "qualificationPercentage", "op": "<", "value": 80 }], "message": "a" },
+			  { "id": "b", "when": [{ "fact": "qualificationPercentage", "op": "<", "value": 80 },
+			                        { "fact": "employeeCount", "op": ">", "value": 0 }], "message": "b" },
+			  { "id": "c", "when": [{ "count": "employees", "where": [{ "fact": "availabilityPercentage", "op": ">=", "value": 75 }],
+			                          "op": "<", "value": 3 }], "message": "c" },
+			  { "id": "d", "when": [{ "count": "employees", "where": [{ "fact": "availabilityPercentage", "op": ">=", "value": 75 }],
+			                          "op": "<", "value": 3 }], "message": "d" }
+			] }
+			""");
+
+		RuleSetInfo info = rules.info();
+		// request: qualification < 80, employeeCount > 0, count < 3 (shared by c and d); employees: availability >= 75
+		assertEquals(4, info.getConditionCount());
+		// a: 1, b: 2, c: 1, d: 1, plus the one where-condition of the aggregate c and d share
+		assertEquals(6, info.getConditionReferences());
+
+		ProposalGenerationRequest request = randomRequest(new Random(7));
+		request.getSkillsGapAnalysis().setCurrentQualificationPercentage(50);
+		Employee employee = new Employee();
+		employee.setAvailabilityPercentage(50);
+		request.setEmployeeData(List.of(employee));
+		assertEquals(List.of("a", "b", "c", "d"), rules.evaluate(request).getRecommendations());
+	}
+
+	@Test
+	void invalidRuleFilesAreRejected() {
+		IllegalArgumentException unknownFact = assertThrows(IllegalArgumentException.class, () -> compile("""
+			{ "rules": [{ "id": "a", "when": [{ "fact": "noSuchFact", "op": "<", "value": 1 }], "message": "a" }] }
+			"""));
+		assertTrue(unknownFact.getMessage().contains("Rule 'a'"));
+		assertThrows(IllegalArgumentException.class, () -> compile("""
+			{ "rules": [{ "id": "a", "message": "a" }, { "id": "a", "message": "b" }] }
+			"""));
+		assertThrows(IllegalArgumentException.class, () -> compile("""
+			{ "rules": [{ "id": "a", "when": [{ "fact": "rfpTitle", "op": ">", "value": "x" }], "message": "a" }] }
+			"""));
+	}
+
+	@Test
+	void reloadKeepsTheActiveRulesWhenTheFileIsInvalid(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("recommendations.json");
+		Files.writeString(file, defaultRuleFile());
+		RecommendationRules rules = new RecommendationRules();
+		ReflectionTestUtils.setField(rules, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(rules, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(rules, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(rules, "location", file.toUri().toString());
+		ReflectionTestUtils.setField(rules, "reloadInterval", Duration.ZERO);
+		rules.init();
+		String version = rules.version();
+		ProposalGenerationRequest request = randomRequest(new Random(3));
+		RuleEvaluation before = rules.evaluate(request);
+
+		Files.writeString(file, "{ \"rules\": [{ \"id\": \"broken\", \"when\": [{ \"fact\": \"nope\", \"op\": \"<\", \"value\": 1 }], \"message\": \"x\" }] }");
+		assertThrows(IllegalArgumentException.class, rules::reload);
+		Files.writeString(file, "{ not json");
+		assertThrows(IllegalArgumentException.class, rules::reload);
+		assertEquals(version, rules.version());
+		assertEquals(before.getRecommendations(), rules.evaluate(request).getRecommendations());
+
+		Files.writeString(file, "{ \"rules\": [{ \"id\": \"always\", \"message\": \"always\" }] }");
+		assertEquals(List.of("always"), rules.reload().getRuleIds());
+		assertNotEquals(version, rules.version());
+		assertEquals(List.of("always"), rules.evaluate(request).getRecommendations());
+	}
+
+	private CompiledRuleSet compile(String json) throws IOException {
+		return CompiledRuleSet.compile(objectMapper.readValue(json, RuleSetDefinition.class), "test", "test");
+	}
+
+	private String defaultRuleFile() throws IOException {
+		try (InputStream in = getClass().getResourceAsStream("/rules/recommendations.json")) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	// The hard-coded recommendations the default rule file replaced
+	private static List<String> legacyRecommendations(ProposalGenerationRequest request) {
+		List<String> recommendations = new ArrayList<>();
+		SkillsGapAnalysis gap = request.getSkillsGapAnalysis();
+
+		if (gap.getCurrentQualificationPercentage() < 80) {
+			recommendations.add("PRIORITY: Implement training plan to reach minimum 80% qualification");
+		}
+		for (MissingSkill skill : gap.getMissingSkills()) {
+			if (skill.getImpactOnScore() >= 8) {
+				recommendations.add("CRITICAL: Acquire " + skill.getSkill() +
+					" certification (Impact: " + skill.getImpactOnScore() + " points)");
+			}
+		}
+		WhatIfScenario bestScenario = gap.getWhatIfScenarios().stream()
+			.max(Comparator.comparing(s -> s.getNewQualificationPercentage() / s.getInvestment()))
+			.orElse(null);
+		if (bestScenario != null) {
+			recommendations.add("RECOMMENDED: Pursue '" + bestScenario.getScenarioName() + "' strategy for best ROI");
+		}
+		long availableStaff = request.getEmployeeData().stream()
+			.filter(e -> e.getAvailabilityPercentage() >= 75)
+			.count();
+		if (availableStaff < 3) {
+			recommendations.add("WARNING: Limited staff availability may impact delivery");
+		}
+		return recommendations;
+	}
+
+	private static ProposalGenerationRequest randomRequest(Random random) {
+		SkillsGapAnalysis gap = new SkillsGapAnalysis();
+		gap.setCurrentQualificationPercentage(40 + random.nextInt(61));
+
+		List<MissingSkill> missing = new ArrayList<>();
+		for (int i = 0, n = random.nextInt(5); i < n; i++) {
+			MissingSkill skill = new MissingSkill();
+			skill.setSkill("Skill " + i);
+			skill.setRequiredCount(1 + random.nextInt(4));
+			skill.setCurrentCount(random.nextInt(2));
+			skill.setImpactOnScore(random.nextInt(13));
+			missing.add(skill);
+		}
+		gap.setMissingSkills(missing);
+
+		List<WhatIfScenario> scenarios = new ArrayList<>();
+		for (int i = 0, n = random.nextInt(4); i < n; i++) {
+			WhatIfScenario scenario = new WhatIfScenario();
+			scenario.setScenarioName("Scenario " + i);
+			// coarse values so equal ratios (first one wins) occur
+			scenario.setInvestment(10_000.0 * (1 + random.nextInt(3)));
+			scenario.setNewQualificationPercentage(80 + 10 * random.nextInt(3));
+			scenarios.add(scenario);
+		}
+		gap.setWhatIfScenarios(scenarios);
+		gap.setTrainingRecommendations(List.of());
+
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0, n = random.nextInt(7); i < n; i++) {
+			Employee employee = new Employee();
+			employee.setEmployeeId("EMP-" + i);
+			employee.setAvailabilityPercentage(25 * random.nextInt(5));
+			employees.add(employee);
+		}
+
+		ProposalGenerationRequest request = new ProposalGenerationRequest();
+		request.setSkillsGapAnalysis(gap);
+		request.setEmployeeData(employees);
+		return request;
+	}
+}
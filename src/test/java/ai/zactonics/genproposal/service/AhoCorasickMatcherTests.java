@@ -0,0 +1,95 @@
+package ai.zactonics.genproposal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickMatcherTests {
+
+	@Test
+	void theLongestMatchAtAStartWinsAndHidesTheMatchesInsideIt() {
+		AhoCorasickMatcher<String> matcher = matcher("Azure", "DevOps", "Azure DevOps", "Azure DevOps Engineer Expert");
+
+		assertEquals(List.of("Azure DevOps"), payloads(matcher, "Experience with Azure DevOps pipelines"));
+		assertEquals(List.of("Azure DevOps Engineer Expert"), payloads(matcher, "An Azure DevOps Engineer Expert"));
+		// the longer pattern fails on its last word, so the automaton falls back to the shorter one
+		assertEquals(List.of("Azure DevOps", "DevOps"), payloads(matcher, "Azure DevOps Engineer and DevOps"));
+		assertEquals(List.of("Azure", "DevOps"), payloads(matcher, "Azure and DevOps"));
+	}
+
+	@Test
+	void overlappingMatchesResolveLeftmostFirst() {
+		AhoCorasickMatcher<String> matcher = matcher("cloud migration", "migration plan", "plan");
+
+		// "migration plan" starts inside the earlier match, so only the trailing "plan" survives it
+		assertEquals(List.of("cloud migration", "plan"), payloads(matcher, "a cloud migration plan"));
+		assertEquals(List.of("migration plan"), payloads(matcher, "the migration plan"));
+	}
+
+	@Test
+	void matchesStartAndEndOnWordBoundaries() {
+		AhoCorasickMatcher<String> matcher = matcher("AKS", "Azure", "security");
+
+		assertEquals(List.of(), payloads(matcher, "TASKS in Azurescape and cybersecurity"));
+		assertEquals(List.of("AKS", "Azure", "security"), payloads(matcher, "(AKS), Azure.security!"));
+		// a pattern that is a suffix of the text's word is not a match
+		assertEquals(List.of(), payloads(matcher, "networksecurity"));
+	}
+
+	@Test
+	void aTrailingPluralIsPartOfTheMatch() {
+		AhoCorasickMatcher<String> matcher = matcher("Docker container", "Kubernetes");
+
+		List<AhoCorasickMatcher.Match<String>> matches = matcher.findAll("Docker containers on Kubernetes");
+		assertEquals(2, matches.size());
+		assertEquals("Docker containers", matches.get(0).surface());
+		assertEquals(0, matches.get(0).start());
+		assertEquals(17, matches.get(0).end());
+		assertEquals("Kubernetes", matches.get(1).surface());
+		// only one "s"
+		assertEquals(List.of(), payloads(matcher, "Docker containerss"));
+	}
+
+	@Test
+	void caseAndSeparatorsAreFoldedButOffsetsPointIntoTheOriginalText() {
+		AhoCorasickMatcher<String> matcher = matcher("CI/CD", "zero trust");
+
+		List<AhoCorasickMatcher.Match<String>> matches = matcher.findAll("Build ci-cd and Zero_Trust\tcontrols");
+		assertEquals(List.of("ci-cd", "Zero_Trust"), matches.stream().map(AhoCorasickMatcher.Match::surface).toList());
+		assertEquals(List.of("CI/CD", "zero trust"), matches.stream().map(AhoCorasickMatcher.Match::payload).toList());
+		assertEquals(16, matches.get(1).start());
+	}
+
+	@Test
+	void suffixPatternsAreFoundThroughFailureLinks() {
+		AhoCorasickMatcher<String> matcher = matcher("network security", "security", "cloud security");
+
+		assertEquals(List.of("security"), payloads(matcher, "network and security"));
+		assertEquals(List.of("security"), payloads(matcher, "cloud networking security"));
+		assertEquals(List.of("cloud security", "network security"), payloads(matcher, "cloud security, network security"));
+	}
+
+	@Test
+	void blankPatternsAndTextAreIgnored() {
+		AhoCorasickMatcher<String> matcher = matcher("  ", "AWS");
+
+		assertTrue(matcher.findAll(null).isEmpty());
+		assertTrue(matcher.findAll("").isEmpty());
+		assertEquals(List.of("AWS"), payloads(matcher, " aws "));
+	}
+
+	private static AhoCorasickMatcher<String> matcher(String... patterns) {
+		Map<String, String> vocabulary = new LinkedHashMap<>();
+		for (String pattern : patterns) vocabulary.put(pattern, pattern);
+		return AhoCorasickMatcher.build(vocabulary);
+	}
+
+	private static List<String> payloads(AhoCorasickMatcher<String> matcher, String text) {
+		return matcher.findAll(text).stream().map(AhoCorasickMatcher.Match::payload).toList();
+	}
+}
@@ -0,0 +1,72 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ProjectExperience;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Query and update cost of {@link EvidenceIndex} at a given size: indexes synthetic resume
+ * highlights (three per employee) and project achievements and lessons (five per project),
+ * times requirement-style queries, then re-indexes and removes owners the way roster writes
+ * do and times queries again over the churned index.
+ *
+ * Run with: ./gradlew evidenceBenchmark [-Pdocs=100000] [-Pqueries=20000]
+ */
+final class EvidenceIndexBenchmark {
+
+	private EvidenceIndexBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int docs = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+		Random random = new Random(29);
+
+		// 60% of documents are resume highlights, 40% project texts
+		int employeeCount = docs * 6 / 10 / 3;
+		int projectCount = docs * 4 / 10 / 5;
+		List<Employee> employees = new ArrayList<>(employeeCount);
+		for (int i = 0; i < employeeCount; i++) employees.add(EvidenceIndexTests.employee(random, "EMP-" + i));
+		List<ProjectExperience> projects = new ArrayList<>(projectCount);
+		for (int i = 0; i < projectCount; i++) projects.add(EvidenceIndexTests.project(random, "PRJ-" + i));
+
+		long start = System.nanoTime();
+		EvidenceIndex index = EvidenceIndex.forRoster(employees, projects);
+		double buildMillis = (System.nanoTime() - start) / 1e6;
+
+		List<String> queryTexts = new ArrayList<>(queries);
+		for (int q = 0; q < queries; q++) queryTexts.add(EvidenceIndexTests.sentence(random, 6 + random.nextInt(10)));
+
+		// warm up the query path before timing
+		query(index, queryTexts);
+		double queryMicros = query(index, queryTexts);
+
+		int updates = Math.max(1, employeeCount / 10);
+		start = System.nanoTime();
+		for (int u = 0; u < updates; u++) {
+			int i = random.nextInt(employeeCount);
+			if (u % 4 == 3) index.removeOwner("EMP-" + i);
+			else index.indexEmployee(EvidenceIndexTests.employee(random, "EMP-" + i));
+		}
+		double updateMicros = (System.nanoTime() - start) / 1e3 / updates;
+		double churnedMicros = query(index, queryTexts);
+
+		System.out.printf("documents             %,d%n", index.size());
+		System.out.printf("build                 %.1f ms%n", buildMillis);
+		System.out.printf("query                 %.1f us%n", queryMicros);
+		System.out.printf("owner update          %.1f us (%,d updates)%n", updateMicros, updates);
+		System.out.printf("query after updates   %.1f us%n", churnedMicros);
+	}
+
+	private static double query(EvidenceIndex index, List<String> queryTexts) {
+		int found = 0;
+		long start = System.nanoTime();
+		for (String text : queryTexts) found += index.search(text, EvidenceRetrievalService.EVIDENCE_PER_REQUIREMENT).size();
+		double micros = (System.nanoTime() - start) / 1e3 / queryTexts.size();
+		if (found < 0) throw new IllegalStateException();
+		return micros;
+	}
+}
@@ -0,0 +1,158 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.EvidenceSnippet;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvidenceIndexTests {
+
+	private static final String[] DOMAIN = {
+		"azure", "aws", "kubernetes", "terraform", "migration", "devops", "pipeline", "zero", "trust",
+		"security", "network", "database", "modernization", "governance", "compliance", "fedramp",
+		"monitoring", "automation", "container", "identity", "landing", "zone", "disaster", "recovery",
+		"cost", "optimization", "data", "warehouse", "analytics", "training", "agile", "delivery"
+	};
+	private static final String[] VERBS = { "led", "delivered", "migrated", "designed", "automated", "reduced", "built" };
+	// word ranks are drawn with Zipf (s = 1) weights over this vocabulary; the head is DOMAIN
+	private static final int VOCABULARY = 5000;
+	private static final double[] ZIPF_CDF = zipf(VOCABULARY);
+
+	@Test
+	void reindexingAnOwnerReplacesItsDocuments() {
+		Employee employee = new Employee();
+		employee.setEmployeeId("EMP-1");
+		employee.setResumeHighlights(List.of("Led the Azure migration of 40 applications"));
+		EvidenceIndex index = EvidenceIndex.forRoster(List.of(employee), List.of());
+		assertEquals(1, index.search("azure migration", 3).size());
+
+		employee.setResumeHighlights(List.of("Built Terraform landing zones", "Automated Kubernetes upgrades"));
+		index.indexEmployee(employee);
+
+		assertEquals(2, index.size());
+		assertTrue(index.search("azure migration", 3).isEmpty());
+		assertEquals("EMP-1/highlight-2", index.search("kubernetes", 3).get(0).getSourceId());
+	}
+
+	@Test
+	void removedOwnersAreNeverReturned() {
+		Random random = new Random(1);
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 50; i++) employees.add(employee(random, "EMP-" + i));
+		EvidenceIndex index = EvidenceIndex.forRoster(employees, List.of());
+
+		for (int i = 0; i < 50; i += 2) index.removeOwner("EMP-" + i);
+
+		assertEquals(75, index.size());
+		for (String domain : DOMAIN) {
+			for (EvidenceSnippet snippet : index.search(domain, 200)) {
+				int owner = Integer.parseInt(snippet.getOwnerId().substring(4));
+				assertEquals(1, owner % 2, snippet.getSourceId());
+			}
+		}
+	}
+
+	@Test
+	void incrementalUpdatesScoreLikeARebuildAcrossCompaction() {
+		Random random = new Random(2);
+		Map<String, Employee> employees = new LinkedHashMap<>();
+		Map<String, ProjectExperience> projects = new LinkedHashMap<>();
+		for (int i = 0; i < 600; i++) employees.put("EMP-" + i, employee(random, "EMP-" + i));
+		for (int i = 0; i < 200; i++) projects.put("PRJ-" + i, project(random, "PRJ-" + i));
+		EvidenceIndex index = EvidenceIndex.forRoster(new ArrayList<>(employees.values()), new ArrayList<>(projects.values()));
+
+		// 3 documents per employee update, so this passes the 1024-tombstone compaction threshold several times
+		for (int u = 0; u < 2000; u++) {
+			String id = "EMP-" + random.nextInt(800);
+			if (u % 5 == 4) {
+				employees.remove(id);
+				index.removeOwner(id);
+			} else {
+				Employee employee = employee(random, id);
+				employees.put(id, employee);
+				index.indexEmployee(employee);
+			}
+			if (u % 7 == 0) {
+				ProjectExperience project = project(random, "PRJ-" + random.nextInt(200));
+				projects.put(project.getProjectId(), project);
+				index.indexProject(project);
+			}
+		}
+
+		EvidenceIndex rebuilt = EvidenceIndex.forRoster(new ArrayList<>(employees.values()), new ArrayList<>(projects.values()));
+		assertEquals(rebuilt.size(), index.size());
+		for (int q = 0; q < 50; q++) {
+			String query = sentence(random, 8);
+			assertEquals(scores(rebuilt, query), scores(index, query), query);
+		}
+	}
+
+	@Test
+	void prunedTopKScoresMatchExhaustiveScoring() {
+		Random random = new Random(3);
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) employees.add(employee(random, "EMP-" + i));
+		EvidenceIndex index = EvidenceIndex.forRoster(employees, List.of());
+
+		for (int q = 0; q < 200; q++) {
+			String query = sentence(random, 4 + random.nextInt(12));
+			// k above the pruning limit scores every matching document
+			List<Double> exhaustive = index.search(query, index.size()).stream().map(EvidenceSnippet::getScore).toList();
+			List<Double> pruned = index.search(query, 3).stream().map(EvidenceSnippet::getScore).toList();
+			assertEquals(exhaustive.subList(0, Math.min(3, exhaustive.size())), pruned, query);
+		}
+	}
+
+	private static Map<String, Double> scores(EvidenceIndex index, String query) {
+		return index.search(query, index.size()).stream()
+			.collect(Collectors.toMap(EvidenceSnippet::getSourceId, EvidenceSnippet::getScore));
+	}
+
+	static Employee employee(Random random, String id) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setResumeHighlights(List.of(sentence(random, 12), sentence(random, 16), sentence(random, 20)));
+		return employee;
+	}
+
+	static ProjectExperience project(Random random, String id) {
+		ProjectExperience project = new ProjectExperience();
+		project.setProjectId(id);
+		project.setKeyAchievements(List.of(sentence(random, 14), sentence(random, 14), sentence(random, 18)));
+		project.setLessonsLearned(List.of(sentence(random, 16), sentence(random, 22)));
+		return project;
+	}
+
+	/** Words with a natural-language frequency curve: domain terms are common, "termN" form the long tail. */
+	static String sentence(Random random, int words) {
+		StringBuilder text = new StringBuilder(VERBS[random.nextInt(VERBS.length)]);
+		for (int w = 1; w < words; w++) {
+			int at = Arrays.binarySearch(ZIPF_CDF, random.nextDouble());
+			int rank = at >= 0 ? at : -at - 1;
+			text.append(' ').append(rank < DOMAIN.length ? DOMAIN[rank] : "term" + rank);
+		}
+		return text.toString();
+	}
+
+	private static double[] zipf(int size) {
+		double[] cdf = new double[size];
+		double sum = 0;
+		for (int rank = 0; rank < size; rank++) {
+			sum += 1.0 / (rank + 1);
+			cdf[rank] = sum;
+		}
+		for (int rank = 0; rank < size; rank++) cdf[rank] /= sum;
+		return cdf;
+	}
+}
@@ -0,0 +1,197 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.LaborCostModel;
+import ai.zactonics.genproposal.model.PhaseCost;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.model.SensitivityPoint;
+import ai.zactonics.genproposal.model.SkillsGapAnalysis;
+import ai.zactonics.genproposal.model.StaffingVariant;
+import ai.zactonics.genproposal.model.TrainingRecommendation;
+import ai.zactonics.genproposal.service.LaborCostEngine.StaffingColumns;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LaborCostEngineTests {
+
+	// 200 full time, 100 at half time, 120 at 150% (capped to full time) and an unpriced hire:
+	// 59,200 a month across 3.5 FTE
+	private static final List<Employee> ROSTER = List.of(
+		employee("E1", "Architect", 200.0, 100),
+		employee("E2", "Engineer", 100.0, 50),
+		employee("E3", "Engineer", 120.0, 150),
+		employee("E4", null, null, null));
+	private static final double MONTHLY = 59_200;
+	// 24 months at 15% / 70% / 15% of the time under 60% / 100% / 50% load
+	private static final double LOADED_MONTHS = 24 * 0.865;
+	private static final double TRAINING = 7_500;
+	private static final double BASELINE = MONTHLY * LOADED_MONTHS + TRAINING;
+
+	@Test
+	void phasesSplitTheContractAndAddUpToTheLaborCost() {
+		LaborCostModel model = new LaborCostEngine().model(request("2 years", "$1.5M"), false);
+
+		assertEquals(24, model.getDurationMonths());
+		assertEquals(List.of("Transition-In", "Execution", "Transition-Out"),
+			model.getPhases().stream().map(PhaseCost::getPhase).toList());
+		PhaseCost transitionIn = model.getPhases().get(0);
+		assertEquals(3.6, transitionIn.getMonths());
+		assertEquals(0.6, transitionIn.getStaffingLoad());
+		assertEquals(3.5 * 160 * 3.6 * 0.6, transitionIn.getHours(), 0.01);
+		assertEquals(MONTHLY * 3.6 * 0.6, transitionIn.getLaborCost(), 0.01);
+		assertEquals(MONTHLY * 16.8, model.getPhases().get(1).getLaborCost(), 0.01);
+		assertEquals(MONTHLY * 3.6 * 0.5, model.getPhases().get(2).getLaborCost(), 0.01);
+		assertEquals(MONTHLY * LOADED_MONTHS, model.getLaborCost(), 0.01);
+
+		Map<String, Double> byRole = model.getLaborCostByRole();
+		assertEquals(List.of("Architect", "Engineer", "Unassigned"), List.copyOf(byRole.keySet()));
+		assertEquals(32_000 * LOADED_MONTHS, byRole.get("Architect"), 0.01);
+		assertEquals(27_200 * LOADED_MONTHS, byRole.get("Engineer"), 0.01);
+		assertEquals(0.0, byRole.get("Unassigned"));
+
+		// recommendations without a cost are skipped
+		assertEquals(TRAINING, model.getTrainingCost());
+		assertEquals(BASELINE, model.getTotalCost(), 0.01);
+		assertEquals(1_500_000.0, model.getContractValue());
+		assertEquals(1_500_000 - BASELINE, model.getMargin(), 0.01);
+		assertEquals(17.6, model.getMarginPercentage());
+		assertNull(model.getSensitivity());
+	}
+
+	@Test
+	void theSweepCoversEveryFactorCombinationInRateMajorOrder() {
+		LaborCostEngine engine = new LaborCostEngine();
+		StaffingColumns columns = StaffingColumns.of(ROSTER);
+		double[] rates = { 0.8, 1.0, 1.2 };
+		double[] availability = { 0.5, 1.0, 1.5 };
+		double[] durations = { 0.75, 1.0, 1.5 };
+
+		double[] totals = engine.sweep(columns, 24, TRAINING, rates, availability, durations);
+		assertEquals(27, totals.length);
+		int i = 0;
+		for (double rate : rates) {
+			for (double factor : availability) {
+				for (double duration : durations) {
+					double expected = engine.monthlyCost(columns, factor) * rate * LOADED_MONTHS * duration + TRAINING;
+					assertEquals(expected, totals[i++], 0.01);
+				}
+			}
+		}
+		assertEquals(BASELINE, totals[13], 0.01);
+		// at 150% only E2 gains: everyone else is already capped at full time
+		assertEquals(63_200.0, engine.monthlyCost(columns, 1.5));
+		// the cap applies after scaling, so halving takes E3 from 150% to 75%
+		assertEquals((100 + 25 + 90) * 160.0, engine.monthlyCost(columns, 0.5));
+		assertEquals(63_200 * 1.2 * LOADED_MONTHS * 1.5 + TRAINING, totals[26], 0.01);
+	}
+
+	@Test
+	void theStaffingSweepAdjustsOnePersonOrRoleAtATime() {
+		StaffingColumns columns = StaffingColumns.of(ROSTER);
+		double[] totals = new LaborCostEngine().sweepStaffing(columns, 24, TRAINING, LaborCostEngine.ALLOCATION_LEVELS);
+
+		// 5 levels for each of 4 people and 3 roles, plus a hire per role
+		assertEquals(5 * 4 + 6 * 3, totals.length);
+		for (int full = 4; full < 35; full += 5) assertEquals(BASELINE, totals[full], 0.01);
+		assertEquals((MONTHLY - 32_000) * LOADED_MONTHS + TRAINING, totals[0], 0.01);
+		// E3 counts at full time before the level applies
+		assertEquals((MONTHLY - 9_600) * LOADED_MONTHS + TRAINING, totals[12], 0.01);
+		// E4 has no rate, so any level costs the same
+		assertEquals(BASELINE, totals[15], 0.01);
+		assertEquals((MONTHLY - 27_200) * LOADED_MONTHS + TRAINING, totals[25], 0.01);
+		// a new engineer at the average of 100 and 120 an hour
+		assertEquals((MONTHLY + 110 * 160) * LOADED_MONTHS + TRAINING, totals[36], 0.01);
+		assertEquals((MONTHLY + 200 * 160) * LOADED_MONTHS + TRAINING, totals[35], 0.01);
+		assertEquals(BASELINE, totals[37], 0.01);
+	}
+
+	@Test
+	void theModelLabelsEverySweptVariant() {
+		LaborCostModel model = new LaborCostEngine().model(request("24 months", "$1,500,000"), true);
+
+		assertEquals(9 * 9 * 6 + 38, model.getVariantsEvaluated());
+		List<SensitivityPoint> points = model.getSensitivity();
+		assertEquals(486, points.size());
+		SensitivityPoint first = points.get(0);
+		assertEquals(List.of(0.8, 0.5, 0.75), List.of(first.getRateFactor(), first.getAvailabilityFactor(), first.getDurationFactor()));
+		// duration varies fastest, then availability
+		assertEquals(0.875, points.get(1).getDurationFactor());
+		assertEquals(0.625, points.get(6).getAvailabilityFactor());
+		SensitivityPoint nominal = points.get((4 * 9 + 4) * 6 + 2);
+		assertEquals(List.of(1.0, 1.0, 1.0), List.of(nominal.getRateFactor(), nominal.getAvailabilityFactor(), nominal.getDurationFactor()));
+		assertEquals(model.getTotalCost(), nominal.getTotalCost());
+		assertEquals(model.getMarginPercentage(), nominal.getMarginPercentage());
+		assertEquals(1.2, points.get(485).getRateFactor());
+
+		List<StaffingVariant> variants = model.getStaffingVariants();
+		assertEquals(38, variants.size());
+		StaffingVariant dropped = variants.get(0);
+		assertEquals(List.of(LaborCostEngine.EMPLOYEE_ALLOCATION, "E1"), List.of(dropped.getChange(), dropped.getTarget()));
+		assertEquals(0.0, dropped.getAllocation());
+		assertEquals(Math.round((1_500_000 - dropped.getTotalCost()) / 1_500_000 * 1000) / 10.0, dropped.getMarginPercentage());
+		StaffingVariant role = variants.get(25);
+		assertEquals(List.of(LaborCostEngine.ROLE_ALLOCATION, "Engineer"), List.of(role.getChange(), role.getTarget()));
+		StaffingVariant hire = variants.get(36);
+		assertEquals(List.of(LaborCostEngine.ADD_HIRE, "Engineer"), List.of(hire.getChange(), hire.getTarget()));
+		assertEquals(1.0, hire.getAllocation());
+
+		// without a contract value there is nothing to take a margin from
+		LaborCostModel unpriced = new LaborCostEngine().model(request("24 months", "TBD"), true);
+		assertNull(unpriced.getMargin());
+		assertNull(unpriced.getSensitivity().get(0).getMarginPercentage());
+		assertNull(unpriced.getStaffingVariants().get(0).getMarginPercentage());
+	}
+
+	@Test
+	void durationsAndAmountsAreReadFromFreeText() {
+		assertEquals(24, LaborCostEngine.parseMonths("2 years"));
+		assertEquals(18, LaborCostEngine.parseMonths("an 18-month base period"));
+		assertEquals(18, LaborCostEngine.parseMonths("1.5 yrs"));
+		assertEquals(6, LaborCostEngine.parseMonths("26 weeks"));
+		assertEquals(1, LaborCostEngine.parseMonths("0 months"));
+		assertEquals(12, LaborCostEngine.parseMonths("TBD"));
+		assertEquals(12, LaborCostEngine.parseMonths(null));
+
+		assertEquals(3_500_000.0, LaborCostEngine.parseMoney("$3,500,000"));
+		assertEquals(3_500_000.0, LaborCostEngine.parseMoney("$3.5M"));
+		assertEquals(850_000.0, LaborCostEngine.parseMoney("850K ceiling"));
+		assertEquals(1_200_000.0, LaborCostEngine.parseMoney("USD 1.2 million"));
+		assertEquals(2_000_000_000.0, LaborCostEngine.parseMoney("2 billion"));
+		assertNull(LaborCostEngine.parseMoney("TBD"));
+		assertNull(LaborCostEngine.parseMoney(null));
+	}
+
+	private static ProposalGenerationRequest request(String duration, String value) {
+		RfpData rfp = new RfpData();
+		rfp.setContractDuration(duration);
+		rfp.setContractValue(value);
+		SkillsGapAnalysis gap = new SkillsGapAnalysis();
+		gap.setTrainingRecommendations(List.of(training(5_000.0), training(2_500.0), training(null)));
+		ProposalGenerationRequest request = new ProposalGenerationRequest();
+		request.setRfpData(rfp);
+		request.setEmployeeData(ROSTER);
+		request.setSkillsGapAnalysis(gap);
+		return request;
+	}
+
+	private static TrainingRecommendation training(Double cost) {
+		TrainingRecommendation recommendation = new TrainingRecommendation();
+		recommendation.setCost(cost);
+		return recommendation;
+	}
+
+	private static Employee employee(String id, String title, Double rate, Integer availability) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setTitle(title);
+		employee.setHourlyRate(rate);
+		employee.setAvailabilityPercentage(availability);
+		return employee;
+	}
+}
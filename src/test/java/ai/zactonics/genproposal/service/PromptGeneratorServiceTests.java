@@ -0,0 +1,233 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.CompleteProposalLayout;
+import ai.zactonics.genproposal.model.CompleteProposalStats;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ProjectExperience;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.ProposalGenerationResponse;
+import ai.zactonics.genproposal.model.Requirement;
+import ai.zactonics.genproposal.model.Skill;
+import ai.zactonics.genproposal.profiling.ProposalProfiler;
+import ai.zactonics.genproposal.roster.RosterStore;
+import ai.zactonics.genproposal.rules.RecommendationRules;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptGeneratorServiceTests {
+
+	private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+	// a line of evidence quoted in full: "- [source ID] text"
+	private static final Pattern QUOTED = Pattern.compile("(?m)^- \\[([^\\]]+)\\] (.+)$");
+
+	@Test
+	void narrowerSkillsCountTowardTheRequiredOne() {
+		PromptGeneratorService service = service();
+		Requirement devOps = requirement("DevOps");
+
+		// Azure DevOps sits under DevOps in the bundled taxonomy
+		assertEquals("Moderate - Single qualified staff",
+			capability(service, devOps, employee("Azure DevOps"), employee("AWS")));
+		assertEquals("Strong - Multiple qualified staff",
+			capability(service, devOps, employee("Azure DevOps"), employee("Kubernetes", "Java")));
+		assertEquals("Developing - Training planned", capability(service, devOps, employee("AWS")));
+	}
+
+	@Test
+	void broaderSkillsDoNotCountTowardANarrowerOne() {
+		PromptGeneratorService service = service();
+
+		assertEquals("Developing - Training planned",
+			capability(service, requirement("Azure DevOps"), employee("DevOps"), employee("Azure")));
+		assertEquals("Moderate - Single qualified staff",
+			capability(service, requirement("Azure DevOps"), employee("Azure DevOps"), employee("DevOps")));
+		// names outside the taxonomy still match exactly
+		assertEquals("Moderate - Single qualified staff",
+			capability(service, requirement("COBOL"), employee("COBOL"), employee("Java")));
+	}
+
+	@Test
+	void theSharedContextLayoutOnlyChangesTheCompleteProposal() {
+		PromptGeneratorService service = service();
+		ProposalGenerationResponse sections = service.generateProposal(sample(CompleteProposalLayout.SECTIONS));
+		ProposalGenerationRequest sharedRequest = sample(CompleteProposalLayout.SHARED_CONTEXT);
+		ProposalGenerationResponse shared = service.generateProposal(sharedRequest);
+
+		assertEquals(sections.getTechnicalApproachPrompt(), shared.getTechnicalApproachPrompt());
+		assertEquals(sections.getTeamQualificationsPrompt(), shared.getTeamQualificationsPrompt());
+		assertEquals(sections.getCostProposalPrompt(), shared.getCostProposalPrompt());
+		assertNull(sections.getCompleteProposalStats());
+		assertEquals(shared.getCompleteProposal(), service.assembleCompleteProposal(sharedRequest));
+
+		String proposal = shared.getCompleteProposal();
+		String baseline = sections.getCompleteProposal();
+		CompleteProposalStats stats = shared.getCompleteProposalStats();
+		assertEquals(CompleteProposalLayout.SHARED_CONTEXT, stats.getLayout());
+		assertEquals(proposal.length(), stats.getCharacters());
+		assertEquals(baseline.length(), stats.getBaselineCharacters());
+		assertEquals(baseline.length() - proposal.length(), stats.getSavedCharacters());
+		assertTrue(stats.getSavedCharacters() > 0, stats.toString());
+		int tokens = PromptTokenEstimator.estimate(proposal);
+		int baselineTokens = PromptTokenEstimator.estimate(baseline);
+		assertEquals(tokens, stats.getTokens());
+		assertEquals(baselineTokens, stats.getBaselineTokens());
+		assertEquals(baselineTokens - tokens, stats.getSavedTokens());
+		assertEquals(Math.round(1000.0 * (baselineTokens - tokens) / baselineTokens) / 10.0, stats.getTokenReductionPercentage());
+		assertEquals(sharedRequest.getEmployeeData().size(), stats.getSharedEmployees());
+		assertEquals(sharedRequest.getProjectExperience().size(), stats.getSharedProjects());
+	}
+
+	@Test
+	void theSharedContextListsEachEntryOnceAndSectionsCiteItsKey() {
+		ProposalGenerationRequest request = sample(CompleteProposalLayout.SHARED_CONTEXT);
+		String proposal = service().generateProposal(request).getCompleteProposal();
+		String baseline = service().generateProposal(sample(CompleteProposalLayout.SECTIONS)).getCompleteProposal();
+		int sectionsStart = proposal.indexOf("SECTION 1: EXECUTIVE SUMMARY");
+		String context = proposal.substring(0, sectionsStart);
+		String body = proposal.substring(sectionsStart);
+
+		List<Employee> employees = request.getEmployeeData();
+		for (int i = 0; i < employees.size(); i++) {
+			String name = employees.get(i).getName();
+			assertTrue(context.contains("[E" + (i + 1) + "] " + name + "\n"), name);
+			assertEquals(1, occurrences(proposal, name), name);
+			assertTrue(occurrences(baseline, name) > 1, name);
+			assertTrue(body.contains("[E" + (i + 1) + "]"), name);
+		}
+		List<ProjectExperience> projects = request.getProjectExperience();
+		for (int p = 0; p < projects.size(); p++) {
+			String name = projects.get(p).getProjectName();
+			assertTrue(context.contains("[P" + (p + 1) + "] " + name + "\n"), name);
+			assertEquals(1, occurrences(proposal, name), name);
+			assertTrue(body.contains("[P" + (p + 1) + "]"), name);
+		}
+		assertFalse(body.contains(request.getRfpData().getTitle()));
+
+		// evidence quoted up front is cited by its source ID alone
+		Matcher quoted = QUOTED.matcher(context);
+		int quotes = 0;
+		while (quoted.find()) {
+			assertEquals(1, occurrences(proposal, quoted.group(2)), quoted.group());
+			quotes++;
+		}
+		assertTrue(quotes > 0);
+	}
+
+	@Test
+	void employeesOffTheRosterKeepTheirId() {
+		ProposalGenerationRequest request = sample(CompleteProposalLayout.SHARED_CONTEXT);
+		String firstId = request.getEmployeeData().get(0).getEmployeeId();
+		SharedContext context = new SharedContext(request);
+
+		assertEquals("[E1]", context.key(request.getEmployeeData().get(0)));
+		assertEquals("[E1]", context.employeeKey(firstId));
+		assertEquals("[P1]", context.key(request.getProjectExperience().get(0)));
+		assertEquals("EMP-999", context.employeeKey("EMP-999"));
+		// keys follow identity, so an equal copy is not on the roster
+		Employee copy = OBJECT_MAPPER.convertValue(request.getEmployeeData().get(0), Employee.class);
+		assertNull(context.key(copy));
+	}
+
+	private static String capability(PromptGeneratorService service, Requirement requirement, Employee... employees) {
+		ProposalGenerationRequest request = new ProposalGenerationRequest();
+		request.setEmployeeData(Arrays.asList(employees));
+		return ReflectionTestUtils.invokeMethod(service, "assessCapability", request, requirement);
+	}
+
+	private static PromptGeneratorService service() {
+		SkillTaxonomy taxonomy = new SkillTaxonomy();
+		ReflectionTestUtils.setField(taxonomy, "objectMapper", OBJECT_MAPPER);
+		ReflectionTestUtils.setField(taxonomy, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(taxonomy, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(taxonomy, "location", "classpath:taxonomy/skills.json");
+		ReflectionTestUtils.setField(taxonomy, "reloadInterval", Duration.ZERO);
+		ReflectionTestUtils.invokeMethod(taxonomy, "init");
+		TenantExecutors executors = new TenantExecutors();
+		ReflectionTestUtils.setField(executors, "parallelism", 2);
+		ReflectionTestUtils.setField(executors, "idleEviction", Duration.ofMinutes(10));
+		RecommendationRules rules = new RecommendationRules();
+		ReflectionTestUtils.setField(rules, "objectMapper", OBJECT_MAPPER);
+		ReflectionTestUtils.setField(rules, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(rules, "tenantExecutors", executors);
+		ReflectionTestUtils.setField(rules, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(rules, "location", "classpath:rules/recommendations.json");
+		ReflectionTestUtils.setField(rules, "reloadInterval", Duration.ZERO);
+		ReflectionTestUtils.invokeMethod(rules, "init");
+
+		RosterStore rosterStore = new RosterStore();
+		ReflectionTestUtils.setField(rosterStore, "objectMapper", OBJECT_MAPPER);
+		RosterEvidenceIndexes rosterIndexes = new RosterEvidenceIndexes();
+		ReflectionTestUtils.setField(rosterIndexes, "rosterStore", rosterStore);
+		ReflectionTestUtils.invokeMethod(rosterIndexes, "init");
+		EvidenceRetrievalService evidenceService = new EvidenceRetrievalService();
+		ReflectionTestUtils.setField(evidenceService, "rosterIndexes", rosterIndexes);
+		TrainingScheduleService scheduleService = new TrainingScheduleService();
+		ReflectionTestUtils.setField(scheduleService, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(scheduleService, "tenantExecutors", executors);
+		ReflectionTestUtils.setField(scheduleService, "maxHoursPerWeek", 16.0);
+		ReflectionTestUtils.setField(scheduleService, "hoursPerTimelineWeek", 10.0);
+		ReflectionTestUtils.setField(scheduleService, "defaultCertHours", 80.0);
+
+		PromptGeneratorService service = new PromptGeneratorService();
+		ReflectionTestUtils.setField(service, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(service, "evidenceService", evidenceService);
+		ReflectionTestUtils.setField(service, "costEngine", new LaborCostEngine());
+		ReflectionTestUtils.setField(service, "scheduleService", scheduleService);
+		ReflectionTestUtils.setField(service, "recommendationRules", rules);
+		ReflectionTestUtils.setField(service, "profiler", new ProposalProfiler());
+		return service;
+	}
+
+	private static ProposalGenerationRequest sample(CompleteProposalLayout layout) {
+		try (InputStream in = new DefaultResourceLoader().getResource("classpath:proposal-request.json").getInputStream()) {
+			ProposalGenerationRequest request = OBJECT_MAPPER.readValue(in, ProposalGenerationRequest.class);
+			request.setTrainingStartDate(LocalDate.of(2025, 6, 2));
+			request.setCompleteProposalLayout(layout);
+			return request;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int occurrences(String text, String part) {
+		int count = 0;
+		for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + part.length())) count++;
+		return count;
+	}
+
+	private static Requirement requirement(String... skills) {
+		Requirement requirement = new Requirement();
+		requirement.setRequiredSkills(List.of(skills));
+		return requirement;
+	}
+
+	private static Employee employee(String... skills) {
+		Employee employee = new Employee();
+		employee.setCurrentSkills(Arrays.stream(skills).map(name -> {
+			Skill skill = new Skill();
+			skill.setSkillName(name);
+			return skill;
+		}).toList());
+		return employee;
+	}
+}
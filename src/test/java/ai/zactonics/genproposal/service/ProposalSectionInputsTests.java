@@ -0,0 +1,280 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static ai.zactonics.genproposal.service.ProposalSectionType.Dependencies.EVIDENCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parity between ProposalSectionType's declared input paths and what the sections actually read:
+ * every field of the sample request is changed in turn, and a section's output must change exactly
+ * when the field is one of its inputs. A missing path would let the amendment tracker and the
+ * export cache serve a stale section; an extra one only costs a needless regeneration.
+ */
+@SpringBootTest(properties = {"proposal.history.enabled=false", "proposal.warmup.enabled=false"})
+class ProposalSectionInputsTests {
+
+	private static final Pattern NUMBER = Pattern.compile("\\d[\\d,]*");
+	private static final int VARIANT_KINDS = 4;
+	private static final int UNRELATED_TEXT = 2;
+
+	// declared inputs whose effect the sample hides; sectionsReadEveryFieldTheyDeclare skips them
+	private static final Set<String> HIDDEN_BY_SAMPLE = Set.of(
+		// the due date is only shown once every mandatory requirement can be covered, and the sample's cannot
+		"SKILLS_DEVELOPMENT <- rfpData.dueDate",
+		// a held certification matches by id or by name, so changing one of them alone still matches
+		"SKILLS_DEVELOPMENT <- employeeData[].currentCertifications[].certId",
+		"SKILLS_DEVELOPMENT <- employeeData[].currentCertifications[].certName",
+		// only "Expired" drops a certification
+		"SKILLS_DEVELOPMENT <- employeeData[].currentCertifications[].status",
+		// the limited-availability rule warns below three available employees; the sample has two
+		"RECOMMENDATIONS <- employeeData[].availabilityPercentage");
+
+	@Autowired
+	private SectionDependencyTracker tracker;
+
+	@Autowired
+	private PromptGeneratorService promptService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("classpath:proposal-request.json")
+	private Resource proposalRequest;
+
+	private JsonNode sample;
+
+	@BeforeEach
+	void loadRequest() throws Exception {
+		ProposalGenerationRequest request = objectMapper.readValue(proposalRequest.getInputStream(), ProposalGenerationRequest.class);
+		ObjectNode tree = objectMapper.valueToTree(request);
+		// inputs the sample leaves unset, so that changing them is visible too
+		tree.put("trainingStartDate", "2025-06-02");
+		for (JsonNode preferred : tree.path("rfpData").path("extractedRequirements").path("preferredRequirements")) {
+			((ObjectNode) preferred).putArray("requiredCertifications").add("PMP");
+		}
+		for (JsonNode project : tree.path("projectExperience")) {
+			((ObjectNode) project).putArray("lessonsLearned").add("Pilot the zero-trust rollout with one business unit first");
+		}
+		sample = tree;
+	}
+
+	@Test
+	void everyDeclaredPathIsPresentInTheSample() {
+		Set<String> fields = fieldPaths(sample);
+		for (ProposalSectionType section : ProposalSectionType.values()) {
+			for (String path : tracker.inputPaths(section)) {
+				assertTrue(fields.contains(path), section + " declares " + path + ", which the sample does not set");
+			}
+		}
+	}
+
+	@Test
+	void sectionsIgnoreFieldsTheyDoNotDeclare() throws Exception {
+		List<String> undeclaredReads = new ArrayList<>();
+		for (ProposalSectionType section : ProposalSectionType.values()) {
+			List<String> declared = tracker.inputPaths(section);
+			String baseline = output(section, sample);
+			for (String path : fieldPaths(sample)) {
+				if (declared.contains(path) || path.endsWith("#count") && declaresElementsOf(declared, path)) continue;
+				for (JsonNode variant : variants(sample, path)) {
+					if (!baseline.equals(output(section, variant))) {
+						undeclaredReads.add(section + " <- " + path);
+						break;
+					}
+				}
+			}
+		}
+		assertEquals(List.of(), undeclaredReads);
+	}
+
+	@Test
+	void sectionsReadEveryFieldTheyDeclare() throws Exception {
+		List<String> unusedInputs = new ArrayList<>();
+		for (ProposalSectionType section : ProposalSectionType.values()) {
+			String baseline = output(section, sample);
+			for (String path : tracker.inputPaths(section)) {
+				// evidence ranking is checked as a whole below
+				if (EVIDENCE.contains(path) || HIDDEN_BY_SAMPLE.contains(section + " <- " + path)) continue;
+				boolean read = false;
+				for (JsonNode variant : variants(sample, path)) {
+					if (!baseline.equals(output(section, variant))) {
+						read = true;
+						break;
+					}
+				}
+				if (!read) unusedInputs.add(section + " <- " + path);
+			}
+		}
+		assertEquals(List.of(), unusedInputs);
+	}
+
+	@Test
+	void evidenceSectionsFollowTheRankedCorpus() throws Exception {
+		// BM25 scores depend on every requirement and every indexed text, so one field alone may not
+		// change which snippets are cited; replacing all of them does
+		JsonNode replaced = sample;
+		for (String path : EVIDENCE) {
+			// ids only attribute snippets to their owners
+			if (!path.endsWith("Id")) replaced = changed(replaced, path, UNRELATED_TEXT, false);
+		}
+		for (ProposalSectionType section : ProposalSectionType.values()) {
+			if (!tracker.inputPaths(section).containsAll(EVIDENCE)) continue;
+			assertNotEquals(output(section, sample), output(section, replaced), section.name());
+		}
+	}
+
+	// a list's size is covered by any field of its elements: the tracker compares lists element by element
+	private static boolean declaresElementsOf(List<String> declared, String countPath) {
+		String elements = countPath.substring(0, countPath.length() - "#count".length()) + "[]";
+		return declared.stream().anyMatch(path -> path.startsWith(elements));
+	}
+
+	private String output(ProposalSectionType section, JsonNode tree) throws Exception {
+		ProposalGenerationRequest request = objectMapper.treeToValue(tree, ProposalGenerationRequest.class);
+		return switch (section) {
+			case QUALIFICATION_SCORE -> objectMapper.writeValueAsString(promptService.calculateQualificationScore(request));
+			case RECOMMENDATIONS -> objectMapper.writeValueAsString(promptService.generateRecommendations(request));
+			default -> tracker.render(section, request);
+		};
+	}
+
+	/** Every set field of the tree in SectionDependencyTracker.select syntax; lists of values are one field. */
+	private static Set<String> fieldPaths(JsonNode tree) {
+		Set<String> paths = new LinkedHashSet<>();
+		collect(tree, "", paths);
+		return paths;
+	}
+
+	private static void collect(JsonNode node, String path, Set<String> paths) {
+		if (node.isObject()) {
+			node.fields().forEachRemaining(field ->
+				collect(field.getValue(), path.isEmpty() ? field.getKey() : path + "." + field.getKey(), paths));
+		} else if (node.isArray() && node.size() > 0 && node.get(0).isContainerNode()) {
+			paths.add(path + "#count");
+			node.forEach(element -> collect(element, path + "[]", paths));
+		} else if (!node.isNull()) {
+			paths.add(path);
+		}
+	}
+
+	/**
+	 * Copies of the tree with the field changed, once per kind of change (a small step, a large one
+	 * either way, an extreme value) so that thresholds are crossed, and both in every list element the
+	 * path reaches and in the first one only, so that comparisons between elements change too.
+	 */
+	private static List<JsonNode> variants(JsonNode tree, String path) {
+		List<JsonNode> variants = new ArrayList<>();
+		if (path.endsWith("#count")) {
+			String listPath = path.substring(0, path.length() - "#count".length());
+			for (int position : new int[] {0, -1}) {
+				JsonNode longer = tree.deepCopy();
+				SectionDependencyTracker.select(longer, listPath).forEach(list ->
+					((ArrayNode) list).add(list.get(position < 0 ? list.size() - 1 : position).deepCopy()));
+				variants.add(longer);
+				JsonNode shorter = tree.deepCopy();
+				SectionDependencyTracker.select(shorter, listPath).forEach(list ->
+					((ArrayNode) list).remove(position < 0 ? list.size() - 1 : position));
+				variants.add(shorter);
+			}
+			return variants;
+		}
+		for (int kind = 0; kind < VARIANT_KINDS; kind++) {
+			variants.add(changed(tree, path, kind, false));
+			variants.add(changed(tree, path, kind, true));
+		}
+		return variants;
+	}
+
+	private static JsonNode changed(JsonNode tree, String path, int kind, boolean firstOnly) {
+		JsonNode copy = tree.deepCopy();
+		int dot = path.lastIndexOf('.');
+		String field = path.substring(dot + 1);
+		List<JsonNode> parents = dot < 0 ? List.of(copy) : SectionDependencyTracker.select(copy, path.substring(0, dot));
+		for (JsonNode parent : firstOnly ? parents.subList(0, Math.min(1, parents.size())) : parents) {
+			if (parent.isObject()) ((ObjectNode) parent).set(field, changed(parent.get(field), kind));
+		}
+		return copy;
+	}
+
+	private static JsonNode changed(JsonNode value, int kind) {
+		if (value.isArray()) {
+			ArrayNode list = ((ArrayNode) value).deepCopy();
+			for (int i = 0; i < list.size(); i++) list.set(i, changed(list.get(i), kind));
+			return list;
+		}
+		if (value.isBoolean()) return BooleanNode.valueOf(!value.asBoolean());
+		if (value.isIntegralNumber()) {
+			int n = value.asInt();
+			return IntNode.valueOf(switch (kind) {
+				case 0 -> n >= 50 ? n - 7 : n + 7;
+				case 1 -> n * 3 + 50;
+				case 2 -> n / 3;
+				default -> n == 0 ? 1 : 0;
+			});
+		}
+		if (value.isNumber()) {
+			double d = value.asDouble();
+			return DoubleNode.valueOf(switch (kind) {
+				case 0 -> d < 10 ? d - 0.3 : d * 1.5;
+				case 1 -> d * 40 + 1;
+				case 2 -> d / 3;
+				default -> 0.0;
+			});
+		}
+		String text = value.asText();
+		try {
+			LocalDate date = LocalDate.parse(text);
+			return TextNode.valueOf((switch (kind) {
+				case 0 -> date.plusDays(45);
+				case 1 -> date.plusYears(2);
+				case 2 -> date.minusYears(2);
+				default -> date.minusDays(1);
+			}).toString());
+		} catch (DateTimeParseException notADate) {
+			// amounts and durations ("$3,500,000", "18 months") keep their shape
+			Matcher number = NUMBER.matcher(text);
+			if (number.find()) {
+				long amount = Long.parseLong(number.group().replace(",", ""));
+				long changed = switch (kind) {
+					case 0 -> amount * 3 / 2 + 1;
+					case 1 -> amount * 40 + 1;
+					case 2 -> amount / 40 + 1;
+					default -> 0;
+				};
+				return TextNode.valueOf(text.substring(0, number.start()) + changed + text.substring(number.end()));
+			}
+			return TextNode.valueOf(switch (kind) {
+				case 0 -> "Revised " + text;
+				case 1 -> text.toUpperCase() + " II";
+				case UNRELATED_TEXT -> "Quetzal orchard " + text.length();
+				default -> "";
+			});
+		}
+	}
+}
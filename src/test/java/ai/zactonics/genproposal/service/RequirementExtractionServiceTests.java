@@ -0,0 +1,212 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.Requirement;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.model.SampleRfp;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequirementExtractionServiceTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void positionsAreCountedFromTheFirstMatchAndDefaultToOne() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+
+		assertEquals(3, service.parsePositions("3 positions, each with 5+ years"));
+		assertEquals(2, service.parsePositions("Two roles: 2 FTEs, then 4 seats"));
+		assertEquals(1, service.parsePositions("1 opening"));
+		assertEquals(12, service.parsePositions("12 Positions"));
+		assertEquals(1, service.parsePositions("A senior architect with 10 years"));
+		// the unit must be a whole word
+		assertEquals(1, service.parsePositions("3 positional arguments"));
+	}
+
+	@Test
+	void yearsAreTheLargestMentionedAndNullWhenNoneAre() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+
+		assertEquals(5, service.parseYears("5+ years of Azure"));
+		assertEquals(10, service.parseYears("3 years of AWS and 10 + yrs overall"));
+		assertEquals(1, service.parseYears("at least 1 year"));
+		assertEquals(7, service.parseYears("7yr minimum"));
+		assertNull(service.parseYears("Years of experience preferred"));
+		assertNull(service.parseYears("2 yearly audits"));
+	}
+
+	@Test
+	void requirementsNameTheirSkillsAndCertificationsOnce() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+		SampleRfp sample = sample();
+		sample.setTechnicalRequirements(List.of(
+			"Azure DevOps pipelines with Terraform and Infrastructure as Code, 5+ years",
+			"Team holds Azure Solutions Architect Expert and CISSP",
+			"Zero trust architecture for network segments"));
+
+		List<Requirement> mandatory = requirements(service.extract(sample)).getMandatoryRequirements();
+		Requirement pipelines = mandatory.get(0);
+		assertEquals("MR-001", pipelines.getReqId());
+		// "Azure DevOps" is a skill of its own, not Azure plus DevOps; the IaC alias folds into Terraform
+		assertEquals(List.of("Azure DevOps", "Terraform"), pipelines.getRequiredSkills());
+		assertEquals(5, pipelines.getMinYearsExperience());
+		assertEquals("technical", pipelines.getCategory());
+
+		// the certification is longer than the skill it starts with, so only it is found
+		assertEquals(List.of(), mandatory.get(1).getRequiredSkills());
+		assertEquals(List.of("AZ-305", "CISSP"), mandatory.get(1).getRequiredCertifications());
+		assertEquals("security", mandatory.get(2).getCategory());
+	}
+
+	@Test
+	void taxonomyNamesAndAliasesExtendTheVocabulary() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+		SampleRfp sample = sample();
+		sample.setTechnicalRequirements(List.of("Cybersecurity and Azure Administration staff with Azure Administrator Associate"));
+
+		Requirement requirement = requirements(service.extract(sample)).getMandatoryRequirements().get(0);
+		assertEquals(List.of("Information Security", "Azure Administration"), requirement.getRequiredSkills());
+		assertEquals(List.of("AZ-104"), requirement.getRequiredCertifications());
+	}
+
+	@Test
+	void staffingBecomesTeamCompositionAndScopeOnlyKeepsStaffableLines() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+		SampleRfp sample = sample();
+		Map<String, String> staffing = new LinkedHashMap<>();
+		staffing.put("Cloud Architect", "2 positions, AZ-305 and 8+ years");
+		staffing.put("Project Manager", null);
+		sample.setStaffingRequirements(staffing);
+		sample.setScopeOfWork(List.of("Weekly status meetings", "Migrate to Azure with 99.99% uptime"));
+
+		RfpData rfp = service.extract(sample);
+		ExtractedRequirements extracted = requirements(rfp);
+		assertEquals(Map.of("cloud_architect", 2, "project_manager", 1), extracted.getTeamCompositionRequirements());
+		Requirement architect = extracted.getMandatoryRequirements().get(0);
+		assertEquals("SR-001", architect.getReqId());
+		assertEquals("staffing", architect.getCategory());
+		assertEquals(List.of("AZ-305"), architect.getRequiredCertifications());
+		assertEquals(8, architect.getMinYearsExperience());
+
+		assertEquals(1, extracted.getPreferredRequirements().size());
+		Requirement scope = extracted.getPreferredRequirements().get(0);
+		assertEquals("PR-001", scope.getReqId());
+		assertEquals(List.of("Cloud Migration", "High Availability"), scope.getRequiredSkills());
+		assertEquals("operations", scope.getCategory());
+	}
+
+	@Test
+	void deadlinesAcceptIsoAndLongDates() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+		SampleRfp sample = sample();
+
+		sample.setSubmissionDeadline("2025-09-30 at 5 PM ET");
+		assertEquals(LocalDate.of(2025, 9, 30), service.extract(sample).getDueDate());
+		sample.setSubmissionDeadline("Proposals due September 5, 2025");
+		assertEquals(LocalDate.of(2025, 9, 5), service.extract(sample).getDueDate());
+		sample.setSubmissionDeadline("Smarch 40, 2025");
+		assertNull(service.extract(sample).getDueDate());
+	}
+
+	@Test
+	void batchesKeepTheirInputOrder() {
+		RequirementExtractionService service = service("classpath:taxonomy/skills.json");
+		List<SampleRfp> samples = IntStream.range(0, 200).mapToObj(i -> {
+			SampleRfp sample = sample();
+			sample.setRfpNumber("RFP-" + i);
+			sample.setTechnicalRequirements(List.of(i % 2 == 0 ? "Kubernetes" : "AWS"));
+			return sample;
+		}).toList();
+
+		List<RfpData> extracted = service.extractAll(samples);
+		for (int i = 0; i < samples.size(); i++) {
+			assertEquals("RFP-" + i, extracted.get(i).getRfpId());
+			assertEquals(List.of(i % 2 == 0 ? "Kubernetes" : "AWS"),
+				requirements(extracted.get(i)).getMandatoryRequirements().get(0).getRequiredSkills());
+		}
+	}
+
+	@Test
+	void aReloadedTaxonomyRebuildsTheVocabulary() throws IOException {
+		Path file = dir.resolve("skills.json");
+		Files.writeString(file, """
+			{"skills": [{"name": "Observability"}], "certifications": []}""");
+		SkillTaxonomy taxonomy = taxonomy(file.toUri().toString());
+		RequirementExtractionService service = service(taxonomy);
+		SampleRfp sample = sample();
+		sample.setTechnicalRequirements(List.of("Observability with OpenTelemetry"));
+		assertEquals(List.of("Observability"), skills(service.extract(sample)));
+
+		Files.writeString(file, """
+			{"skills": [{"name": "Observability", "children": [{"name": "OpenTelemetry", "aliases": ["OTel"]}]}],
+			 "certifications": []}""");
+		taxonomy.reload();
+		assertEquals(List.of("Observability", "OpenTelemetry"), skills(service.extract(sample)));
+		sample.setTechnicalRequirements(List.of("OTel collectors"));
+		assertEquals(List.of("OpenTelemetry"), skills(service.extract(sample)));
+	}
+
+	private static RequirementExtractionService service(String taxonomyLocation) {
+		return service(taxonomy(taxonomyLocation));
+	}
+
+	private static RequirementExtractionService service(SkillTaxonomy taxonomy) {
+		TenantExecutors executors = new TenantExecutors();
+		ReflectionTestUtils.setField(executors, "parallelism", 2);
+		ReflectionTestUtils.setField(executors, "idleEviction", Duration.ofMinutes(10));
+		RequirementExtractionService service = new RequirementExtractionService();
+		ReflectionTestUtils.setField(service, "tenantExecutors", executors);
+		ReflectionTestUtils.setField(service, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.invokeMethod(service, "init");
+		return service;
+	}
+
+	private static SkillTaxonomy taxonomy(String location) {
+		SkillTaxonomy taxonomy = new SkillTaxonomy();
+		ReflectionTestUtils.setField(taxonomy, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(taxonomy, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(taxonomy, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(taxonomy, "location", location);
+		// no watcher; reloads happen when a test asks for them
+		ReflectionTestUtils.setField(taxonomy, "reloadInterval", Duration.ZERO);
+		ReflectionTestUtils.invokeMethod(taxonomy, "init");
+		return taxonomy;
+	}
+
+	private static SampleRfp sample() {
+		SampleRfp sample = new SampleRfp();
+		sample.setRfpNumber("RFP-1");
+		sample.setTitle("Cloud modernization");
+		return sample;
+	}
+
+	private static ExtractedRequirements requirements(RfpData rfp) {
+		return rfp.getExtractedRequirements();
+	}
+
+	private static List<String> skills(RfpData rfp) {
+		return requirements(rfp).getMandatoryRequirements().get(0).getRequiredSkills();
+	}
+}
@@ -0,0 +1,121 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.Requirement;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.model.RfpFitScore;
+import ai.zactonics.genproposal.model.RfpScreeningRequest;
+import ai.zactonics.genproposal.model.Skill;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RfpScreeningServiceTests {
+
+	private static final Map<String, Integer> TECHNICAL_ONLY = Map.of("Technical Approach", 100);
+	private static final Map<String, Integer> STAFFING_ONLY = Map.of("Team Qualifications", 100);
+
+	@Test
+	void anRfpWithoutMandatoryRequirementsGetsNoCoverageCredit() {
+		RfpFitScore score = screen(1, rfp("RFP-EMPTY", TECHNICAL_ONLY)).get(0);
+
+		assertEquals(0.0, score.getMandatoryCoverage());
+		assertEquals(0.0, score.getFitScore());
+		assertTrue(score.getNoMandatoryRequirements());
+		// there is nothing to screen against, so a person decides
+		assertEquals("REVIEW", score.getBidDecision());
+	}
+
+	@Test
+	void rfpsWithoutMandatoryRequirementsRankAfterThoseWithThem() {
+		// a perfect staffing fit with nothing to check against, and an RFP the roster only partly covers
+		RfpData empty = rfp("RFP-A", STAFFING_ONLY);
+		RfpData partial = rfp("RFP-B", TECHNICAL_ONLY, requirement("MR-001", "Azure"), requirement("MR-002", "Kubernetes"));
+
+		List<RfpFitScore> ranked = screen(10, empty, partial);
+		assertEquals(List.of("RFP-B", "RFP-A"), ranked.stream().map(RfpFitScore::getRfpId).toList());
+		assertTrue(ranked.get(1).getFitScore() > ranked.get(0).getFitScore());
+		assertFalse(ranked.get(0).getNoMandatoryRequirements());
+		assertEquals(0.5, ranked.get(0).getMandatoryCoverage());
+		assertEquals(List.of("MR-002"), ranked.get(0).getUncoveredRequirements());
+
+		// the bounded top-K keeps the same order
+		assertEquals(List.of("RFP-B"), screen(1, empty, partial).stream().map(RfpFitScore::getRfpId).toList());
+	}
+
+	@Test
+	void coverageIsWeightedAcrossMandatoryRequirements() {
+		Requirement held = requirement("MR-001", "Azure");
+		held.setWeight(3);
+		RfpFitScore score = screen(1, rfp("RFP-1", TECHNICAL_ONLY, held, requirement("MR-002", "Kubernetes"))).get(0);
+
+		assertEquals(0.75, score.getMandatoryCoverage());
+		assertEquals(0.75, score.getFitScore());
+		assertEquals("BID", score.getBidDecision());
+	}
+
+	private static List<RfpFitScore> screen(int topK, RfpData... rfps) {
+		RfpScreeningRequest request = new RfpScreeningRequest();
+		request.setRfps(List.of(rfps));
+		request.setEmployeeData(List.of(employee("Azure")));
+		request.setTopK(topK);
+		return service().screen(request).getRankedRfps();
+	}
+
+	private static RfpScreeningService service() {
+		SkillTaxonomy taxonomy = new SkillTaxonomy();
+		ReflectionTestUtils.setField(taxonomy, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(taxonomy, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(taxonomy, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(taxonomy, "location", "classpath:taxonomy/skills.json");
+		ReflectionTestUtils.setField(taxonomy, "reloadInterval", Duration.ZERO);
+		ReflectionTestUtils.invokeMethod(taxonomy, "init");
+		TenantExecutors executors = new TenantExecutors();
+		ReflectionTestUtils.setField(executors, "parallelism", 2);
+		ReflectionTestUtils.setField(executors, "idleEviction", Duration.ofMinutes(10));
+
+		RfpScreeningService service = new RfpScreeningService();
+		ReflectionTestUtils.setField(service, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(service, "tenantExecutors", executors);
+		return service;
+	}
+
+	private static RfpData rfp(String id, Map<String, Integer> criteria, Requirement... mandatory) {
+		ExtractedRequirements extracted = new ExtractedRequirements();
+		extracted.setMandatoryRequirements(List.of(mandatory));
+		RfpData rfp = new RfpData();
+		rfp.setRfpId(id);
+		rfp.setEvaluationCriteria(criteria);
+		rfp.setExtractedRequirements(extracted);
+		return rfp;
+	}
+
+	private static Requirement requirement(String id, String skill) {
+		Requirement requirement = new Requirement();
+		requirement.setReqId(id);
+		requirement.setRequiredSkills(List.of(skill));
+		return requirement;
+	}
+
+	private static Employee employee(String skillName) {
+		Skill skill = new Skill();
+		skill.setSkillName(skillName);
+		Employee employee = new Employee();
+		employee.setYearsExperience(8);
+		employee.setCurrentSkills(List.of(skill));
+		return employee;
+	}
+}
@@ -0,0 +1,250 @@
+package ai.zactonics.genproposal.service;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.ExtractedRequirements;
+import ai.zactonics.genproposal.model.PlannedCertification;
+import ai.zactonics.genproposal.model.ProposalGenerationRequest;
+import ai.zactonics.genproposal.model.Requirement;
+import ai.zactonics.genproposal.model.RequirementReadiness;
+import ai.zactonics.genproposal.model.RfpData;
+import ai.zactonics.genproposal.model.ScheduledTraining;
+import ai.zactonics.genproposal.model.Skill;
+import ai.zactonics.genproposal.model.SkillsGapAnalysis;
+import ai.zactonics.genproposal.model.TrainingRecommendation;
+import ai.zactonics.genproposal.model.TrainingSchedule;
+import ai.zactonics.genproposal.model.TrainingScheduleRequest;
+import ai.zactonics.genproposal.taxonomy.SkillTaxonomy;
+import ai.zactonics.genproposal.tenant.TenantExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrainingScheduleServiceTests {
+
+	private static final LocalDate START = LocalDate.of(2025, 6, 2);
+
+	@Test
+	void trainingIsPackedShortestFirstIntoSpareCapacity() {
+		// 25% of a 40-hour week; AZ-500 is half done out of 4 timeline weeks, CISSP has no timeline
+		Employee employee = employee("E1", 25);
+		employee.getPlannedCertifications().add(planned("AZ-500", "Azure Security Engineer Associate", 50));
+		Employee other = employee("E2", 100);
+		RfpData rfp = rfp("RFP-1", LocalDate.of(2025, 8, 1), certifications("MR-1", "Azure Certification", "CISSP"));
+
+		TrainingSchedule schedule = service().schedule(request(rfp, List.of(employee, other),
+			recommendation("E1", "CISSP", null), recommendation("E1", "AZ-500", 4), recommendation("E2", "PMP", 2)), START);
+
+		// PMP answers no requirement, so it is not scheduled
+		List<ScheduledTraining> plan = schedule.getTrainingPlan();
+		assertEquals(2, plan.size());
+		ScheduledTraining first = plan.get(0);
+		assertEquals("Azure Security Engineer Associate", first.getCertification());
+		assertEquals("planned", first.getSource());
+		assertEquals(20.0, first.getRemainingHours());
+		assertEquals(10.0, first.getWeeklyHours());
+		assertEquals(START, first.getStartDate());
+		assertEquals(START.plusDays(14), first.getCompletionDate());
+		ScheduledTraining second = plan.get(1);
+		assertEquals(List.of("CISSP", "recommended", 80.0), List.of(second.getCertification(), second.getSource(), second.getRemainingHours()));
+		assertEquals(first.getCompletionDate(), second.getStartDate());
+		assertEquals(START.plusDays(14 + 56), second.getCompletionDate());
+
+		RequirementReadiness readiness = schedule.getRequirements().get(0);
+		assertEquals(second.getCompletionDate(), readiness.getCoveredDate());
+		assertEquals(List.of("E1"), readiness.getCoveredBy());
+		assertFalse(readiness.getMeetsDueDate());
+		assertEquals(second.getCompletionDate(), schedule.getFullyQualifiedDate());
+		assertFalse(schedule.getMeetsDueDate());
+	}
+
+	@Test
+	void heldCertificationsCoverFromTheStartUnlessExpired() {
+		Employee current = employee("E1", 0);
+		current.getCurrentCertifications().add(certification("CISSP", null, null));
+		Employee lapsed = employee("E2", 0);
+		lapsed.getCurrentCertifications().add(certification("AZ-104", START.minusDays(1), null));
+		Employee expired = employee("E3", 0);
+		expired.getCurrentCertifications().add(certification("AZ-400", null, "Expired"));
+		RfpData rfp = rfp("RFP-1", START.plusDays(30),
+			certifications("MR-1", "CISSP"), certifications("MR-2", "Azure Certification"));
+
+		TrainingSchedule schedule = service().schedule(request(rfp, List.of(current, lapsed, expired)), START);
+
+		RequirementReadiness held = schedule.getRequirements().get(0);
+		assertEquals(START, held.getCoveredDate());
+		assertEquals(List.of("E1"), held.getCoveredBy());
+		assertTrue(held.getMeetsDueDate());
+		RequirementReadiness missing = schedule.getRequirements().get(1);
+		assertNull(missing.getCoveredDate());
+		assertEquals(List.of("Azure Certification"), missing.getUncoverable());
+		assertFalse(missing.getMeetsDueDate());
+		assertNull(schedule.getFullyQualifiedDate());
+		assertFalse(schedule.getMeetsDueDate());
+
+		// without a due date there is nothing to meet
+		rfp.setDueDate(null);
+		TrainingSchedule undated = service().schedule(request(rfp, List.of(current)), START);
+		assertNull(undated.getMeetsDueDate());
+		assertNull(undated.getRequirements().get(0).getMeetsDueDate());
+	}
+
+	@Test
+	void skillsAreCoveredByWholeWordsNarrowerSkillsOrANamedCertification() {
+		Employee scripter = employee("E1", 50, "JavaScript");
+		Employee pipelines = employee("E2", 0, "Azure DevOps Pipelines");
+		Employee security = employee("E3", 0, "Azure Security");
+		RfpData rfp = rfp("RFP-1", null, skills("MR-1", "Java"), skills("MR-2", "Azure DevOps"),
+			skills("MR-3", "Cloud Security"), skills("MR-4", "Kubernetes"));
+
+		// 8 timeline weeks is 80 hours at 16 a week, the cap below E1's 20 spare hours
+		TrainingSchedule schedule = service().schedule(request(rfp, List.of(scripter, pipelines, security),
+			recommendation("E1", "Certified Kubernetes Administrator", 8)), START);
+
+		List<RequirementReadiness> requirements = schedule.getRequirements();
+		assertEquals(List.of("Java"), requirements.get(0).getUncoverable());
+		assertEquals(List.of("E2"), requirements.get(1).getCoveredBy());
+		assertEquals(START, requirements.get(1).getCoveredDate());
+		assertEquals(List.of("E3"), requirements.get(2).getCoveredBy());
+		assertEquals(List.of("E1"), requirements.get(3).getCoveredBy());
+		assertEquals(START.plusDays(35), requirements.get(3).getCoveredDate());
+		assertEquals(16.0, schedule.getTrainingPlan().get(0).getWeeklyHours());
+	}
+
+	@Test
+	void eachRfpIsScheduledOnItsOwnAndUnavailableStaffGetNoDates() {
+		Employee unavailable = employee("E1", 0);
+		Employee available = employee("E2", 50);
+		TrainingScheduleRequest request = new TrainingScheduleRequest();
+		request.setRfps(List.of(rfp("RFP-A", null, certifications("MR-1", "CKA")),
+			rfp("RFP-B", null, certifications("MR-1", "PMP"))));
+		request.setEmployeeData(List.of(unavailable, available));
+		request.setTrainingRecommendations(List.of(recommendation("E1", "CKA", 4), recommendation("E2", "PMP", 2)));
+		request.setStartDate(START);
+
+		List<TrainingSchedule> schedules = service().scheduleAll(request);
+		assertEquals(List.of("RFP-A", "RFP-B"), schedules.stream().map(TrainingSchedule::getRfpId).toList());
+
+		TrainingSchedule a = schedules.get(0);
+		assertEquals(1, a.getTrainingPlan().size());
+		assertEquals(0.0, a.getTrainingPlan().get(0).getWeeklyHours());
+		assertNull(a.getTrainingPlan().get(0).getCompletionDate());
+		assertEquals(List.of("CKA"), a.getRequirements().get(0).getUncoverable());
+
+		// 20 hours at 16 a week
+		TrainingSchedule b = schedules.get(1);
+		assertEquals(List.of("E2"), b.getTrainingPlan().stream().map(ScheduledTraining::getEmployeeId).toList());
+		assertEquals(START.plusDays(9), b.getFullyQualifiedDate());
+
+		ProposalGenerationRequest dated = new ProposalGenerationRequest();
+		dated.setTrainingStartDate(START);
+		assertEquals(START, TrainingScheduleService.startDate(dated));
+	}
+
+	private static TrainingScheduleService service() {
+		SkillTaxonomy taxonomy = new SkillTaxonomy();
+		ReflectionTestUtils.setField(taxonomy, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(taxonomy, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(taxonomy, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(taxonomy, "location", "classpath:taxonomy/skills.json");
+		ReflectionTestUtils.setField(taxonomy, "reloadInterval", Duration.ZERO);
+		ReflectionTestUtils.invokeMethod(taxonomy, "init");
+		TenantExecutors executors = new TenantExecutors();
+		ReflectionTestUtils.setField(executors, "parallelism", 2);
+		ReflectionTestUtils.setField(executors, "idleEviction", Duration.ofMinutes(10));
+
+		TrainingScheduleService service = new TrainingScheduleService();
+		ReflectionTestUtils.setField(service, "skillTaxonomy", taxonomy);
+		ReflectionTestUtils.setField(service, "tenantExecutors", executors);
+		ReflectionTestUtils.setField(service, "maxHoursPerWeek", 16.0);
+		ReflectionTestUtils.setField(service, "hoursPerTimelineWeek", 10.0);
+		ReflectionTestUtils.setField(service, "defaultCertHours", 80.0);
+		return service;
+	}
+
+	private static ProposalGenerationRequest request(RfpData rfp, List<Employee> employees,
+			TrainingRecommendation... recommendations) {
+		SkillsGapAnalysis gap = new SkillsGapAnalysis();
+		gap.setTrainingRecommendations(List.of(recommendations));
+		ProposalGenerationRequest request = new ProposalGenerationRequest();
+		request.setRfpData(rfp);
+		request.setEmployeeData(employees);
+		request.setSkillsGapAnalysis(gap);
+		return request;
+	}
+
+	private static RfpData rfp(String id, LocalDate dueDate, Requirement... mandatory) {
+		ExtractedRequirements extracted = new ExtractedRequirements();
+		extracted.setMandatoryRequirements(List.of(mandatory));
+		RfpData rfp = new RfpData();
+		rfp.setRfpId(id);
+		rfp.setDueDate(dueDate);
+		rfp.setExtractedRequirements(extracted);
+		return rfp;
+	}
+
+	private static Requirement certifications(String id, String... certifications) {
+		Requirement requirement = new Requirement();
+		requirement.setReqId(id);
+		requirement.setRequiredCertifications(List.of(certifications));
+		return requirement;
+	}
+
+	private static Requirement skills(String id, String... skills) {
+		Requirement requirement = new Requirement();
+		requirement.setReqId(id);
+		requirement.setRequiredSkills(List.of(skills));
+		return requirement;
+	}
+
+	private static Employee employee(String id, int availability, String... skills) {
+		Employee employee = new Employee();
+		employee.setEmployeeId(id);
+		employee.setAvailabilityPercentage(availability);
+		employee.setCurrentSkills(List.of(skills).stream().map(name -> {
+			Skill skill = new Skill();
+			skill.setSkillName(name);
+			return skill;
+		}).toList());
+		employee.setCurrentCertifications(new ArrayList<>());
+		employee.setPlannedCertifications(new ArrayList<>());
+		return employee;
+	}
+
+	private static PlannedCertification planned(String id, String name, int completion) {
+		PlannedCertification planned = new PlannedCertification();
+		planned.setCertId(id);
+		planned.setCertName(name);
+		planned.setCompletionPercentage(completion);
+		return planned;
+	}
+
+	private static Certification certification(String id, LocalDate expiry, String status) {
+		Certification certification = new Certification();
+		certification.setCertId(id);
+		certification.setCertName(id);
+		certification.setExpiryDate(expiry);
+		certification.setStatus(status);
+		return certification;
+	}
+
+	private static TrainingRecommendation recommendation(String employeeId, String cert, Integer timelineWeeks) {
+		TrainingRecommendation recommendation = new TrainingRecommendation();
+		recommendation.setEmployeeId(employeeId);
+		recommendation.setRecommendedCert(cert);
+		recommendation.setTimelineWeeks(timelineWeeks);
+		return recommendation;
+	}
+}
@@ -0,0 +1,235 @@
+package ai.zactonics.genproposal.taxonomy;
+
+import ai.zactonics.genproposal.model.Certification;
+import ai.zactonics.genproposal.model.Employee;
+import ai.zactonics.genproposal.model.Skill;
+import ai.zactonics.genproposal.model.TaxonomyInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledTaxonomyTests {
+
+	private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+	// pre-order: Cloud 0, Azure 1, Azure Security 2, Azure Networking 3, AWS 4, DevOps 5, Azure DevOps 6, CI/CD 7
+	private static final String TAXONOMY = """
+		{
+		  "skills": [
+		    {"name": "Cloud", "aliases": ["Cloud Computing"], "children": [
+		      {"name": "Azure", "aliases": ["Microsoft Azure"], "children": [
+		        {"name": "Azure Security"},
+		        {"name": "Azure Networking"}
+		      ]},
+		      {"name": "AWS", "aliases": ["Amazon Web Services"]}
+		    ]},
+		    {"name": "DevOps", "children": [
+		      {"name": "Azure DevOps"},
+		      {"name": "CI/CD", "aliases": ["continuous delivery"]}
+		    ]}
+		  ],
+		  "certifications": [
+		    {"name": "Azure Certification", "children": [
+		      {"name": "AZ-400", "aliases": ["Azure DevOps Engineer Expert"]},
+		      {"name": "AZ-500"}
+		    ]},
+		    {"name": "CISSP"}
+		  ]
+		}""";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void aNodeIsEveryAncestorOnItsPathAndNothingElse() {
+		CompiledTaxonomy taxonomy = compile(TAXONOMY);
+
+		assertTrue(taxonomy.isA("Azure Security", "Azure Security"));
+		assertTrue(taxonomy.isA("Azure Security", "Azure"));
+		assertTrue(taxonomy.isA("Azure Security", "Cloud"));
+		assertTrue(taxonomy.isA("Azure DevOps", "DevOps"));
+		assertFalse(taxonomy.isA("Azure", "Azure Security"));
+		assertFalse(taxonomy.isA("Azure Security", "Azure Networking"));
+		// the first node after a subtree is outside its interval
+		assertFalse(taxonomy.isA("AWS", "Azure"));
+		assertFalse(taxonomy.isA("DevOps", "Cloud"));
+		// the last node of a subtree is inside it
+		assertTrue(taxonomy.isA("Azure Networking", "Cloud"));
+		assertTrue(taxonomy.isA("CI/CD", "DevOps"));
+	}
+
+	@Test
+	void theEncodingRecordsParentsAndDepths() {
+		CompiledTaxonomy taxonomy = compile(TAXONOMY);
+
+		assertEquals(12, taxonomy.size());
+		int security = taxonomy.node("Azure Security");
+		assertEquals("Azure Security", taxonomy.name(security));
+		assertEquals(taxonomy.node("Azure"), taxonomy.parent(security));
+		assertEquals(-1, taxonomy.parent(taxonomy.node("Cloud")));
+		assertEquals(2, taxonomy.depth(security));
+		assertEquals(0, taxonomy.depth(taxonomy.node("CISSP")));
+
+		TaxonomyInfo info = taxonomy.info();
+		assertEquals(8, info.getSkillCount());
+		assertEquals(4, info.getCertificationCount());
+		assertEquals(3, info.getMaxDepth());
+	}
+
+	@Test
+	void aliasesAndSpellingVariantsResolveToTheirNode() {
+		CompiledTaxonomy taxonomy = compile(TAXONOMY);
+
+		assertEquals(taxonomy.node("Azure"), taxonomy.node("Microsoft Azure"));
+		assertEquals(taxonomy.node("Azure"), taxonomy.node("  microsoft-AZURE "));
+		assertEquals(taxonomy.node("CI/CD"), taxonomy.node("ci cd"));
+		assertTrue(taxonomy.isA("Amazon Web Services", "Cloud Computing"));
+		assertTrue(taxonomy.isA("continuous delivery", "devops"));
+		assertFalse(taxonomy.contains("Kubernetes"));
+		assertFalse(taxonomy.contains(null));
+		assertFalse(taxonomy.isA("Kubernetes", "Cloud"));
+		assertFalse(taxonomy.isA("Azure", "Kubernetes"));
+
+		assertEquals("Azure", taxonomy.surfaceForms(false).get("Microsoft Azure"));
+		assertEquals("CI/CD", taxonomy.surfaceForms(false).get("continuous delivery"));
+	}
+
+	@Test
+	void skillsAndCertificationsAreSeparateForests() {
+		CompiledTaxonomy taxonomy = compile(TAXONOMY);
+
+		assertFalse(taxonomy.isA("AZ-400", "Azure DevOps"));
+		assertFalse(taxonomy.isA("Azure DevOps", "Azure Certification"));
+		assertFalse(taxonomy.isA("AZ-500", "Azure"));
+		assertTrue(taxonomy.isA("Azure DevOps Engineer Expert", "Azure Certification"));
+		assertTrue(taxonomy.isCertification(taxonomy.node("AZ-400")));
+		assertFalse(taxonomy.isCertification(taxonomy.node("CI/CD")));
+
+		Map<String, String> certifications = taxonomy.surfaceForms(true);
+		assertEquals("AZ-400", certifications.get("Azure DevOps Engineer Expert"));
+		assertFalse(certifications.containsKey("Azure DevOps"));
+		assertFalse(taxonomy.surfaceForms(false).containsKey("AZ-400"));
+	}
+
+	@Test
+	void namesAndAliasesMustBeUniqueAcrossTheFile() {
+		IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> compile("""
+			{"skills": [{"name": "Azure"}],
+			 "certifications": [{"name": "Azure Certification", "aliases": ["azure"]}]}"""));
+		assertEquals("'azure' under 'Azure Certification' is already defined as 'Azure'", duplicate.getMessage());
+
+		IllegalArgumentException unnamed = assertThrows(IllegalArgumentException.class, () -> compile("""
+			{"skills": [{"name": "Cloud", "children": [{"aliases": ["Azure"]}]}]}"""));
+		assertEquals("Every node needs a name (under 'Cloud')", unnamed.getMessage());
+	}
+
+	@Test
+	void theRollupCountsEachEmployeeOncePerNodeAndKeepsCertificationsApart() {
+		CompiledTaxonomy taxonomy = compile(TAXONOMY);
+		Employee both = employee(9, skill("Azure Security", 4), skill("Azure Networking", 6), skill("Azure DevOps", null));
+		both.getCurrentCertifications().add(certification("AZ-400", "Azure DevOps Engineer Expert"));
+		Employee aws = employee(3, skill("Amazon Web Services", 2));
+		aws.getCurrentCertifications().add(certification(null, "CISSP"));
+
+		SkillRollup rollup = taxonomy.rollup(List.of(both, aws));
+		assertEquals(2, rollup.employees("Cloud"));
+		assertEquals(1, rollup.employees("Azure"));
+		assertEquals(1, rollup.employees("DevOps"));
+		assertEquals(0, rollup.employees("CI/CD"));
+		assertEquals(-1, rollup.employees("Kubernetes"));
+		// a skill's own years, else the employee's
+		assertEquals(6, rollup.maxYears("Cloud"));
+		assertEquals(9, rollup.maxYears("DevOps"));
+		assertNull(rollup.maxYears("CI/CD"));
+
+		assertEquals(1, rollup.certificationHolders("Azure Certification"));
+		assertEquals(0, rollup.certificationHolders("AZ-500"));
+		assertEquals(0, rollup.certificationHolders("Azure DevOps"));
+		assertEquals(1, rollup.certificationHolders("CISSP"));
+	}
+
+	@Test
+	void aReloadSwapsTheTaxonomyAndAnInvalidFileKeepsTheCurrentOne() throws IOException {
+		Path file = dir.resolve("skills.json");
+		Files.writeString(file, TAXONOMY);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SkillTaxonomy skillTaxonomy = new SkillTaxonomy();
+		ReflectionTestUtils.setField(skillTaxonomy, "objectMapper", OBJECT_MAPPER);
+		ReflectionTestUtils.setField(skillTaxonomy, "resourceLoader", new DefaultResourceLoader());
+		ReflectionTestUtils.setField(skillTaxonomy, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(skillTaxonomy, "location", file.toUri().toString());
+		ReflectionTestUtils.setField(skillTaxonomy, "reloadInterval", Duration.ZERO);
+		ReflectionTestUtils.invokeMethod(skillTaxonomy, "init");
+
+		CompiledTaxonomy before = skillTaxonomy.current();
+		assertFalse(before.isA("Kubernetes", "DevOps"));
+		Files.writeString(file, TAXONOMY.replace("""
+			{"name": "Azure DevOps"},""", """
+			{"name": "Azure DevOps"}, {"name": "Kubernetes"},"""));
+		TaxonomyInfo info = skillTaxonomy.reload();
+
+		CompiledTaxonomy after = skillTaxonomy.current();
+		assertNotEquals(before.version(), after.version());
+		assertEquals(after.version(), info.getVersion());
+		assertTrue(after.isA("Kubernetes", "DevOps"));
+		// a snapshot taken before the reload keeps answering as it did
+		assertFalse(before.isA("Kubernetes", "DevOps"));
+
+		Files.writeString(file, """
+			{"skills": [{"name": "DevOps"}, {"name": "devops"}]}""");
+		IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class, skillTaxonomy::reload);
+		assertTrue(rejected.getMessage().contains("already defined as 'DevOps'"), rejected.getMessage());
+		assertEquals(after, skillTaxonomy.current());
+		assertEquals(2.0, meterRegistry.counter("proposal.taxonomy.loads", "result", "ok").count());
+		assertEquals(1.0, meterRegistry.counter("proposal.taxonomy.loads", "result", "rejected").count());
+	}
+
+	private static CompiledTaxonomy compile(String json) {
+		try {
+			return CompiledTaxonomy.compile(OBJECT_MAPPER.readValue(json, TaxonomyDefinition.class), "test", "test");
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Employee employee(int years, Skill... skills) {
+		Employee employee = new Employee();
+		employee.setYearsExperience(years);
+		employee.setCurrentSkills(new ArrayList<>(List.of(skills)));
+		employee.setCurrentCertifications(new ArrayList<>());
+		return employee;
+	}
+
+	private static Skill skill(String name, Integer years) {
+		Skill skill = new Skill();
+		skill.setSkillName(name);
+		skill.setYearsExperience(years);
+		return skill;
+	}
+
+	private static Certification certification(String id, String name) {
+		Certification certification = new Certification();
+		certification.setCertId(id);
+		certification.setCertName(name);
+		return certification;
+	}
+}
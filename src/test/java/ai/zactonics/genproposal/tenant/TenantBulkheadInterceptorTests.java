@@ -0,0 +1,84 @@
+package ai.zactonics.genproposal.tenant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"proposal.history.enabled=false", "proposal.warmup.enabled=false",
+	"proposal.tenant.proxy-token=test-proxy"})
+@AutoConfigureMockMvc
+class TenantBulkheadInterceptorTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Value("classpath:proposal-request.json")
+	private Resource proposalRequest;
+
+	@Value("${proposal.tenant.max-concurrent}")
+	private int maxConcurrent;
+
+	@Value("${proposal.tenant.burst}")
+	private int burst;
+
+	@Autowired
+	private WarmupToken warmupToken;
+
+	@Test
+	void asyncExportsReleaseTheirPermit() throws Exception {
+		byte[] body = proposalRequest.getContentAsByteArray();
+		for (int i = 0; i < maxConcurrent * 2; i++) {
+			MvcResult started = mockMvc.perform(post("/api/export/proposal")
+					.param("format", "markdown")
+					.header(TenantResolverFilter.TENANT_HEADER, "bulkhead-test")
+					.header(TenantResolverFilter.PROXY_TOKEN_HEADER, "test-proxy")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(body))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+			mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void warmupRequestsBypassTheTenantRateLimit() throws Exception {
+		byte[] body = proposalRequest.getContentAsByteArray();
+		for (int i = 0; i < burst * 2; i++) {
+			mockMvc.perform(post("/api/prompt/cost-model")
+					.header(WarmupToken.HEADER, warmupToken.value())
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(body))
+				.andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void wrongWarmupTokenIsRejected() throws Exception {
+		mockMvc.perform(post("/api/prompt/cost-model")
+				.header(WarmupToken.HEADER, "guess")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(proposalRequest.getContentAsByteArray()))
+			.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void tenantHeaderWithoutProxyTokenIsRejected() throws Exception {
+		mockMvc.perform(post("/api/export/proposal")
+				.header(TenantResolverFilter.TENANT_HEADER, "someone-else")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(proposalRequest.getContentAsByteArray()))
+			.andExpect(status().isForbidden());
+	}
+
+}
@@ -0,0 +1,69 @@
+package ai.zactonics.genproposal.tenant;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TenantScopedCacheTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void clearTenant() {
+		TenantContext.clear();
+	}
+
+	@Test
+	void tenantsOnlySeeTheirOwnEntries() {
+		TenantScopedCache<String, String> cache = new TenantScopedCache<>("test", 4, Duration.ofMinutes(10), meterRegistry);
+		TenantContext.set("acme");
+		cache.put("k", "acme value");
+		TenantContext.set("globex");
+		assertNull(cache.get("k"));
+		cache.put("k", "globex value");
+		TenantContext.set("acme");
+		assertEquals("acme value", cache.get("k"));
+	}
+
+	@Test
+	void idleTenantsAreDroppedWithTheirMetersWhenANewTenantArrives() throws Exception {
+		TenantScopedCache<String, String> cache = new TenantScopedCache<>("test", 4, Duration.ofMillis(1), meterRegistry);
+		TenantContext.set("acme");
+		cache.put("k", "acme value");
+		assertEquals(2, tenantMeters("acme"));
+
+		Thread.sleep(5);
+		TenantContext.set("globex");
+		cache.get("k");
+		assertEquals(0, tenantMeters("acme"));
+		assertEquals(2, tenantMeters("globex"));
+
+		TenantContext.set("acme");
+		assertNull(cache.get("k"));
+	}
+
+	@Test
+	void activeTenantsAreKept() {
+		TenantScopedCache<String, String> cache = new TenantScopedCache<>("test", 4, Duration.ofMinutes(10), meterRegistry);
+		TenantContext.set("acme");
+		cache.put("k", "acme value");
+		TenantContext.set("globex");
+		cache.get("k");
+		TenantContext.set("acme");
+		assertEquals("acme value", cache.get("k"));
+		assertEquals(2, tenantMeters("acme"));
+	}
+
+	private long tenantMeters(String tenantId) {
+		return meterRegistry.getMeters().stream()
+			.filter(meter -> tenantId.equals(meter.getId().getTag("tenant")))
+			.count();
+	}
+}
@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Measures time to readiness and first-request latency for each startup configuration.
+# Build first:  ./gradlew -Paot bootJar cdsArchive
+# Usage: ./startup-benchmark.sh [request.json] [port] [runs]
+set -euo pipefail
+
+REQUEST=${1:-proposal-request.json}
+PORT=${2:-8091}
+RUNS=${3:-3}
+BASE=http://localhost:$PORT
+
+declare -A MODES=(
+  [baseline]="-Dproposal.warmup.enabled=false -jar build/libs/proposalapp.jar"
+  [warmup]="-jar build/libs/proposalapp.jar"
+  [aot]="-Dspring.aot.enabled=true -jar build/libs/proposalapp.jar"
+  [aot+cds]="-Dspring.aot.enabled=true -XX:SharedArchiveFile=build/cds/application.jsa -jar build/cds/proposalapp.jar"
+)
+
+now_ms() { date +%s%3N; }
+
+printf "%-10s %4s %12s %14s\n" "mode" "run" "ready_ms" "first_req_ms"
+
+for mode in baseline warmup aot aot+cds; do
+  for run in $(seq "$RUNS"); do
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    java ${MODES[$mode]} --server.port="$PORT" > "/tmp/startup-$mode.log" 2>&1 &
+    pid=$!
+    until curl -sf "$BASE/actuator/health/readiness" > /dev/null; do
+      kill -0 "$pid" 2>/dev/null || { echo "$mode failed to start, see /tmp/startup-$mode.log"; exit 1; }
+      sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+
+    # later identical requests are served from the result cache, so only the first one is timed
+    first=$(curl -s -o /dev/null -w '%{time_total}' -X POST -H "Content-Type: application/json" \
+      --data-binary @"$REQUEST" "$BASE/api/prompt/generate-proposal" | awk '{printf "%.1f", $1 * 1000}')
+
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    printf "%-10s %4s %12s %14s\n" "$mode" "$run" "$ready" "$first"
+  done
+done
@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Compares bytes on the wire and round-trip time for each encoding of
+# /api/prompt/generate-proposal and /api/proposal/sample-data.
+# Usage: ./wire-benchmark.sh [request.json] [base-url] [iterations]
+set -euo pipefail
+
+REQUEST=${1:-proposal-request.json}
+BASE=${2:-http://localhost:8080}
+ITERATIONS=${3:-20}
+
+GZ_BODY=$(mktemp)
+trap 'rm -f "$GZ_BODY"' EXIT
+gzip -c "$REQUEST" > "$GZ_BODY"
+
+printf "%-14s %-6s %-10s %10s %12s\n" "endpoint" "accept" "encoding" "bytes" "avg_ms"
+
+run() {
+  local label=$1 accept=$2 gzip_response=$3 method=$4 url=$5
+  shift 5
+  local total=0 bytes=0
+  for _ in $(seq "$ITERATIONS"); do
+    local args=(-s -o /dev/null -w '%{size_download} %{time_total}' -X "$method" -H "Accept: $accept")
+    if [ "$gzip_response" = "gzip" ]; then args+=(-H "Accept-Encoding: gzip"); fi
+    read -r bytes secs < <(curl "${args[@]}" "$@" "$url")
+    total=$(echo "$total + $secs" | bc -l)
+  done
+  printf "%-14s %-6s %-10s %10s %12.2f\n" "$label" "${accept##*/}" "$gzip_response" "$bytes" \
+    "$(echo "$total * 1000 / $ITERATIONS" | bc -l)"
+}
+
+for accept in application/json application/x-jackson-smile application/cbor; do
+  for enc in identity gzip; do
+    run generate "$accept" "$enc" POST "$BASE/api/prompt/generate-proposal" \
+      -H "Content-Type: application/json" -H "Content-Encoding: gzip" --data-binary @"$GZ_BODY"
+    run sample-data "$accept" "$enc" GET "$BASE/api/proposal/sample-data"
+  done
+done